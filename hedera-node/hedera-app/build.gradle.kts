@@ -77,6 +77,7 @@ jmhModuleInfo {
     requires("com.swirlds.platform.core")
     requires("com.swirlds.state.api")
     requires("jmh.core")
+    requires("org.mockito")
 }
 
 // Add all the libs dependencies into the jar manifest!
@@ -22,9 +22,15 @@ import com.hedera.node.app.fixtures.AppTestBase;
 import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.spi.fixtures.Scenarios;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.crypto.CryptographyHolder;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -35,9 +41,13 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.infra.Blackhole;
 
-/** Measures the amount of time to prepare expanded signatures and call the crypto engine */
+/**
+ * Measures the amount of time to prepare expanded signatures and call the crypto engine, and the number of real
+ * Ed25519 signatures the crypto engine verifies per second on a single core.
+ */
 @State(Scope.Benchmark)
 @Fork(value = 1, warmups = 1)
 @BenchmarkMode(Mode.AverageTime)
@@ -50,6 +60,17 @@ public class VerificationBenchmark extends AppTestBase implements Scenarios {
     private Bytes fakeSignedBytes;
     private SignatureVerifierImpl subject;
 
+    private Set<ExpandedSignaturePair> signedPairs;
+    private Bytes signedBytes;
+    private SignatureVerifierImpl realSubject;
+
+    /** Counts verified signatures, so JMH reports the throughput in signatures rather than in transactions */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class SignatureCounter {
+        public long signatures;
+    }
+
     @Setup(Level.Invocation)
     public void setUp() {
         sigPairs = createSigPairs(numSigPairs);
@@ -58,11 +79,31 @@ public class VerificationBenchmark extends AppTestBase implements Scenarios {
         subject = new SignatureVerifierImpl(fakeCryptoEngine);
     }
 
+    @Setup(Level.Trial)
+    public void setUpSignatures() throws GeneralSecurityException {
+        signedBytes = randomBytes(256);
+        signedPairs = createSignedPairs(numSigPairs, signedBytes);
+        realSubject = new SignatureVerifierImpl(CryptographyHolder.get());
+    }
+
     @Benchmark
     public void verifyBench(Blackhole blackhole) {
         blackhole.consume(subject.verify(fakeSignedBytes, sigPairs));
     }
 
+    /**
+     * Verifies real Ed25519 signatures of a transaction with the platform crypto engine. The benchmark runs on a
+     * single thread, so the "signatures" secondary result is the number of signatures verified per second per core.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(1)
+    public void verifySignaturesPerCore(final SignatureCounter counter, final Blackhole blackhole) {
+        blackhole.consume(realSubject.verify(signedBytes, signedPairs));
+        counter.signatures += numSigPairs;
+    }
+
     private Set<ExpandedSignaturePair> createSigPairs(int numSigPairs) {
         final var pairs = new HashSet<ExpandedSignaturePair>();
         for (int i = 0; i < numSigPairs; i++) {
@@ -76,4 +117,26 @@ public class VerificationBenchmark extends AppTestBase implements Scenarios {
         }
         return pairs;
     }
+
+    private static Set<ExpandedSignaturePair> createSignedPairs(final int numSigPairs, final Bytes signedBytes)
+            throws GeneralSecurityException {
+        final var generator = KeyPairGenerator.getInstance("Ed25519");
+        final var pairs = new HashSet<ExpandedSignaturePair>();
+        for (int i = 0; i < numSigPairs; i++) {
+            final var keyPair = generator.generateKeyPair();
+            // The last 32 bytes of the X.509 encoded key are the raw Ed25519 public key
+            final var encodedKey = keyPair.getPublic().getEncoded();
+            final var keyBytes = Bytes.wrap(Arrays.copyOfRange(encodedKey, encodedKey.length - 32, encodedKey.length));
+            final var signer = Signature.getInstance("Ed25519");
+            signer.initSign(keyPair.getPrivate());
+            signer.update(signedBytes.toByteArray());
+            final var sigPair = SignaturePair.newBuilder()
+                    .ed25519(Bytes.wrap(signer.sign()))
+                    .pubKeyPrefix(keyBytes.slice(0, 10))
+                    .build();
+            pairs.add(
+                    new ExpandedSignaturePair(Key.newBuilder().ed25519(keyBytes).build(), keyBytes, null, sigPair));
+        }
+        return pairs;
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.throttle;
+
+import static com.hedera.hapi.node.base.HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE;
+import static com.hedera.node.app.throttle.ThrottleAccumulator.ThrottleType.FRONTEND_THROTTLE;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.SignatureMap;
+import com.hedera.hapi.node.base.Transaction;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.hapi.node.consensus.ConsensusSubmitMessageTransactionBody;
+import com.hedera.hapi.node.transaction.ThrottleBucket;
+import com.hedera.hapi.node.transaction.ThrottleDefinitions;
+import com.hedera.hapi.node.transaction.ThrottleGroup;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import com.hedera.node.app.config.ConfigProviderImpl;
+import com.hedera.node.app.fixtures.state.FakeState;
+import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.metrics.noop.NoOpMetrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of frontend throttle decisions made by concurrent ingest threads, for different
+ * numbers of throttle shards.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IngestThrottleBenchmark {
+    private static final AccountID PAYER_ID = AccountID.newBuilder().accountNum(1001L).build();
+    private static final TransactionBody TXN_BODY = TransactionBody.newBuilder()
+            .transactionID(TransactionID.newBuilder().accountID(PAYER_ID))
+            .consensusSubmitMessage(ConsensusSubmitMessageTransactionBody.DEFAULT)
+            .build();
+    private static final TransactionInfo TXN_INFO = new TransactionInfo(
+            Transaction.DEFAULT, TXN_BODY, SignatureMap.DEFAULT, Bytes.EMPTY, CONSENSUS_SUBMIT_MESSAGE, null);
+
+    public static void main(String... args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[] {"com.hedera.node.app.throttle.IngestThrottleBenchmark"});
+    }
+
+    @Param({"1", "4", "16"})
+    private int numShards;
+
+    /**
+     * The capacity of the throttle bucket; high enough that throughput is not limited by throttling.
+     */
+    @Param({"1000000"})
+    private long opsPerSec;
+
+    private SynchronizedThrottleAccumulator subject;
+    private FakeState state;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final ConfigProvider configProvider = new ConfigProviderImpl(false, null, Map.of());
+        final var metrics = new NoOpMetrics();
+        final var defs = ThrottleDefinitions.newBuilder()
+                .throttleBuckets(ThrottleBucket.newBuilder()
+                        .name("ThroughputLimits")
+                        .burstPeriodMs(1_000L)
+                        .throttleGroups(ThrottleGroup.newBuilder()
+                                .operations(CONSENSUS_SUBMIT_MESSAGE)
+                                .milliOpsPerSec(opsPerSec * 1_000L)
+                                .build())
+                        .build())
+                .build();
+        final List<ThrottleAccumulator> shards = new ArrayList<>(numShards);
+        for (int i = 0; i < numShards; i++) {
+            final var throttleMetrics = new ThrottleMetrics(metrics, FRONTEND_THROTTLE);
+            final var shard =
+                    new ThrottleAccumulator(() -> 1, configProvider, FRONTEND_THROTTLE, throttleMetrics, numShards);
+            shard.applyGasConfig();
+            shard.rebuildFor(defs);
+            shards.add(shard);
+        }
+        subject = new SynchronizedThrottleAccumulator(InstantSource.system(), shards, metrics);
+        state = new FakeState();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void oneThread(@NonNull final Blackhole blackhole) {
+        blackhole.consume(subject.shouldThrottle(TXN_INFO, state));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void fourThreads(@NonNull final Blackhole blackhole) {
+        blackhole.consume(subject.shouldThrottle(TXN_INFO, state));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void allCores(@NonNull final Blackhole blackhole) {
+        blackhole.consume(subject.shouldThrottle(TXN_INFO, state));
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.ingest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.hedera.hapi.node.base.AccountAmount;
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Duration;
+import com.hedera.hapi.node.base.SignatureMap;
+import com.hedera.hapi.node.base.SignaturePair;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.Transaction;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.hapi.node.transaction.SignedTransaction;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import com.hedera.node.app.Hedera;
+import com.hedera.node.app.config.ConfigProviderImpl;
+import com.hedera.node.app.fixtures.state.FakeState;
+import com.hedera.node.app.grpc.impl.TransactionMethod;
+import com.hedera.node.app.spi.workflows.PreCheckException;
+import com.hedera.node.app.state.DeduplicationCache;
+import com.hedera.node.app.workflows.TransactionChecker;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.crypto.Signature;
+import com.swirlds.common.metrics.noop.NoOpMetrics;
+import com.swirlds.common.notification.NotificationEngine;
+import com.swirlds.common.platform.NodeId;
+import com.swirlds.common.utility.AutoCloseableWrapper;
+import com.swirlds.platform.system.Platform;
+import com.swirlds.platform.system.SwirldState;
+import com.swirlds.platform.system.address.AddressBook;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.grpc.stub.StreamObserver;
+import java.time.Instant;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of taking a transaction from the gRPC request buffer through {@link IngestWorkflowImpl}: parsing,
+ * the structural {@link TransactionChecker} checks, {@link SubmissionManager} to the platform, and writing the
+ * response. The {@link IngestChecker} is stubbed to run only the structural checks, so its state-dependent checks
+ * (payer, signatures, fees, throttles) are not part of this benchmark. Run with the GC profiler (as
+ * {@link #main(String...)} does) to see the allocations per transaction ({@code gc.alloc.rate.norm}); these include a
+ * small, constant share for the stubbed {@link IngestChecker} call.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class IngestBenchmark {
+    private static final AccountID NODE_ACCOUNT_ID = AccountID.newBuilder().accountNum(3L).build();
+    private static final AccountID PAYER_ID = AccountID.newBuilder().accountNum(1001L).build();
+    private static final SplittableRandom RANDOM = new SplittableRandom(1_234_567L);
+
+    public static void main(String... args) throws Exception {
+        org.openjdk.jmh.Main.main(
+                new String[] {"com.hedera.node.app.workflows.ingest.IngestBenchmark.submitTransaction", "-prof", "gc"});
+    }
+
+    @Param({"1000"})
+    private int numTransactions;
+
+    private BufferedData[] requests;
+    private TransactionMethod subject;
+    private final ResponseObserver responseObserver = new ResponseObserver();
+    private int nextRequest;
+
+    @Setup(Level.Trial)
+    public void setup() throws PreCheckException {
+        final ConfigProvider configProvider = new ConfigProviderImpl(false, null, Map.of());
+        final var metrics = new NoOpMetrics();
+        final var transactionChecker =
+                new TransactionChecker(Hedera.MAX_SIGNED_TXN_SIZE, NODE_ACCOUNT_ID, configProvider, metrics);
+        final var submissionManager =
+                new SubmissionManager(new AcceptingPlatform(), new NoopDeduplicationCache(), configProvider, metrics);
+        final var ingestChecker = mock(IngestChecker.class, withSettings().stubOnly());
+        given(ingestChecker.runAllChecks(any(), any(), any()))
+                .willAnswer(invocation -> transactionChecker.check(invocation.getArgument(1), null));
+        final var wrappedState = new AutoCloseableWrapper<com.swirlds.state.State>(new FakeState(), () -> {});
+        final var workflow = new IngestWorkflowImpl(
+                () -> wrappedState, transactionChecker, ingestChecker, submissionManager, configProvider);
+        subject = new TransactionMethod("proto.CryptoService", "cryptoTransfer", workflow, metrics);
+
+        final var validStart = Instant.now().getEpochSecond();
+        requests = new BufferedData[numTransactions];
+        for (int i = 0; i < numTransactions; i++) {
+            requests[i] = BufferedData.wrap(Transaction.PROTOBUF
+                    .toBytes(randomTransaction(validStart, i))
+                    .toByteArray());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void submitTransaction(@NonNull final Blackhole blackhole) {
+        final var request = requests[nextRequest];
+        nextRequest = (nextRequest + 1) % requests.length;
+        subject.invoke(request, responseObserver);
+        blackhole.consume(responseObserver.responseLength);
+    }
+
+    private static Transaction randomTransaction(final long validStart, final int nanos) {
+        final var body = TransactionBody.newBuilder()
+                .transactionID(TransactionID.newBuilder()
+                        .accountID(PAYER_ID)
+                        .transactionValidStart(new Timestamp(validStart, nanos)))
+                .nodeAccountID(NODE_ACCOUNT_ID)
+                .transactionFee(100_000_000L)
+                .transactionValidDuration(new Duration(120L))
+                .memo("Ingest benchmark")
+                .cryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+                        .transfers(TransferList.newBuilder()
+                                .accountAmounts(
+                                        AccountAmount.newBuilder()
+                                                .accountID(PAYER_ID)
+                                                .amount(-1L)
+                                                .build(),
+                                        AccountAmount.newBuilder()
+                                                .accountID(AccountID.newBuilder()
+                                                        .accountNum(1002L)
+                                                        .build())
+                                                .amount(1L)
+                                                .build())))
+                .build();
+        final var sigMap = SignatureMap.newBuilder()
+                .sigPair(SignaturePair.newBuilder()
+                        .pubKeyPrefix(randomBytes(32))
+                        .ed25519(randomBytes(64))
+                        .build())
+                .build();
+        final var signedTransaction = SignedTransaction.newBuilder()
+                .bodyBytes(TransactionBody.PROTOBUF.toBytes(body))
+                .sigMap(sigMap)
+                .build();
+        return Transaction.newBuilder()
+                .signedTransactionBytes(SignedTransaction.PROTOBUF.toBytes(signedTransaction))
+                .build();
+    }
+
+    private static Bytes randomBytes(final int length) {
+        final var bytes = new byte[length];
+        RANDOM.nextBytes(bytes);
+        return Bytes.wrap(bytes);
+    }
+
+    private static final class ResponseObserver implements StreamObserver<BufferedData> {
+        private long responseLength;
+
+        @Override
+        public void onNext(@NonNull final BufferedData response) {
+            responseLength = response.remaining();
+        }
+
+        @Override
+        public void onError(@NonNull final Throwable t) {
+            throw new IllegalStateException("Ingest failed", t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do
+        }
+    }
+
+    private static final class NoopDeduplicationCache implements DeduplicationCache {
+        @Override
+        public void add(@NonNull final TransactionID transactionID) {
+            // Every transaction is accepted, so benchmark iterations can reuse transactions
+        }
+
+        @Override
+        public boolean contains(@NonNull final TransactionID transactionID) {
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            // Nothing to clear
+        }
+    }
+
+    private static final class AcceptingPlatform implements Platform {
+        @Override
+        public boolean createTransaction(@NonNull final byte[] transaction) {
+            return true;
+        }
+
+        @Override
+        public boolean createTransaction(@NonNull final Bytes transaction) {
+            return true;
+        }
+
+        @Override
+        public PlatformContext getContext() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public NotificationEngine getNotificationEngine() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AddressBook getAddressBook() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public NodeId getSelfId() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T extends SwirldState> AutoCloseableWrapper<T> getLatestImmutableState(@NonNull final String reason) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Signature sign(@NonNull final byte[] data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void start() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
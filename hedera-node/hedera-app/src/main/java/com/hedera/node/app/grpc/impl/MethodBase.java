@@ -128,8 +128,11 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
             final var responseBuffer = BUFFER_THREAD_LOCAL.get();
             responseBuffer.reset();
 
-            // Convert the request BufferedData to a Bytes instance without copying the bytes
-            final var requestBytes = requestBuffer.getBytes(0, requestBuffer.length());
+            // Copy the request out of the request buffer, which is reused for the next request on this thread.
+            // The copy is owned by this request, so the ingest workflow can hand it to the platform as is.
+            final var requestArray = new byte[Math.toIntExact(requestBuffer.length())];
+            requestBuffer.getBytes(0, requestArray);
+            final var requestBytes = Bytes.wrap(requestArray);
 
             // Call the workflow
             handle(requestBytes, responseBuffer);
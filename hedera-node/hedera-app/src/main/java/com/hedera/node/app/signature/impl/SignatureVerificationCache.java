@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.signature.impl;
+
+import static com.hedera.node.app.hapi.utils.CommonUtils.noThrowSha384HashOf;
+import static java.util.Objects.requireNonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hedera.hapi.node.base.SignaturePair.SignatureOneOfType;
+import com.hedera.node.app.spi.signatures.SignatureVerifier.MessageType;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.CacheConfig;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.crypto.VerificationStatus;
+import com.swirlds.common.metrics.FunctionGauge;
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A bounded, concurrent cache of signature verification results, shared by all transactions. The same signature is
+ * often verified more than once, for example, when pre-handle is repeated in handle because the node configuration
+ * has changed, or when scheduled transactions check their signatures again. With this cache, a repeated check costs
+ * a hash lookup instead of an elliptic curve operation.
+ *
+ * <p>Results are keyed by the full public key, the full signature, and the SHA-384 hash of the signed bytes, so a
+ * cached result is only ever reused for exactly the same signature check. The cache is disabled, if
+ * {@link CacheConfig#signaturesMaxEntries()} is not positive.
+ */
+@Singleton
+public final class SignatureVerificationCache {
+
+    private static final String CATEGORY = "app";
+
+    /**
+     * The key of a cached verification result.
+     *
+     * @param kind the kind of the signature
+     * @param publicKey the public key bytes
+     * @param messageHash the SHA-384 hash of the signed bytes
+     * @param signature the signature bytes
+     * @param messageType the type of the signed bytes, which defines the message verified for ECDSA signatures
+     */
+    public record CacheKey(
+            @NonNull SignatureOneOfType kind,
+            @NonNull Bytes publicKey,
+            @NonNull Bytes messageHash,
+            @NonNull Bytes signature,
+            @NonNull MessageType messageType) {}
+
+    /** The cached results, or {@code null} if the cache is disabled */
+    @Nullable
+    private final Cache<CacheKey, VerificationStatus> cache;
+
+    @Nullable
+    private final Counter hits;
+
+    @Nullable
+    private final Counter misses;
+
+    /**
+     * Create a new cache. Metrics are only registered, if the cache is enabled.
+     *
+     * @param metrics the metrics to register the cache hit and miss metrics with
+     * @param configProvider the configuration provider
+     */
+    @Inject
+    public SignatureVerificationCache(@NonNull final Metrics metrics, @NonNull final ConfigProvider configProvider) {
+        requireNonNull(metrics, "metrics must not be null");
+        requireNonNull(configProvider, "configProvider must not be null");
+        final int maxEntries =
+                configProvider.getConfiguration().getConfigData(CacheConfig.class).signaturesMaxEntries();
+        if (maxEntries <= 0) {
+            cache = null;
+            hits = null;
+            misses = null;
+            return;
+        }
+        cache = Caffeine.newBuilder().maximumSize(maxEntries).build();
+        hits = metrics.getOrCreate(new Counter.Config(CATEGORY, "sigVerificationCacheHits")
+                .withDescription("number of signature verifications answered from the verification cache"));
+        misses = metrics.getOrCreate(new Counter.Config(CATEGORY, "sigVerificationCacheMisses")
+                .withDescription("number of signature verifications not found in the verification cache"));
+        final var hitRatioConfig = new FunctionGauge.Config<>(
+                        CATEGORY, "sigVerificationCacheHitPercent", Double.class, this::hitPercent)
+                .withDescription("percent of signature verifications answered from the verification cache")
+                .withFormat("%,13.2f");
+        metrics.getOrCreate(hitRatioConfig);
+    }
+
+    /**
+     * Indicates whether the cache is enabled. If the cache is disabled, {@link #get(CacheKey)} always returns
+     * {@code null}, and {@link #put(CacheKey, VerificationStatus)} does nothing.
+     *
+     * @return whether the cache is enabled
+     */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Computes the hash of signed bytes, which is used in cache keys.
+     *
+     * @param signedBytes the signed bytes
+     * @return the SHA-384 hash of the signed bytes
+     */
+    @NonNull
+    public Bytes hashOf(@NonNull final Bytes signedBytes) {
+        return noThrowSha384HashOf(signedBytes);
+    }
+
+    /**
+     * Gets the cached result of a signature verification.
+     *
+     * @param key the cache key
+     * @return the cached result, or {@code null} if the result is not cached
+     */
+    @Nullable
+    public VerificationStatus get(@NonNull final CacheKey key) {
+        if (cache == null) {
+            return null;
+        }
+        final VerificationStatus status = cache.getIfPresent(key);
+        if (status != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return status;
+    }
+
+    /**
+     * Caches the result of a signature verification. Only {@link VerificationStatus#VALID} and
+     * {@link VerificationStatus#INVALID} results are cached.
+     *
+     * @param key the cache key
+     * @param status the verification result
+     */
+    public void put(@NonNull final CacheKey key, @NonNull final VerificationStatus status) {
+        if (cache != null && (status == VerificationStatus.VALID || status == VerificationStatus.INVALID)) {
+            cache.put(key, status);
+        }
+    }
+
+    private double hitPercent() {
+        final long hitCount = hits.get();
+        final long total = hitCount + misses.get();
+        return total == 0 ? 0.0 : 100.0 * hitCount / total;
+    }
+}
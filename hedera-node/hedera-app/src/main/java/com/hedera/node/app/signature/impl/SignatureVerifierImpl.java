@@ -20,6 +20,7 @@ import static com.hedera.hapi.node.base.SignaturePair.SignatureOneOfType.ECDSA_S
 import static com.hedera.hapi.node.base.SignaturePair.SignatureOneOfType.ED25519;
 import static com.hedera.node.app.spi.signatures.SignatureVerifier.MessageType.KECCAK_256_HASH;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
 import com.hedera.hapi.node.base.Key;
 import com.hedera.node.app.hapi.utils.MiscCryptoUtils;
@@ -32,6 +33,8 @@ import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.crypto.SignatureType;
 import com.swirlds.common.crypto.TransactionSignature;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -47,11 +50,22 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
 
     /** The {@link Cryptography} engine to use for signature verification. */
     private final Cryptography cryptoEngine;
+    /** The cache of verification results, or {@code null} if results are not cached. */
+    @Nullable
+    private final SignatureVerificationCache cache;
 
-    /** Create a new instance with the given {@link Cryptography} engine. */
-    @Inject
+    /** Create a new instance with the given {@link Cryptography} engine, which doesn't cache results. */
     public SignatureVerifierImpl(@NonNull final Cryptography cryptoEngine) {
         this.cryptoEngine = requireNonNull(cryptoEngine);
+        this.cache = null;
+    }
+
+    /** Create a new instance with the given {@link Cryptography} engine and verification result cache. */
+    @Inject
+    public SignatureVerifierImpl(
+            @NonNull final Cryptography cryptoEngine, @NonNull final SignatureVerificationCache cache) {
+        this.cryptoEngine = requireNonNull(cryptoEngine);
+        this.cache = requireNonNull(cache).isEnabled() ? cache : null;
     }
 
     @NonNull
@@ -82,8 +96,13 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
             ecPreparer = createPreparerForEC(signedBytes, messageType);
         }
 
+        // If results are cached, the signed bytes are hashed once for all cache keys of this call
+        final Bytes messageHash = (cache != null && !sigs.isEmpty()) ? cache.hashOf(signedBytes) : null;
+        final var cacheKeys = new ArrayList<SignatureVerificationCache.CacheKey>(messageHash != null ? sigs.size() : 0);
+
         // Gather each TransactionSignature to send to the platform and the resulting SignatureVerificationFutures
         final var futures = HashMap.<Key, SignatureVerificationFuture>newHashMap(sigs.size());
+        final var txSigs = new ArrayList<TransactionSignature>(sigs.size());
         for (ExpandedSignaturePair sigPair : sigs) {
             final var kind = sigPair.sigPair().signature().kind();
             final var preparer =
@@ -100,10 +119,31 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
             preparer.addSignature(sigPair.signature());
             preparer.addKey(sigPair.keyBytes());
             final TransactionSignature txSig = preparer.prepareTransactionSignature();
-            cryptoEngine.verifySync(txSig);
             final SignatureVerificationFuture future =
                     new SignatureVerificationFutureImpl(sigPair.key(), sigPair.evmAlias(), txSig);
             futures.put(sigPair.key(), future);
+
+            if (messageHash != null) {
+                final var cacheKey = new SignatureVerificationCache.CacheKey(
+                        kind, sigPair.keyBytes(), messageHash, sigPair.signature(), messageType);
+                final var cachedStatus = cache.get(cacheKey);
+                if (cachedStatus != null) {
+                    txSig.setSignatureStatus(cachedStatus);
+                    txSig.setFuture(completedFuture(null));
+                    continue;
+                }
+                cacheKeys.add(cacheKey);
+            }
+            txSigs.add(txSig);
+        }
+
+        // All signatures of the transaction are verified as a single batch, so the crypto engine can share the work
+        // that is common to them, like extracting the signed bytes
+        if (!txSigs.isEmpty()) {
+            cryptoEngine.verifyBatchSync(txSigs);
+        }
+        for (int i = 0; i < cacheKeys.size(); i++) {
+            cache.put(cacheKeys.get(i), txSigs.get(i).getSignatureStatus());
         }
 
         return futures;
@@ -21,36 +21,102 @@ import static java.util.Objects.requireNonNull;
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.HederaFunctionality;
 import com.hedera.hapi.node.transaction.Query;
-import com.hedera.node.app.throttle.annotations.IngestThrottle;
+import com.hedera.hapi.node.transaction.ThrottleDefinitions;
 import com.hedera.node.app.workflows.TransactionInfo;
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
 import com.swirlds.state.State;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Instant;
 import java.time.InstantSource;
-import javax.inject.Inject;
-import javax.inject.Singleton;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 
 /**
  * Keeps track of the amount of usage of different TPS throttle categories and gas, and returns whether a given
  * transaction or query should be throttled based on that.
  * Meant to be used in multithreaded context
+ *
+ * <p>The frontend throttle may be split into several shards, each a {@link ThrottleAccumulator} with an equal
+ * share of the TPS and gas capacity, and each guarded by its own lock. A decision is made on the first shard
+ * whose lock is free, starting from a shard assigned to the calling thread, so concurrent ingest threads
+ * rarely wait for each other. If that shard throttles the transaction or query, the other shards whose locks
+ * are free are tried in turn, and the transaction or query is only throttled if none of them has capacity for
+ * it. A decision therefore waits for a lock at most once, and only if all shards are busy. With a single shard,
+ * decisions are exactly the same as with one synchronized accumulator.
+ *
+ * <p>With more than one shard, admission matches a single accumulator within the following tolerance:
+ * <ul>
+ *     <li>a transaction that needs more capacity than a single shard has (e.g. a large burst of implicit
+ *     creations, or more gas than {@code maxGasPerSec / shards}) is throttled, even if the total capacity
+ *     would allow it</li>
+ *     <li>shards that are busy with another decision are skipped when retrying, so a transaction or query may
+ *     be throttled while a busy shard still had capacity for it; this can only happen when every shard it did
+ *     try was full, i.e. when the throttle is close to saturation anyway</li>
+ *     <li>since every bucket is split into smaller buckets, a bucket whose share could not fit a single
+ *     operation within its burst period has that burst period scaled up when the throttles are rebuilt, as if
+ *     the node capacity split was that much larger; each shard then admits a full operation, so up to one
+ *     operation per shard may be admitted in a burst the single accumulator would have spread out</li>
+ *     <li>capacity given back by {@link #leakCapacityForNOfUnscaled(int, HederaFunctionality)} is returned to
+ *     the first shard only</li>
+ *     <li>throttle utilization gauges report the utilization of the first shard, which approximates the
+ *     utilization of the whole throttle when ingest load is spread evenly over the shards</li>
+ * </ul>
  */
-@Singleton
 public class SynchronizedThrottleAccumulator {
 
+    private static final Counter.Config CONTENDED_DECISIONS_CONFIG = new Counter.Config(
+                    "app", "ingestThrottleContendedDecisions")
+            .withDescription("number of ingest throttle decisions that had to wait for a throttle shard lock");
+    private static final Counter.Config SHARD_RETRIES_CONFIG = new Counter.Config("app", "ingestThrottleShardRetries")
+            .withDescription("number of times an ingest throttle decision was retried on another throttle shard");
+    private static final Counter.Config SKIPPED_RETRIES_CONFIG = new Counter.Config(
+                    "app", "ingestThrottleSkippedShardRetries")
+            .withDescription("number of times an ingest throttle decision skipped a retry on a busy throttle shard");
+
     private final InstantSource instantSource;
-    private final ThrottleAccumulator frontendThrottle;
+    private final ThrottleAccumulator[] shards;
+    private final ReentrantLock[] locks;
+    private final Instant[] lastDecisionTimes;
+    private final Counter contendedDecisions;
+    private final Counter shardRetries;
+    private final Counter skippedRetries;
 
-    @NonNull
-    private Instant lastDecisionTime = Instant.EPOCH;
+    private final AtomicInteger nextHomeShard = new AtomicInteger();
+    private final ThreadLocal<Integer> homeShard;
 
-    @Inject
+    /**
+     * Constructs a {@link SynchronizedThrottleAccumulator} that shares the frontend throttle capacity between
+     * the given shards.
+     *
+     * @param instantSource the source of the current time
+     * @param shards the frontend throttle shards, each with its share of the capacity
+     * @param metrics the metrics to report lock contention to
+     */
     public SynchronizedThrottleAccumulator(
             @NonNull final InstantSource instantSource,
-            @NonNull @IngestThrottle final ThrottleAccumulator frontendThrottle) {
+            @NonNull final List<ThrottleAccumulator> shards,
+            @NonNull final Metrics metrics) {
         this.instantSource = requireNonNull(instantSource);
-        this.frontendThrottle = requireNonNull(frontendThrottle, "frontendThrottle must not be null");
+        if (requireNonNull(shards, "shards must not be null").isEmpty()) {
+            throw new IllegalArgumentException("At least one frontend throttle shard is required");
+        }
+        this.shards = shards.toArray(new ThrottleAccumulator[0]);
+        this.locks = new ReentrantLock[this.shards.length];
+        this.lastDecisionTimes = new Instant[this.shards.length];
+        for (int i = 0; i < this.shards.length; i++) {
+            locks[i] = new ReentrantLock();
+            lastDecisionTimes[i] = Instant.EPOCH;
+        }
+        this.homeShard = ThreadLocal.withInitial(() -> Math.floorMod(nextHomeShard.getAndIncrement(), numShards()));
+        requireNonNull(metrics);
+        this.contendedDecisions = metrics.getOrCreate(CONTENDED_DECISIONS_CONFIG);
+        this.shardRetries = metrics.getOrCreate(SHARD_RETRIES_CONFIG);
+        this.skippedRetries = metrics.getOrCreate(SKIPPED_RETRIES_CONFIG);
     }
 
     /**
@@ -61,9 +127,10 @@ public class SynchronizedThrottleAccumulator {
      * @param state the current state of the node
      * @return whether the transaction should be throttled
      */
-    public synchronized boolean shouldThrottle(@NonNull TransactionInfo txnInfo, State state) {
-        setDecisionTime(instantSource.instant());
-        return frontendThrottle.checkAndEnforceThrottle(txnInfo, lastDecisionTime, state);
+    public boolean shouldThrottle(@NonNull TransactionInfo txnInfo, State state) {
+        requireNonNull(txnInfo);
+        final var now = instantSource.instant();
+        return shouldThrottle(i -> shards[i].checkAndEnforceThrottle(txnInfo, decisionTime(i, now), state));
     }
 
     /**
@@ -75,17 +142,122 @@ public class SynchronizedThrottleAccumulator {
      * @param queryPayerId the payer id of the query
      * @return whether the query should be throttled
      */
-    public synchronized boolean shouldThrottle(
+    public boolean shouldThrottle(
             @NonNull final HederaFunctionality queryFunction,
             @NonNull final Query query,
             @Nullable AccountID queryPayerId) {
         requireNonNull(query);
         requireNonNull(queryFunction);
-        setDecisionTime(instantSource.instant());
-        return frontendThrottle.checkAndEnforceThrottle(queryFunction, lastDecisionTime, query, queryPayerId);
+        final var now = instantSource.instant();
+        return shouldThrottle(
+                i -> shards[i].checkAndEnforceThrottle(queryFunction, decisionTime(i, now), query, queryPayerId));
+    }
+
+    /**
+     * Rebuilds the throttle requirements of all shards based on the given throttle definitions.
+     *
+     * @param defs the throttle definitions to rebuild the throttle requirements based on
+     */
+    public void rebuildFor(@NonNull final ThrottleDefinitions defs) {
+        requireNonNull(defs);
+        forEachShard(i -> shards[i].rebuildFor(defs));
+    }
+
+    /**
+     * Rebuilds the gas throttle of all shards based on the current configuration.
+     */
+    public void applyGasConfig() {
+        forEachShard(i -> shards[i].applyGasConfig());
+    }
+
+    /**
+     * Undoes the claimed capacity for a number of transactions of the same functionality.
+     *
+     * @param n the number of transactions to consider
+     * @param function the functionality type of the transactions
+     */
+    public void leakCapacityForNOfUnscaled(final int n, @NonNull final HederaFunctionality function) {
+        requireNonNull(function);
+        locks[0].lock();
+        try {
+            shards[0].leakCapacityForNOfUnscaled(n, function);
+        } finally {
+            locks[0].unlock();
+        }
+    }
+
+    /**
+     * Updates all metrics for the active throttles and the gas throttle.
+     */
+    public void updateAllMetrics() {
+        shards[0].updateAllMetrics();
+    }
+
+    /**
+     * Returns the number of shards the frontend throttle capacity is split into.
+     *
+     * @return the number of shards
+     */
+    public int numShards() {
+        return shards.length;
+    }
+
+    private boolean shouldThrottle(@NonNull final IntPredicate shouldThrottleOnShard) {
+        final int first = lockFirstAvailableShard();
+        try {
+            if (!shouldThrottleOnShard.test(first)) {
+                return false;
+            }
+        } finally {
+            locks[first].unlock();
+        }
+        for (int offset = 1; offset < shards.length; offset++) {
+            final int i = (first + offset) % shards.length;
+            if (!locks[i].tryLock()) {
+                skippedRetries.increment();
+                continue;
+            }
+            shardRetries.increment();
+            try {
+                if (!shouldThrottleOnShard.test(i)) {
+                    return false;
+                }
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return true;
+    }
+
+    private int lockFirstAvailableShard() {
+        final int home = homeShard.get();
+        for (int offset = 0; offset < shards.length; offset++) {
+            final int i = (home + offset) % shards.length;
+            if (locks[i].tryLock()) {
+                return i;
+            }
+        }
+        contendedDecisions.increment();
+        locks[home].lock();
+        return home;
+    }
+
+    private void forEachShard(@NonNull final IntConsumer action) {
+        for (int i = 0; i < shards.length; i++) {
+            locks[i].lock();
+            try {
+                action.accept(i);
+            } finally {
+                locks[i].unlock();
+            }
+        }
     }
 
-    private void setDecisionTime(@NonNull final Instant time) {
-        lastDecisionTime = time.isBefore(lastDecisionTime) ? lastDecisionTime : time;
+    // Must only be called while holding the lock of the given shard
+    private Instant decisionTime(final int shard, @NonNull final Instant now) {
+        if (now.isAfter(lastDecisionTimes[shard])) {
+            lastDecisionTimes[shard] = now;
+        }
+        return lastDecisionTimes[shard];
     }
 }
@@ -114,16 +114,41 @@ public class ThrottleAccumulator {
     private final ConfigProvider configProvider;
     private final IntSupplier capacitySplitSource;
     private final ThrottleType throttleType;
+    private final int numShards;
 
     public ThrottleAccumulator(
             @NonNull final IntSupplier capacitySplitSource,
             @NonNull final ConfigProvider configProvider,
             @NonNull final ThrottleType throttleType,
             @NonNull final ThrottleMetrics throttleMetrics) {
+        this(capacitySplitSource, configProvider, throttleType, throttleMetrics, 1);
+    }
+
+    /**
+     * Creates a throttle accumulator that is one of {@code numShards} accumulators sharing the capacity
+     * of a single throttle. Both the TPS capacity (after the capacity split) and the gas capacity are divided
+     * evenly between the shards.
+     *
+     * @param capacitySplitSource the source of the number of ways to split the capacity
+     * @param configProvider the configuration provider
+     * @param throttleType the type of the throttle
+     * @param throttleMetrics the metrics of the throttle
+     * @param numShards the number of accumulators sharing the capacity
+     */
+    public ThrottleAccumulator(
+            @NonNull final IntSupplier capacitySplitSource,
+            @NonNull final ConfigProvider configProvider,
+            @NonNull final ThrottleType throttleType,
+            @NonNull final ThrottleMetrics throttleMetrics,
+            final int numShards) {
+        if (numShards < 1) {
+            throw new IllegalArgumentException("numShards must be positive, was " + numShards);
+        }
         this.configProvider = requireNonNull(configProvider, "configProvider must not be null");
         this.capacitySplitSource = requireNonNull(capacitySplitSource, "capacitySplitSource must not be null");
         this.throttleType = requireNonNull(throttleType, "throttleType must not be null");
         this.throttleMetrics = requireNonNull(throttleMetrics, "throttleMetrics must not be null");
+        this.numShards = numShards;
     }
 
     // For testing purposes, in practice the gas throttle is
@@ -139,6 +164,7 @@ public class ThrottleAccumulator {
         this.capacitySplitSource = requireNonNull(capacitySplitSource, "capacitySplitSource must not be null");
         this.throttleType = requireNonNull(throttleType, "throttleType must not be null");
         this.gasThrottle = requireNonNull(gasThrottle, "gasThrottle must not be null");
+        this.numShards = 1;
 
         this.throttleMetrics = throttleMetrics;
         this.throttleMetrics.setupGasThrottleMetric(gasThrottle, configProvider.getConfiguration());
@@ -810,6 +836,7 @@ public class ThrottleAccumulator {
      * @param defs the throttle definitions to rebuild the throttle requirements based on
      */
     public void rebuildFor(@NonNull final ThrottleDefinitions defs) {
+        final int capacitySplit = capacitySplitSource.getAsInt() * numShards;
         List<DeterministicThrottle> newActiveThrottles = new ArrayList<>();
         EnumMap<HederaFunctionality, List<Pair<DeterministicThrottle, Integer>>> reqLists =
                 new EnumMap<>(HederaFunctionality.class);
@@ -822,7 +849,7 @@ public class ThrottleAccumulator {
                         bucket.throttleGroups().stream()
                                 .map(this::hapiGroupFromPbj)
                                 .toList());
-                var mapping = utilThrottleBucket.asThrottleMapping(capacitySplitSource.getAsInt());
+                var mapping = utilThrottleBucket.asThrottleMapping(capacitySplit);
                 var throttle = mapping.getLeft();
                 var reqs = mapping.getRight();
                 for (var req : reqs) {
@@ -843,7 +870,7 @@ public class ThrottleAccumulator {
         final var configuration = configProvider.getConfiguration();
         throttleMetrics.setupThrottleMetrics(activeThrottles, configuration);
 
-        logResolvedDefinitions(capacitySplitSource.getAsInt());
+        logResolvedDefinitions(capacitySplit);
     }
 
     /**
@@ -855,7 +882,7 @@ public class ThrottleAccumulator {
         if (contractsConfig.throttleThrottleByGas() && contractsConfig.maxGasPerSec() == 0) {
             log.warn("{} gas throttling enabled, but limited to 0 gas/sec", throttleType.name());
         }
-        gasThrottle = new GasLimitDeterministicThrottle(contractsConfig.maxGasPerSec());
+        gasThrottle = new GasLimitDeterministicThrottle(contractsConfig.maxGasPerSec() / numShards);
         throttleMetrics.setupGasThrottleMetric(gasThrottle, configuration);
         log.info(
                 "Resolved {} gas throttle -\n {} gas/sec (throttling {})",
@@ -34,7 +34,6 @@ import com.hedera.node.app.hapi.utils.throttles.DeterministicThrottle;
 import com.hedera.node.app.service.token.ReadableAccountStore;
 import com.hedera.node.app.service.token.ReadableTokenRelationStore;
 import com.hedera.node.app.throttle.annotations.BackendThrottle;
-import com.hedera.node.app.throttle.annotations.IngestThrottle;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.state.State;
 import com.swirlds.state.spi.ReadableSingletonState;
@@ -55,14 +54,14 @@ public class ThrottleServiceManager {
     private static final Logger log = LogManager.getLogger(ThrottleServiceManager.class);
 
     private final ThrottleParser throttleParser;
-    private final ThrottleAccumulator ingestThrottle;
+    private final SynchronizedThrottleAccumulator ingestThrottle;
     private final ThrottleAccumulator backendThrottle;
     private final CongestionMultipliers congestionMultipliers;
 
     @Inject
     public ThrottleServiceManager(
             @NonNull final ThrottleParser throttleParser,
-            @NonNull @IngestThrottle final ThrottleAccumulator ingestThrottle,
+            @NonNull final SynchronizedThrottleAccumulator ingestThrottle,
             @NonNull @BackendThrottle final ThrottleAccumulator backendThrottle,
             @NonNull final CongestionMultipliers congestionMultipliers) {
         this.throttleParser = throttleParser;
@@ -27,11 +27,14 @@ import com.hedera.node.app.throttle.annotations.GasThrottleMultiplier;
 import com.hedera.node.app.throttle.annotations.IngestThrottle;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.data.FeesConfig;
+import com.hedera.node.config.data.HederaConfig;
 import com.swirlds.metrics.api.Metrics;
 import dagger.Binds;
 import dagger.Module;
 import dagger.Provides;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.InstantSource;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.IntSupplier;
 import javax.inject.Singleton;
@@ -61,7 +64,31 @@ public interface ThrottleServiceModule {
             @NonNull final ConfigProvider configProvider,
             @NonNull final Metrics metrics) {
         final var throttleMetrics = new ThrottleMetrics(metrics, FRONTEND_THROTTLE);
-        return new ThrottleAccumulator(frontendThrottleSplit, configProvider, FRONTEND_THROTTLE, throttleMetrics);
+        return new ThrottleAccumulator(
+                frontendThrottleSplit,
+                configProvider,
+                FRONTEND_THROTTLE,
+                throttleMetrics,
+                numIngestThrottleShards(configProvider));
+    }
+
+    @Provides
+    @Singleton
+    static SynchronizedThrottleAccumulator provideSynchronizedThrottleAccumulator(
+            @NonNull final InstantSource instantSource,
+            @NonNull @IngestThrottle final ThrottleAccumulator ingestThrottle,
+            @NonNull final IntSupplier frontendThrottleSplit,
+            @NonNull final ConfigProvider configProvider,
+            @NonNull final Metrics metrics) {
+        final int numShards = numIngestThrottleShards(configProvider);
+        final List<ThrottleAccumulator> shards = new ArrayList<>(numShards);
+        shards.add(ingestThrottle);
+        for (int i = 1; i < numShards; i++) {
+            final var throttleMetrics = new ThrottleMetrics(metrics, FRONTEND_THROTTLE);
+            shards.add(new ThrottleAccumulator(
+                    frontendThrottleSplit, configProvider, FRONTEND_THROTTLE, throttleMetrics, numShards));
+        }
+        return new SynchronizedThrottleAccumulator(instantSource, shards, metrics);
     }
 
     @Provides
@@ -103,4 +130,9 @@ public interface ThrottleServiceModule {
                         .percentCongestionMultipliers(),
                 () -> List.of(backendThrottle.gasLimitThrottle()));
     }
+
+    private static int numIngestThrottleShards(@NonNull final ConfigProvider configProvider) {
+        final var hederaConfig = configProvider.getConfiguration().getConfigData(HederaConfig.class);
+        return Math.max(1, hederaConfig.ingestThrottleShards());
+    }
 }
@@ -24,6 +24,7 @@ import com.hedera.node.config.data.StatsConfig;
 import com.swirlds.common.metrics.IntegerPairAccumulator;
 import com.swirlds.common.metrics.RunningAverageMetric;
 import com.swirlds.common.metrics.RunningAverageMetric.Config;
+import com.swirlds.metrics.api.Counter;
 import com.swirlds.metrics.api.IntegerAccumulator;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -45,11 +46,31 @@ public class OpWorkflowMetrics {
             .withDescription("average EVM gas used per second of consensus time")
             .withFormat("%,13.6f");
 
+    private static final Counter.Config CONFLICT_FREE_TXNS_CONFIG = new Counter.Config("app", "conflictFreeTxns")
+            .withDescription("number of user transactions that did not read state written by an earlier transaction "
+                    + "of the same round (only counted if consensus.handle.trackReadWriteSets is enabled)");
+
+    private static final Counter.Config CONFLICTING_TXNS_CONFIG = new Counter.Config("app", "conflictingTxns")
+            .withDescription("number of user transactions that read state written by an earlier transaction "
+                    + "of the same round (only counted if consensus.handle.trackReadWriteSets is enabled)");
+
+    private static final Counter.Config SHARED_ENTRY_CONFLICT_TXNS_CONFIG = new Counter.Config(
+                    "app", "sharedEntryConflictTxns")
+            .withDescription("number of conflicting user transactions that only read fee collection accounts, node "
+                    + "accounts, or the entity id counter written by an earlier transaction of the same round "
+                    + "(only counted if consensus.handle.trackReadWriteSets is enabled)");
+
     private final Map<HederaFunctionality, TransactionMetric> transactionMetrics =
             new EnumMap<>(HederaFunctionality.class);
 
     private final RunningAverageMetric gasPerConsSec;
 
+    private final Counter conflictFreeTxns;
+
+    private final Counter conflictingTxns;
+
+    private final Counter sharedEntryConflictTxns;
+
     private long gasUsedThisConsensusSecond = 0L;
 
     /**
@@ -82,6 +103,9 @@ public class OpWorkflowMetrics {
 
         final StatsConfig statsConfig = configProvider.getConfiguration().getConfigData(StatsConfig.class);
         gasPerConsSec = metrics.getOrCreate(GAS_PER_CONS_SEC_CONFIG.withHalfLife(statsConfig.runningAvgHalfLifeSecs()));
+        conflictFreeTxns = metrics.getOrCreate(CONFLICT_FREE_TXNS_CONFIG);
+        conflictingTxns = metrics.getOrCreate(CONFLICTING_TXNS_CONFIG);
+        sharedEntryConflictTxns = metrics.getOrCreate(SHARED_ENTRY_CONFLICT_TXNS_CONFIG);
     }
 
     /**
@@ -114,5 +138,24 @@ public class OpWorkflowMetrics {
         gasUsedThisConsensusSecond += gasUsed;
     }
 
+    /**
+     * Update the metrics for the outcome of validating the read and write sets of a user transaction against
+     * the writes of earlier transactions of the same round
+     *
+     * @param conflict whether the transaction read state written by an earlier transaction of the round
+     * @param sharedEntriesOnly whether all conflicting reads were of entries written by almost every transaction, i.e.
+     * the fee collection accounts, the node accounts, and the entity id counter
+     */
+    public void updateReadWriteConflicts(final boolean conflict, final boolean sharedEntriesOnly) {
+        if (conflict) {
+            conflictingTxns.increment();
+            if (sharedEntriesOnly) {
+                sharedEntryConflictTxns.increment();
+            }
+        } else {
+            conflictFreeTxns.increment();
+        }
+    }
+
     private record TransactionMetric(IntegerAccumulator max, IntegerPairAccumulator<Integer> avg) {}
 }
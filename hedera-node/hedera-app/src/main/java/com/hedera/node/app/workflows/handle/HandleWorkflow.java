@@ -18,8 +18,10 @@ package com.hedera.node.app.workflows.handle;
 
 import static com.hedera.hapi.node.base.ResponseCodeEnum.BUSY;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.FAIL_INVALID;
+import static com.hedera.node.app.ids.schemas.V0490EntityIdSchema.ENTITY_ID_STATE_KEY;
 import static com.hedera.node.app.records.schemas.V0490BlockRecordSchema.BLOCK_INFO_STATE_KEY;
 import static com.hedera.node.app.service.file.impl.schemas.V0490FileSchema.BLOBS_KEY;
+import static com.hedera.node.app.service.token.impl.schemas.V0490TokenSchema.ACCOUNTS_KEY;
 import static com.hedera.node.app.spi.workflows.HandleContext.TransactionCategory.USER;
 import static com.hedera.node.app.spi.workflows.record.ExternalizedRecordCustomizer.NOOP_RECORD_CUSTOMIZER;
 import static com.hedera.node.app.spi.workflows.record.StreamBuilder.ReversingBehavior.REVERSIBLE;
@@ -29,6 +31,8 @@ import static com.hedera.node.app.state.logging.TransactionStateLogger.logStartU
 import static com.hedera.node.app.state.logging.TransactionStateLogger.logStartUserTransactionPreHandleResultP2;
 import static com.hedera.node.app.state.logging.TransactionStateLogger.logStartUserTransactionPreHandleResultP3;
 import static com.hedera.node.app.state.merkle.VersionUtils.isSoOrdered;
+import static com.hedera.node.app.workflows.handle.ReadWriteConflictDetector.Outcome.NO_CONFLICT;
+import static com.hedera.node.app.workflows.handle.ReadWriteConflictDetector.Outcome.SHARED_ENTRY_CONFLICT;
 import static com.hedera.node.app.workflows.handle.TransactionType.GENESIS_TRANSACTION;
 import static com.hedera.node.app.workflows.handle.TransactionType.ORDINARY_TRANSACTION;
 import static com.hedera.node.app.workflows.handle.TransactionType.POST_UPGRADE_TRANSACTION;
@@ -43,6 +47,7 @@ import com.hedera.hapi.block.stream.BlockItem;
 import com.hedera.hapi.block.stream.input.EventHeader;
 import com.hedera.hapi.block.stream.input.RoundHeader;
 import com.hedera.hapi.block.stream.output.StateChanges;
+import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.ResponseCodeEnum;
 import com.hedera.hapi.node.base.SemanticVersion;
 import com.hedera.hapi.node.base.Transaction;
@@ -55,6 +60,7 @@ import com.hedera.node.app.blocks.impl.BoundaryStateChangeListener;
 import com.hedera.node.app.blocks.impl.KVStateChangeListener;
 import com.hedera.node.app.fees.ExchangeRateManager;
 import com.hedera.node.app.fees.FeeManager;
+import com.hedera.node.app.ids.EntityIdService;
 import com.hedera.node.app.records.BlockRecordManager;
 import com.hedera.node.app.records.BlockRecordService;
 import com.hedera.node.app.service.file.FileService;
@@ -84,12 +90,18 @@ import com.hedera.node.app.workflows.handle.cache.CacheWarmer;
 import com.hedera.node.app.workflows.handle.dispatch.ChildDispatchFactory;
 import com.hedera.node.app.workflows.handle.record.RecordStreamBuilder;
 import com.hedera.node.app.workflows.handle.record.SystemSetup;
+import com.hedera.node.app.workflows.handle.stack.ReadWriteSet;
+import com.hedera.node.app.workflows.handle.stack.ReadWriteSet.StateAccess;
 import com.hedera.node.app.workflows.handle.steps.HollowAccountCompletions;
 import com.hedera.node.app.workflows.handle.steps.NodeStakeUpdates;
 import com.hedera.node.app.workflows.handle.steps.UserTxn;
 import com.hedera.node.app.workflows.prehandle.PreHandleWorkflow;
 import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.AccountsConfig;
 import com.hedera.node.config.data.BlockStreamConfig;
+import com.hedera.node.config.data.ConsensusConfig;
+import com.hedera.node.config.data.HederaConfig;
+import com.hedera.node.config.data.LedgerConfig;
 import com.hedera.node.config.types.StreamMode;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.platform.system.InitTrigger;
@@ -102,8 +114,10 @@ import com.swirlds.state.spi.info.NodeInfo;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -152,6 +166,12 @@ public class HandleWorkflow {
     // The last second since the epoch at which the metrics were updated; this does not affect transaction handling
     private long lastMetricUpdateSecond;
 
+    // Whether the read and write sets of user transactions are tracked in the current round; this does not affect
+    // transaction handling, it only measures how many transactions optimistic parallel execution would re-execute
+    private boolean trackReadWriteSets;
+    private final ReadWriteSet readWriteSet = new ReadWriteSet();
+    private final ReadWriteConflictDetector conflictDetector = new ReadWriteConflictDetector();
+
     @Inject
     public HandleWorkflow(
             @NonNull final NetworkInfo networkInfo,
@@ -239,6 +259,13 @@ public class HandleWorkflow {
             }
         }
         recordCache.resetRoundReceipts();
+        trackReadWriteSets = configProvider
+                .getConfiguration()
+                .getConfigData(ConsensusConfig.class)
+                .handleTrackReadWriteSets();
+        if (trackReadWriteSets) {
+            conflictDetector.startRound(sharedEntries());
+        }
         try {
             handleEvents(state, round);
         } finally {
@@ -248,6 +275,36 @@ public class HandleWorkflow {
         }
     }
 
+    /**
+     * Returns the state entries written by almost every user transaction: the accounts collecting fees, the node
+     * accounts, and the entity id counter.
+     *
+     * @return the shared state entries
+     */
+    private Set<StateAccess> sharedEntries() {
+        final var config = configProvider.getConfiguration();
+        final var hederaConfig = config.getConfigData(HederaConfig.class);
+        final var accountsConfig = config.getConfigData(AccountsConfig.class);
+        final var entries = new HashSet<StateAccess>();
+        for (final long accountNum : new long[] {
+            config.getConfigData(LedgerConfig.class).fundingAccount(),
+            accountsConfig.stakingRewardAccount(),
+            accountsConfig.nodeRewardAccount()
+        }) {
+            final var accountId = AccountID.newBuilder()
+                    .shardNum(hederaConfig.shard())
+                    .realmNum(hederaConfig.realm())
+                    .accountNum(accountNum)
+                    .build();
+            entries.add(new StateAccess(TokenService.NAME, ACCOUNTS_KEY, accountId));
+        }
+        for (final var node : networkInfo.addressBook()) {
+            entries.add(new StateAccess(TokenService.NAME, ACCOUNTS_KEY, node.accountId()));
+        }
+        entries.add(new StateAccess(EntityIdService.NAME, ENTITY_ID_STATE_KEY, null));
+        return entries;
+    }
+
     private void handleEvents(@NonNull final State state, @NonNull final Round round) {
         final var userTransactionsHandled = new AtomicBoolean(false);
         for (final var event : round) {
@@ -344,7 +401,17 @@ public class HandleWorkflow {
                 default -> ORDINARY_TRANSACTION;};
         }
         final var userTxn = newUserTxn(state, event, creator, txn, consensusNow, type);
+        if (trackReadWriteSets) {
+            readWriteSet.clear();
+            userTxn.stack().trackReadWriteSet(readWriteSet);
+        }
         final var handleOutput = execute(userTxn);
+        if (trackReadWriteSets) {
+            userTxn.stack().trackReadWriteSet(null);
+            final var outcome = conflictDetector.validateAndCommit(readWriteSet);
+            opWorkflowMetrics.updateReadWriteConflicts(
+                    outcome != NO_CONFLICT, outcome == SHARED_ENTRY_CONFLICT);
+        }
         if (streamMode != BLOCKS) {
             final var records = ((LegacyListRecordSource) handleOutput.recordSourceOrThrow()).precomputedRecords();
             blockRecordManager.endUserTransaction(records.stream(), state);
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.app.workflows.handle.stack.ReadWriteSet;
+import com.hedera.node.app.workflows.handle.stack.ReadWriteSet.StateAccess;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Validates the {@link ReadWriteSet}s of the user transactions of a round in consensus order, the way an optimistic
+ * executor running the transactions of a round in parallel against the state at the start of the round would have to.
+ * A transaction is in conflict, if it read any state entry written by an earlier transaction of the same round; such a
+ * transaction may have observed a stale value and would have to be re-executed. Transactions without conflicts could
+ * have been committed as executed.
+ *
+ * <p>A read of a whole state (a singleton, a queue, or e.g. the size of a key/value state) conflicts with any earlier
+ * write to that state, and a read of a single entry conflicts with an earlier write of that entry or of the whole state.
+ *
+ * <p>Some entries are written by almost every transaction, e.g. the fee collection accounts and the entity id counter.
+ * Conflicts that only involve such shared entries are reported separately, as they would go away if the writes to
+ * these entries were deferred to commit time.
+ *
+ * <p>This class is not thread-safe, it is only used on the handle thread.
+ */
+final class ReadWriteConflictDetector {
+
+    /**
+     * The outcome of validating the accesses of a transaction.
+     */
+    enum Outcome {
+        /**
+         * The transaction did not read any entry written by an earlier transaction of the round.
+         */
+        NO_CONFLICT,
+        /**
+         * The transaction only read shared entries written by earlier transactions of the round.
+         */
+        SHARED_ENTRY_CONFLICT,
+        /**
+         * The transaction read other entries written by earlier transactions of the round.
+         */
+        CONFLICT
+    }
+
+    // The entries (or whole states) of the current round that are written by almost every transaction
+    private Set<StateAccess> sharedEntries = Set.of();
+    // All entries written by the transactions validated so far in the current round
+    private final Set<StateAccess> roundWrites = new HashSet<>();
+    // All states with at least one entry written by the transactions validated so far in the current round, not
+    // counting writes of shared entries
+    private final Set<StateAccess> roundWrittenStates = new HashSet<>();
+    // All states with at least one shared entry written by the transactions validated so far in the current round
+    private final Set<StateAccess> roundSharedWrittenStates = new HashSet<>();
+
+    /**
+     * Forgets all writes of the previous round.
+     */
+    void startRound() {
+        startRound(Set.of());
+    }
+
+    /**
+     * Forgets all writes of the previous round, and sets the shared entries of the new round.
+     *
+     * @param sharedEntries the entries (or whole states) written by almost every transaction
+     */
+    void startRound(@NonNull final Set<StateAccess> sharedEntries) {
+        this.sharedEntries = requireNonNull(sharedEntries);
+        roundWrites.clear();
+        roundWrittenStates.clear();
+        roundSharedWrittenStates.clear();
+    }
+
+    /**
+     * Validates the accesses of the next transaction of the round against the writes of all earlier transactions
+     * of the round, then adds the writes of this transaction to the writes of the round.
+     *
+     * @param readWriteSet the accesses of the next transaction in consensus order
+     * @return the outcome of the validation
+     */
+    @NonNull
+    Outcome validateAndCommit(@NonNull final ReadWriteSet readWriteSet) {
+        requireNonNull(readWriteSet);
+        final var outcome = validate(readWriteSet);
+        for (final var write : readWriteSet.writes()) {
+            roundWrites.add(write);
+            if (isShared(write)) {
+                roundSharedWrittenStates.add(write.wholeState());
+            } else {
+                roundWrittenStates.add(write.wholeState());
+            }
+        }
+        return outcome;
+    }
+
+    private Outcome validate(@NonNull final ReadWriteSet readWriteSet) {
+        if (roundWrittenStates.isEmpty() && roundSharedWrittenStates.isEmpty()) {
+            return Outcome.NO_CONFLICT;
+        }
+        var outcome = Outcome.NO_CONFLICT;
+        for (final var read : readWriteSet.reads()) {
+            if (read.key() == null) {
+                if (roundWrittenStates.contains(read)) {
+                    return Outcome.CONFLICT;
+                } else if (roundSharedWrittenStates.contains(read)) {
+                    outcome = Outcome.SHARED_ENTRY_CONFLICT;
+                }
+            } else if (roundWrites.contains(read) || roundWrites.contains(read.wholeState())) {
+                if (!isShared(read)) {
+                    return Outcome.CONFLICT;
+                }
+                outcome = Outcome.SHARED_ENTRY_CONFLICT;
+            }
+        }
+        return outcome;
+    }
+
+    private boolean isShared(@NonNull final StateAccess access) {
+        return sharedEntries.contains(access) || sharedEntries.contains(access.wholeState());
+    }
+}
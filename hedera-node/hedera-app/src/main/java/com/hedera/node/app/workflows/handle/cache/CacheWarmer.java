@@ -18,10 +18,21 @@ package com.hedera.node.app.workflows.handle.cache;
 
 import static java.util.Objects.requireNonNull;
 
+import com.hedera.hapi.node.base.AccountAmount;
 import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.NftTransfer;
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.hapi.node.base.TokenTransferList;
 import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.state.common.EntityIDPair;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.hapi.node.token.TokenAssociateTransactionBody;
+import com.hedera.hapi.node.token.TokenDissociateTransactionBody;
 import com.hedera.hapi.node.transaction.TransactionBody;
 import com.hedera.node.app.service.token.ReadableAccountStore;
+import com.hedera.node.app.service.token.ReadableTokenRelationStore;
+import com.hedera.node.app.service.token.ReadableTokenStore;
 import com.hedera.node.app.spi.workflows.PreCheckException;
 import com.hedera.node.app.spi.workflows.TransactionHandler;
 import com.hedera.node.app.spi.workflows.WarmupContext;
@@ -37,6 +48,8 @@ import com.swirlds.platform.system.transaction.Transaction;
 import com.swirlds.state.State;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.concurrent.Executor;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -45,7 +58,9 @@ import javax.inject.Singleton;
 /**
  * This class is used to warm up the cache. It is called at the beginning of a round with the current state
  * and the round. It will start a background thread which iterates through all transactions and calls the
- * {@link TransactionHandler#warm} method.
+ * {@link TransactionHandler#warm} method. Payer accounts, and accounts, tokens, and token relations of
+ * token transfers and associations in the round are collected first, and then warmed with a single bulk
+ * call per store, which lets the state read them from disk in the most efficient order.
  */
 @Singleton
 public class CacheWarmer {
@@ -73,21 +88,20 @@ public class CacheWarmer {
     public void warm(@NonNull final State state, @NonNull final Round round) {
         executor.execute(() -> {
             final ReadableStoreFactory storeFactory = new ReadableStoreFactory(state);
-            final ReadableAccountStore accountStore = storeFactory.getStore(ReadableAccountStore.class);
+            final RoundKeys roundKeys = new RoundKeys();
             for (final ConsensusEvent event : round) {
-                event.forEachTransaction(platformTransaction -> executor.execute(() -> {
+                event.forEachTransaction(platformTransaction -> {
                     final TransactionBody txBody = extractTransactionBody(platformTransaction);
                     if (txBody != null) {
-                        final AccountID payerID = txBody.transactionIDOrElse(TransactionID.DEFAULT)
-                                .accountID();
-                        if (payerID != null) {
-                            accountStore.warm(payerID);
-                        }
-                        final var context = new WarmupContextImpl(txBody, storeFactory);
-                        dispatcher.dispatchWarmup(context);
+                        roundKeys.addTransaction(txBody);
+                        executor.execute(() -> {
+                            final var context = new WarmupContextImpl(txBody, storeFactory);
+                            dispatcher.dispatchWarmup(context);
+                        });
                     }
-                }));
+                });
             }
+            roundKeys.warm(storeFactory);
         });
     }
 
@@ -110,6 +124,81 @@ public class CacheWarmer {
         }
     }
 
+    /**
+     * Accounts, tokens, and token relations touched by transactions in a round. They are collected while
+     * iterating over the round, and then warmed with one bulk call per store.
+     */
+    private static final class RoundKeys {
+
+        private final Set<AccountID> accountIDs = new LinkedHashSet<>();
+        private final Set<TokenID> tokenIDs = new LinkedHashSet<>();
+        private final Set<EntityIDPair> tokenRelations = new LinkedHashSet<>();
+
+        /**
+         * Adds the keys a transaction is known to touch: its payer and, for token transfers and
+         * associations, the involved accounts, tokens, and token relations.
+         *
+         * @param txBody the transaction body
+         */
+        void addTransaction(@NonNull final TransactionBody txBody) {
+            final AccountID payerID = txBody.transactionIDOrElse(TransactionID.DEFAULT).accountID();
+            if (payerID != null) {
+                accountIDs.add(payerID);
+            }
+            if (txBody.hasCryptoTransfer()) {
+                addCryptoTransfer(txBody.cryptoTransferOrThrow());
+            } else if (txBody.hasTokenAssociate()) {
+                final TokenAssociateTransactionBody op = txBody.tokenAssociateOrThrow();
+                op.tokens().forEach(tokenID -> addTokenRelation(op.account(), tokenID));
+            } else if (txBody.hasTokenDissociate()) {
+                final TokenDissociateTransactionBody op = txBody.tokenDissociateOrThrow();
+                op.tokens().forEach(tokenID -> addTokenRelation(op.account(), tokenID));
+            }
+        }
+
+        private void addCryptoTransfer(@NonNull final CryptoTransferTransactionBody op) {
+            for (final AccountAmount amount : op.transfersOrElse(TransferList.DEFAULT).accountAmounts()) {
+                if (amount.accountID() != null) {
+                    accountIDs.add(amount.accountID());
+                }
+            }
+            for (final TokenTransferList tokenTransferList : op.tokenTransfers()) {
+                final TokenID tokenID = tokenTransferList.token();
+                if (tokenID == null) {
+                    continue;
+                }
+                tokenIDs.add(tokenID);
+                for (final AccountAmount amount : tokenTransferList.transfers()) {
+                    addTokenRelation(amount.accountID(), tokenID);
+                }
+                for (final NftTransfer nftTransfer : tokenTransferList.nftTransfers()) {
+                    addTokenRelation(nftTransfer.senderAccountID(), tokenID);
+                    addTokenRelation(nftTransfer.receiverAccountID(), tokenID);
+                }
+            }
+        }
+
+        private void addTokenRelation(@Nullable final AccountID accountID, @Nullable final TokenID tokenID) {
+            if ((accountID == null) || (tokenID == null)) {
+                return;
+            }
+            accountIDs.add(accountID);
+            tokenRelations.add(
+                    EntityIDPair.newBuilder().accountId(accountID).tokenId(tokenID).build());
+        }
+
+        /**
+         * Warms all collected keys, with one bulk call per store.
+         *
+         * @param storeFactory the factory to create stores
+         */
+        void warm(@NonNull final ReadableStoreFactory storeFactory) {
+            storeFactory.getStore(ReadableAccountStore.class).warmAll(accountIDs);
+            storeFactory.getStore(ReadableTokenStore.class).warmAll(tokenIDs);
+            storeFactory.getStore(ReadableTokenRelationStore.class).warmAll(tokenRelations);
+        }
+    }
+
     /**
      * The default implementation of {@link WarmupContext}.
      */
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle.stack;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The set of state entries read and written while handling a single user transaction, recorded by the
+ * {@link WritableKVStateStack}, {@link WritableSingletonStateStack}, and {@link WritableQueueStateStack} of a
+ * {@link SavepointStackImpl} that tracks its accesses.
+ *
+ * <p>An access is identified by the service name, the state key, and the key of the entry. Accesses to a singleton,
+ * a queue, or to a key/value state as a whole (e.g. its size or its keys) have a {@code null} entry key.
+ *
+ * <p>Accesses made in savepoints that are later rolled back are still recorded. For reads this is exact, since the
+ * transaction did observe these values; for writes it is conservative.
+ */
+public final class ReadWriteSet {
+
+    /**
+     * A single state access.
+     *
+     * @param serviceName the name of the service that owns the state
+     * @param stateKey the state key
+     * @param key the key of the accessed entry, or {@code null} if the whole state was accessed
+     */
+    public record StateAccess(@NonNull String serviceName, @NonNull String stateKey, @Nullable Object key) {
+        public StateAccess {
+            requireNonNull(serviceName);
+            requireNonNull(stateKey);
+        }
+
+        /**
+         * Returns the access to the whole state this access belongs to.
+         *
+         * @return the access to the whole state
+         */
+        @NonNull
+        public StateAccess wholeState() {
+            return key == null ? this : new StateAccess(serviceName, stateKey, null);
+        }
+    }
+
+    private final Set<StateAccess> reads = new HashSet<>();
+    private final Set<StateAccess> writes = new HashSet<>();
+
+    /**
+     * Records a read of the given entry.
+     *
+     * @param serviceName the name of the service that owns the state
+     * @param stateKey the state key
+     * @param key the key of the entry, or {@code null} if the whole state was read
+     */
+    public void recordRead(
+            @NonNull final String serviceName, @NonNull final String stateKey, @Nullable final Object key) {
+        reads.add(new StateAccess(serviceName, stateKey, key));
+    }
+
+    /**
+     * Records a write of the given entry.
+     *
+     * @param serviceName the name of the service that owns the state
+     * @param stateKey the state key
+     * @param key the key of the entry, or {@code null} if the whole state was written
+     */
+    public void recordWrite(
+            @NonNull final String serviceName, @NonNull final String stateKey, @Nullable final Object key) {
+        writes.add(new StateAccess(serviceName, stateKey, key));
+    }
+
+    /**
+     * Returns all recorded reads.
+     *
+     * @return the read set
+     */
+    @NonNull
+    public Set<StateAccess> reads() {
+        return reads;
+    }
+
+    /**
+     * Returns all recorded writes.
+     *
+     * @return the write set
+     */
+    @NonNull
+    public Set<StateAccess> writes() {
+        return writes;
+    }
+
+    /**
+     * Clears all recorded accesses, so this set can be reused for the next transaction.
+     */
+    public void clear() {
+        reads.clear();
+        writes.clear();
+    }
+}
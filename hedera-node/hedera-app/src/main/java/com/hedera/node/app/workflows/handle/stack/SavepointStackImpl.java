@@ -92,6 +92,10 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
 
     private final StreamMode streamMode;
 
+    // If not null, all reads and writes made through the writable states of this stack are recorded here
+    @Nullable
+    private ReadWriteSet readWriteSet;
+
     /**
      * Constructs the root {@link SavepointStackImpl} for the given state at the start of handling a user transaction.
      *
@@ -189,6 +193,7 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
         this.builderSink = null;
         this.kvStateChangeListener = null;
         this.roundStateChangeListener = null;
+        this.readWriteSet = parent.readWriteSet;
         setupFirstSavepoint(category);
         baseBuilder = peek().createBuilder(reversingBehavior, category, customizer, streamMode, true);
     }
@@ -203,7 +208,11 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
         if (stack.size() <= 1) {
             throw new IllegalStateException("The savepoint stack is empty");
         }
+        final var version = stack.size();
         stack.pop().commit();
+        for (final var writableStates : writableStatesMap.values()) {
+            writableStates.commitOverlays(version);
+        }
     }
 
     @Override
@@ -211,7 +220,11 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
         if (stack.size() <= 1) {
             throw new IllegalStateException("The savepoint stack is empty");
         }
+        final var version = stack.size();
         stack.pop().rollback();
+        for (final var writableStates : writableStatesMap.values()) {
+            writableStates.rollbackOverlays(version);
+        }
     }
 
     @Override
@@ -256,6 +269,10 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
         if (streamMode != RECORDS && kvStateChangeListener != null) {
             kvStateChangeListener.reset();
         }
+        // Key/value modifications of all savepoints are kept in overlays until the first savepoint is committed
+        for (final var writableStates : writableStatesMap.values()) {
+            writableStates.flushOverlays();
+        }
         while (!stack.isEmpty()) {
             stack.pop().commit();
         }
@@ -269,6 +286,9 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
      * Rolls back all state changes captured in this stack.
      */
     public void rollbackFullStack() {
+        for (final var writableStates : writableStatesMap.values()) {
+            writableStates.clearOverlays();
+        }
         while (!stack.isEmpty()) {
             stack.pop().rollback();
         }
@@ -433,6 +453,27 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
         return peek().createBuilder(IRREVERSIBLE, PRECEDING, NOOP_RECORD_CUSTOMIZER, streamMode, false);
     }
 
+    /**
+     * Starts (or, if given {@code null}, stops) recording all state reads and writes made through this stack and
+     * through child stacks created afterward into the given {@link ReadWriteSet}.
+     *
+     * @param readWriteSet the set to record accesses into, or {@code null} to stop recording
+     */
+    public void trackReadWriteSet(@Nullable final ReadWriteSet readWriteSet) {
+        this.readWriteSet = readWriteSet;
+    }
+
+    /**
+     * Returns the {@link ReadWriteSet} state accesses are recorded into, if any. Used only by the
+     * {@link WritableStatesStack}, not part of the public API.
+     *
+     * @return the read/write set, or {@code null} if accesses are not tracked
+     */
+    @Nullable
+    ReadWriteSet readWriteSet() {
+        return readWriteSet;
+    }
+
     /**
      * Returns the top savepoint without removing it from the stack. Used only by the {@link WritableStatesStack},
      * not part of the public API.
@@ -448,6 +489,21 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
         return stack.peek();
     }
 
+    /**
+     * Returns the first savepoint of the stack, whose state all key/value modifications of the stack are based on.
+     * Used only by the {@link WritableStatesStack}, not part of the public API.
+     *
+     * @return the first savepoint
+     * @throws IllegalStateException if the stack has been committed already
+     */
+    @NonNull
+    Savepoint peekFirst() {
+        if (stack.isEmpty()) {
+            throw new IllegalStateException("The stack has already been committed");
+        }
+        return stack.peekLast();
+    }
+
     /**
      * Builds the {@link BlockRecordSource} and/or {@link RecordSource} for this user transaction.
      *
@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle.stack;
+
+import static java.util.Objects.requireNonNull;
+
+import com.swirlds.state.spi.WritableKVState;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * All modifications made to a single key/value state in all savepoints of a {@link SavepointStackImpl}, kept in one
+ * versioned overlay on top of the state of the first savepoint (the <i>base</i>).
+ *
+ * <p>Each savepoint is a version, numbered by its depth in the stack. Besides the modifications of every version,
+ * which keep the order in which keys were first modified in each version, the overlay keeps a flattened index with
+ * the latest value of each modified key, so a read is a single hash lookup no matter how deep the stack is. Rolling
+ * back a savepoint truncates its version, and committing a savepoint merges its version into the version below.
+ *
+ * <p>The modifications of a version are exactly the modifications the savepoint at the same depth would have buffered
+ * in a {@link com.hedera.node.app.spi.state.WrappedWritableKVState}, so {@link #modifiedKeys(int)}, {@link #keys}, and
+ * {@link #size} behave, including iteration order, as if every savepoint wrapped the state of the savepoint below it.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class VersionedKVOverlay<K, V> {
+
+    /**
+     * A value of a key in a version, linked to the value of the same key in the closest lower version, if any.
+     * A {@code null} value means the key is removed.
+     */
+    static final class VersionedValue<V> {
+        private int version;
+
+        @Nullable
+        private V value;
+
+        @Nullable
+        private VersionedValue<V> previous;
+
+        private VersionedValue(final int version, @Nullable final V value, @Nullable final VersionedValue<V> previous) {
+            this.version = version;
+            this.value = value;
+            this.previous = previous;
+        }
+
+        /**
+         * Returns the value, or {@code null} if the key is removed.
+         *
+         * @return the value
+         */
+        @Nullable
+        V value() {
+            return value;
+        }
+    }
+
+    // The latest value of every key modified in any version
+    private final Map<K, VersionedValue<V>> latest = new HashMap<>();
+
+    // The modifications of each version, version N is at index N - 1. Maps are reused after a version is truncated
+    private final List<Map<K, V>> modifications = new ArrayList<>();
+
+    // The first savepoint of the stack and its state, which this overlay is based on
+    @Nullable
+    private Savepoint baseSavepoint;
+
+    @Nullable
+    private WritableKVState<K, V> base;
+
+    /**
+     * Returns the base state, if it was resolved for the given first savepoint of the stack.
+     *
+     * @param firstSavepoint the first savepoint of the stack
+     * @return the base state, or {@code null} if it must be resolved
+     */
+    @Nullable
+    WritableKVState<K, V> baseOf(@NonNull final Savepoint firstSavepoint) {
+        return baseSavepoint == firstSavepoint ? base : null;
+    }
+
+    /**
+     * Sets the base state resolved for the given first savepoint of the stack.
+     *
+     * @param firstSavepoint the first savepoint of the stack
+     * @param base the state of the first savepoint
+     */
+    void setBase(@NonNull final Savepoint firstSavepoint, @NonNull final WritableKVState<K, V> base) {
+        this.baseSavepoint = requireNonNull(firstSavepoint);
+        this.base = requireNonNull(base);
+    }
+
+    /**
+     * Returns whether any key is modified in any version.
+     *
+     * @return whether this overlay is empty
+     */
+    boolean isEmpty() {
+        return latest.isEmpty();
+    }
+
+    /**
+     * Returns the latest value of the given key, if the key was modified in any version.
+     *
+     * @param key the key
+     * @return the latest value, or {@code null} if the key was not modified and must be read from the base
+     */
+    @Nullable
+    VersionedValue<V> find(@NonNull final K key) {
+        return latest.get(key);
+    }
+
+    /**
+     * Sets the value of the given key in the given version.
+     *
+     * @param key the key
+     * @param value the value, or {@code null} to remove the key
+     * @param version the version, which must not be lower than any version with modifications
+     */
+    void put(@NonNull final K key, @Nullable final V value, final int version) {
+        requireNonNull(key);
+        versionModifications(version).put(key, value);
+        final var current = latest.get(key);
+        if (current != null && current.version == version) {
+            current.value = value;
+        } else {
+            latest.put(key, new VersionedValue<>(version, value, current));
+        }
+    }
+
+    /**
+     * Returns the keys modified in the given version, in the order they were first modified.
+     *
+     * @param version the version
+     * @return the keys modified in the version
+     */
+    @NonNull
+    Set<K> modifiedKeys(final int version) {
+        return versionModifications(version).keySet();
+    }
+
+    /**
+     * Merges all modifications of the given version into the version below it.
+     *
+     * @param version the version to commit, must be greater than 1
+     */
+    void commit(final int version) {
+        if (version > modifications.size()) {
+            return;
+        }
+        final var committed = modifications.get(version - 1);
+        if (committed.isEmpty()) {
+            return;
+        }
+        for (final var key : committed.keySet()) {
+            final var value = latest.get(key);
+            if (value.previous != null && value.previous.version == version - 1) {
+                value.previous = value.previous.previous;
+            }
+            value.version = version - 1;
+        }
+        final var target = modifications.get(version - 2);
+        if (target.isEmpty()) {
+            // Nothing to merge into, just move the modifications one version down
+            modifications.set(version - 2, committed);
+            modifications.set(version - 1, target);
+        } else {
+            target.putAll(committed);
+            committed.clear();
+        }
+    }
+
+    /**
+     * Discards all modifications of the given version.
+     *
+     * @param version the version to roll back
+     */
+    void rollback(final int version) {
+        if (version > modifications.size()) {
+            return;
+        }
+        final var rolledBack = modifications.get(version - 1);
+        for (final var key : rolledBack.keySet()) {
+            final var value = latest.get(key);
+            if (value.previous == null) {
+                latest.remove(key);
+            } else {
+                latest.put(key, value.previous);
+            }
+        }
+        rolledBack.clear();
+    }
+
+    /**
+     * Writes the modifications of all versions up to the given one into the given base state, in the same order
+     * committing all savepoints one by one would, and clears this overlay.
+     *
+     * @param base the state of the first savepoint
+     * @param version the highest version
+     */
+    void flush(@NonNull final WritableKVState<K, V> base, final int version) {
+        for (int v = Math.min(version, modifications.size()); v > 1; v--) {
+            commit(v);
+        }
+        if (!modifications.isEmpty()) {
+            for (final var entry : modifications.get(0).entrySet()) {
+                if (entry.getValue() == null) {
+                    base.remove(entry.getKey());
+                } else {
+                    base.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Discards all modifications of all versions.
+     */
+    void clear() {
+        baseSavepoint = null;
+        base = null;
+        if (!latest.isEmpty()) {
+            latest.clear();
+            for (final var versionModifications : modifications) {
+                versionModifications.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator over all keys of the base state as modified by all versions up to the given one.
+     *
+     * @param baseKeys the keys of the base state
+     * @param version the highest version
+     * @return the keys
+     */
+    @NonNull
+    Iterator<K> keys(@NonNull final Iterator<K> baseKeys, final int version) {
+        var keys = requireNonNull(baseKeys);
+        for (int v = 1, n = Math.min(version, modifications.size()); v <= n; v++) {
+            final var versionModifications = modifications.get(v - 1);
+            if (versionModifications.isEmpty()) {
+                continue;
+            }
+            final var removedKeys = new HashSet<K>();
+            final var maybeAddedKeys = new HashSet<K>();
+            for (final var mod : versionModifications.entrySet()) {
+                if (mod.getValue() == null) {
+                    removedKeys.add(mod.getKey());
+                } else {
+                    maybeAddedKeys.add(mod.getKey());
+                }
+            }
+            keys = new ModifiedKeysIterator<>(keys, removedKeys, maybeAddedKeys);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the size of the base state as modified by all versions up to the given one.
+     *
+     * @param base the state of the first savepoint
+     * @param version the highest version
+     * @return the size
+     */
+    long size(@NonNull final WritableKVState<K, V> base, final int version) {
+        long size = base.size();
+        for (int v = 1, n = Math.min(version, modifications.size()); v <= n; v++) {
+            for (final var mod : modifications.get(v - 1).entrySet()) {
+                final boolean isPresentBelow = valueBelow(base, mod.getKey(), v) != null;
+                final boolean isRemoved = mod.getValue() == null;
+                if (isPresentBelow && isRemoved) {
+                    size--;
+                } else if (!isPresentBelow && !isRemoved) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    @Nullable
+    private V valueBelow(@NonNull final WritableKVState<K, V> base, @NonNull final K key, final int version) {
+        var value = latest.get(key);
+        while (value != null && value.version >= version) {
+            value = value.previous;
+        }
+        return value != null ? value.value : base.get(key);
+    }
+
+    @NonNull
+    private Map<K, V> versionModifications(final int version) {
+        while (modifications.size() < version) {
+            modifications.add(new LinkedHashMap<>());
+        }
+        return modifications.get(version - 1);
+    }
+
+    /**
+     * Iterates over all keys of an underlying iterator that are not removed, followed by all added keys that are not
+     * in the underlying iterator; the same way a {@link com.swirlds.state.spi.WritableKVStateBase} iterates over its
+     * keys.
+     */
+    private static final class ModifiedKeysIterator<K> implements Iterator<K> {
+        private final Iterator<K> backendItr;
+        private final Set<K> removedKeys;
+        private final Set<K> maybeAddedKeys;
+        private Iterator<K> addedItr;
+        private K next;
+
+        private ModifiedKeysIterator(
+                @NonNull final Iterator<K> backendItr,
+                @NonNull final Set<K> removedKeys,
+                @NonNull final Set<K> maybeAddedKeys) {
+            this.backendItr = backendItr;
+            this.removedKeys = removedKeys;
+            this.maybeAddedKeys = maybeAddedKeys;
+        }
+
+        @Override
+        public boolean hasNext() {
+            prepareNext();
+            return next != null;
+        }
+
+        @Override
+        public K next() {
+            prepareNext();
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final var ret = next;
+            next = null;
+            return ret;
+        }
+
+        private void prepareNext() {
+            while (next == null) {
+                if (backendItr.hasNext()) {
+                    final var candidate = backendItr.next();
+                    maybeAddedKeys.remove(candidate);
+                    if (removedKeys.contains(candidate)) {
+                        continue;
+                    }
+                    next = candidate;
+                    return;
+                }
+                if (addedItr == null) {
+                    addedItr = maybeAddedKeys.iterator();
+                }
+                if (addedItr.hasNext()) {
+                    next = addedItr.next();
+                }
+                return;
+            }
+        }
+    }
+}
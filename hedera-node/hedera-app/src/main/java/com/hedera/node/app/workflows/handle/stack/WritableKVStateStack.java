@@ -26,16 +26,18 @@ import java.util.Iterator;
 import java.util.Set;
 
 /**
- * An implementation of {@link WritableKVState} that delegates to the current {@link WritableKVState} in a
+ * An implementation of {@link WritableKVState} on top of a
  * {@link com.hedera.node.app.spi.workflows.HandleContext.SavepointStack}.
  *
  * <p>A {@link com.hedera.node.app.spi.workflows.HandleContext.SavepointStack} consists of a stack of frames, each of
- * which contains a set of modifications in regard to the state of the underlying frame. On the top of the stack is the
- * most recent state. This class delegates to the current {@link WritableKVState} on top of such a stack.
+ * which contains a set of modifications in regard to the state of the underlying frame. Instead of delegating to a
+ * chain of wrapped states, one per frame, this class keeps the modifications of all frames in a single
+ * {@link VersionedKVOverlay}, where each frame is a version. Keys that are not modified in any frame are read from
+ * the state of the first frame in the stack.
  *
- * <p>All changes made to the {@link WritableKVStateStack} are applied to the frame on top of the stack. Consequently,
- * all frames added later on top of the current frame will see the changes. If the frame is removed however, the
- * changes are lost.
+ * <p>All changes made to the {@link WritableKVStateStack} are applied to the version of the frame on top of the stack.
+ * Consequently, all frames added later on top of the current frame will see the changes. If the frame is removed
+ * however, the changes are lost.
  *
  * @param <K> the type of the keys
  * @param <V> the type of the values
@@ -44,9 +46,10 @@ public class WritableKVStateStack<K, V> implements WritableKVState<K, V> {
 
     private final WritableStatesStack writableStatesStack;
     private final String stateKey;
+    private final VersionedKVOverlay<K, V> overlay;
 
     /**
-     * Constructs a {@link WritableKVStateStack} that delegates to the current {@link WritableKVState} in
+     * Constructs a {@link WritableKVStateStack} that keeps its modifications in the {@link VersionedKVOverlay} of
      * the given {@link WritableStatesStack} for the given state key. A {@link WritableStatesStack} is an implementation
      * of {@link com.swirlds.state.spi.WritableStates} that delegates to the most recent version in a
      * {@link com.hedera.node.app.spi.workflows.HandleContext.SavepointStack}
@@ -59,11 +62,12 @@ public class WritableKVStateStack<K, V> implements WritableKVState<K, V> {
             @NonNull final WritableStatesStack writableStatesStack, @NonNull final String stateKey) {
         this.writableStatesStack = requireNonNull(writableStatesStack, "writableStatesStack must not be null");
         this.stateKey = requireNonNull(stateKey, "stateKey must not be null");
+        this.overlay = writableStatesStack.getOverlay(stateKey);
     }
 
     @NonNull
-    private WritableKVState<K, V> getCurrent() {
-        return writableStatesStack.getCurrent().get(stateKey);
+    private WritableKVState<K, V> getBase() {
+        return writableStatesStack.getBase(overlay, stateKey);
     }
 
     @Override
@@ -75,57 +79,85 @@ public class WritableKVStateStack<K, V> implements WritableKVState<K, V> {
     @Override
     @Nullable
     public V get(@NonNull final K key) {
-        return getCurrent().get(key);
+        requireNonNull(key);
+        writableStatesStack.recordRead(stateKey, key);
+        final var modified = overlay.find(key);
+        return modified != null ? modified.value() : getBase().get(key);
     }
 
     @Override
     @Nullable
     public V getForModify(@NonNull final K key) {
-        return getCurrent().getForModify(key);
+        requireNonNull(key);
+        writableStatesStack.recordRead(stateKey, key);
+        final var modified = overlay.find(key);
+        return modified != null ? modified.value() : getBase().getForModify(key);
     }
 
     @SuppressWarnings("unchecked")
     @Nullable
     @Override
     public V getOriginalValue(@NonNull K key) {
+        writableStatesStack.recordRead(stateKey, key);
         return (V) writableStatesStack.getRoot().get(stateKey).get(key);
     }
 
     @Override
     public void put(@NonNull final K key, @NonNull final V value) {
-        getCurrent().put(key, value);
+        requireNonNull(key);
+        requireNonNull(value);
+        writableStatesStack.recordWrite(stateKey, key);
+        // Resolve the base state, so the states of the first frame are created in the same order as they are used
+        getBase();
+        overlay.put(key, value, writableStatesStack.currentVersion());
     }
 
     @Override
     public void remove(@NonNull final K key) {
-        getCurrent().remove(key);
+        requireNonNull(key);
+        writableStatesStack.recordWrite(stateKey, key);
+        getBase();
+        overlay.put(key, null, writableStatesStack.currentVersion());
     }
 
     @Override
     @NonNull
     public Iterator<K> keys() {
-        return getCurrent().keys();
+        writableStatesStack.recordRead(stateKey, null);
+        return overlay.keys(getBase().keys(), writableStatesStack.currentVersion());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Returns the keys modified in the frame on top of the stack.
+     */
     @Override
     @NonNull
     public Set<K> modifiedKeys() {
-        return getCurrent().modifiedKeys();
+        return overlay.modifiedKeys(writableStatesStack.currentVersion());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Returns the keys read from the state of the first frame in the stack, which includes all keys read in any
+     * frame that were not modified in the stack before they were read.
+     */
     @Override
     @NonNull
     public Set<K> readKeys() {
-        return getCurrent().readKeys();
+        return getBase().readKeys();
     }
 
     @Override
     public long size() {
-        return getCurrent().size();
+        writableStatesStack.recordRead(stateKey, null);
+        return overlay.size(getBase(), writableStatesStack.currentVersion());
     }
 
     @Override
     public void setMetrics(@NonNull StoreMetrics storeMetrics) {
-        getCurrent().setMetrics(storeMetrics);
+        getBase().setMetrics(storeMetrics);
     }
 }
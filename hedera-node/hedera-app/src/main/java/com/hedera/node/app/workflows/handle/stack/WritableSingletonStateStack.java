@@ -72,6 +72,7 @@ public class WritableSingletonStateStack<T> implements WritableSingletonState<T>
     @Override
     @Nullable
     public T get() {
+        writableStatesStack.recordRead(stateKey, null);
         return getCurrent().get();
     }
 
@@ -82,6 +83,7 @@ public class WritableSingletonStateStack<T> implements WritableSingletonState<T>
 
     @Override
     public void put(@Nullable final T value) {
+        writableStatesStack.recordWrite(stateKey, null);
         getCurrent().put(value);
     }
 
@@ -24,6 +24,9 @@ import com.swirlds.state.spi.WritableQueueState;
 import com.swirlds.state.spi.WritableSingletonState;
 import com.swirlds.state.spi.WritableStates;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -38,6 +41,8 @@ public class WritableStatesStack implements WritableStates {
 
     private final SavepointStackImpl stack;
     private final String statesName;
+    // The modifications of all key/value states of the service in all savepoints of the stack
+    private final Map<String, VersionedKVOverlay<?, ?>> overlays = new HashMap<>();
 
     /**
      * Constructs a {@link WritableStatesStack} that delegates to the current {@link WritableStates} in the given
@@ -62,6 +67,94 @@ public class WritableStatesStack implements WritableStates {
         return stack.peek().state().getWritableStates(statesName);
     }
 
+    /**
+     * Returns the key/value state of the first savepoint in the stack, which the given overlay is based on.
+     * Package-private, because it should only be called by {@link WritableKVStateStack}.
+     *
+     * @param overlay the overlay
+     * @param stateKey the state key
+     * @return the key/value state of the first savepoint in the stack
+     */
+    @NonNull
+    <K, V> WritableKVState<K, V> getBase(
+            @NonNull final VersionedKVOverlay<K, V> overlay, @NonNull final String stateKey) {
+        final var first = stack.peekFirst();
+        var base = overlay.baseOf(first);
+        if (base == null) {
+            base = first.state().getWritableStates(statesName).<K, V>get(stateKey);
+            overlay.setBase(first, base);
+        }
+        return base;
+    }
+
+    /**
+     * Returns the current version of all key/value state overlays, which is the depth of the stack. Package-private,
+     * because it should only be called by {@link WritableKVStateStack}.
+     *
+     * @return the current version
+     */
+    int currentVersion() {
+        return stack.depth();
+    }
+
+    /**
+     * Returns the {@link VersionedKVOverlay} with all modifications of the given key/value state. Package-private,
+     * because it should only be called by {@link WritableKVStateStack}.
+     *
+     * @param stateKey the state key
+     * @return the overlay
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    <K, V> VersionedKVOverlay<K, V> getOverlay(@NonNull final String stateKey) {
+        return (VersionedKVOverlay<K, V>) overlays.computeIfAbsent(stateKey, k -> new VersionedKVOverlay<>());
+    }
+
+    /**
+     * Merges the modifications of all key/value states in the given version into the version below it.
+     *
+     * @param version the version of the committed savepoint
+     */
+    void commitOverlays(final int version) {
+        for (final var overlay : overlays.values()) {
+            overlay.commit(version);
+        }
+    }
+
+    /**
+     * Discards the modifications of all key/value states in the given version.
+     *
+     * @param version the version of the rolled back savepoint
+     */
+    void rollbackOverlays(final int version) {
+        for (final var overlay : overlays.values()) {
+            overlay.rollback(version);
+        }
+    }
+
+    /**
+     * Writes the modifications of all key/value states in all versions into the state of the first savepoint.
+     */
+    @SuppressWarnings("unchecked")
+    void flushOverlays() {
+        final var version = currentVersion();
+        for (final var entry : overlays.entrySet()) {
+            final var overlay = (VersionedKVOverlay<Object, Object>) entry.getValue();
+            if (!overlay.isEmpty()) {
+                overlay.flush(getBase(overlay, entry.getKey()), version);
+            }
+        }
+    }
+
+    /**
+     * Discards the modifications of all key/value states in all versions.
+     */
+    void clearOverlays() {
+        for (final var overlay : overlays.values()) {
+            overlay.clear();
+        }
+    }
+
     /**
      * Returns the root {@link ReadableStates} of the stack. Package-private, because it should only be called by
      * {@link WritableKVStateStack}.
@@ -73,6 +166,36 @@ public class WritableStatesStack implements WritableStates {
         return stack.rootStates(statesName);
     }
 
+    /**
+     * Records a read of the given state entry, if the stack tracks its state accesses. Package-private, because it
+     * should only be called by {@link WritableKVStateStack}, {@link WritableSingletonStateStack}, and
+     * {@link WritableQueueStateStack}.
+     *
+     * @param stateKey the state key
+     * @param key the key of the entry, or {@code null} if the whole state is read
+     */
+    void recordRead(@NonNull final String stateKey, @Nullable final Object key) {
+        final var readWriteSet = stack.readWriteSet();
+        if (readWriteSet != null) {
+            readWriteSet.recordRead(statesName, stateKey, key);
+        }
+    }
+
+    /**
+     * Records a write of the given state entry, if the stack tracks its state accesses. Package-private, because it
+     * should only be called by {@link WritableKVStateStack}, {@link WritableSingletonStateStack}, and
+     * {@link WritableQueueStateStack}.
+     *
+     * @param stateKey the state key
+     * @param key the key of the entry, or {@code null} if the whole state is written
+     */
+    void recordWrite(@NonNull final String stateKey, @Nullable final Object key) {
+        final var readWriteSet = stack.readWriteSet();
+        if (readWriteSet != null) {
+            readWriteSet.recordWrite(statesName, stateKey, key);
+        }
+    }
+
     @Override
     @NonNull
     public <K, V> WritableKVState<K, V> get(@NonNull final String stateKey) {
@@ -42,6 +42,12 @@ public final class IngestWorkflowImpl implements IngestWorkflow {
 
     private static final Logger logger = LogManager.getLogger(IngestWorkflowImpl.class);
 
+    /** The response to every successfully submitted transaction, so it is not rebuilt per transaction. */
+    private static final TransactionResponse OK_RESPONSE = TransactionResponse.newBuilder()
+            .nodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+            .cost(0L)
+            .build();
+
     private final Supplier<AutoCloseableWrapper<State>> stateAccessor;
     private final TransactionChecker transactionChecker;
     private final IngestChecker ingestChecker;
@@ -108,10 +114,12 @@ public final class IngestWorkflowImpl implements IngestWorkflow {
         }
 
         // 8. Return PreCheck code and estimated fee
-        final var transactionResponse = TransactionResponse.newBuilder()
-                .nodeTransactionPrecheckCode(result)
-                .cost(estimatedFee)
-                .build();
+        final var transactionResponse = result == ResponseCodeEnum.OK && estimatedFee == 0L
+                ? OK_RESPONSE
+                : TransactionResponse.newBuilder()
+                        .nodeTransactionPrecheckCode(result)
+                        .cost(estimatedFee)
+                        .build();
 
         try {
             TransactionResponse.PROTOBUF.write(transactionResponse, responseBuffer);
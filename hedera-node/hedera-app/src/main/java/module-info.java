@@ -40,6 +40,7 @@ module com.hedera.node.app {
     requires com.swirlds.merkle;
     requires com.swirlds.merkledb;
     requires com.swirlds.virtualmap;
+    requires com.github.benmanes.caffeine;
     requires com.google.common;
     requires com.google.protobuf;
     requires io.grpc.netty;
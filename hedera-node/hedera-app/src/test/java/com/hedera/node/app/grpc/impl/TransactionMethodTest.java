@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -132,6 +133,22 @@ final class TransactionMethodTest {
                 .equals(expectedResponseBytes)));
     }
 
+    @Test
+    void workflowReceivesCopyOfRequestBuffer(@Mock final StreamObserver<BufferedData> streamObserver) {
+        // Given a request with data, and a workflow that keeps the request bytes (like the platform does)
+        final var requestBuffer = BufferedData.wrap(new byte[] {1, 2, 3});
+        final AtomicReference<Bytes> received = new AtomicReference<>();
+        final IngestWorkflow w = (req, res) -> received.set(req);
+        final var method = new TransactionMethod(SERVICE_NAME, METHOD_NAME, w, metrics);
+
+        // When we invoke the method, and the request buffer is reused for the next request
+        method.invoke(requestBuffer, streamObserver);
+        requestBuffer.writeBytes(new byte[] {4, 5, 6});
+
+        // Then the bytes kept by the workflow are not affected
+        assertThat(received.get()).isEqualTo(Bytes.wrap(new byte[] {1, 2, 3}));
+    }
+
     @Test
     void unexpectedExceptionFromHandler(@Mock final StreamObserver<BufferedData> streamObserver) {
         // Given a request with data and a workflow that will throw, and a TransactionMethod
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.signature.impl;
+
+import static com.hedera.hapi.node.base.SignaturePair.SignatureOneOfType.ECDSA_SECP256K1;
+import static com.hedera.hapi.node.base.SignaturePair.SignatureOneOfType.ED25519;
+import static com.hedera.node.app.spi.signatures.SignatureVerifier.MessageType.KECCAK_256_HASH;
+import static com.hedera.node.app.spi.signatures.SignatureVerifier.MessageType.RAW;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.node.app.signature.impl.SignatureVerificationCache.CacheKey;
+import com.hedera.node.app.utils.TestUtils;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.crypto.VerificationStatus;
+import com.swirlds.common.metrics.FunctionGauge;
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+final class SignatureVerificationCacheTest {
+
+    private static final Bytes KEY = Bytes.wrap(new byte[] {1, 2, 3});
+    private static final Bytes SIGNATURE = Bytes.wrap(new byte[] {4, 5, 6});
+
+    private final Metrics metrics = TestUtils.metrics();
+
+    private static ConfigProvider configProvider(final int maxEntries) {
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("cache.signatures.maxEntries", maxEntries)
+                .getOrCreateConfig();
+        return () -> new VersionedConfigImpl(config, 1);
+    }
+
+    @Test
+    @DisplayName("A disabled cache never returns results")
+    void disabledCache() {
+        final var cache = new SignatureVerificationCache(metrics, configProvider(0));
+        final var key = new CacheKey(ED25519, KEY, cache.hashOf(Bytes.wrap("message")), SIGNATURE, RAW);
+
+        cache.put(key, VerificationStatus.VALID);
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(cache.get(key)).isNull();
+        assertThat(metrics.getMetric("app", "sigVerificationCacheHits")).isNull();
+    }
+
+    @Test
+    @DisplayName("Only results of exactly the same signature check are returned")
+    void resultsAreKeyedByTheWholeCheck() {
+        final var cache = new SignatureVerificationCache(metrics, configProvider(100));
+        final var messageHash = cache.hashOf(Bytes.wrap("message"));
+        final var key = new CacheKey(ED25519, KEY, messageHash, SIGNATURE, RAW);
+
+        assertThat(cache.get(key)).isNull();
+        cache.put(key, VerificationStatus.INVALID);
+
+        assertThat(cache.get(new CacheKey(ED25519, KEY, messageHash, SIGNATURE, RAW)))
+                .isEqualTo(VerificationStatus.INVALID);
+        assertThat(cache.get(new CacheKey(ECDSA_SECP256K1, KEY, messageHash, SIGNATURE, RAW))).isNull();
+        assertThat(cache.get(new CacheKey(ED25519, KEY, messageHash, SIGNATURE, KECCAK_256_HASH))).isNull();
+        assertThat(cache.get(new CacheKey(ED25519, KEY, cache.hashOf(Bytes.wrap("other")), SIGNATURE, RAW))).isNull();
+        assertThat(cache.get(new CacheKey(ED25519, SIGNATURE, messageHash, KEY, RAW))).isNull();
+    }
+
+    @Test
+    @DisplayName("Unknown results are not cached")
+    void unknownResultsAreNotCached() {
+        final var cache = new SignatureVerificationCache(metrics, configProvider(100));
+        final var key = new CacheKey(ED25519, KEY, cache.hashOf(Bytes.wrap("message")), SIGNATURE, RAW);
+
+        cache.put(key, VerificationStatus.UNKNOWN);
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    @DisplayName("Hits and misses are reported")
+    void hitRatioMetrics() {
+        final var cache = new SignatureVerificationCache(metrics, configProvider(100));
+        final var key = new CacheKey(ED25519, KEY, cache.hashOf(Bytes.wrap("message")), SIGNATURE, RAW);
+
+        cache.get(key);
+        cache.put(key, VerificationStatus.VALID);
+        cache.get(key);
+        cache.get(key);
+        cache.get(key);
+
+        assertThat(((Counter) metrics.getMetric("app", "sigVerificationCacheHits")).get()).isEqualTo(3);
+        assertThat(((Counter) metrics.getMetric("app", "sigVerificationCacheMisses")).get()).isEqualTo(1);
+        assertThat(((FunctionGauge<?>) metrics.getMetric("app", "sigVerificationCacheHitPercent")).get())
+                .isEqualTo(75.0);
+    }
+}
@@ -25,7 +25,7 @@ import static java.util.Collections.emptySet;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -35,11 +35,15 @@ import com.hedera.node.app.hapi.utils.MiscCryptoUtils;
 import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.signature.SignatureVerifier;
 import com.hedera.node.app.spi.fixtures.Scenarios;
+import com.hedera.node.app.utils.TestUtils;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.crypto.TransactionSignature;
 import com.swirlds.common.crypto.VerificationStatus;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,7 +70,7 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
     private Cryptography cryptoEngine;
     /** Captures the args sent to the crypto engine. */
     @Captor
-    ArgumentCaptor<TransactionSignature> sigsCaptor;
+    ArgumentCaptor<List<TransactionSignature>> sigsCaptor;
     /** The verifier under test. */
     private SignatureVerifierImpl verifier;
 
@@ -126,14 +130,16 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
                 hollowPair(ERIN.keyInfo().publicKey(), ERIN.account()));
 
         //noinspection unchecked
-        doAnswer((Answer<Void>) invocation -> {
-                    final TransactionSignature signature = invocation.getArgument(0);
-                    signature.setSignatureStatus(VerificationStatus.VALID);
-                    signature.setFuture(completedFuture(null));
-                    return null;
+        doAnswer((Answer<Boolean>) invocation -> {
+                    final List<TransactionSignature> signatures = invocation.getArgument(0);
+                    for (final TransactionSignature signature : signatures) {
+                        signature.setSignatureStatus(VerificationStatus.VALID);
+                        signature.setFuture(completedFuture(null));
+                    }
+                    return true;
                 })
                 .when(cryptoEngine)
-                .verifySync(any(TransactionSignature.class));
+                .verifyBatchSync(anyList());
 
         // When we verify them
         final var map = verifier.verify(signedBytes, sigs);
@@ -149,6 +155,46 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
                 .isEqualTo(true);
     }
 
+    @Test
+    @DisplayName("Cached results are not verified again")
+    void cachedResultsAreNotVerifiedAgain() {
+        // Given a verifier with a result cache, and a crypto engine that rejects every signature
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("cache.signatures.maxEntries", 100)
+                .getOrCreateConfig();
+        final var cache = new SignatureVerificationCache(TestUtils.metrics(), () -> new VersionedConfigImpl(config, 1));
+        final var cachingVerifier = new SignatureVerifierImpl(cryptoEngine, cache);
+        final var sigs = Set.of(ed25519Pair(BOB.keyInfo().publicKey()), ecdsaPair(ALICE.keyInfo().publicKey()));
+
+        //noinspection unchecked
+        doAnswer((Answer<Boolean>) invocation -> {
+                    final List<TransactionSignature> signatures = invocation.getArgument(0);
+                    for (final TransactionSignature signature : signatures) {
+                        signature.setSignatureStatus(VerificationStatus.INVALID);
+                        signature.setFuture(completedFuture(null));
+                    }
+                    return false;
+                })
+                .when(cryptoEngine)
+                .verifyBatchSync(anyList());
+
+        // When we verify the same signatures twice
+        cachingVerifier.verify(signedBytes, sigs);
+        final var map = cachingVerifier.verify(signedBytes, sigs);
+
+        // Then the crypto engine is only asked once, and the cached results are returned the second time
+        verify(cryptoEngine).verifyBatchSync(sigsCaptor.capture());
+        assertThat(sigsCaptor.getValue()).hasSize(2);
+        assertThat(map.get(BOB.keyInfo().publicKey()))
+                .succeedsWithin(1, TimeUnit.SECONDS)
+                .extracting("passed")
+                .isEqualTo(false);
+
+        // And different signed bytes are verified again
+        cachingVerifier.verify(randomBytes(32), sigs);
+        verify(cryptoEngine, times(2)).verifyBatchSync(anyList());
+    }
+
     @ParameterizedTest
     @CsvSource({"RAW", "KECCAK_256_HASH"})
     @DisplayName("Crypto Engine is given array with all the required data")
@@ -168,8 +214,9 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
         verifier.verify(signedBytes, sigs, messageType);
 
         // Then we find the crypto engine was given an array with all the data
-        verify(cryptoEngine, times(3)).verifySync(sigsCaptor.capture());
-        final var txSigs = sigsCaptor.getAllValues();
+        verify(cryptoEngine).verifyBatchSync(sigsCaptor.capture());
+        final var txSigs = sigsCaptor.getValue();
+        assertThat(txSigs).hasSize(3);
 
         final var itr = sigs.iterator();
         for (int i = 0; i < 3; i++) {
@@ -16,18 +16,30 @@
 
 package com.hedera.node.app.throttle;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.HederaFunctionality;
 import com.hedera.hapi.node.transaction.Query;
+import com.hedera.hapi.node.transaction.ThrottleDefinitions;
 import com.hedera.node.app.workflows.TransactionInfo;
+import com.swirlds.common.metrics.noop.NoOpMetrics;
 import com.swirlds.state.State;
 import java.time.InstantSource;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,6 +52,9 @@ class SynchronizedThrottleAccumulatorTest {
     @Mock
     private ThrottleAccumulator throttleAccumulator;
 
+    @Mock
+    private ThrottleAccumulator otherShard;
+
     @Mock
     private TransactionInfo transactionInfo;
 
@@ -49,7 +64,7 @@ class SynchronizedThrottleAccumulatorTest {
 
     @BeforeEach
     void setUp() {
-        subject = new SynchronizedThrottleAccumulator(instantSource, throttleAccumulator);
+        subject = new SynchronizedThrottleAccumulator(instantSource, List.of(throttleAccumulator), new NoOpMetrics());
     }
 
     @Test
@@ -77,4 +92,124 @@ class SynchronizedThrottleAccumulatorTest {
         verify(throttleAccumulator, times(1))
                 .checkAndEnforceThrottle(eq(HederaFunctionality.CONTRACT_CREATE), any(), eq(query), eq(accountID));
     }
+
+    @Test
+    void rejectsMissingShards() {
+        final var metrics = new NoOpMetrics();
+        assertThatThrownBy(() -> new SynchronizedThrottleAccumulator(instantSource, List.of(), metrics))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void admitsOnFirstShardWithCapacity() {
+        // given
+        final var state = mock(State.class);
+        subject = new SynchronizedThrottleAccumulator(
+                instantSource, List.of(throttleAccumulator, otherShard), new NoOpMetrics());
+        given(throttleAccumulator.checkAndEnforceThrottle(eq(transactionInfo), any(), eq(state)))
+                .willReturn(false);
+
+        // when
+        final var throttled = subject.shouldThrottle(transactionInfo, state);
+
+        // then
+        assertThat(throttled).isFalse();
+        verify(otherShard, never()).checkAndEnforceThrottle(any(TransactionInfo.class), any(), any());
+    }
+
+    @Test
+    void triesOtherShardsBeforeThrottling() {
+        // given
+        final var state = mock(State.class);
+        subject = new SynchronizedThrottleAccumulator(
+                instantSource, List.of(throttleAccumulator, otherShard), new NoOpMetrics());
+        given(throttleAccumulator.checkAndEnforceThrottle(eq(transactionInfo), any(), eq(state)))
+                .willReturn(true);
+        given(otherShard.checkAndEnforceThrottle(eq(transactionInfo), any(), eq(state)))
+                .willReturn(false, true);
+
+        // when/then
+        assertThat(subject.shouldThrottle(transactionInfo, state)).isFalse();
+        assertThat(subject.shouldThrottle(transactionInfo, state)).isTrue();
+        verify(throttleAccumulator, times(2)).checkAndEnforceThrottle(eq(transactionInfo), any(), eq(state));
+        verify(otherShard, times(2)).checkAndEnforceThrottle(eq(transactionInfo), any(), eq(state));
+    }
+
+    @Test
+    void triesOtherShardsBeforeThrottlingQuery() {
+        // given
+        final var query = mock(Query.class);
+        subject = new SynchronizedThrottleAccumulator(
+                instantSource, List.of(throttleAccumulator, otherShard), new NoOpMetrics());
+        given(throttleAccumulator.checkAndEnforceThrottle(
+                        eq(HederaFunctionality.GET_ACCOUNT_DETAILS), any(), eq(query), isNull()))
+                .willReturn(true);
+        given(otherShard.checkAndEnforceThrottle(
+                        eq(HederaFunctionality.GET_ACCOUNT_DETAILS), any(), eq(query), isNull()))
+                .willReturn(true);
+
+        // when/then
+        assertThat(subject.shouldThrottle(HederaFunctionality.GET_ACCOUNT_DETAILS, query, null))
+                .isTrue();
+    }
+
+    @Test
+    void skipsBusyShardsWhenRetrying() throws InterruptedException {
+        // given
+        final var state = mock(State.class);
+        final var shardLocked = new CountDownLatch(1);
+        final var releaseShard = new CountDownLatch(1);
+        subject = new SynchronizedThrottleAccumulator(
+                instantSource, List.of(throttleAccumulator, otherShard), new NoOpMetrics());
+        willAnswer(invocation -> {
+                    shardLocked.countDown();
+                    releaseShard.await();
+                    return null;
+                })
+                .given(throttleAccumulator)
+                .leakCapacityForNOfUnscaled(1, HederaFunctionality.CRYPTO_TRANSFER);
+        given(otherShard.checkAndEnforceThrottle(eq(transactionInfo), any(), eq(state)))
+                .willReturn(true);
+        final var holder = new Thread(() -> subject.leakCapacityForNOfUnscaled(1, HederaFunctionality.CRYPTO_TRANSFER));
+        holder.start();
+        assertThat(shardLocked.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        final boolean throttled;
+        try {
+            throttled = subject.shouldThrottle(transactionInfo, state);
+        } finally {
+            releaseShard.countDown();
+            holder.join();
+        }
+
+        // then
+        assertThat(throttled).isTrue();
+        verify(throttleAccumulator, never()).checkAndEnforceThrottle(any(TransactionInfo.class), any(), any());
+    }
+
+    @Test
+    void appliesThrottleUpdatesToAllShards() {
+        // given
+        final var defs = ThrottleDefinitions.DEFAULT;
+        subject = new SynchronizedThrottleAccumulator(
+                instantSource, List.of(throttleAccumulator, otherShard), new NoOpMetrics());
+
+        // when
+        subject.rebuildFor(defs);
+        subject.applyGasConfig();
+        subject.leakCapacityForNOfUnscaled(2, HederaFunctionality.CRYPTO_CREATE);
+        subject.updateAllMetrics();
+
+        // then
+        assertThat(subject.numShards()).isEqualTo(2);
+        verify(throttleAccumulator).rebuildFor(defs);
+        verify(otherShard).rebuildFor(defs);
+        verify(throttleAccumulator).applyGasConfig();
+        verify(otherShard).applyGasConfig();
+        verify(throttleAccumulator).leakCapacityForNOfUnscaled(2, HederaFunctionality.CRYPTO_CREATE);
+        verify(otherShard, never()).leakCapacityForNOfUnscaled(anyInt(), any());
+        verify(throttleAccumulator).updateAllMetrics();
+        verify(otherShard, never()).updateAllMetrics();
+    }
 }
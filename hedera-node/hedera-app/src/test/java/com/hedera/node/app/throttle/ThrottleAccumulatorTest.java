@@ -63,7 +63,9 @@ import com.hedera.hapi.node.state.schedule.Schedule;
 import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
 import com.hedera.hapi.node.token.TokenMintTransactionBody;
 import com.hedera.hapi.node.transaction.Query;
+import com.hedera.hapi.node.transaction.ThrottleBucket;
 import com.hedera.hapi.node.transaction.ThrottleDefinitions;
+import com.hedera.hapi.node.transaction.ThrottleGroup;
 import com.hedera.hapi.node.transaction.TransactionBody;
 import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ScaleFactor;
 import com.hedera.node.app.hapi.utils.throttles.BucketThrottle;
@@ -1087,6 +1089,50 @@ class ThrottleAccumulatorTest {
         verify(throttleMetrics).setupGasThrottleMetric(subject.gasLimitThrottle(), configuration);
     }
 
+    @Test
+    void shardSplitsBucketAndGasCapacityEvenly() {
+        // given
+        subject = new ThrottleAccumulator(() -> CAPACITY_SPLIT, configProvider, FRONTEND_THROTTLE, throttleMetrics, 2);
+        given(configProvider.getConfiguration()).willReturn(configuration);
+        given(configuration.getConfigData(ContractsConfig.class)).willReturn(contractsConfig);
+        given(contractsConfig.maxGasPerSec()).willReturn(150L);
+        final var defs = singleGroupThrottleDefs(20_000, 1_000);
+
+        // when
+        subject.rebuildFor(defs);
+        subject.applyGasConfig();
+
+        // then
+        assertEquals(List.of(DeterministicThrottle.withMtpsAndBurstPeriod(5_000, 1)), subject.allActiveThrottles());
+        assertEquals(75L, subject.gasLimitThrottle().capacity());
+    }
+
+    @Test
+    void scalesUpBurstPeriodOfBucketTooSmallToSplitBetweenShards() {
+        // given
+        final var unsharded = new ThrottleAccumulator(() -> 1, configProvider, FRONTEND_THROTTLE, throttleMetrics);
+        subject = new ThrottleAccumulator(() -> 1, configProvider, FRONTEND_THROTTLE, throttleMetrics, 2);
+        given(configProvider.getConfiguration()).willReturn(configuration);
+        final var defs = singleGroupThrottleDefs(1_000, 1_000);
+
+        // when
+        unsharded.rebuildFor(defs);
+        subject.rebuildFor(defs);
+
+        // then
+        assertEquals(List.of(DeterministicThrottle.withMtpsAndBurstPeriodMs(500, 2_000)), subject.allActiveThrottles());
+        assertEquals(unsharded.allActiveThrottles().get(0).capacity(), subject.allActiveThrottles().get(0).capacity());
+        assertEquals(1, subject.activeThrottlesFor(CRYPTO_TRANSFER).size());
+    }
+
+    @Test
+    void rejectsNonPositiveNumShards() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new ThrottleAccumulator(
+                        () -> CAPACITY_SPLIT, configProvider, FRONTEND_THROTTLE, throttleMetrics, 0));
+    }
+
     @ParameterizedTest
     @EnumSource
     void constructsExpectedBucketsFromTestResource(ThrottleAccumulator.ThrottleType throttleType)
@@ -2249,6 +2295,19 @@ class ThrottleAccumulatorTest {
                 null);
     }
 
+    private ThrottleDefinitions singleGroupThrottleDefs(final long milliOpsPerSec, final long burstPeriodMs) {
+        return ThrottleDefinitions.newBuilder()
+                .throttleBuckets(ThrottleBucket.newBuilder()
+                        .name("A")
+                        .burstPeriodMs(burstPeriodMs)
+                        .throttleGroups(ThrottleGroup.newBuilder()
+                                .operations(CRYPTO_TRANSFER)
+                                .milliOpsPerSec(milliOpsPerSec)
+                                .build())
+                        .build())
+                .build();
+    }
+
     private ThrottleDefinitions getThrottleDefs(String testResource) throws IOException, ParseException {
         try (InputStream in = ThrottleDefinitions.class.getClassLoader().getResourceAsStream(testResource)) {
             var om = new ObjectMapper();
@@ -69,7 +69,7 @@ class ThrottleServiceManagerTest {
     private ThrottleParser throttleParser;
 
     @Mock
-    private ThrottleAccumulator ingestThrottle;
+    private SynchronizedThrottleAccumulator ingestThrottle;
 
     @Mock
     private ThrottleAccumulator backendThrottle;
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle;
+
+import static com.hedera.node.app.workflows.handle.ReadWriteConflictDetector.Outcome.CONFLICT;
+import static com.hedera.node.app.workflows.handle.ReadWriteConflictDetector.Outcome.NO_CONFLICT;
+import static com.hedera.node.app.workflows.handle.ReadWriteConflictDetector.Outcome.SHARED_ENTRY_CONFLICT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.node.app.workflows.handle.stack.ReadWriteSet;
+import com.hedera.node.app.workflows.handle.stack.ReadWriteSet.StateAccess;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ReadWriteConflictDetectorTest {
+
+    private static final String SERVICE = "SERVICE";
+    private static final String KV_STATE = "KV_STATE";
+    private static final String SINGLETON_STATE = "SINGLETON_STATE";
+
+    private final ReadWriteConflictDetector subject = new ReadWriteConflictDetector();
+
+    @Test
+    void readOfEntryWrittenEarlierInRoundConflicts() {
+        final var first = new ReadWriteSet();
+        first.recordRead(SERVICE, KV_STATE, 1L);
+        first.recordWrite(SERVICE, KV_STATE, 1L);
+        assertThat(subject.validateAndCommit(first)).isEqualTo(NO_CONFLICT);
+
+        final var independent = new ReadWriteSet();
+        independent.recordRead(SERVICE, KV_STATE, 2L);
+        independent.recordWrite(SERVICE, KV_STATE, 2L);
+        assertThat(subject.validateAndCommit(independent)).isEqualTo(NO_CONFLICT);
+
+        final var dependent = new ReadWriteSet();
+        dependent.recordRead(SERVICE, KV_STATE, 1L);
+        assertThat(subject.validateAndCommit(dependent)).isEqualTo(CONFLICT);
+    }
+
+    @Test
+    void blindWritesDoNotConflict() {
+        final var first = new ReadWriteSet();
+        first.recordWrite(SERVICE, KV_STATE, 1L);
+        assertThat(subject.validateAndCommit(first)).isEqualTo(NO_CONFLICT);
+
+        final var second = new ReadWriteSet();
+        second.recordWrite(SERVICE, KV_STATE, 1L);
+        assertThat(subject.validateAndCommit(second)).isEqualTo(NO_CONFLICT);
+    }
+
+    @Test
+    void wholeStateAccessesConflictWithAnyEntry() {
+        final var entryWrite = new ReadWriteSet();
+        entryWrite.recordWrite(SERVICE, KV_STATE, 1L);
+        assertThat(subject.validateAndCommit(entryWrite)).isEqualTo(NO_CONFLICT);
+
+        final var sizeRead = new ReadWriteSet();
+        sizeRead.recordRead(SERVICE, KV_STATE, null);
+        assertThat(subject.validateAndCommit(sizeRead)).isEqualTo(CONFLICT);
+
+        final var singletonWrite = new ReadWriteSet();
+        singletonWrite.recordWrite(SERVICE, SINGLETON_STATE, null);
+        assertThat(subject.validateAndCommit(singletonWrite)).isEqualTo(NO_CONFLICT);
+
+        final var singletonRead = new ReadWriteSet();
+        singletonRead.recordRead(SERVICE, SINGLETON_STATE, null);
+        assertThat(subject.validateAndCommit(singletonRead)).isEqualTo(CONFLICT);
+    }
+
+    @Test
+    void writesOfPreviousRoundAreForgotten() {
+        final var write = new ReadWriteSet();
+        write.recordWrite(SERVICE, KV_STATE, 1L);
+        assertThat(subject.validateAndCommit(write)).isEqualTo(NO_CONFLICT);
+
+        subject.startRound();
+
+        final var read = new ReadWriteSet();
+        read.recordRead(SERVICE, KV_STATE, 1L);
+        assertThat(subject.validateAndCommit(read)).isEqualTo(NO_CONFLICT);
+    }
+
+    @Test
+    void readsOfSharedEntriesAreClassifiedSeparately() {
+        subject.startRound(
+                Set.of(new StateAccess(SERVICE, KV_STATE, 1L), new StateAccess(SERVICE, SINGLETON_STATE, null)));
+
+        final var sharedWrite = new ReadWriteSet();
+        sharedWrite.recordRead(SERVICE, KV_STATE, 1L);
+        sharedWrite.recordWrite(SERVICE, KV_STATE, 1L);
+        sharedWrite.recordWrite(SERVICE, SINGLETON_STATE, null);
+        assertThat(subject.validateAndCommit(sharedWrite)).isEqualTo(NO_CONFLICT);
+
+        final var sharedRead = new ReadWriteSet();
+        sharedRead.recordRead(SERVICE, KV_STATE, 1L);
+        sharedRead.recordRead(SERVICE, SINGLETON_STATE, null);
+        assertThat(subject.validateAndCommit(sharedRead)).isEqualTo(SHARED_ENTRY_CONFLICT);
+
+        final var otherWrite = new ReadWriteSet();
+        otherWrite.recordWrite(SERVICE, KV_STATE, 2L);
+        assertThat(subject.validateAndCommit(otherWrite)).isEqualTo(NO_CONFLICT);
+
+        final var mixedRead = new ReadWriteSet();
+        mixedRead.recordRead(SERVICE, KV_STATE, 1L);
+        mixedRead.recordRead(SERVICE, KV_STATE, 2L);
+        assertThat(subject.validateAndCommit(mixedRead)).isEqualTo(CONFLICT);
+    }
+}
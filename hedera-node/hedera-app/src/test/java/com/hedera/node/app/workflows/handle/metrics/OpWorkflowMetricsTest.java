@@ -55,7 +55,7 @@ class OpWorkflowMetricsTest {
 
         // then
         final int transactionMetricsCount = (HederaFunctionality.values().length - 1) * 2;
-        assertThat(metrics.findMetricsByCategory("app")).hasSize(transactionMetricsCount + 1);
+        assertThat(metrics.findMetricsByCategory("app")).hasSize(transactionMetricsCount + 3);
     }
 
     @Test
@@ -70,6 +70,23 @@ class OpWorkflowMetricsTest {
                 .isEqualTo(0);
     }
 
+    @Test
+    void testUpdateReadWriteConflicts() {
+        // given
+        final var handleWorkflowMetrics = new OpWorkflowMetrics(metrics, configProvider);
+
+        // when
+        handleWorkflowMetrics.updateReadWriteConflicts(false, false);
+        handleWorkflowMetrics.updateReadWriteConflicts(false, false);
+        handleWorkflowMetrics.updateReadWriteConflicts(true, false);
+        handleWorkflowMetrics.updateReadWriteConflicts(true, true);
+
+        // then
+        assertThat(metrics.getMetric("app", "conflictFreeTxns").get(VALUE)).isEqualTo(2L);
+        assertThat(metrics.getMetric("app", "conflictingTxns").get(VALUE)).isEqualTo(2L);
+        assertThat(metrics.getMetric("app", "sharedEntryConflictTxns").get(VALUE)).isEqualTo(1L);
+    }
+
     @SuppressWarnings("DataFlowIssue")
     @Test
     void testUpdateDurationWithInvalidArguments() {
@@ -133,6 +133,34 @@ class SavepointStackImplTest extends StateTestBase {
         assertThat(stack.getWritableStates(FOOD_SERVICE)).has(content(newData));
     }
 
+    @Test
+    void testReadWriteSetTracking() {
+        // given
+        final var stack = SavepointStackImpl.newRootStack(
+                baseState, 3, 50, roundStateChangeListener, kvStateChangeListener, streamMode);
+        final var readWriteSet = new ReadWriteSet();
+        final var fruitState = stack.getWritableStates(FOOD_SERVICE).get(FRUIT_STATE_KEY);
+        fruitState.get(G_KEY);
+
+        // when
+        stack.trackReadWriteSet(readWriteSet);
+        fruitState.get(A_KEY);
+        stack.createSavepoint();
+        fruitState.put(B_KEY, BLUEBERRY);
+        fruitState.size();
+        stack.rollback();
+        stack.trackReadWriteSet(null);
+        fruitState.remove(C_KEY);
+
+        // then
+        assertThat(readWriteSet.reads())
+                .containsExactlyInAnyOrder(
+                        new ReadWriteSet.StateAccess(FOOD_SERVICE, FRUIT_STATE_KEY, A_KEY),
+                        new ReadWriteSet.StateAccess(FOOD_SERVICE, FRUIT_STATE_KEY, null));
+        assertThat(readWriteSet.writes())
+                .containsExactly(new ReadWriteSet.StateAccess(FOOD_SERVICE, FRUIT_STATE_KEY, B_KEY));
+    }
+
     @Nested
     @DisplayName("Tests for adding new savepoints to the stack")
     class SavepointTests {
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle.stack;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.node.app.spi.state.WrappedWritableKVState;
+import com.swirlds.state.test.fixtures.MapWritableKVState;
+import com.swirlds.state.test.fixtures.StateTestBase;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VersionedKVOverlayTest extends StateTestBase {
+
+    private MapWritableKVState<String, String> backingState;
+    private WrappedWritableKVState<String, String> base;
+    private VersionedKVOverlay<String, String> subject;
+
+    @BeforeEach
+    void setup() {
+        backingState = new MapWritableKVState<>(FRUIT_STATE_KEY, new HashMap<>(Map.of(A_KEY, APPLE, B_KEY, BANANA)));
+        base = new WrappedWritableKVState<>(backingState);
+        subject = new VersionedKVOverlay<>();
+    }
+
+    @Test
+    void readsLatestVersion() {
+        subject.put(A_KEY, ACAI, 1);
+        subject.put(B_KEY, null, 2);
+        subject.put(A_KEY, ELDERBERRY, 3);
+
+        assertThat(subject.find(A_KEY).value()).isEqualTo(ELDERBERRY);
+        assertThat(subject.find(B_KEY).value()).isNull();
+        assertThat(subject.find(C_KEY)).isNull();
+        assertThat(subject.modifiedKeys(3)).containsExactly(A_KEY);
+        assertThat(subject.modifiedKeys(2)).containsExactly(B_KEY);
+    }
+
+    @Test
+    void rollbackTruncatesVersion() {
+        subject.put(A_KEY, ACAI, 1);
+        subject.put(A_KEY, ELDERBERRY, 2);
+        subject.put(C_KEY, CHERRY, 2);
+
+        subject.rollback(2);
+
+        assertThat(subject.find(A_KEY).value()).isEqualTo(ACAI);
+        assertThat(subject.find(C_KEY)).isNull();
+        assertThat(subject.modifiedKeys(2)).isEmpty();
+    }
+
+    @Test
+    void commitMergesIntoVersionBelow() {
+        subject.put(A_KEY, ACAI, 1);
+        subject.put(C_KEY, CHERRY, 2);
+        subject.put(A_KEY, ELDERBERRY, 2);
+
+        subject.commit(2);
+        subject.rollback(2);
+
+        assertThat(subject.find(A_KEY).value()).isEqualTo(ELDERBERRY);
+        assertThat(subject.find(C_KEY).value()).isEqualTo(CHERRY);
+        assertThat(subject.modifiedKeys(1)).containsExactly(A_KEY, C_KEY);
+
+        subject.rollback(1);
+
+        assertThat(subject.isEmpty()).isTrue();
+    }
+
+    @Test
+    void keysAndSizeIncludeAllVersions() {
+        subject.put(C_KEY, CHERRY, 1);
+        subject.put(A_KEY, null, 2);
+        subject.put(D_KEY, DATE, 3);
+        subject.put(C_KEY, null, 3);
+
+        final List<String> keys = new ArrayList<>();
+        subject.keys(base.keys(), 3).forEachRemaining(keys::add);
+
+        assertThat(keys).containsExactlyInAnyOrder(B_KEY, D_KEY);
+        assertThat(subject.size(base, 3)).isEqualTo(2);
+        assertThat(subject.size(base, 1)).isEqualTo(3);
+    }
+
+    @Test
+    void flushWritesAllVersionsToBase() {
+        subject.put(C_KEY, CHERRY, 1);
+        subject.put(A_KEY, null, 2);
+        subject.put(C_KEY, CRANBERRY, 2);
+        subject.put(D_KEY, DATE, 3);
+
+        subject.flush(base, 3);
+
+        assertThat(subject.isEmpty()).isTrue();
+        assertThat(base.modifiedKeys()).containsExactly(C_KEY, A_KEY, D_KEY);
+        base.commit();
+        assertThat(backingState.get(A_KEY)).isNull();
+        assertThat(backingState.get(B_KEY)).isEqualTo(BANANA);
+        assertThat(backingState.get(C_KEY)).isEqualTo(CRANBERRY);
+        assertThat(backingState.get(D_KEY)).isEqualTo(DATE);
+    }
+}
@@ -17,6 +17,7 @@
 package com.hedera.node.config.data;
 
 import com.hedera.node.config.NetworkProperty;
+import com.hedera.node.config.NodeProperty;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
 
@@ -27,4 +28,6 @@ public record ConsensusConfig(
         @ConfigProperty(value = "handle.maxPrecedingRecords", defaultValue = "3") @NetworkProperty
                 int handleMaxPrecedingRecords,
         @ConfigProperty(value = "handle.maxFollowingRecords", defaultValue = "50") @NetworkProperty
-                int handleMaxFollowingRecords) {}
+                int handleMaxFollowingRecords,
+        @ConfigProperty(value = "handle.trackReadWriteSets", defaultValue = "false") @NodeProperty
+                boolean handleTrackReadWriteSets) {}
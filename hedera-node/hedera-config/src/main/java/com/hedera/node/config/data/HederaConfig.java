@@ -57,4 +57,5 @@ public record HederaConfig(
         // FUTURE: Set<HederaFunctionality>.
         @ConfigProperty(value = "workflows.enabled", defaultValue = "true") @NetworkProperty String workflowsEnabled,
         @ConfigProperty(value = "ingestThrottle.enabled", defaultValue = "true") @NetworkProperty
-                boolean ingestThrottleEnabled) {}
+                boolean ingestThrottleEnabled,
+        @ConfigProperty(value = "ingestThrottle.shards", defaultValue = "1") @NodeProperty int ingestThrottleShards) {}
@@ -32,6 +32,9 @@ import com.swirlds.state.spi.ReadableKVState;
 import com.swirlds.state.spi.ReadableStates;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -224,4 +227,16 @@ public class ReadableAccountStoreImpl implements ReadableAccountStore {
             accountState.warm(unaliasedId);
         }
     }
+
+    @Override
+    public void warmAll(@NonNull final Collection<AccountID> accountIDs) {
+        final List<AccountID> unaliasedIds = new ArrayList<>(accountIDs.size());
+        for (final AccountID accountID : accountIDs) {
+            final var unaliasedId = lookupAliasedAccountId(accountID);
+            if (unaliasedId != null) {
+                unaliasedIds.add(unaliasedId);
+            }
+        }
+        accountState.warmAll(unaliasedIds);
+    }
 }
@@ -28,6 +28,7 @@ import com.swirlds.state.spi.ReadableKVState;
 import com.swirlds.state.spi.ReadableStates;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collection;
 
 /**
  * Provides read-only methods for getting underlying data for working with TokenRelations.
@@ -79,4 +80,12 @@ public class ReadableTokenRelationStoreImpl implements ReadableTokenRelationStor
                 EntityIDPair.newBuilder().accountId(accountID).tokenId(tokenId).build();
         readableTokenRelState.warm(key);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warmAll(@NonNull final Collection<EntityIDPair> relations) {
+        readableTokenRelState.warmAll(relations);
+    }
 }
@@ -28,6 +28,7 @@ import com.swirlds.state.spi.ReadableKVState;
 import com.swirlds.state.spi.ReadableStates;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -122,4 +123,9 @@ public class ReadableTokenStoreImpl implements ReadableTokenStore {
     public void warm(@NonNull final TokenID tokenId) {
         tokenState.warm(tokenId);
     }
+
+    @Override
+    public void warmAll(@NonNull final Collection<TokenID> tokenIds) {
+        tokenState.warmAll(tokenIds);
+    }
 }
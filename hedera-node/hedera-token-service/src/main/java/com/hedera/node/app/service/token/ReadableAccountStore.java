@@ -22,6 +22,7 @@ import com.hedera.hapi.node.state.token.Account;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collection;
 
 /**
  * Provides read-only methods for interacting with the underlying data storage mechanisms for
@@ -134,4 +135,15 @@ public interface ReadableAccountStore {
      * @param accountID the account id
      */
     default void warm(@NonNull final AccountID accountID) {}
+
+    /**
+     * Warms the system by preloading multiple accounts into memory at once.
+     *
+     * <p>The default implementation calls {@link #warm(AccountID)} for every account.
+     *
+     * @param accountIDs the account ids
+     */
+    default void warmAll(@NonNull final Collection<AccountID> accountIDs) {
+        accountIDs.forEach(this::warm);
+    }
 }
@@ -18,9 +18,11 @@ package com.hedera.node.app.service.token;
 
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.TokenID;
+import com.hedera.hapi.node.state.common.EntityIDPair;
 import com.hedera.hapi.node.state.token.TokenRelation;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collection;
 
 /**
  * Provides read-only methods for getting underlying data for working with TokenRelations.
@@ -54,4 +56,15 @@ public interface ReadableTokenRelationStore {
      * @param tokenId the token id
      */
     default void warm(@NonNull final AccountID accountID, @NonNull final TokenID tokenId) {}
+
+    /**
+     * Warms the system by preloading multiple token relationships into memory at once.
+     *
+     * <p>The default implementation calls {@link #warm(AccountID, TokenID)} for every token relationship.
+     *
+     * @param relations the account and token id pairs of the token relationships
+     */
+    default void warmAll(@NonNull final Collection<EntityIDPair> relations) {
+        relations.forEach(relation -> warm(relation.accountIdOrThrow(), relation.tokenIdOrThrow()));
+    }
 }
@@ -23,6 +23,7 @@ import com.hedera.hapi.node.base.TokenID;
 import com.hedera.hapi.node.state.token.Token;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collection;
 
 /**
  * Provides read-only methods for interacting with the underlying data storage mechanisms for
@@ -138,4 +139,15 @@ public interface ReadableTokenStore {
      * @param tokenId the token id
      */
     default void warm(@NonNull TokenID tokenId) {}
+
+    /**
+     * Warms the system by preloading multiple tokens into memory at once.
+     *
+     * <p>The default implementation calls {@link #warm(TokenID)} for every token.
+     *
+     * @param tokenIds the token ids
+     */
+    default void warmAll(@NonNull final Collection<TokenID> tokenIds) {
+        tokenIds.forEach(this::warm);
+    }
 }
@@ -29,6 +29,7 @@ import com.swirlds.config.api.Configuration;
 import com.swirlds.config.api.ConfigurationBuilder;
 import com.swirlds.config.extensions.export.ConfigExport;
 import com.swirlds.config.extensions.sources.LegacyFileConfigSource;
+import com.swirlds.config.extensions.sources.SimpleConfigSource;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.virtualmap.config.VirtualMapConfig;
 import java.io.IOException;
@@ -36,6 +37,7 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.concurrent.ForkJoinPool;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -87,10 +89,24 @@ public abstract class BaseBench {
 
     protected static Configuration configuration;
 
-    private static void loadConfig() throws IOException {
+    /* Ordinal of benchmark specific config values, higher than ordinals of all other config sources */
+    private static final int CONFIG_OVERRIDES_ORDINAL = 1000;
+
+    /**
+     * Returns benchmark specific config values, which override values from settings.txt, for example,
+     * config values set from benchmark parameters.
+     *
+     * @return config property names to values
+     */
+    protected Map<String, String> configOverrides() {
+        return Map.of();
+    }
+
+    private void loadConfig() throws IOException {
         ConfigurationBuilder configurationBuilder = ConfigurationBuilder.create()
                 .autoDiscoverExtensions()
                 .withSource(new LegacyFileConfigSource(Path.of(".", "settings.txt")))
+                .withSource(new SimpleConfigSource(configOverrides()).withOrdinal(CONFIG_OVERRIDES_ORDINAL))
                 .withConfigDataType(BenchmarkConfig.class)
                 .withConfigDataType(VirtualMapConfig.class)
                 .withConfigDataType(MerkleDbConfig.class)
@@ -18,6 +18,7 @@ package com.swirlds.benchmark;
 
 import com.swirlds.virtualmap.VirtualMap;
 import java.util.ArrayDeque;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -25,6 +26,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
@@ -36,10 +38,19 @@ import org.openjdk.jmh.annotations.Warmup;
 @Measurement(iterations = 5)
 public abstract class VirtualMapBench extends VirtualMapBaseBench {
 
+    /* Virtual node cache key to dirty leaf index implementation, see NodeCacheKeyIndexType */
+    @Param({"CONCURRENT_HASH_MAP", "OPEN_ADDRESSING"})
+    public String nodeCacheKeyIndexType = "CONCURRENT_HASH_MAP";
+
     String benchmarkName() {
         return "VirtualMapBench";
     }
 
+    @Override
+    protected Map<String, String> configOverrides() {
+        return Map.of("virtualMap.nodeCacheKeyIndexType", nodeCacheKeyIndexType);
+    }
+
     /**
      * [Read-update or create-write] cycle. Single-threaded.
      */
@@ -166,6 +166,23 @@ public interface Cryptography {
      */
     boolean verifySync(final List<TransactionSignature> signatures);
 
+    /**
+     * Verifies the given digital signatures for authenticity as a single batch. Unlike {@link #verifySync(List)},
+     * implementations may share the work that is common to all signatures in the batch, for example, extracting a
+     * message that is signed by multiple keys only once. The result of the verification of every signature is
+     * always available via {@link TransactionSignature#getSignatureStatus()}, even if some signatures in the batch
+     * are invalid, so callers can find out which signatures failed.
+     * <p>
+     * The default implementation verifies the signatures one by one using {@link #verifySync(List)}.
+     *
+     * @param signatures a list of signatures to be verified
+     * @return true if all the signatures are valid; otherwise false
+     * @throws CryptographyException if an unrecoverable error occurs while verifying the signatures
+     */
+    default boolean verifyBatchSync(@NonNull final List<TransactionSignature> signatures) {
+        return verifySync(signatures);
+    }
+
     /**
      * Verifies the given digital signature for authenticity. Convenience method that defaults to
      * {@link SignatureType#ED25519} signatures.
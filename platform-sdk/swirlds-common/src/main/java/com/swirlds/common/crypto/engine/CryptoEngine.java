@@ -32,6 +32,7 @@ import com.swirlds.logging.legacy.LogMarker;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.security.NoSuchAlgorithmException;
 import java.security.Security;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -224,6 +225,45 @@ public class CryptoEngine implements Cryptography {
         return finalOutcome;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * ECDSA signatures are verified one by one. All Ed25519 signatures are passed to the Ed25519 provider as a single
+     * batch, so messages shared by multiple signatures are only extracted once.
+     */
+    @Override
+    public boolean verifyBatchSync(@NonNull final List<TransactionSignature> signatures) {
+        final StandardFuture<Void> future = new StandardFuture<>();
+        future.complete(null);
+
+        boolean finalOutcome = true;
+
+        final List<TransactionSignature> ed25519Signatures = new ArrayList<>(signatures.size());
+        for (final TransactionSignature signature : signatures) {
+            if (signature.getSignatureType() == SignatureType.ECDSA_SECP256K1) {
+                if (!verifySyncInternal(signature, ecdsaSecp256k1VerificationProvider, future)) {
+                    finalOutcome = false;
+                }
+            } else {
+                ed25519Signatures.add(signature);
+            }
+        }
+
+        if (!ed25519Signatures.isEmpty()) {
+            final boolean[] results = new boolean[ed25519Signatures.size()];
+            if (!ed25519VerificationProvider.computeBatch(ed25519Signatures, results)) {
+                finalOutcome = false;
+            }
+            for (int i = 0; i < results.length; i++) {
+                final TransactionSignature signature = ed25519Signatures.get(i);
+                signature.setSignatureStatus(results[i] ? VerificationStatus.VALID : VerificationStatus.INVALID);
+                signature.setFuture(future);
+            }
+        }
+
+        return finalOutcome;
+    }
+
     /**
      * {@inheritDoc}
      */
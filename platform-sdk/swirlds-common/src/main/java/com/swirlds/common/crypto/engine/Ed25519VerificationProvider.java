@@ -25,6 +25,7 @@ import com.goterl.lazysodium.interfaces.Sign;
 import com.swirlds.common.crypto.SignatureType;
 import com.swirlds.common.crypto.TransactionSignature;
 import java.nio.ByteBuffer;
+import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -132,6 +133,79 @@ public class Ed25519VerificationProvider
             final byte[] signature,
             final byte[] publicKey) {
         final boolean isValid = algorithm.cryptoSignVerifyDetached(signature, message, message.length, publicKey);
+        logIfInvalid(isValid, algorithmType, signature, publicKey);
+        return isValid;
+    }
+
+    /**
+     * Verifies a batch of signatures. Signature and public key buffers are reused across the batch, and a message
+     * is only extracted once, if consecutive signatures in the batch sign the same message, which is the case for
+     * all signatures of a single transaction. Every signature is verified individually, so the result of each
+     * signature is available in {@code results} regardless of other signatures in the batch.
+     *
+     * @param signatures
+     * 		the signatures to be verified
+     * @param results
+     * 		the array to store verification results to, must be at least as long as the list of signatures
+     * @return true if all the signatures are valid; false otherwise
+     */
+    public boolean computeBatch(final List<TransactionSignature> signatures, final boolean[] results) {
+        final Sign.Native loadedAlgorithm = loadAlgorithm(SignatureType.ED25519);
+
+        byte[] signature = new byte[0];
+        byte[] publicKey = new byte[0];
+        byte[] message = null;
+        byte[] messageSource = null;
+        int messageOffset = -1;
+        int messageLength = -1;
+
+        boolean allValid = true;
+        for (int i = 0; i < signatures.size(); i++) {
+            final TransactionSignature sig = signatures.get(i);
+            final byte[] payload = sig.getContentsDirect();
+            final byte[] expandedPublicKey = sig.getExpandedPublicKey();
+            final byte[] pkSource =
+                    (expandedPublicKey != null && expandedPublicKey.length > 0) ? expandedPublicKey : payload;
+
+            if (signature.length != sig.getSignatureLength()) {
+                signature = new byte[sig.getSignatureLength()];
+            }
+            if (publicKey.length != sig.getPublicKeyLength()) {
+                publicKey = new byte[sig.getPublicKeyLength()];
+            }
+            System.arraycopy(payload, sig.getSignatureOffset(), signature, 0, signature.length);
+            System.arraycopy(pkSource, sig.getPublicKeyOffset(), publicKey, 0, publicKey.length);
+
+            if ((payload != messageSource)
+                    || (sig.getMessageOffset() != messageOffset)
+                    || (sig.getMessageLength() != messageLength)) {
+                messageSource = payload;
+                messageOffset = sig.getMessageOffset();
+                messageLength = sig.getMessageLength();
+                message = new byte[messageLength];
+                System.arraycopy(payload, messageOffset, message, 0, messageLength);
+            }
+
+            results[i] = compute(loadedAlgorithm, SignatureType.ED25519, message, signature, publicKey);
+            allValid &= results[i];
+        }
+        return allValid;
+    }
+
+    /**
+     * Logs a signature verification failure, if debug logging is enabled.
+     *
+     * @param isValid
+     * 		the verification result
+     * @param algorithmType
+     * 		the type of algorithm used to verify the signature
+     * @param signature
+     * 		the verified signature
+     * @param publicKey
+     * 		the public key used to verify the signature
+     */
+    private static void logIfInvalid(
+            final boolean isValid, final SignatureType algorithmType, final byte[] signature, final byte[] publicKey) {
 
         if (!isValid && logger.isDebugEnabled()) {
             logger.debug(
@@ -142,8 +216,6 @@ public class Ed25519VerificationProvider
                     hex(publicKey),
                     hex(signature));
         }
-
-        return isValid;
     }
 
     /**
@@ -133,7 +133,9 @@ public class ThreadConfiguration extends AbstractThreadConfiguration<ThreadConfi
         enableThreadNumbering();
 
         final java.util.concurrent.ThreadFactory factory = (final Runnable r) -> {
-            final Thread thread = getThreadManager().createThread(getThreadGroup(), r);
+            final Thread thread = isVirtual()
+                    ? getThreadManager().createVirtualThread(r)
+                    : getThreadManager().createThread(getThreadGroup(), r);
             configureThread(thread);
             return thread;
         };
@@ -98,6 +98,11 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
      */
     private boolean daemon = true;
 
+    /**
+     * If new threads are virtual threads or platform threads.
+     */
+    private boolean virtual;
+
     /**
      * The priority for new threads.
      */
@@ -147,6 +152,7 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
         this.otherNodeId = that.otherNodeId;
         this.threadGroup = that.threadGroup;
         this.daemon = that.daemon;
+        this.virtual = that.virtual;
         this.priority = that.priority;
         this.contextClassLoader = that.contextClassLoader;
         this.exceptionHandler = that.exceptionHandler;
@@ -191,6 +197,7 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
     protected void copyThreadConfiguration(final Thread thread) {
         setFullyFormattedThreadName(thread.getName());
         setDaemon(thread.isDaemon());
+        setVirtual(thread.isVirtual());
         setPriority(thread.getPriority());
         setExceptionHandler(thread.getUncaughtExceptionHandler());
         setContextClassLoader(thread.getContextClassLoader());
@@ -213,7 +220,9 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
      */
     protected Thread buildThread(final boolean start) {
         final Runnable runnable = requireNonNull(getRunnable(), "runnable must not be null");
-        final Thread thread = threadManager.createThread(getThreadGroup(), runnable);
+        final Thread thread = virtual
+                ? threadManager.createVirtualThread(runnable)
+                : threadManager.createThread(getThreadGroup(), runnable);
         configureThread(thread);
 
         if (start) {
@@ -363,8 +372,8 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
      */
     protected void configureThread(final Thread thread) {
         thread.setName(buildThreadName());
-        if (!thread.isAlive()) {
-            // Daemon status can only be configured before a thread starts.
+        if (!thread.isAlive() && !thread.isVirtual()) {
+            // Daemon status can only be configured before a thread starts. Virtual threads are always daemons.
             thread.setDaemon(isDaemon());
         }
         thread.setPriority(getPriority());
@@ -414,6 +423,27 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
         return (C) this;
     }
 
+    /**
+     * Check if new threads are virtual threads.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Set whether new threads are virtual threads. Virtual threads are always daemons, and their priority and thread
+     * group are ignored.
+     *
+     * @return this object
+     */
+    @SuppressWarnings("unchecked")
+    public C setVirtual(final boolean virtual) {
+        throwIfImmutable();
+
+        this.virtual = virtual;
+        return (C) this;
+    }
+
     /**
      * Get the priority of new threads.
      */
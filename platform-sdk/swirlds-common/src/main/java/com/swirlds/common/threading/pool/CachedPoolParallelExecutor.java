@@ -16,6 +16,7 @@
 
 package com.swirlds.common.threading.pool;
 
+import com.swirlds.common.threading.framework.config.ThreadConfiguration;
 import com.swirlds.common.threading.manager.ThreadManager;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -49,6 +50,22 @@ public class CachedPoolParallelExecutor implements ParallelExecutor {
         factory = threadManager.createThreadFactory("parallel-executor", name);
     }
 
+    /**
+     * @param threadManager
+     * 		responsible for managing thread lifecycles
+     * @param name
+     * 		the name given to the threads in the pool
+     * @param virtual
+     * 		if true then tasks are executed on virtual threads, otherwise on platform threads
+     */
+    public CachedPoolParallelExecutor(final ThreadManager threadManager, final String name, final boolean virtual) {
+        factory = new ThreadConfiguration(threadManager)
+                .setComponent("parallel-executor")
+                .setThreadName(name)
+                .setVirtual(virtual)
+                .buildFactory();
+    }
+
     /**
      * {@inheritDoc}
      */
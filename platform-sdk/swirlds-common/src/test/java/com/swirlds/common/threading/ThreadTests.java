@@ -161,6 +161,46 @@ class ThreadTests {
         assertFalse(threadException.get(), "there should not have been any exceptions");
     }
 
+    @Test
+    @Tag(TestComponentTags.THREADING)
+    @DisplayName("Virtual Thread Test")
+    void virtualThreadTest() throws InterruptedException {
+        final AtomicBoolean threadException = new AtomicBoolean(false);
+        final AtomicBoolean runnableCalled = new AtomicBoolean(false);
+        final Runnable runnable = () -> {
+            assertTrue(Thread.currentThread().isVirtual(), "expected thread to be virtual");
+            runnableCalled.set(true);
+        };
+
+        final Thread thread = new ThreadConfiguration(getStaticThreadManager())
+                .setExceptionHandler((t, e) -> {
+                    e.printStackTrace();
+                    threadException.set(true);
+                })
+                .setComponent("foo")
+                .setThreadName("bar")
+                // ignored, virtual threads are always daemons
+                .setDaemon(false)
+                .setVirtual(true)
+                .setRunnable(runnable)
+                .build();
+
+        assertTrue(thread.isVirtual(), "expected thread to be virtual");
+        assertTrue(thread.isDaemon(), "virtual threads are always daemons");
+        assertTrue(thread.getName().contains("foo"), "expected component in the thread name");
+        assertTrue(thread.getName().contains("bar"), "expected thread name in the thread name");
+
+        thread.start();
+        thread.join();
+        assertTrue(runnableCalled.get(), "runnable should have been called");
+        assertFalse(threadException.get(), "there should not have been any exceptions");
+
+        final ThreadFactory factory = new ThreadConfiguration(getStaticThreadManager())
+                .setVirtual(true)
+                .buildFactory();
+        assertTrue(factory.newThread(() -> {}).isVirtual(), "expected the factory to create virtual threads");
+    }
+
     @Test
     @Tag(TestComponentTags.THREADING)
     @DisplayName("Class Loader Test")
@@ -35,6 +35,7 @@ import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
 import java.nio.ByteBuffer;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -203,6 +204,32 @@ class CryptographyTests {
         assertTrue(cryptography.verifySync(signature), "Should be a valid signature");
     }
 
+    @Test
+    void verifyBatchSyncReportsEverySignature() {
+        ed25519SignaturePool = new SignaturePool(cryptoConfig.computeCpuDigestThreadCount() * PARALLELISM, 100, true);
+        ecdsaSignaturePool = new EcdsaSignedTxnPool(cryptoConfig.computeCpuDigestThreadCount() * PARALLELISM, 64);
+        final TransactionSignature valid = ed25519SignaturePool.next();
+        final TransactionSignature ecdsa = ecdsaSignaturePool.next();
+        final TransactionSignature source = ed25519SignaturePool.next();
+        final byte[] corrupted = source.getContents();
+        corrupted[source.getSignatureOffset()] ^= 1;
+        final TransactionSignature invalid = new TransactionSignature(
+                corrupted,
+                source.getSignatureOffset(),
+                source.getSignatureLength(),
+                source.getPublicKeyOffset(),
+                source.getPublicKeyLength(),
+                source.getMessageOffset(),
+                source.getMessageLength(),
+                SignatureType.ED25519);
+
+        assertTrue(cryptography.verifyBatchSync(List.of(valid, ecdsa)), "Should be a valid batch");
+        assertFalse(cryptography.verifyBatchSync(List.of(valid, invalid, ecdsa)), "Should be an invalid batch");
+        assertEquals(VerificationStatus.VALID, valid.getSignatureStatus());
+        assertEquals(VerificationStatus.INVALID, invalid.getSignatureStatus());
+        assertEquals(VerificationStatus.VALID, ecdsa.getSignatureStatus());
+    }
+
     private record SignatureComponents(byte[] data, byte[] publicKey, byte[] signatureBytes) {}
 
     private SignatureComponents extractComponents(final TransactionSignature signature) {
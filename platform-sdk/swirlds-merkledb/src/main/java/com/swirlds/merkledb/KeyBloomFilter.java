@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static com.swirlds.common.utility.NonCryptographicHashing.hash64;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter over leaf keys stored in a {@link MerkleDbDataSource}. If the filter doesn't
+ * contain a key, the key is definitely not in the data source, and the key to path store doesn't
+ * need to be read. If the filter contains a key, the key may or may not be in the data source.
+ *
+ * <p>Keys can be added to the filter, but not removed. When a key is removed from the data source,
+ * its bits remain set, and the filter gradually degrades. Data sources rebuild their filters from
+ * scratch, when too many keys have been removed.
+ *
+ * <p>Bit indices are computed using double hashing from a 64-bit hash of key bytes. Key hash codes,
+ * which are used to find buckets in the key to path store, are not used here, as they are only 32
+ * bits long, which would result in too many collisions in large data sources.
+ *
+ * <p>This class is thread safe. Keys may be added and checked concurrently.
+ */
+final class KeyBloomFilter {
+
+    /** Version of the file format, written to the file header */
+    private static final int FILE_VERSION = 1;
+
+    /** Min number of bits in a filter */
+    private static final long MIN_BITS = Long.SIZE * 1024;
+
+    /** Max number of bits in a filter, limited by max Java array size */
+    private static final long MAX_BITS = (long) (Integer.MAX_VALUE - 8) * Long.SIZE;
+
+    /** Max number of hash functions */
+    private static final int MAX_HASH_FUNCTIONS = 16;
+
+    /** Filter bits, stored in longs */
+    private final AtomicLongArray bits;
+
+    /** Number of bits in the filter */
+    private final long numBits;
+
+    /** Number of hash functions, i.e. number of bits set for every key */
+    private final int numHashFunctions;
+
+    /** Number of keys the filter is sized for */
+    private final long capacity;
+
+    /**
+     * Creates a new empty filter.
+     *
+     * @param capacity the expected number of keys in the filter
+     * @param bitsPerKey the number of bits per key, must be positive
+     */
+    KeyBloomFilter(final long capacity, final int bitsPerKey) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Filter capacity must be positive");
+        }
+        if (bitsPerKey <= 0) {
+            throw new IllegalArgumentException("Number of bits per key must be positive");
+        }
+        final long requestedBits = capacity > MAX_BITS / bitsPerKey ? MAX_BITS : capacity * bitsPerKey;
+        // Round up to a whole number of longs
+        this.numBits = (Math.max(MIN_BITS, requestedBits) + Long.SIZE - 1) / Long.SIZE * Long.SIZE;
+        // Optimal number of hash functions is bitsPerKey * ln(2)
+        this.numHashFunctions = (int) Math.max(1, Math.min(MAX_HASH_FUNCTIONS, Math.round(bitsPerKey * Math.log(2))));
+        this.capacity = capacity;
+        this.bits = new AtomicLongArray(Math.toIntExact(numBits / Long.SIZE));
+    }
+
+    private KeyBloomFilter(final long capacity, final int numHashFunctions, final AtomicLongArray bits) {
+        this.numBits = (long) bits.length() * Long.SIZE;
+        this.numHashFunctions = numHashFunctions;
+        this.capacity = capacity;
+        this.bits = bits;
+    }
+
+    /**
+     * Adds a key to the filter.
+     *
+     * @param keyBytes the key
+     */
+    void add(@NonNull final Bytes keyBytes) {
+        final long hash = hashKey(keyBytes);
+        final long delta = deltaHash(hash);
+        long combined = hash;
+        for (int i = 0; i < numHashFunctions; i++) {
+            final long bit = Long.remainderUnsigned(combined, numBits);
+            final int index = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            long value = bits.get(index);
+            while ((value & mask) == 0) {
+                final long witness = bits.compareAndExchange(index, value, value | mask);
+                if (witness == value) {
+                    break;
+                }
+                value = witness;
+            }
+            combined += delta;
+        }
+    }
+
+    /**
+     * Checks if the filter may contain a key.
+     *
+     * @param keyBytes the key
+     * @return false if the key was never added to the filter, true if it may have been added
+     */
+    boolean mightContain(@NonNull final Bytes keyBytes) {
+        final long hash = hashKey(keyBytes);
+        final long delta = deltaHash(hash);
+        long combined = hash;
+        for (int i = 0; i < numHashFunctions; i++) {
+            final long bit = Long.remainderUnsigned(combined, numBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += delta;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of keys the filter is sized for. When more keys are added, the rate of
+     * false positives grows above the expected rate.
+     *
+     * @return the filter capacity
+     */
+    long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the size of the filter, in bytes.
+     *
+     * @return the filter size
+     */
+    long getSizeInBytes() {
+        return numBits / Byte.SIZE;
+    }
+
+    /**
+     * Writes this filter to a file. If the file exists, it's overwritten. Keys added to the filter
+     * while it's being written may or may not be written.
+     *
+     * @param file the file to write to
+     * @throws IOException if an I/O error occurs
+     */
+    void writeToFile(@NonNull final Path file) throws IOException {
+        requireNonNull(file);
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(FILE_VERSION);
+            out.writeLong(capacity);
+            out.writeInt(numHashFunctions);
+            out.writeInt(bits.length());
+            for (int i = 0; i < bits.length(); i++) {
+                out.writeLong(bits.get(i));
+            }
+        }
+    }
+
+    /**
+     * Loads a filter from a file, which was previously written using {@link #writeToFile(Path)}.
+     *
+     * @param file the file to read from
+     * @return the loaded filter
+     * @throws IOException if an I/O error occurs, or the file format is not supported
+     */
+    @NonNull
+    static KeyBloomFilter readFromFile(@NonNull final Path file) throws IOException {
+        requireNonNull(file);
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            final int version = in.readInt();
+            if (version != FILE_VERSION) {
+                throw new IOException("Unsupported key filter file version: " + version + ", file: " + file);
+            }
+            final long capacity = in.readLong();
+            final int numHashFunctions = in.readInt();
+            final int length = in.readInt();
+            if ((capacity <= 0)
+                    || (length <= 0)
+                    || (numHashFunctions <= 0)
+                    || (numHashFunctions > MAX_HASH_FUNCTIONS)) {
+                throw new IOException("Malformed key filter file: " + file);
+            }
+            final AtomicLongArray bits = new AtomicLongArray(length);
+            for (int i = 0; i < length; i++) {
+                bits.set(i, in.readLong());
+            }
+            return new KeyBloomFilter(capacity, numHashFunctions, bits);
+        }
+    }
+
+    /**
+     * Computes a 64-bit hash of key bytes.
+     *
+     * @param keyBytes the key
+     * @return the key hash
+     */
+    static long hashKey(@NonNull final Bytes keyBytes) {
+        final long length = keyBytes.length();
+        long hash = hash64(length);
+        long i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            hash = hash64(hash ^ keyBytes.getLong(i));
+        }
+        long tail = 0;
+        for (; i < length; i++) {
+            tail = (tail << Byte.SIZE) | (keyBytes.getByte(i) & 0xFF);
+        }
+        return hash64(hash, tail);
+    }
+
+    private static long deltaHash(final long hash) {
+        // Must be odd, so it's never zero and bit indices don't repeat too early
+        return hash64(hash) | 1;
+    }
+}
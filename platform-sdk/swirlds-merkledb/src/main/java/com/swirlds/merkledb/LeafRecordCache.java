@@ -0,0 +1,403 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A concurrent virtual leaf record cache, bounded by the (approximate) number of heap bytes taken
+ * by cached records rather than by the number of records.
+ *
+ * <p>The cache is split into segments, a segment is selected by key hash code. Every segment has
+ * its own size limit and lock, which is only acquired to add or remove entries. Cache lookups are
+ * lock free.
+ *
+ * <p>Eviction is based on the CLOCK algorithm: every cache hit marks the entry as referenced, and
+ * when a segment is full, its clock hand skips (and clears) referenced entries until an entry
+ * that hasn't been referenced since the last pass is found. To make the cache scan resistant, new
+ * entries are subject to admission control (TinyLFU). Access frequencies of all keys, whether they
+ * are in the cache or not, are tracked in a small count-min sketch. A new entry is only admitted,
+ * if its key is accessed more frequently than the keys of all entries it would evict. As a result, a
+ * long scan over keys that are read once, for example, during a state dump, doesn't evict hot
+ * entries from the cache. Frequencies are periodically halved, so the cache adapts when the set
+ * of hot keys changes.
+ *
+ * <p>Cached records may have null values. Such records only map keys to paths. If a path is
+ * {@link com.swirlds.virtualmap.datasource.VirtualDataSource#INVALID_PATH}, the key is known to
+ * be missing in the data source.
+ */
+final class LeafRecordCache {
+
+    /**
+     * Approximate heap size of a cache entry, excluding key and value bytes: a cache node, a hash
+     * map node, a leaf record, and key and value {@link Bytes} objects.
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 192;
+
+    /** Max number of cache segments */
+    private static final int MAX_SEGMENTS = 64;
+
+    /** Min size of a single cache segment, in bytes */
+    private static final long MIN_SEGMENT_SIZE = 256 * 1024;
+
+    /** Cached entries, by key */
+    private final ConcurrentHashMap<Bytes, Node> entries;
+
+    /** Cache segments */
+    private final Segment[] segments;
+
+    /** Called for every entry evicted from the cache to make room for a new entry */
+    private final Runnable evictionListener;
+
+    /**
+     * Creates a new leaf record cache.
+     *
+     * @param maxSizeBytes max cache size, in bytes
+     * @param evictionListener called every time an entry is evicted from the cache
+     */
+    LeafRecordCache(final long maxSizeBytes, @NonNull final Runnable evictionListener) {
+        if (maxSizeBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.evictionListener = requireNonNull(evictionListener);
+        final int cpus = Runtime.getRuntime().availableProcessors();
+        int segmentCount = Integer.highestOneBit(Math.min(MAX_SEGMENTS, Math.max(1, cpus * 4)));
+        while ((segmentCount > 1) && (maxSizeBytes / segmentCount < MIN_SEGMENT_SIZE)) {
+            segmentCount >>= 1;
+        }
+        final long segmentSize = maxSizeBytes / segmentCount;
+        // Estimated number of entries per segment, used to size frequency sketches
+        final long segmentEntries = segmentSize / (ENTRY_OVERHEAD_BYTES + 64);
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentSize, (int) Math.min(segmentEntries, 1 << 20));
+        }
+        entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Looks up a leaf record in the cache. The key access is recorded in the frequency sketch
+     * regardless of whether the key is in the cache or not.
+     *
+     * @param keyBytes the key
+     * @param keyHashCode the key hash code
+     * @return the cached record, or null if the key isn't in the cache
+     */
+    @Nullable
+    VirtualLeafBytes get(@NonNull final Bytes keyBytes, final int keyHashCode) {
+        segment(keyHashCode).sketch.increment(keyHashCode);
+        final Node node = entries.get(keyBytes);
+        if (node == null) {
+            return null;
+        }
+        node.referenced = true;
+        return node.record;
+    }
+
+    /**
+     * Puts a leaf record to the cache. If the key is already in the cache, the cached record is
+     * replaced. Otherwise, if the corresponding segment is full, entries are evicted to make room
+     * for the new record, unless the new record is rejected by the admission policy.
+     *
+     * @param keyBytes the key
+     * @param keyHashCode the key hash code
+     * @param record the record to cache, may have a null value
+     */
+    void put(@NonNull final Bytes keyBytes, final int keyHashCode, @NonNull final VirtualLeafBytes record) {
+        final Segment segment = segment(keyHashCode);
+        final long weight = weight(record);
+        synchronized (segment) {
+            final Node existing = entries.get(keyBytes);
+            if (existing != null) {
+                segment.sizeBytes += weight - existing.weight;
+                existing.weight = weight;
+                existing.record = record;
+                existing.referenced = true;
+                // Evict entries if the segment doesn't fit its limit any longer. The updated entry
+                // is marked as referenced, so other entries are evicted first
+                while ((segment.sizeBytes > segment.maxSizeBytes) && (segment.count > 1)) {
+                    evict(segment, segment.nextVictim());
+                }
+                return;
+            }
+            if (weight > segment.maxSizeBytes) {
+                return;
+            }
+            if (segment.sizeBytes + weight > segment.maxSizeBytes) {
+                final List<Node> victims = segment.selectVictims(segment.sizeBytes + weight - segment.maxSizeBytes);
+                // Admission control: only evict the victims, if the new key is accessed more often than
+                // each of them. It's checked before any victim is evicted, so a rejected entry doesn't
+                // shrink the cache
+                final int frequency = segment.sketch.frequency(keyHashCode);
+                for (final Node victim : victims) {
+                    if (frequency <= segment.sketch.frequency(victim.keyHashCode)) {
+                        victims.clear();
+                        return;
+                    }
+                }
+                for (final Node victim : victims) {
+                    evict(segment, victim);
+                }
+                victims.clear();
+            }
+            final Node node = new Node(keyBytes, keyHashCode, record, weight);
+            segment.add(node);
+            entries.put(keyBytes, node);
+        }
+    }
+
+    /**
+     * Removes a key from the cache, if present.
+     *
+     * @param keyBytes the key
+     * @param keyHashCode the key hash code
+     */
+    void invalidate(@NonNull final Bytes keyBytes, final int keyHashCode) {
+        final Segment segment = segment(keyHashCode);
+        synchronized (segment) {
+            final Node node = entries.remove(keyBytes);
+            if (node != null) {
+                segment.remove(node);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of records in the cache.
+     *
+     * @return the number of cached records
+     */
+    long getCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the approximate heap size taken by all cached records, in bytes.
+     *
+     * @return the cache size, in bytes
+     */
+    long getSizeInBytes() {
+        long size = 0;
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.sizeBytes;
+            }
+        }
+        return size;
+    }
+
+    private Segment segment(final int keyHashCode) {
+        final int h = keyHashCode ^ (keyHashCode >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    private void evict(final Segment segment, final Node victim) {
+        entries.remove(victim.keyBytes);
+        segment.remove(victim);
+        evictionListener.run();
+    }
+
+    private static long weight(final VirtualLeafBytes record) {
+        final Bytes valueBytes = record.valueBytes();
+        return ENTRY_OVERHEAD_BYTES + record.keyBytes().length() + (valueBytes != null ? valueBytes.length() : 0);
+    }
+
+    /** A cache entry. */
+    private static final class Node {
+        final Bytes keyBytes;
+        final int keyHashCode;
+        volatile VirtualLeafBytes record;
+        /** Entry size in bytes. Guarded by the segment lock */
+        long weight;
+        /** Set on every cache hit, cleared by the segment clock hand */
+        volatile boolean referenced;
+        /** Index of this node in the segment clock array. Guarded by the segment lock */
+        int index;
+        /** Whether this node is selected as an eviction victim. Guarded by the segment lock */
+        boolean victim;
+
+        Node(final Bytes keyBytes, final int keyHashCode, final VirtualLeafBytes record, final long weight) {
+            this.keyBytes = keyBytes;
+            this.keyHashCode = keyHashCode;
+            this.record = record;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A cache segment. All fields other than the sketch are guarded by the segment lock.
+     */
+    private static final class Segment {
+        final long maxSizeBytes;
+        final FrequencySketch sketch;
+        Node[] clock = new Node[16];
+        int count = 0;
+        int hand = 0;
+        long sizeBytes = 0;
+        /** Eviction victims selected by {@link #selectVictims(long)}, reused between calls */
+        final List<Node> victims = new ArrayList<>();
+
+        Segment(final long maxSizeBytes, final int expectedEntries) {
+            this.maxSizeBytes = maxSizeBytes;
+            this.sketch = new FrequencySketch(expectedEntries);
+        }
+
+        void add(final Node node) {
+            if (count == clock.length) {
+                final Node[] newClock = new Node[count * 2];
+                System.arraycopy(clock, 0, newClock, 0, count);
+                clock = newClock;
+            }
+            node.index = count;
+            clock[count++] = node;
+            sizeBytes += node.weight;
+        }
+
+        void remove(final Node node) {
+            // Move the last node to the removed node's place. It changes the clock order a little,
+            // which is fine for eviction purposes
+            final int index = node.index;
+            final Node last = clock[--count];
+            clock[index] = last;
+            last.index = index;
+            clock[count] = null;
+            sizeBytes -= node.weight;
+            if (hand >= count) {
+                hand = 0;
+            }
+        }
+
+        /**
+         * Selects entries to evict, in clock order, until they would free at least the given number
+         * of bytes. Entries are not evicted, the caller decides whether to evict them. The returned
+         * list is reused by the next call, and must be cleared by the caller when done.
+         *
+         * @param bytesToFree number of bytes to free, must not exceed the segment size
+         * @return the selected victims
+         */
+        List<Node> selectVictims(final long bytesToFree) {
+            assert bytesToFree <= sizeBytes;
+            long freed = 0;
+            while (freed < bytesToFree) {
+                final Node victim = nextVictim();
+                victim.victim = true;
+                victims.add(victim);
+                freed += victim.weight;
+                hand++;
+            }
+            for (final Node victim : victims) {
+                victim.victim = false;
+            }
+            return victims;
+        }
+
+        /**
+         * Advances the clock hand to the first entry not referenced since the last pass and not
+         * selected as a victim yet. Entries skipped on the way are marked as not referenced. The
+         * segment must not be empty.
+         */
+        Node nextVictim() {
+            assert count > 0;
+            while (true) {
+                if (hand >= count) {
+                    hand = 0;
+                }
+                final Node node = clock[hand];
+                if (!node.referenced && !node.victim) {
+                    return node;
+                }
+                node.referenced = false;
+                hand++;
+            }
+        }
+    }
+
+    /**
+     * A count-min sketch with four 4-bit counters per key. Counters are updated without locking
+     * from multiple threads, so some increments may be lost. It's fine, since all frequencies are
+     * approximate anyway.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+            0x97cb3127c4ce6e65L, 0xc2b2ae3d27d4eb4fL, 0x165667b19e3779f9L, 0x9e3779b97f4a7c15L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int MAX_FREQUENCY = 15;
+
+        /** Sketch counters, 16 counters per long */
+        private final long[] table;
+        /** Number of increments after which all counters are halved */
+        private final int sampleSize;
+        /** Number of increments since the last reset */
+        private int additions = 0;
+
+        FrequencySketch(final int expectedEntries) {
+            // 16 counters per expected entry, it keeps the error rate reasonable
+            final int tableSize = Integer.highestOneBit(Math.max(8, expectedEntries) * 2 - 1);
+            table = new long[tableSize];
+            sampleSize = Math.max(1024, 10 * expectedEntries);
+        }
+
+        int frequency(final int hashCode) {
+            int frequency = MAX_FREQUENCY;
+            for (int i = 0; i < SEEDS.length; i++) {
+                final int counter = counterIndex(hashCode, i);
+                final int value = (int) ((table[counter >>> 4] >>> ((counter & 15) << 2)) & 0xF);
+                frequency = Math.min(frequency, value);
+            }
+            return frequency;
+        }
+
+        void increment(final int hashCode) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                final int counter = counterIndex(hashCode, i);
+                final int tableIndex = counter >>> 4;
+                final int shift = (counter & 15) << 2;
+                final long word = table[tableIndex];
+                if (((word >>> shift) & 0xF) < MAX_FREQUENCY) {
+                    table[tableIndex] = word + (1L << shift);
+                    added = true;
+                }
+            }
+            if (added && (++additions >= sampleSize)) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions = 0;
+        }
+
+        private int counterIndex(final int hashCode, final int i) {
+            long h = (hashCode + SEEDS[i]) * SEEDS[i];
+            h ^= h >>> 32;
+            return (int) h & ((table.length << 4) - 1);
+        }
+    }
+}
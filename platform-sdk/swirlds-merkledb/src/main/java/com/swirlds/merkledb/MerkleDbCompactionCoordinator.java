@@ -119,20 +119,39 @@ class MerkleDbCompactionCoordinator {
             @Nullable DataFileCompactor objectKeyToPath,
             @Nullable DataFileCompactor hashesStoreDisk,
             @NonNull DataFileCompactor pathToKeyValue) {
+        this(tableName, objectKeyToPath, hashesStoreDisk, pathToKeyValue, null);
+    }
+
+    /**
+     * Creates a new instance of {@link MerkleDbCompactionCoordinator}.
+     * @param tableName the name of the table
+     * @param objectKeyToPath an object key to path store
+     * @param hashesStoreDisk a hash store
+     * @param pathToKeyValue a path to key-value store
+     * @param pathToKeyValueCompactionListener an optional action to run in the compaction thread
+     *                                         after every path to key-value store compaction task
+     */
+    public MerkleDbCompactionCoordinator(
+            @NonNull String tableName,
+            @Nullable DataFileCompactor objectKeyToPath,
+            @Nullable DataFileCompactor hashesStoreDisk,
+            @NonNull DataFileCompactor pathToKeyValue,
+            @Nullable Runnable pathToKeyValueCompactionListener) {
         this.objectKeyToPath = objectKeyToPath;
         this.hashesStoreDisk = hashesStoreDisk;
         this.pathToKeyValue = pathToKeyValue;
         if (objectKeyToPath != null) {
-            objectKeyToPathTask = new CompactionTask(tableName + OBJECT_KEY_TO_PATH_SUFFIX, objectKeyToPath);
+            objectKeyToPathTask = new CompactionTask(tableName + OBJECT_KEY_TO_PATH_SUFFIX, objectKeyToPath, null);
         } else {
             objectKeyToPathTask = null;
         }
         if (hashesStoreDisk != null) {
-            hashesStoreDiskTask = new CompactionTask(tableName + HASH_STORE_DISK_SUFFIX, hashesStoreDisk);
+            hashesStoreDiskTask = new CompactionTask(tableName + HASH_STORE_DISK_SUFFIX, hashesStoreDisk, null);
         } else {
             hashesStoreDiskTask = null;
         }
-        this.pathToKeyValueTask = new CompactionTask(tableName + PATH_TO_KEY_VALUE_SUFFIX, pathToKeyValue);
+        this.pathToKeyValueTask = new CompactionTask(
+                tableName + PATH_TO_KEY_VALUE_SUFFIX, pathToKeyValue, pathToKeyValueCompactionListener);
     }
 
     /**
@@ -266,16 +285,26 @@ class MerkleDbCompactionCoordinator {
         // Compactor to run
         private final DataFileCompactor compactor;
 
-        public CompactionTask(@NonNull String id, @NonNull DataFileCompactor compactor) {
+        // Optional action to run after compaction, even if there was nothing to compact
+        @Nullable
+        private final Runnable listener;
+
+        public CompactionTask(
+                @NonNull String id, @NonNull DataFileCompactor compactor, @Nullable Runnable listener) {
             this.id = id;
             this.compactor = compactor;
+            this.listener = listener;
         }
 
         @Override
         public Boolean call() {
             tasksRunning.incrementAndGet();
             try {
-                return compactor.compact();
+                final boolean compacted = compactor.compact();
+                if (listener != null) {
+                    listener.run();
+                }
+                return compacted;
             } catch (final InterruptedException | ClosedByInterruptException e) {
                 logger.info(MERKLE_DB.getMarker(), "Interrupted while compacting, this is allowed.", e);
             } catch (Exception e) {
@@ -44,6 +44,7 @@ import com.swirlds.merkledb.collections.LongListOffHeap;
 import com.swirlds.merkledb.collections.OffHeapUser;
 import com.swirlds.merkledb.files.DataFileCollection.LoadedDataCallback;
 import com.swirlds.merkledb.files.DataFileCompactor;
+import com.swirlds.merkledb.files.DataFileIterator;
 import com.swirlds.merkledb.files.DataFileReader;
 import com.swirlds.merkledb.files.MemoryIndexDiskKeyValueStore;
 import com.swirlds.merkledb.files.hashmap.HalfDiskHashMap;
@@ -61,16 +62,23 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -82,6 +90,9 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     /** Count of open database instances */
     private static final LongAdder COUNT_OF_OPEN_DATABASES = new LongAdder();
 
+    /** Min number of keys to size key filters for */
+    private static final long MIN_KEY_FILTER_CAPACITY = 1 << 16;
+
     /** Data source metadata fields */
     private static final FieldDefinition FIELD_DSMETADATA_MINVALIDKEY =
             new FieldDefinition("minValidKey", FieldType.UINT64, false, true, false, 1);
@@ -138,18 +149,34 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     private final MemoryIndexDiskKeyValueStore pathToKeyValue;
 
     /**
-     * Cache size for reading virtual leaf records. Initialized in data source creation time from
-     * MerkleDb settings. If the value is zero, leaf records cache isn't used.
+     * Virtual leaf records cache. Its size in bytes is initialized in data source creation time
+     * from MerkleDb settings. If the size is zero, leaf records cache isn't used, and this field
+     * is null.
      */
-    private final int leafRecordCacheSize;
+    private final LeafRecordCache leafRecordCache;
 
     /**
-     * Virtual leaf records cache. It's a simple array indexed by leaf keys % cache size. Cache
-     * eviction is not needed, as array size is fixed and can be configured in MerkleDb settings.
-     * Index conflicts are resolved in a very straightforward way: whatever entry is read last, it's
-     * put to the cache.
+     * Bloom filter over all keys in the key to path store, used to skip key to path store reads
+     * for keys that are not in the data source. Null, if key filters are disabled in MerkleDb
+     * settings, or the filter isn't built yet. Filters are never updated to remove keys, instead
+     * they are replaced with new filters, see {@link #rebuildKeyFilterIfNeeded()}.
      */
-    private final VirtualLeafBytes[] leafRecordCache;
+    private volatile KeyBloomFilter keyFilter;
+
+    /**
+     * A new key filter, which is being built. While it's being built, new keys are added to both
+     * the current and the new filters.
+     */
+    private volatile KeyBloomFilter rebuildingKeyFilter;
+
+    /**
+     * Guards the start of key filter rebuilding against leaf flushes, so every flushed key is
+     * either in the files scanned to rebuild the filter, or added to the new filter directly.
+     */
+    private final Object keyFilterLock = new Object();
+
+    /** Number of keys removed from the key to path store since the key filter was built */
+    private final AtomicLong keysRemovedSinceKeyFilterBuilt = new AtomicLong();
 
     /** Thread pool storing internal records */
     private final ExecutorService storeHashesExecutor;
@@ -306,7 +333,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                     statisticsUpdater::setHashesStoreCompactionTimeMs,
                     statisticsUpdater::setHashesStoreCompactionSavedSpaceMb,
                     statisticsUpdater::setHashesStoreFileSizeByLevelMb,
-                    updateTotalStatsFunction);
+                    updateTotalStatsFunction,
+                    statisticsUpdater::setHashesStoreCompactionIo);
         } else {
             hashStoreDisk = null;
             hashStoreDiskFileCompactor = null;
@@ -330,7 +358,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 statisticsUpdater::setLeafKeysStoreCompactionTimeMs,
                 statisticsUpdater::setLeafKeysStoreCompactionSavedSpaceMb,
                 statisticsUpdater::setLeafKeysStoreFileSizeByLevelMb,
-                updateTotalStatsFunction);
+                updateTotalStatsFunction,
+                statisticsUpdater::setLeafKeysStoreCompactionIo);
         keyToPath.printStats();
 
         final LoadedDataCallback leafRecordLoadedCallback;
@@ -354,6 +383,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 dbPaths.pathToKeyValueDirectory,
                 pathToKeyValueStoreName,
                 tableName + ":pathToHashKeyValue",
+                database.getConfig().leafDataCompressionBlockSize(),
                 leafRecordLoadedCallback,
                 pathToDiskLocationLeafNodes);
         final DataFileCompactor pathToKeyValueFileCompactor = new DataFileCompactor(
@@ -364,11 +394,28 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 statisticsUpdater::setLeavesStoreCompactionTimeMs,
                 statisticsUpdater::setLeavesStoreCompactionSavedSpaceMb,
                 statisticsUpdater::setLeavesStoreFileSizeByLevelMb,
-                updateTotalStatsFunction);
+                updateTotalStatsFunction,
+                statisticsUpdater::setLeavesStoreCompactionIo);
 
         // Leaf records cache
-        leafRecordCacheSize = database.getConfig().leafRecordCacheSize();
-        leafRecordCache = (leafRecordCacheSize > 0) ? new VirtualLeafBytes[leafRecordCacheSize] : null;
+        final long leafRecordCacheSizeBytes = database.getConfig().leafRecordCacheSizeBytes();
+        leafRecordCache = (leafRecordCacheSizeBytes > 0)
+                ? new LeafRecordCache(leafRecordCacheSizeBytes, statisticsUpdater::countLeafCacheEvictions)
+                : null;
+
+        // Key filter. If it can't be loaded, it's built after the first compaction of the path to
+        // key/value store. Till then, all key lookups go to the key to path store
+        if (database.getConfig().keyBloomFilterBitsPerKey() > 0) {
+            if (validLeafPathRange.getMaxValidKey() < 0) {
+                keyFilter = newKeyFilter(0);
+            } else if (Files.exists(dbPaths.keyFilterFile) && !forceIndexRebuilding) {
+                try {
+                    keyFilter = KeyBloomFilter.readFromFile(dbPaths.keyFilterFile);
+                } catch (final IOException e) {
+                    logger.warn(EXCEPTION.getMarker(), "[{}] Failed to load key filter", tableName, e);
+                }
+            }
+        }
 
         // Update count of open databases
         COUNT_OF_OPEN_DATABASES.increment();
@@ -382,7 +429,11 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 tableConfig.getHashesRamToDiskThreshold());
 
         compactionCoordinator = new MerkleDbCompactionCoordinator(
-                tableName, keyToPathFileCompactor, hashStoreDiskFileCompactor, pathToKeyValueFileCompactor);
+                tableName,
+                keyToPathFileCompactor,
+                hashStoreDiskFileCompactor,
+                pathToKeyValueFileCompactor,
+                database.getConfig().keyBloomFilterBitsPerKey() > 0 ? this::rebuildKeyFilterIfNeeded : null);
 
         if (compactionEnabled) {
             enableBackgroundCompaction();
@@ -512,12 +563,14 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             storeLeavesExecutor.execute(() -> {
                 try {
                     // we might as well do this in the archive thread rather than leaving it waiting
-                    writeLeavesToPathToKeyValue(
-                            firstLeafPath,
-                            lastLeafPath,
-                            leafRecordsToAddOrUpdate,
-                            leafRecordsToDelete,
-                            isReconnectContext);
+                    synchronized (keyFilterLock) {
+                        writeLeavesToPathToKeyValue(
+                                firstLeafPath,
+                                lastLeafPath,
+                                leafRecordsToAddOrUpdate,
+                                leafRecordsToDelete,
+                                isReconnectContext);
+                    }
                 } catch (final IOException e) {
                     logger.error(EXCEPTION.getMarker(), "[{}] Failed to store leaves", tableName, e);
                     throw new UncheckedIOException(e);
@@ -548,6 +601,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             statisticsUpdater.updateStoreFileStats(this);
             // update off-heap stats
             statisticsUpdater.updateOffHeapStats(this);
+            statisticsUpdater.updateLeafKeyFilterStats();
         }
     }
 
@@ -564,18 +618,9 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         requireNonNull(keyBytes);
 
         final long path;
-        VirtualLeafBytes cached = null;
-        int cacheIndex = -1;
-        if (leafRecordCache != null) {
-            cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-            // No synchronization is needed here. Java guarantees (JLS 17.7) that reference writes
-            // are atomic, so we will never get corrupted objects from the array. The object may
-            // be overwritten in the cache in a different thread in parallel, but it isn't a
-            // problem as cached entry key is checked below anyway
-            cached = leafRecordCache[cacheIndex];
-        }
-        // If an entry is found in the cache, and entry key is the one requested
-        if ((cached != null) && keyBytes.equals(cached.keyBytes())) {
+        final VirtualLeafBytes cached = getFromLeafRecordCache(keyBytes, keyHashCode);
+        // If an entry is found in the cache
+        if (cached != null) {
             // Some cache entries contain just key and path, but no value. If the value is there,
             // just return the cached entry. If not, at least make use of the path
             if (cached.valueBytes() != null) {
@@ -583,18 +628,22 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             }
             // Note that the path may be INVALID_PATH here, this is perfectly legal
             path = cached.path();
+        } else if (!keyFilterMightContain(keyBytes)) {
+            // The key is definitely not in the data source. Don't cache this negative result, the
+            // filter is cheap to check again
+            return null;
         } else {
             // Cache miss
-            cached = null;
             statisticsUpdater.countLeafKeyReads();
             path = keyToPath.get(keyBytes, keyHashCode, INVALID_PATH);
+            countKeyFilterFalsePositive(path);
         }
 
         // If the key didn't map to anything, we just return null
         if (path == INVALID_PATH) {
             // Cache the result if not already cached
             if (leafRecordCache != null && cached == null) {
-                leafRecordCache[cacheIndex] = new VirtualLeafBytes(path, keyBytes, 0, null);
+                leafRecordCache.put(keyBytes, keyHashCode, new VirtualLeafBytes(path, keyBytes, keyHashCode, null));
             }
             return null;
         }
@@ -612,13 +661,101 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         assert leafBytes != null && leafBytes.keyBytes().equals(keyBytes);
 
         if (leafRecordCache != null) {
-            // No synchronization is needed here, see the comment above
-            leafRecordCache[cacheIndex] = leafBytes;
+            leafRecordCache.put(keyBytes, keyHashCode, leafBytes);
         }
 
         return leafBytes;
     }
 
+    /**
+     * Load leaf records for multiple keys. Keys found in the leaf record cache are served from the
+     * cache. For all other keys, paths are looked up in the key to path store in bulk, with every
+     * bucket read at most once. Then leaf records are read from the path to key/value store in
+     * bulk, in the order of their locations on disk.
+     *
+     * @param keyBytes the keys of the leaves to load records for
+     * @param keyHashCodes the key hash codes, in the same order as the keys
+     * @return loaded records, in the same order as the keys, with nulls for keys not found
+     * @throws IOException If there was a problem reading records from db
+     */
+    @NonNull
+    @Override
+    public List<VirtualLeafBytes> loadLeafRecords(
+            @NonNull final List<Bytes> keyBytes, @NonNull final int[] keyHashCodes) throws IOException {
+        requireNonNull(keyBytes);
+        requireNonNull(keyHashCodes);
+        final int count = keyBytes.size();
+        if (keyHashCodes.length != count) {
+            throw new IllegalArgumentException("Number of keys and key hash codes must be equal");
+        }
+        final VirtualLeafBytes[] result = new VirtualLeafBytes[count];
+        final long[] paths = new long[count];
+
+        // Check the cache first. Keys not found in the cache are collected to look up their paths
+        final List<Bytes> keysToFind = new ArrayList<>(count);
+        final int[] keysToFindIndices = new int[count];
+        for (int i = 0; i < count; i++) {
+            final Bytes key = requireNonNull(keyBytes.get(i));
+            paths[i] = INVALID_PATH;
+            final VirtualLeafBytes cached = getFromLeafRecordCache(key, keyHashCodes[i]);
+            if (cached != null) {
+                if (cached.valueBytes() != null) {
+                    result[i] = cached;
+                } else {
+                    // Note that the path may be INVALID_PATH here, this is perfectly legal
+                    paths[i] = cached.path();
+                }
+            } else if (keyFilterMightContain(key)) {
+                keysToFindIndices[keysToFind.size()] = i;
+                keysToFind.add(key);
+            }
+        }
+
+        // Look up paths for cache misses in bulk
+        if (!keysToFind.isEmpty()) {
+            final int[] keysToFindHashCodes = new int[keysToFind.size()];
+            for (int j = 0; j < keysToFindHashCodes.length; j++) {
+                keysToFindHashCodes[j] = keyHashCodes[keysToFindIndices[j]];
+            }
+            final long[] foundPaths = keyToPath.getAll(keysToFind, keysToFindHashCodes, INVALID_PATH);
+            for (int j = 0; j < foundPaths.length; j++) {
+                final int i = keysToFindIndices[j];
+                statisticsUpdater.countLeafKeyReads();
+                countKeyFilterFalsePositive(foundPaths[j]);
+                paths[i] = foundPaths[j];
+                if ((leafRecordCache != null) && (foundPaths[j] == INVALID_PATH)) {
+                    // Cache negative results
+                    final Bytes key = keysToFind.get(j);
+                    leafRecordCache.put(
+                            key, keyHashCodes[i], new VirtualLeafBytes(INVALID_PATH, key, keyHashCodes[i], null));
+                }
+            }
+        }
+
+        // Load leaf records in bulk. Paths outside the valid leaf path range may belong to old
+        // keys that haven't been removed from the key to path store, they are skipped
+        final KeyRange leafPathRange = validLeafPathRange;
+        final int[] pathsToLoadIndices = IntStream.range(0, count)
+                .filter(i -> (result[i] == null) && (paths[i] != INVALID_PATH) && leafPathRange.withinRange(paths[i]))
+                .toArray();
+        if (pathsToLoadIndices.length > 0) {
+            final long[] pathsToLoad = Arrays.stream(pathsToLoadIndices).mapToLong(i -> paths[i]).toArray();
+            final List<VirtualLeafBytes> loaded = pathToKeyValue.getAll(pathsToLoad, VirtualLeafBytes::parseFrom);
+            for (int j = 0; j < pathsToLoadIndices.length; j++) {
+                final int i = pathsToLoadIndices[j];
+                final VirtualLeafBytes leafBytes = loaded.get(j);
+                statisticsUpdater.countLeafReads();
+                assert leafBytes != null && leafBytes.keyBytes().equals(keyBytes.get(i));
+                result[i] = leafBytes;
+                if ((leafRecordCache != null) && (leafBytes != null)) {
+                    leafRecordCache.put(keyBytes.get(i), keyHashCodes[i], leafBytes);
+                }
+            }
+        }
+
+        return Arrays.asList(result);
+    }
+
     /**
      * Load a leaf record by path. This method returns {@code null}, if the path is outside the
      * valid path range.
@@ -653,23 +790,23 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         requireNonNull(keyBytes);
 
         // Check the cache first
-        int cacheIndex = -1;
-        if (leafRecordCache != null) {
-            cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-            // No synchronization is needed here. See the comment in loadLeafRecord(key) above
-            final VirtualLeafBytes cached = leafRecordCache[cacheIndex];
-            if (cached != null && keyBytes.equals(cached.keyBytes())) {
-                // Cached path may be a valid path or INVALID_PATH, both are legal here
-                return cached.path();
-            }
+        final VirtualLeafBytes cached = getFromLeafRecordCache(keyBytes, keyHashCode);
+        if (cached != null) {
+            // Cached path may be a valid path or INVALID_PATH, both are legal here
+            return cached.path();
+        }
+
+        if (!keyFilterMightContain(keyBytes)) {
+            return INVALID_PATH;
         }
 
         statisticsUpdater.countLeafKeyReads();
         final long path = keyToPath.get(keyBytes, keyHashCode, INVALID_PATH);
+        countKeyFilterFalsePositive(path);
 
         if (leafRecordCache != null) {
             // Path may be INVALID_PATH here. Still needs to be cached (negative result)
-            leafRecordCache[cacheIndex] = new VirtualLeafBytes(path, keyBytes, keyHashCode, null);
+            leafRecordCache.put(keyBytes, keyHashCode, new VirtualLeafBytes(path, keyBytes, keyHashCode, null));
         }
 
         return path;
@@ -816,53 +953,89 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             // create snapshot dir if it doesn't exist
             Files.createDirectories(snapshotDirectory);
             final MerkleDbPaths snapshotDbPaths = new MerkleDbPaths(snapshotDirectory);
-            // main snapshotting process in multiple-threads
-            try {
-                final CountDownLatch countDownLatch = new CountDownLatch(7);
-                // write all data stores
-                runWithSnapshotExecutor(true, countDownLatch, "pathToDiskLocationInternalNodes", () -> {
-                    pathToDiskLocationInternalNodes.writeToFile(snapshotDbPaths.pathToDiskLocationInternalNodesFile);
-                    return true;
-                });
-                runWithSnapshotExecutor(true, countDownLatch, "pathToDiskLocationLeafNodes", () -> {
-                    pathToDiskLocationLeafNodes.writeToFile(snapshotDbPaths.pathToDiskLocationLeafNodesFile);
-                    return true;
-                });
-                runWithSnapshotExecutor(hashStoreRam != null, countDownLatch, "internalHashStoreRam", () -> {
-                    hashStoreRam.writeToFile(snapshotDbPaths.hashStoreRamFile);
-                    return true;
-                });
-                runWithSnapshotExecutor(hashStoreDisk != null, countDownLatch, "internalHashStoreDisk", () -> {
-                    hashStoreDisk.snapshot(snapshotDbPaths.hashStoreDiskDirectory);
-                    return true;
-                });
-                runWithSnapshotExecutor(keyToPath != null, countDownLatch, "keyToPath", () -> {
-                    keyToPath.snapshot(snapshotDbPaths.keyToPathDirectory);
-                    return true;
-                });
-                runWithSnapshotExecutor(true, countDownLatch, "pathToKeyValue", () -> {
-                    pathToKeyValue.snapshot(snapshotDbPaths.pathToKeyValueDirectory);
-                    return true;
-                });
-                runWithSnapshotExecutor(true, countDownLatch, "metadata", () -> {
-                    saveMetadata(snapshotDbPaths);
-                    return true;
-                });
-                // wait for the others to finish
-                countDownLatch.await();
-            } catch (final InterruptedException e) {
-                logger.error(
-                        EXCEPTION.getMarker(),
-                        "[{}] InterruptedException from waiting for countDownLatch in snapshot",
-                        tableName,
-                        e);
-                Thread.currentThread().interrupt();
+            // main snapshotting process in multiple-threads. Data files in all stores are immutable, they are
+            // hard linked rather than copied, so most of the time is spent writing in-memory indices
+            final List<Future<?>> tasks = new ArrayList<>(7);
+            // RAM and disk hash stores may both be used, their snapshot times are reported as a sum
+            final LongAdder snapshotHashesTimeMs = new LongAdder();
+            runWithSnapshotExecutor(
+                    true,
+                    tasks,
+                    "pathToDiskLocationInternalNodes",
+                    statisticsUpdater::setSnapshotHashesIndexTimeMs,
+                    () -> pathToDiskLocationInternalNodes.writeToFile(
+                            snapshotDbPaths.pathToDiskLocationInternalNodesFile));
+            runWithSnapshotExecutor(
+                    true,
+                    tasks,
+                    "pathToDiskLocationLeafNodes",
+                    statisticsUpdater::setSnapshotLeavesIndexTimeMs,
+                    () -> pathToDiskLocationLeafNodes.writeToFile(snapshotDbPaths.pathToDiskLocationLeafNodesFile));
+            runWithSnapshotExecutor(
+                    hashStoreRam != null,
+                    tasks,
+                    "internalHashStoreRam",
+                    snapshotHashesTimeMs::add,
+                    () -> hashStoreRam.writeToFile(snapshotDbPaths.hashStoreRamFile));
+            runWithSnapshotExecutor(
+                    hashStoreDisk != null,
+                    tasks,
+                    "internalHashStoreDisk",
+                    snapshotHashesTimeMs::add,
+                    () -> hashStoreDisk.snapshot(snapshotDbPaths.hashStoreDiskDirectory));
+            runWithSnapshotExecutor(
+                    keyToPath != null,
+                    tasks,
+                    "keyToPath",
+                    statisticsUpdater::setSnapshotLeafKeysTimeMs,
+                    () -> keyToPath.snapshot(snapshotDbPaths.keyToPathDirectory));
+            runWithSnapshotExecutor(
+                    true,
+                    tasks,
+                    "pathToKeyValue",
+                    statisticsUpdater::setSnapshotLeavesTimeMs,
+                    () -> pathToKeyValue.snapshot(snapshotDbPaths.pathToKeyValueDirectory));
+            final KeyBloomFilter snapshotKeyFilter = keyFilter;
+            runWithSnapshotExecutor(
+                    snapshotKeyFilter != null,
+                    tasks,
+                    "keyFilter",
+                    null,
+                    () -> snapshotKeyFilter.writeToFile(snapshotDbPaths.keyFilterFile));
+            runWithSnapshotExecutor(true, tasks, "metadata", null, () -> saveMetadata(snapshotDbPaths));
+            // wait for all tasks to finish, even if some of them fail, so no task is still writing
+            // to the snapshot directory when this method returns
+            IOException snapshotException = null;
+            for (final Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (final ExecutionException e) {
+                    if (snapshotException == null) {
+                        snapshotException =
+                                new IOException("[" + tableName + "] Failed to create a snapshot", e.getCause());
+                    } else {
+                        snapshotException.addSuppressed(e.getCause());
+                    }
+                } catch (final InterruptedException e) {
+                    logger.error(
+                            EXCEPTION.getMarker(), "[{}] InterruptedException from waiting for snapshot", tableName, e);
+                    Thread.currentThread().interrupt();
+                    throw new IOException("[" + tableName + "] Interrupted while creating a snapshot", e);
+                }
             }
+            if (snapshotException != null) {
+                throw snapshotException;
+            }
+            if ((hashStoreRam != null) || (hashStoreDisk != null)) {
+                statisticsUpdater.setSnapshotHashesTimeMs(snapshotHashesTimeMs.sum());
+            }
+            final long tookMillis = System.currentTimeMillis() - START;
+            statisticsUpdater.setSnapshotTotalTimeMs(tookMillis);
             logger.info(
                     MERKLE_DB.getMarker(),
                     "[{}] Snapshot all finished in {} seconds",
                     tableName,
-                    (System.currentTimeMillis() - START) * UnitConstants.MILLISECONDS_TO_SECONDS);
+                    tookMillis * UnitConstants.MILLISECONDS_TO_SECONDS);
         } finally {
             snapshotInProgress.set(false);
         }
@@ -1036,41 +1209,53 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     }
 
     /**
-     * Run a runnable on background thread using snapshot ExecutorService, counting down latch when
-     * done.
+     * Run a snapshot task on background thread using snapshot ExecutorService. The task future is
+     * added to the given list, so the caller can wait for all tasks to complete and check errors.
      *
-     * @param shouldRun when true, run runnable otherwise just countdown latch
-     * @param countDownLatch latch to count down when done
+     * @param shouldRun when true, run the task, otherwise do nothing
+     * @param tasks list of task futures to add the new task to
      * @param taskName the name of the task for logging
-     * @param runnable the code to run
+     * @param reportTimeFunction function to report how long the task took, in ms
+     * @param task the code to run
      */
     private void runWithSnapshotExecutor(
             final boolean shouldRun,
-            final CountDownLatch countDownLatch,
+            final List<Future<?>> tasks,
             final String taskName,
-            final Callable<Object> runnable) {
+            @Nullable final LongConsumer reportTimeFunction,
+            final SnapshotTask task) {
         if (shouldRun) {
-            snapshotExecutor.submit(() -> {
+            tasks.add(snapshotExecutor.submit(() -> {
                 final long START = System.currentTimeMillis();
                 try {
-                    runnable.call();
-                    logger.trace(
-                            MERKLE_DB.getMarker(),
-                            "[{}] Snapshot {} complete in {} seconds",
-                            tableName,
-                            taskName,
-                            (System.currentTimeMillis() - START) * UnitConstants.MILLISECONDS_TO_SECONDS);
-                    return true; // turns this into a callable, so it can throw checked
-                    // exceptions
-                } finally {
-                    countDownLatch.countDown();
+                    task.run();
+                } catch (final IOException | RuntimeException e) {
+                    logger.error(EXCEPTION.getMarker(), "[{}] Snapshot {} failed", tableName, taskName, e);
+                    throw e;
                 }
-            });
-        } else {
-            countDownLatch.countDown();
+                final long tookMillis = System.currentTimeMillis() - START;
+                if (reportTimeFunction != null) {
+                    reportTimeFunction.accept(tookMillis);
+                }
+                logger.trace(
+                        MERKLE_DB.getMarker(),
+                        "[{}] Snapshot {} complete in {} seconds",
+                        tableName,
+                        taskName,
+                        tookMillis * UnitConstants.MILLISECONDS_TO_SECONDS);
+                return true; // turns this into a callable, so it can throw checked exceptions
+            }));
         }
     }
 
+    /**
+     * A snapshot task, which is run on a snapshot executor thread.
+     */
+    @FunctionalInterface
+    private interface SnapshotTask {
+        void run() throws IOException;
+    }
+
     /**
      * Write all hashes to hashStore
      */
@@ -1144,6 +1329,10 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             return;
         }
 
+        // Key to path map contains exactly one entry per leaf. Let it grow, if the number of leaves
+        // is more than the map was initially sized for
+        keyToPath.resizeIfNeeded(lastLeafPath < 0 ? 0 : lastLeafPath - firstLeafPath + 1);
+
         pathToKeyValue.startWriting();
         keyToPath.startWriting();
 
@@ -1151,6 +1340,9 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         while (dirtyIterator.hasNext()) {
             final VirtualLeafBytes leafBytes = dirtyIterator.next();
             final long path = leafBytes.path();
+            // Update key filters before the key to path index, so the key is never missing in the
+            // filters, while it's in the index
+            addToKeyFilters(leafBytes.keyBytes());
             // Update key to path index
             keyToPath.put(leafBytes.keyBytes(), leafBytes.keyHashCode(), path);
             statisticsUpdater.countFlushLeafKeysWritten();
@@ -1164,7 +1356,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             }
             statisticsUpdater.countFlushLeavesWritten();
 
-            // cache the record
+            // invalidate the cached record
             invalidateReadCache(leafBytes.keyBytes(), leafBytes.keyHashCode());
         }
 
@@ -1182,6 +1374,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             } else {
                 keyToPath.delete(leafBytes.keyBytes(), leafBytes.keyHashCode());
             }
+            keysRemovedSinceKeyFilterBuilt.incrementAndGet();
             statisticsUpdater.countFlushLeavesDeleted();
 
             // delete from pathToKeyValue, we don't need to explicitly delete leaves as
@@ -1203,15 +1396,160 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         compactionCoordinator.compactDiskStoreForKeyToPathAsync();
     }
 
+    /**
+     * Looks up the given key in virtual leaf record cache, if the cache is enabled, and updates
+     * cache hit / miss statistics.
+     *
+     * @param keyBytes virtual key
+     * @param keyHashCode virtual key hash code
+     * @return the cached record, or null if the cache is disabled or the key isn't in the cache
+     */
+    @Nullable
+    private VirtualLeafBytes getFromLeafRecordCache(final Bytes keyBytes, final int keyHashCode) {
+        if (leafRecordCache == null) {
+            return null;
+        }
+        final VirtualLeafBytes cached = leafRecordCache.get(keyBytes, keyHashCode);
+        if (cached != null) {
+            statisticsUpdater.countLeafCacheHits();
+        } else {
+            statisticsUpdater.countLeafCacheMisses();
+        }
+        return cached;
+    }
+
+    /**
+     * Checks if the given key may be in the data source using the key filter. If the filter is
+     * disabled or not built yet, this method returns true for all keys.
+     *
+     * @param keyBytes virtual key
+     * @return false if the key is definitely not in the data source, true otherwise
+     */
+    private boolean keyFilterMightContain(final Bytes keyBytes) {
+        final KeyBloomFilter filter = keyFilter;
+        if ((filter == null) || filter.mightContain(keyBytes)) {
+            return true;
+        }
+        statisticsUpdater.countLeafKeyFilterNegatives();
+        return false;
+    }
+
+    /**
+     * Updates key filter statistics after a key was looked up in the key to path store, since it
+     * passed the key filter. If the key isn't found, it's a false positive.
+     *
+     * @param path the path found in the key to path store, or INVALID_PATH
+     */
+    private void countKeyFilterFalsePositive(final long path) {
+        if ((path == INVALID_PATH) && (keyFilter != null)) {
+            statisticsUpdater.countLeafKeyFilterFalsePositives();
+        }
+    }
+
+    /**
+     * Adds the given key to the current key filter and to the filter being rebuilt, if any.
+     *
+     * @param keyBytes virtual key
+     */
+    private void addToKeyFilters(final Bytes keyBytes) {
+        final KeyBloomFilter filter = keyFilter;
+        if (filter != null) {
+            filter.add(keyBytes);
+        }
+        final KeyBloomFilter rebuilding = rebuildingKeyFilter;
+        if (rebuilding != null) {
+            rebuilding.add(keyBytes);
+        }
+    }
+
+    /**
+     * Creates a new empty key filter for the given number of leaves.
+     *
+     * @param leafCount the current number of leaves in the data source
+     * @return the new filter
+     */
+    private KeyBloomFilter newKeyFilter(final long leafCount) {
+        // Leave some room for the data source to grow, so the filter doesn't need to be rebuilt too
+        // often. Data sources may contain more keys than configured in the table config, this is why
+        // the filter capacity is never less than the current number of leaves
+        final long capacity = Math.max(
+                leafCount,
+                Math.min(tableConfig.getMaxNumberOfKeys(), Math.max(leafCount * 2, MIN_KEY_FILTER_CAPACITY)));
+        return new KeyBloomFilter(capacity, database.getConfig().keyBloomFilterBitsPerKey());
+    }
+
+    /**
+     * Rebuilds the key filter, if it's not built yet, or too many keys have been removed from the
+     * data source since it was built, or the data source has grown larger than the filter is sized
+     * for. Called on the compaction thread after path to key/value store compactions, so no data
+     * files are deleted while they are scanned. Only live leaf records, i.e. records referenced
+     * from the path to disk location index, are added to the new filter.
+     */
+    void rebuildKeyFilterIfNeeded() {
+        final KeyRange leafPathRange = validLeafPathRange;
+        final long leafCount = leafPathRange.getMaxValidKey() < 0
+                ? 0
+                : leafPathRange.getMaxValidKey() - leafPathRange.getMinValidKey() + 1;
+        final KeyBloomFilter current = keyFilter;
+        if ((current != null)
+                && (leafCount <= current.getCapacity())
+                && (keysRemovedSinceKeyFilterBuilt.get()
+                        <= leafCount * database.getConfig().keyBloomFilterRebuildRatio())) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        final KeyBloomFilter newFilter = newKeyFilter(leafCount);
+        final long removedSinceBuilt;
+        final List<DataFileReader> filesToScan;
+        synchronized (keyFilterLock) {
+            // No flush is in progress. All keys flushed before are in the files to scan, all keys
+            // flushed after are added to the new filter directly
+            rebuildingKeyFilter = newFilter;
+            removedSinceBuilt = keysRemovedSinceKeyFilterBuilt.get();
+            filesToScan = pathToKeyValue.getFileCollection().getAllCompletedFiles();
+        }
+        boolean rebuilt = false;
+        try {
+            for (final DataFileReader fileReader : filesToScan) {
+                try (final DataFileIterator iterator = fileReader.createIterator()) {
+                    while (iterator.next()) {
+                        final VirtualLeafBytes leafBytes =
+                                VirtualLeafBytes.parseFrom(iterator.getDataItemData());
+                        final long path = leafBytes.path();
+                        if (validLeafPathRange.withinRange(path)
+                                && (pathToDiskLocationLeafNodes.get(path, LongList.IMPERMISSIBLE_VALUE)
+                                        == iterator.getDataItemDataLocation())) {
+                            newFilter.add(leafBytes.keyBytes());
+                        }
+                    }
+                }
+            }
+            rebuilt = true;
+            logger.info(
+                    MERKLE_DB.getMarker(),
+                    "[{}] Key filter rebuilt for {} leaves, capacity = {}, size = {} bytes, took {} ms",
+                    tableName,
+                    leafCount,
+                    newFilter.getCapacity(),
+                    newFilter.getSizeInBytes(),
+                    System.currentTimeMillis() - start);
+        } catch (final IOException e) {
+            // The current filter, if any, is still valid, it will be rebuilt after the next compaction
+            logger.warn(EXCEPTION.getMarker(), "[{}] Failed to rebuild key filter", tableName, e);
+        } finally {
+            // Both filters are updated at once, so flushes never add keys to the old filter only
+            synchronized (keyFilterLock) {
+                if (rebuilt) {
+                    keyFilter = newFilter;
+                    keysRemovedSinceKeyFilterBuilt.addAndGet(-removedSinceBuilt);
+                }
+                rebuildingKeyFilter = null;
+            }
+        }
+    }
+
     /**
      * Invalidates the given key in virtual leaf record cache, if the cache is enabled.
-     * <p>
-     * If the key is deleted, it's still updated in the cache. It means no record with the given
-     * key exists in the data source, so further lookups for the key are skipped.
-     * <p>
-     * Cache index is calculated as the key's hash code % cache size. The cache is only updated,
-     * if the current record at this index has the given key. If the key is different, no update is
-     * performed.
      *
      * @param keyBytes virtual key
      * @param keyHashCode virtual key hash code
@@ -1220,11 +1558,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         if (leafRecordCache == null) {
             return;
         }
-        final int cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-        final VirtualLeafBytes cached = leafRecordCache[cacheIndex];
-        if ((cached != null) && keyBytes.equals(cached.keyBytes())) {
-            leafRecordCache[cacheIndex] = null;
-        }
+        leafRecordCache.invalidate(keyBytes, keyHashCode);
     }
 
     FileStatisticAware getHashStoreDisk() {
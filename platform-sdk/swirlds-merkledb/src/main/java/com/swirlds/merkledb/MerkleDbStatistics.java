@@ -18,6 +18,7 @@ package com.swirlds.merkledb;
 
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.metrics.api.DoubleAccumulator;
+import com.swirlds.metrics.api.DoubleGauge;
 import com.swirlds.metrics.api.FloatFormats;
 import com.swirlds.metrics.api.IntegerGauge;
 import com.swirlds.metrics.api.LongAccumulator;
@@ -43,6 +44,10 @@ public class MerkleDbStatistics {
     private static final String FLUSHES_PREFIX = "flushes_";
     /** Prefix for compaction related metrics */
     private static final String COMPACTIONS_PREFIX = "compactions_";
+    /** Prefix for all snapshot related metrics */
+    private static final String SNAPSHOTS_PREFIX = "snapshots_";
+    /** Prefix for all leaf record cache related metrics */
+    private static final String CACHE_PREFIX = "cache_";
 
     private static final String LEVEL_PREFIX = "level_";
     /** Prefix for all off-heap related metrics */
@@ -58,6 +63,19 @@ public class MerkleDbStatistics {
     private LongAccumulator leafReads;
     /** Leaf keys - reads / s */
     private LongAccumulator leafKeyReads;
+    /** Leaf keys - reads skipped because of key filter / s */
+    private LongAccumulator leafKeyFilterNegatives;
+    /** Leaf keys - reads not skipped by key filter, but keys not found / s */
+    private LongAccumulator leafKeyFilterFalsePositives;
+    /** Leaf keys - key filter false positive rate */
+    private DoubleGauge leafKeyFilterFalsePositiveRate;
+
+    /** Leaf record cache - hits / s */
+    private LongAccumulator leafCacheHits;
+    /** Leaf record cache - misses / s */
+    private LongAccumulator leafCacheMisses;
+    /** Leaf record cache - evictions / s */
+    private LongAccumulator leafCacheEvictions;
 
     /** Hashes store - file count */
     private IntegerGauge hashesStoreFileCount;
@@ -103,6 +121,25 @@ public class MerkleDbStatistics {
 
     /** Leaf keys store - cumulative file size by compaction level in Mb */
     private final List<DoubleAccumulator> leafKeysStoreFileSizeByLevelMbList;
+
+    /** Hashes store compactions - data read in Mb */
+    private DoubleAccumulator hashesStoreCompactionReadMb;
+    /** Hashes store compactions - data written in Mb */
+    private DoubleAccumulator hashesStoreCompactionWrittenMb;
+    /** Hashes store - write amplification */
+    private DoubleGauge hashesStoreWriteAmplification;
+    /** Leaves store compactions - data read in Mb */
+    private DoubleAccumulator leavesStoreCompactionReadMb;
+    /** Leaves store compactions - data written in Mb */
+    private DoubleAccumulator leavesStoreCompactionWrittenMb;
+    /** Leaves store - write amplification */
+    private DoubleGauge leavesStoreWriteAmplification;
+    /** Leaf keys store compactions - data read in Mb */
+    private DoubleAccumulator leafKeysStoreCompactionReadMb;
+    /** Leaf keys store compactions - data written in Mb */
+    private DoubleAccumulator leafKeysStoreCompactionWrittenMb;
+    /** Leaf keys store - write amplification */
+    private DoubleGauge leafKeysStoreWriteAmplification;
     /** Off-heap usage in MB of hashes store index */
     private IntegerGauge offHeapHashesIndexMb;
     /** Off-heap usage in MB of leaves store index */
@@ -114,6 +151,19 @@ public class MerkleDbStatistics {
     /** Total data source off-heap usage in MB */
     private IntegerGauge offHeapDataSourceMb;
 
+    /** Last snapshot duration in ms, hashes index */
+    private IntegerGauge snapshotHashesIndexTimeMs;
+    /** Last snapshot duration in ms, leaves index */
+    private IntegerGauge snapshotLeavesIndexTimeMs;
+    /** Last snapshot duration in ms, hashes store */
+    private IntegerGauge snapshotHashesTimeMs;
+    /** Last snapshot duration in ms, leaves store */
+    private IntegerGauge snapshotLeavesTimeMs;
+    /** Last snapshot duration in ms, leaf keys store */
+    private IntegerGauge snapshotLeafKeysTimeMs;
+    /** Last snapshot duration in ms, total */
+    private IntegerGauge snapshotTotalTimeMs;
+
     /**
      * Create a new statistics object for a MerkleDb instances.
      *
@@ -158,6 +208,12 @@ public class MerkleDbStatistics {
                 .withFormat(FloatFormats.FORMAT_9_6));
     }
 
+    private static DoubleGauge buildDoubleGauge(final Metrics metrics, final String name, final String description) {
+        return metrics.getOrCreate(new DoubleGauge.Config(STAT_CATEGORY, name)
+                .withDescription(description)
+                .withFormat(FloatFormats.FORMAT_9_6));
+    }
+
     /**
      * Register all statistics with a registry.
      *
@@ -175,6 +231,30 @@ public class MerkleDbStatistics {
                 metrics, DS_PREFIX + READS_PREFIX + "leaves_" + label, "Number of leaf reads, " + label);
         leafKeyReads = buildLongAccumulator(
                 metrics, DS_PREFIX + READS_PREFIX + "leafKeys_" + label, "Number of leaf key reads, " + label);
+        leafKeyFilterNegatives = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + READS_PREFIX + "leafKeysFilterNegatives_" + label,
+                "Number of leaf key reads skipped because of key filter, " + label);
+        leafKeyFilterFalsePositives = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + READS_PREFIX + "leafKeysFilterFalsePositives_" + label,
+                "Number of leaf key reads not skipped by key filter for missing keys, " + label);
+        leafKeyFilterFalsePositiveRate = buildDoubleGauge(
+                metrics,
+                DS_PREFIX + READS_PREFIX + "leafKeysFilterFalsePositiveRate_" + label,
+                "Key filter false positive rate, " + label);
+
+        // Leaf record cache
+        leafCacheHits = buildLongAccumulator(
+                metrics, DS_PREFIX + CACHE_PREFIX + "leafHits_" + label, "Number of leaf record cache hits, " + label);
+        leafCacheMisses = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafMisses_" + label,
+                "Number of leaf record cache misses, " + label);
+        leafCacheEvictions = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafEvictions_" + label,
+                "Number of leaf records evicted from cache, " + label);
 
         // File counts and sizes
         hashesStoreFileCount = metrics.getOrCreate(
@@ -279,6 +359,44 @@ public class MerkleDbStatistics {
                     "Total space taken by files of level %s, leaf keys store, %s, Mb".formatted(level, label)));
         }
 
+        // Compaction I/O
+        hashesStoreCompactionReadMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "hashesReadMb_" + label,
+                "Data read during compactions, hashes store, " + label + ", Mb");
+        hashesStoreCompactionWrittenMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "hashesWrittenMb_" + label,
+                "Data written during compactions, hashes store, " + label + ", Mb");
+        hashesStoreWriteAmplification = buildDoubleGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "hashesWriteAmplification_" + label,
+                "Write amplification, hashes store, " + label);
+        leavesStoreCompactionReadMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leavesReadMb_" + label,
+                "Data read during compactions, leaves store, " + label + ", Mb");
+        leavesStoreCompactionWrittenMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leavesWrittenMb_" + label,
+                "Data written during compactions, leaves store, " + label + ", Mb");
+        leavesStoreWriteAmplification = buildDoubleGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leavesWriteAmplification_" + label,
+                "Write amplification, leaves store, " + label);
+        leafKeysStoreCompactionReadMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leafKeysReadMb_" + label,
+                "Data read during compactions, leaf keys store, " + label + ", Mb");
+        leafKeysStoreCompactionWrittenMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leafKeysWrittenMb_" + label,
+                "Data written during compactions, leaf keys store, " + label + ", Mb");
+        leafKeysStoreWriteAmplification = buildDoubleGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leafKeysWriteAmplification_" + label,
+                "Write amplification, leaf keys store, " + label);
+
         // Off-heap usage
         offHeapHashesIndexMb = metrics.getOrCreate(
                 new IntegerGauge.Config(STAT_CATEGORY, DS_PREFIX + OFFHEAP_PREFIX + "hashesIndexMb_" + label)
@@ -295,6 +413,32 @@ public class MerkleDbStatistics {
         offHeapDataSourceMb = metrics.getOrCreate(
                 new IntegerGauge.Config(STAT_CATEGORY, DS_PREFIX + OFFHEAP_PREFIX + "dataSourceMb_" + label)
                         .withDescription("Off-heap usage, data source, " + label + ", Mb"));
+
+        // Snapshots
+        snapshotHashesIndexTimeMs = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + SNAPSHOTS_PREFIX + "hashesIndexTimeMs_" + label,
+                "Last snapshot duration, hashes index, " + label + ", ms");
+        snapshotLeavesIndexTimeMs = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + SNAPSHOTS_PREFIX + "leavesIndexTimeMs_" + label,
+                "Last snapshot duration, leaves index, " + label + ", ms");
+        snapshotHashesTimeMs = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + SNAPSHOTS_PREFIX + "hashesTimeMs_" + label,
+                "Last snapshot duration, hashes store, " + label + ", ms");
+        snapshotLeavesTimeMs = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + SNAPSHOTS_PREFIX + "leavesTimeMs_" + label,
+                "Last snapshot duration, leaves store, " + label + ", ms");
+        snapshotLeafKeysTimeMs = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + SNAPSHOTS_PREFIX + "leafKeysTimeMs_" + label,
+                "Last snapshot duration, leaf keys store, " + label + ", ms");
+        snapshotTotalTimeMs = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + SNAPSHOTS_PREFIX + "totalTimeMs_" + label,
+                "Last snapshot duration, total, " + label + ", ms");
     }
 
     /**
@@ -324,6 +468,63 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Increment {@link #leafKeyFilterNegatives} stat by 1
+     */
+    public void countLeafKeyFilterNegatives() {
+        if (leafKeyFilterNegatives != null) {
+            leafKeyFilterNegatives.update(1);
+        }
+    }
+
+    /**
+     * Increment {@link #leafKeyFilterFalsePositives} stat by 1
+     */
+    public void countLeafKeyFilterFalsePositives() {
+        if (leafKeyFilterFalsePositives != null) {
+            leafKeyFilterFalsePositives.update(1);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #leafKeyFilterFalsePositiveRate} stat
+     *
+     * @param value
+     * 		the value to set
+     */
+    public void setLeafKeyFilterFalsePositiveRate(final double value) {
+        if (leafKeyFilterFalsePositiveRate != null) {
+            leafKeyFilterFalsePositiveRate.set(value);
+        }
+    }
+
+    /**
+     * Increment {@link #leafCacheHits} stat by 1
+     */
+    public void countLeafCacheHits() {
+        if (leafCacheHits != null) {
+            leafCacheHits.update(1);
+        }
+    }
+
+    /**
+     * Increment {@link #leafCacheMisses} stat by 1
+     */
+    public void countLeafCacheMisses() {
+        if (leafCacheMisses != null) {
+            leafCacheMisses.update(1);
+        }
+    }
+
+    /**
+     * Increment {@link #leafCacheEvictions} stat by 1
+     */
+    public void countLeafCacheEvictions() {
+        if (leafCacheEvictions != null) {
+            leafCacheEvictions.update(1);
+        }
+    }
+
     /**
      * Set the current value for the {@link #hashesStoreFileCount} stat
      *
@@ -450,6 +651,54 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Update the {@link #hashesStoreCompactionReadMb}, {@link #hashesStoreCompactionWrittenMb} and
+     * {@link #hashesStoreWriteAmplification} stats after a compaction
+     *
+     * @param readMb the amount of data read by the compaction, in Mb
+     * @param writtenMb the amount of data written by the compaction, in Mb
+     * @param writeAmp total bytes written to the store by flushes and compactions divided by bytes written by flushes
+     */
+    public void setHashesStoreCompactionIo(final double readMb, final double writtenMb, final double writeAmp) {
+        if (hashesStoreCompactionReadMb != null) {
+            hashesStoreCompactionReadMb.update(readMb);
+            hashesStoreCompactionWrittenMb.update(writtenMb);
+            hashesStoreWriteAmplification.set(writeAmp);
+        }
+    }
+
+    /**
+     * Update the {@link #leavesStoreCompactionReadMb}, {@link #leavesStoreCompactionWrittenMb} and
+     * {@link #leavesStoreWriteAmplification} stats after a compaction
+     *
+     * @param readMb the amount of data read by the compaction, in Mb
+     * @param writtenMb the amount of data written by the compaction, in Mb
+     * @param writeAmp total bytes written to the store by flushes and compactions divided by bytes written by flushes
+     */
+    public void setLeavesStoreCompactionIo(final double readMb, final double writtenMb, final double writeAmp) {
+        if (leavesStoreCompactionReadMb != null) {
+            leavesStoreCompactionReadMb.update(readMb);
+            leavesStoreCompactionWrittenMb.update(writtenMb);
+            leavesStoreWriteAmplification.set(writeAmp);
+        }
+    }
+
+    /**
+     * Update the {@link #leafKeysStoreCompactionReadMb}, {@link #leafKeysStoreCompactionWrittenMb} and
+     * {@link #leafKeysStoreWriteAmplification} stats after a compaction
+     *
+     * @param readMb the amount of data read by the compaction, in Mb
+     * @param writtenMb the amount of data written by the compaction, in Mb
+     * @param writeAmp total bytes written to the store by flushes and compactions divided by bytes written by flushes
+     */
+    public void setLeafKeysStoreCompactionIo(final double readMb, final double writtenMb, final double writeAmp) {
+        if (leafKeysStoreCompactionReadMb != null) {
+            leafKeysStoreCompactionReadMb.update(readMb);
+            leafKeysStoreCompactionWrittenMb.update(writtenMb);
+            leafKeysStoreWriteAmplification.set(writeAmp);
+        }
+    }
+
     /**
      * Set the current value for the accumulator corresponding to provided compaction level from
      * {@link #hashesStoreCompactionTimeMsList}
@@ -637,4 +886,70 @@ public class MerkleDbStatistics {
             offHeapDataSourceMb.set(value);
         }
     }
+
+    /**
+     * Set the current value for the {@link #snapshotHashesIndexTimeMs} stat
+     *
+     * @param value the value to set
+     */
+    public void setSnapshotHashesIndexTimeMs(final int value) {
+        if (snapshotHashesIndexTimeMs != null) {
+            snapshotHashesIndexTimeMs.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #snapshotLeavesIndexTimeMs} stat
+     *
+     * @param value the value to set
+     */
+    public void setSnapshotLeavesIndexTimeMs(final int value) {
+        if (snapshotLeavesIndexTimeMs != null) {
+            snapshotLeavesIndexTimeMs.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #snapshotHashesTimeMs} stat
+     *
+     * @param value the value to set
+     */
+    public void setSnapshotHashesTimeMs(final int value) {
+        if (snapshotHashesTimeMs != null) {
+            snapshotHashesTimeMs.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #snapshotLeavesTimeMs} stat
+     *
+     * @param value the value to set
+     */
+    public void setSnapshotLeavesTimeMs(final int value) {
+        if (snapshotLeavesTimeMs != null) {
+            snapshotLeavesTimeMs.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #snapshotLeafKeysTimeMs} stat
+     *
+     * @param value the value to set
+     */
+    public void setSnapshotLeafKeysTimeMs(final int value) {
+        if (snapshotLeafKeysTimeMs != null) {
+            snapshotLeafKeysTimeMs.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #snapshotTotalTimeMs} stat
+     *
+     * @param value the value to set
+     */
+    public void setSnapshotTotalTimeMs(final int value) {
+        if (snapshotTotalTimeMs != null) {
+            snapshotTotalTimeMs.set(value);
+        }
+    }
 }
@@ -26,6 +26,7 @@ import com.swirlds.merkledb.files.DataFileReader;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.LongSummaryStatistics;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.IntConsumer;
 
 /**
@@ -43,6 +44,12 @@ public class MerkleDbStatisticsUpdater {
 
     private final MerkleDbStatistics statistics;
 
+    /** Number of key lookups answered by the key filter without reading the key to path store */
+    private final LongAdder leafKeyFilterNegatives = new LongAdder();
+
+    /** Number of key lookups passed by the key filter, for keys not found in the key to path store */
+    private final LongAdder leafKeyFilterFalsePositives = new LongAdder();
+
     public MerkleDbStatisticsUpdater(@NonNull final MerkleDbConfig config, @NonNull final String tableName) {
         statistics = new MerkleDbStatistics(config, tableName);
     }
@@ -162,6 +169,44 @@ public class MerkleDbStatisticsUpdater {
         statistics.countLeafKeyReads();
     }
 
+    /** Updates statistics with number of leaf key reads skipped because of key filter. */
+    void countLeafKeyFilterNegatives() {
+        leafKeyFilterNegatives.increment();
+        statistics.countLeafKeyFilterNegatives();
+    }
+
+    /** Updates statistics with number of leaf key reads not skipped by key filter for missing keys. */
+    void countLeafKeyFilterFalsePositives() {
+        leafKeyFilterFalsePositives.increment();
+        statistics.countLeafKeyFilterFalsePositives();
+    }
+
+    /**
+     * Updates statistics with key filter false positive rate, which is the ratio of lookups for
+     * missing keys passed by the filter to all lookups for missing keys since the data source was
+     * opened.
+     */
+    void updateLeafKeyFilterStats() {
+        final long falsePositives = leafKeyFilterFalsePositives.sum();
+        final long total = falsePositives + leafKeyFilterNegatives.sum();
+        statistics.setLeafKeyFilterFalsePositiveRate(total == 0 ? 0 : (double) falsePositives / total);
+    }
+
+    /** Updates statistics with number of leaf record cache hits. */
+    void countLeafCacheHits() {
+        statistics.countLeafCacheHits();
+    }
+
+    /** Updates statistics with number of leaf record cache misses. */
+    void countLeafCacheMisses() {
+        statistics.countLeafCacheMisses();
+    }
+
+    /** Updates statistics with number of leaf records evicted from cache. */
+    void countLeafCacheEvictions() {
+        statistics.countLeafCacheEvictions();
+    }
+
     /** Updates statistics with number of hash reads. */
     void countHashReads() {
         statistics.countHashReads();
@@ -203,6 +248,21 @@ public class MerkleDbStatisticsUpdater {
         return usage;
     }
 
+    void setHashesStoreCompactionIo(final long bytesRead, final long bytesWritten, final double writeAmplification) {
+        statistics.setHashesStoreCompactionIo(
+                bytesRead * BYTES_TO_MEBIBYTES, bytesWritten * BYTES_TO_MEBIBYTES, writeAmplification);
+    }
+
+    void setLeavesStoreCompactionIo(final long bytesRead, final long bytesWritten, final double writeAmplification) {
+        statistics.setLeavesStoreCompactionIo(
+                bytesRead * BYTES_TO_MEBIBYTES, bytesWritten * BYTES_TO_MEBIBYTES, writeAmplification);
+    }
+
+    void setLeafKeysStoreCompactionIo(final long bytesRead, final long bytesWritten, final double writeAmplification) {
+        statistics.setLeafKeysStoreCompactionIo(
+                bytesRead * BYTES_TO_MEBIBYTES, bytesWritten * BYTES_TO_MEBIBYTES, writeAmplification);
+    }
+
     void setLeafKeysStoreCompactionTimeMs(Integer compactionLevel, Long time) {
         statistics.setLeafKeysStoreCompactionTimeMs(compactionLevel, time);
     }
@@ -238,4 +298,28 @@ public class MerkleDbStatisticsUpdater {
     void setLeavesStoreFileSizeByLevelMb(Integer compactionType, Double savedSpace) {
         statistics.setLeavesStoreFileSizeByLevelMb(compactionType, savedSpace);
     }
+
+    void setSnapshotHashesIndexTimeMs(final long timeMs) {
+        statistics.setSnapshotHashesIndexTimeMs((int) timeMs);
+    }
+
+    void setSnapshotLeavesIndexTimeMs(final long timeMs) {
+        statistics.setSnapshotLeavesIndexTimeMs((int) timeMs);
+    }
+
+    void setSnapshotHashesTimeMs(final long timeMs) {
+        statistics.setSnapshotHashesTimeMs((int) timeMs);
+    }
+
+    void setSnapshotLeavesTimeMs(final long timeMs) {
+        statistics.setSnapshotLeavesTimeMs((int) timeMs);
+    }
+
+    void setSnapshotLeafKeysTimeMs(final long timeMs) {
+        statistics.setSnapshotLeafKeysTimeMs((int) timeMs);
+    }
+
+    void setSnapshotTotalTimeMs(final long timeMs) {
+        statistics.setSnapshotTotalTimeMs((int) timeMs);
+    }
 }
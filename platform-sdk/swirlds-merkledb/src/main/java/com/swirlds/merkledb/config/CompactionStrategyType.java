@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.config;
+
+/**
+ * Types of strategies to select data files to compact in MerkleDb stores.
+ */
+public enum CompactionStrategyType {
+    /**
+     * Files are compacted by compaction levels. All level 0 files are compacted when there are at
+     * least {@link MerkleDbConfig#minNumberOfFilesInCompaction()} of them, and higher levels are
+     * included when they have enough files, too.
+     */
+    LEVELS,
+    /**
+     * Files are grouped into tiers of similar (live data) size. A tier with enough files is
+     * compacted, tiers with more garbage are compacted first.
+     */
+    SIZE_TIERED,
+    /**
+     * Files with a ratio of garbage (no longer referenced) data items above {@link
+     * MerkleDbConfig#compactionGarbageRatioThreshold()} are compacted, together with all level 0
+     * files, when there are enough of them.
+     */
+    GARBAGE_RATIO
+}
@@ -21,6 +21,7 @@ import com.swirlds.config.api.ConfigProperty;
 import com.swirlds.config.api.Configuration;
 import com.swirlds.config.api.validation.ConfigViolation;
 import com.swirlds.config.api.validation.annotation.ConstraintMethod;
+import com.swirlds.config.api.validation.annotation.Max;
 import com.swirlds.config.api.validation.annotation.Min;
 import com.swirlds.config.api.validation.annotation.Positive;
 import com.swirlds.config.extensions.validators.DefaultConfigViolation;
@@ -61,13 +62,43 @@ import com.swirlds.config.extensions.validators.DefaultConfigViolation;
  *      threads to use is calculated based on {@link #percentHalfDiskHashMapFlushThreads}
  * @param reservedBufferLengthForLeafList
  *      Length of a reserved buffer in a LongList used to store leafs. Value in bytes.
- * @param leafRecordCacheSize
+ * @param leafRecordCacheSizeBytes
  *      Cache size in bytes for reading virtual leaf records. Initialized in data source creation time from MerkleDb config.
- *      If the value is zero, leaf records cache isn't used.
+ *      The size is approximate, it includes key and value bytes and estimated object overhead of cached records. If the
+ *      value is zero, leaf records cache isn't used.
  * @param maxFileChannelsPerFileReader
  *     Maximum number of file channels per file reader.
  * @param maxThreadsPerFileChannel
  *    Maximum number of threads per file channel.
+ * @param maxBucketSplitsPerFlush
+ *      Maximum number of half disk hash map buckets to split during a single flush, when the map contains more
+ *      entries than it was initially sized for. If zero, the number of buckets never grows.
+ * @param mmapDataFileReadsEnabled
+ *      If true, data file readers map completed (immutable) data files into memory and copy data items from the
+ *      mapped buffers rather than reading them through file channels. Mappings are released when files are closed.
+ * @param maxMappedDataFileSize
+ *      Max size of a data file, in bytes, to map into memory when {@link #mmapDataFileReadsEnabled} is true. Larger
+ *      files are read using file channels. Values above 2Gb are capped to 2Gb.
+ * @param compactionStrategy
+ *      Strategy to select data files to compact, see {@link CompactionStrategyType}.
+ * @param compactionGarbageRatioThreshold
+ *      Min ratio of garbage (no longer referenced) data items in a data file to compact the file, used by {@link
+ *      CompactionStrategyType#GARBAGE_RATIO} strategy. Must be between 0 and 1.
+ * @param leafDataCompressionBlockSize
+ *      Uncompressed block size, in bytes, to store leaf data items (path to key/value store) in LZ4 compressed
+ *      blocks in new data files. If zero, leaf data items are stored uncompressed. Existing data files are
+ *      readable regardless of this setting, and they are converted to the configured format during compactions.
+ * @param compressedBlockCacheSize
+ *      Number of decompressed data blocks to cache per data file collection, when data items are stored in
+ *      compressed blocks. If zero, blocks aren't cached.
+ * @param keyBloomFilterBitsPerKey
+ *      Number of bits per key in Bloom filters, which are used to skip key to path store reads for keys that
+ *      are not in the store. Filters are sized for twice the number of leaves at the time they are built,
+ *      capped by the max number of keys in the table. If zero, Bloom filters aren't used.
+ * @param keyBloomFilterRebuildRatio
+ *      Ratio of keys removed from a data source since its Bloom filter was built to the current number of
+ *      leaves. When exceeded, the filter is rebuilt after the next compaction of the path to key/value store,
+ *      so the filter doesn't degrade because of bits set for removed keys.
  */
 @ConfigData("merkleDb")
 public record MerkleDbConfig(
@@ -84,9 +115,19 @@ public record MerkleDbConfig(
         @ConfigProperty(defaultValue = "75.0") double percentHalfDiskHashMapFlushThreads,
         @ConfigProperty(defaultValue = "-1") int numHalfDiskHashMapFlushThreads,
         @ConfigProperty(defaultValue = "262144") int reservedBufferLengthForLeafList,
-        @ConfigProperty(defaultValue = "1048576") int leafRecordCacheSize,
+        @Min(0) @ConfigProperty(defaultValue = "134217728") long leafRecordCacheSizeBytes,
         @Min(1) @ConfigProperty(defaultValue = "8") int maxFileChannelsPerFileReader,
-        @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel) {
+        @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel,
+        @Min(0) @ConfigProperty(defaultValue = "4096") int maxBucketSplitsPerFlush,
+        @ConfigProperty(defaultValue = "false") boolean mmapDataFileReadsEnabled,
+        @Min(0) @ConfigProperty(defaultValue = "1073741824") long maxMappedDataFileSize,
+        @ConfigProperty(defaultValue = "LEVELS") CompactionStrategyType compactionStrategy,
+        @ConstraintMethod("compactionGarbageRatioThresholdValidation") @ConfigProperty(defaultValue = "0.5")
+                double compactionGarbageRatioThreshold,
+        @Min(0) @Max(65536) @ConfigProperty(defaultValue = "0") int leafDataCompressionBlockSize,
+        @Min(0) @ConfigProperty(defaultValue = "1024") int compressedBlockCacheSize,
+        @Min(0) @Max(64) @ConfigProperty(defaultValue = "0") int keyBloomFilterBitsPerKey,
+        @ConfigProperty(defaultValue = "0.5") double keyBloomFilterRebuildRatio) {
 
     static double UNIT_FRACTION_PERCENT = 100.0;
 
@@ -104,6 +145,20 @@ public record MerkleDbConfig(
         return null;
     }
 
+    public ConfigViolation compactionGarbageRatioThresholdValidation(final Configuration configuration) {
+        final double compactionGarbageRatioThreshold =
+                configuration.getConfigData(MerkleDbConfig.class).compactionGarbageRatioThreshold();
+        if ((compactionGarbageRatioThreshold < 0) || (compactionGarbageRatioThreshold > 1)) {
+            return new DefaultConfigViolation(
+                    "compactionGarbageRatioThreshold",
+                    "%s".formatted(compactionGarbageRatioThreshold),
+                    true,
+                    "Cannot configure compactionGarbageRatioThreshold to " + compactionGarbageRatioThreshold
+                            + ", it must be between 0 and 1");
+        }
+        return null;
+    }
+
     public int getNumHalfDiskHashMapFlushThreads() {
         final int numProcessors = Runtime.getRuntime().availableProcessors();
         final int threads = (numHalfDiskHashMapFlushThreads() == -1)
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * A strategy to select data files to compact in a {@link DataFileCollection}. Strategies are used
+ * by {@link DataFileCompactor} on every compaction run.
+ */
+public interface CompactionStrategy {
+
+    /**
+     * Indicates whether this strategy needs the number of live data items in each file. Live items
+     * are counted by a full pass over the store index, so strategies that don't use them should
+     * return false.
+     *
+     * @return whether live item counts should be provided to {@link #selectFilesToCompact}
+     */
+    boolean requiresLiveItemCounts();
+
+    /**
+     * Selects files to compact from the given list of completed data files. Files are compacted
+     * together to a new file. If nothing needs to be compacted, an empty list is returned.
+     *
+     * @param completedFiles all completed data files in the collection
+     * @param liveItemCounts a function that returns the number of data items in a file still
+     *                       referenced from the index, or null if {@link #requiresLiveItemCounts()}
+     *                       is false
+     * @return files to compact, or an empty list
+     */
+    @NonNull
+    List<DataFileReader> selectFilesToCompact(
+            @NonNull List<DataFileReader> completedFiles, @Nullable ToLongFunction<DataFileReader> liveItemCounts);
+
+    /**
+     * Creates a compaction strategy of the type specified in MerkleDb config.
+     *
+     * @param dbConfig MerkleDb config
+     * @return a compaction strategy
+     */
+    static CompactionStrategy create(@NonNull final MerkleDbConfig dbConfig) {
+        return switch (dbConfig.compactionStrategy()) {
+            case LEVELS -> new LevelCompactionStrategy(
+                    dbConfig.minNumberOfFilesInCompaction(), dbConfig.maxCompactionLevel());
+            case SIZE_TIERED -> new SizeTieredCompactionStrategy(dbConfig.minNumberOfFilesInCompaction());
+            case GARBAGE_RATIO -> new GarbageRatioCompactionStrategy(
+                    dbConfig.minNumberOfFilesInCompaction(), dbConfig.compactionGarbageRatioThreshold());
+        };
+    }
+
+    /**
+     * Returns the ratio of live data items in the given file.
+     *
+     * @param file the data file
+     * @param liveItemCounts a function that returns the number of live items in a file
+     * @return live items ratio, from 0 to 1
+     */
+    static double liveItemsRatio(
+            @NonNull final DataFileReader file, @NonNull final ToLongFunction<DataFileReader> liveItemCounts) {
+        final long itemsCount = file.getMetadata().getDataItemCount();
+        if (itemsCount <= 0) {
+            return 1.0;
+        }
+        return Math.min(1.0, (double) liveItemCounts.applyAsLong(file) / itemsCount);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A small cache of decompressed data blocks, shared by all readers in a {@link DataFileCollection}.
+ * Data items in compressed data files are read in blocks, a block is decompressed as a whole, even if
+ * a single data item is needed. Reads are often local, e.g. during compactions, when data items are
+ * read in path order, or when leaves that were written together are read together, so it makes sense
+ * to keep recently decompressed blocks in memory.
+ *
+ * <p>This is a direct mapped cache: every block has a single slot, where it can be stored, based on
+ * the file index and the block index. If the slot is already occupied by another block, the old block
+ * is evicted. Blocks of deleted files are never read again, they are eventually evicted by other
+ * blocks.
+ *
+ * <p>This class is thread safe.
+ */
+final class DataBlockCache {
+
+    /** A cached block */
+    private record Entry(int fileIndex, int blockIndex, byte[] data) {}
+
+    /** Cache slots */
+    private final AtomicReferenceArray<Entry> entries;
+
+    /** Mask to get a slot from a hash code, the number of slots is a power of two */
+    private final int mask;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param size the number of blocks to cache, rounded up to the nearest power of two
+     */
+    DataBlockCache(final int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + size);
+        }
+        final int capacity = Integer.highestOneBit(Math.min(size, 1 << 29) * 2 - 1);
+        entries = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Gets a cached block.
+     *
+     * @param fileIndex the data file index
+     * @param blockIndex the block index in the data file
+     * @return uncompressed block bytes, or null if the block isn't cached. The returned array must
+     *     not be modified
+     */
+    byte[] get(final int fileIndex, final int blockIndex) {
+        final Entry entry = entries.get(slot(fileIndex, blockIndex));
+        if ((entry == null) || (entry.fileIndex() != fileIndex) || (entry.blockIndex() != blockIndex)) {
+            return null;
+        }
+        return entry.data();
+    }
+
+    /**
+     * Puts a block to the cache. The block array must not be modified after this call.
+     *
+     * @param fileIndex the data file index
+     * @param blockIndex the block index in the data file
+     * @param data uncompressed block bytes
+     */
+    void put(final int fileIndex, final int blockIndex, final byte[] data) {
+        entries.set(slot(fileIndex, blockIndex), new Entry(fileIndex, blockIndex, data));
+    }
+
+    private int slot(final int fileIndex, final int blockIndex) {
+        int h = fileIndex * 0x9E3779B9 + blockIndex;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h & mask;
+    }
+}
@@ -45,6 +45,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.channels.ClosedChannelException;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
@@ -57,6 +58,7 @@ import java.util.LongSummaryStatistics;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -168,6 +170,23 @@ public class DataFileCollection implements Snapshotable {
      */
     private final ConcurrentSkipListSet<Integer> setOfNewFileIndexes =
             logger.isTraceEnabled() ? new ConcurrentSkipListSet<>() : null;
+    /**
+     * Total size of all data files written with {@link #startWriting()} / {@link #endWriting(long, long)},
+     * in bytes, since this collection was created. Files created during compactions are not counted.
+     */
+    private final AtomicLong flushedBytes = new AtomicLong(0);
+
+    /**
+     * Uncompressed block size for new data files, in bytes. If zero, data items in new files are
+     * stored uncompressed. Existing files are read regardless of this setting.
+     */
+    private final int compressionBlockSize;
+
+    /**
+     * Decompressed block cache shared by all readers of compressed files in this collection. Null if
+     * data items in this collection are not compressed, or if the cache is disabled
+     */
+    private final DataBlockCache blockCache;
 
     /**
      * Construct a new DataFileCollection.
@@ -255,11 +274,66 @@ public class DataFileCollection implements Snapshotable {
             final Function<List<DataFileReader>, ImmutableIndexedObjectList<DataFileReader>>
                     indexedObjectListConstructor)
             throws IOException {
+        this(dbConfig, storeDir, storeName, legacyStoreName, 0, loadedDataCallback, indexedObjectListConstructor);
+    }
+
+    /**
+     * Construct a new DataFileCollection with a custom legacy store name, which stores data items
+     * in new data files in compressed blocks.
+     *
+     * @param dbConfig MerkleDb dbConfig
+     * @param storeDir The directory to store data files
+     * @param storeName Base name for the data files, allowing more than one DataFileCollection to
+     *     share a directory
+     * @param legacyStoreName Base name for the data files. If not null, data files with this prefix
+     *     are processed by this file collection at startup same way as files prefixed with
+     *     storeName
+     * @param compressionBlockSize Uncompressed block size for new data files, in bytes. If zero,
+     *     data items in new files are stored uncompressed
+     * @param loadedDataCallback Callback for rebuilding indexes from existing files, can be null if
+     *     not needed. Using this is expensive as it requires all files to be read and parsed.
+     * @throws IOException If there was a problem creating new data set or opening existing one
+     */
+    public DataFileCollection(
+            final MerkleDbConfig dbConfig,
+            final Path storeDir,
+            final String storeName,
+            final String legacyStoreName,
+            final int compressionBlockSize,
+            final LoadedDataCallback loadedDataCallback)
+            throws IOException {
+        this(
+                dbConfig,
+                storeDir,
+                storeName,
+                legacyStoreName,
+                compressionBlockSize,
+                loadedDataCallback,
+                l -> new ImmutableIndexedObjectListUsingArray<DataFileReader>(DataFileReader[]::new, l));
+    }
+
+    private DataFileCollection(
+            final MerkleDbConfig dbConfig,
+            final Path storeDir,
+            final String storeName,
+            final String legacyStoreName,
+            final int compressionBlockSize,
+            final LoadedDataCallback loadedDataCallback,
+            final Function<List<DataFileReader>, ImmutableIndexedObjectList<DataFileReader>>
+                    indexedObjectListConstructor)
+            throws IOException {
+        if ((compressionBlockSize < 0) || (compressionBlockSize > DataFileCommon.MAX_COMPRESSION_BLOCK_SIZE)) {
+            throw new IllegalArgumentException("Invalid compression block size: " + compressionBlockSize);
+        }
         this.dbConfig = dbConfig;
         this.storeDir = storeDir;
         this.storeName = storeName;
         this.legacyStoreName = legacyStoreName;
         this.indexedObjectListConstructor = indexedObjectListConstructor;
+        this.compressionBlockSize = compressionBlockSize;
+        this.blockCache = (compressionBlockSize > 0) && (dbConfig.compressedBlockCacheSize() > 0)
+                ? new DataBlockCache(dbConfig.compressedBlockCacheSize())
+                : null;
 
         // check if exists, if so open existing files
         if (Files.exists(storeDir)) {
@@ -273,6 +347,17 @@ public class DataFileCollection implements Snapshotable {
         }
     }
 
+    /**
+     * Get the total size of data files written to this collection by flushes, i.e. between {@link
+     * #startWriting()} and {@link #endWriting(long, long)} calls, since the collection was created.
+     * Data files created during compactions are not included.
+     *
+     * @return total size of flushed data files, in bytes
+     */
+    public long getFlushedBytes() {
+        return flushedBytes.get();
+    }
+
     /**
      * Get the valid range of keys for data items currently stored by this data file collection. Any
      * data items with keys below this can be deleted during a merge.
@@ -357,8 +442,7 @@ public class DataFileCollection implements Snapshotable {
         }
         final DataFileWriter writer = newDataFile(Instant.now(), INITIAL_COMPACTION_LEVEL);
         currentDataFileWriter.set(writer);
-        final DataFileMetadata metadata = writer.getMetadata();
-        final DataFileReader reader = addNewDataFileReader(writer.getPath(), metadata);
+        final DataFileReader reader = addNewDataFileReader(writer);
         currentDataFileReader.set(reader);
     }
 
@@ -416,6 +500,7 @@ public class DataFileCollection implements Snapshotable {
         }
         // finish writing the file and write its footer
         dataWriter.finishWriting();
+        flushedBytes.addAndGet(Files.size(dataWriter.getPath()));
         final DataFileReader dataReader = currentDataFileReader.getAndSet(null);
         if (logger.isTraceEnabled()) {
             final DataFileMetadata metadata = dataReader.getMetadata();
@@ -573,7 +658,19 @@ public class DataFileCollection implements Snapshotable {
         final List<DataFileReader> snapshotIndexedFiles = getAllCompletedFiles();
         for (final DataFileReader fileReader : snapshotIndexedFiles) {
             final Path existingFile = fileReader.getPath();
-            Files.createLink(snapshotDirectory.resolve(existingFile.getFileName()), existingFile);
+            final Path snapshotFile = snapshotDirectory.resolve(existingFile.getFileName());
+            try {
+                // Completed data files are immutable, so they can be shared with the snapshot
+                Files.createLink(snapshotFile, existingFile);
+            } catch (final UnsupportedOperationException | FileSystemException e) {
+                // Hard links may not be supported, for example, if the snapshot directory is on a
+                // different file system
+                if (Files.exists(snapshotFile)) {
+                    throw e;
+                }
+                logger.debug(MERKLE_DB.getMarker(), "Failed to link {}, copying it instead", existingFile, e);
+                Files.copy(existingFile, snapshotFile);
+            }
         }
     }
 
@@ -618,14 +715,16 @@ public class DataFileCollection implements Snapshotable {
     }
 
     /**
-     * Create and add a new data file reader to end of indexedFileList
+     * Create and add a new data file reader to end of indexedFileList. The reader is created for a
+     * file, which is still being written by the given writer.
      *
-     * @param filePath the path for the new data file
-     * @param metadata The metadata for the file at filePath, to save reading from file
+     * @param writer the writer of the new data file
      * @return The newly added DataFileReader.
      */
-    DataFileReader addNewDataFileReader(final Path filePath, final DataFileMetadata metadata) throws IOException {
-        final DataFileReader newDataFileReader = new DataFileReader(dbConfig, filePath, metadata);
+    DataFileReader addNewDataFileReader(final DataFileWriter writer) throws IOException {
+        final DataFileMetadata metadata = writer.getMetadata();
+        final DataFileReader newDataFileReader = new DataFileReader(
+                dbConfig, writer.getPath(), metadata, blockCache, metadata.isCompressed() ? writer : null);
         dataFiles.getAndUpdate(currentFileList -> {
             try {
                 return (currentFileList == null)
@@ -670,7 +769,8 @@ public class DataFileCollection implements Snapshotable {
         if (logger.isTraceEnabled()) {
             setOfNewFileIndexes.add(newFileIndex);
         }
-        return new DataFileWriter(storeName, storeDir, newFileIndex, creationTime, compactionLevel);
+        return new DataFileWriter(
+                storeName, storeDir, newFileIndex, creationTime, compactionLevel, compressionBlockSize);
     }
 
     /**
@@ -716,7 +816,9 @@ public class DataFileCollection implements Snapshotable {
             try {
                 for (int i = 0; i < fullWrittenFilePaths.length; i++) {
                     assert fullWrittenFilePaths[i].toString().endsWith(FILE_EXTENSION);
-                    dataFileReaders[i] = new DataFileReader(dbConfig, fullWrittenFilePaths[i]);
+                    final Path path = fullWrittenFilePaths[i];
+                    dataFileReaders[i] =
+                            new DataFileReader(dbConfig, path, new DataFileMetadata(path), blockCache, null);
                 }
                 // sort the readers into data file index order
                 Arrays.sort(dataFileReaders);
@@ -80,6 +80,21 @@ public final class DataFileCommon {
     /** Bit mask to remove file index from data location long */
     private static final long ITEM_OFFSET_MASK = MAX_ADDRESSABLE_DATA_FILE_SIZE_BYTES - 1;
 
+    /**
+     * In compressed data files, the data item byte offset part of a data location is a combination of
+     * block index, in the upper 24 bits, and the data item offset in the uncompressed block, in the lower
+     * 16 bits.
+     */
+    private static final int BLOCK_ITEM_OFFSET_BITS = 16;
+    /** Bit mask to get data item offset in its block */
+    private static final long BLOCK_ITEM_OFFSET_MASK = (1L << BLOCK_ITEM_OFFSET_BITS) - 1;
+    /**
+     * Max uncompressed block size in compressed data files. Data items are appended to a block, until
+     * the block size reaches the limit, so all data items start at offsets that fit into {@link
+     * #BLOCK_ITEM_OFFSET_BITS} bits. The last data item in a block may exceed the limit.
+     */
+    public static final int MAX_COMPRESSION_BLOCK_SIZE = 1 << BLOCK_ITEM_OFFSET_BITS;
+
     /** Date formatter for dates used in data file names */
     private static final DateTimeFormatter DATE_FORMAT =
             DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS").withZone(ZoneId.of("Z"));
@@ -96,6 +111,10 @@ public final class DataFileCommon {
             new FieldDefinition("metadata", FieldType.MESSAGE, false, false, false, 1);
     static final FieldDefinition FIELD_DATAFILE_ITEMS =
             new FieldDefinition("items", FieldType.MESSAGE, true, true, false, 11);
+    static final FieldDefinition FIELD_DATAFILE_BLOCKS =
+            new FieldDefinition("blocks", FieldType.BYTES, true, true, false, 12);
+    static final FieldDefinition FIELD_DATAFILE_BLOCK_INDEX =
+            new FieldDefinition("blockIndex", FieldType.FIXED64, true, true, false, 13);
 
     // Data file metadata protobuf fields
     static final FieldDefinition FIELD_DATAFILEMETADATA_INDEX =
@@ -114,6 +133,12 @@ public final class DataFileCommon {
     static final FieldDefinition FIELD_DATAFILEMETADATA_COMPACTION_LEVEL =
             new FieldDefinition("compactionLevel", FieldType.UINT32, false, true, false, 6);
 
+    static final FieldDefinition FIELD_DATAFILEMETADATA_COMPRESSION_BLOCK_SIZE =
+            new FieldDefinition("compressionBlockSize", FieldType.UINT32, false, true, false, 7);
+
+    static final FieldDefinition FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET =
+            new FieldDefinition("blockIndexOffset", FieldType.FIXED64, false, true, false, 8);
+
     static final String ERROR_DATAITEM_TOO_LARGE =
             "Data item is too large to write to a data file. Increase data file mapped byte buffer size";
 
@@ -193,6 +218,91 @@ public final class DataFileCommon {
         return dataLocation & ITEM_OFFSET_MASK;
     }
 
+    /**
+     * Get the order, in which data items with the given data locations should be read, file by file
+     * and sorted by offsets within each file. Items with equal data locations are ordered by the
+     * given secondary keys, if provided, then by their indices. Sorting is done on primitive longs,
+     * each of them is a data location rank in the upper 32 bits and an item index or a secondary
+     * key rank in the lower 32 bits, so no item indices are boxed.
+     *
+     * @param dataLocations packed data locations
+     * @param secondaryKeys non-negative secondary sort keys, in the same order as data locations, or
+     *     null to order items with equal data locations by their indices only
+     * @return item indices in the read order
+     */
+    public static int[] readOrder(final long[] dataLocations, final int[] secondaryKeys) {
+        final int count = dataLocations.length;
+        // Secondary key ranks. An item with secondary key rank r has index secondaryOrder[r]
+        int[] secondaryOrder = null;
+        int[] secondaryRanks = null;
+        if (secondaryKeys != null) {
+            if (secondaryKeys.length != count) {
+                throw new IllegalArgumentException("Number of data locations and secondary keys must be equal");
+            }
+            final long[] packed = new long[count];
+            for (int i = 0; i < count; i++) {
+                assert secondaryKeys[i] >= 0;
+                packed[i] = ((long) secondaryKeys[i] << 32) | i;
+            }
+            Arrays.sort(packed);
+            secondaryOrder = new int[count];
+            secondaryRanks = new int[count];
+            for (int r = 0; r < count; r++) {
+                secondaryOrder[r] = (int) packed[r];
+                secondaryRanks[(int) packed[r]] = r;
+            }
+        }
+        // Data location ranks fit into 32 bits, while data locations don't. Equal locations get equal ranks
+        final long[] sortedLocations = dataLocations.clone();
+        Arrays.sort(sortedLocations);
+        final long[] packed = new long[count];
+        for (int i = 0; i < count; i++) {
+            final long rank = Arrays.binarySearch(sortedLocations, dataLocations[i]);
+            packed[i] = (rank << 32) | ((secondaryRanks != null) ? secondaryRanks[i] : i);
+        }
+        Arrays.sort(packed);
+        final int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            final int low = (int) packed[i];
+            order[i] = (secondaryOrder != null) ? secondaryOrder[low] : low;
+        }
+        return order;
+    }
+
+    /**
+     * Get the data item byte offset, as used in data locations, for a data item in a compressed data
+     * file.
+     *
+     * @param blockIndex the index of the block containing the data item
+     * @param offsetInBlock the data item offset in the uncompressed block, in bytes
+     * @return data item byte offset
+     */
+    static long blockItemOffset(final int blockIndex, final int offsetInBlock) {
+        assert (offsetInBlock >= 0) && (offsetInBlock < MAX_COMPRESSION_BLOCK_SIZE);
+        return ((long) blockIndex << BLOCK_ITEM_OFFSET_BITS) | offsetInBlock;
+    }
+
+    /**
+     * Extract the block index from a data item byte offset in a compressed data file.
+     *
+     * @param byteOffset data item byte offset, see {@link #blockItemOffset(int, int)}
+     * @return block index
+     */
+    static int blockIndexFromItemOffset(final long byteOffset) {
+        return (int) (byteOffset >>> BLOCK_ITEM_OFFSET_BITS);
+    }
+
+    /**
+     * Extract the data item offset in its uncompressed block from a data item byte offset in a
+     * compressed data file.
+     *
+     * @param byteOffset data item byte offset, see {@link #blockItemOffset(int, int)}
+     * @return data item offset in the block, in bytes
+     */
+    static int offsetInBlockFromItemOffset(final long byteOffset) {
+        return (int) (byteOffset & BLOCK_ITEM_OFFSET_MASK);
+    }
+
     /**
      * Check if a file at path, is a data file based on name. Also checks if there is an existing
      * write lock file.
@@ -34,14 +34,15 @@ import java.nio.channels.ClosedByInterruptException;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -94,6 +95,29 @@ public class DataFileCompactor {
     @Nullable
     private final Runnable updateTotalStatsFunction;
 
+    /**
+     * A function that will be called to report compaction I/O stats after every compaction
+     */
+    @Nullable
+    private final CompactionIoStatsReporter reportIoStatsFunction;
+
+    /**
+     * Strategy to select files to compact, created from MerkleDb config
+     */
+    private final CompactionStrategy compactionStrategy;
+
+    /**
+     * Number of data item bytes read during the current compaction
+     */
+    private final AtomicLong compactionBytesRead = new AtomicLong(0);
+
+    /**
+     * Total number of bytes written by all compactions since this compactor was created. Used
+     * together with the number of bytes flushed to the data file collection to estimate write
+     * amplification
+     */
+    private final AtomicLong totalCompactionBytesWritten = new AtomicLong(0);
+
     /**
      * A lock used for synchronization between snapshots and compactions. While a compaction is in
      * progress, it runs on its own without any synchronization. However, a few critical sections
@@ -160,6 +184,39 @@ public class DataFileCompactor {
             @Nullable final BiConsumer<Integer, Double> reportSavedSpaceMetricFunction,
             @Nullable final BiConsumer<Integer, Double> reportFileSizeByLevelMetricFunction,
             @Nullable Runnable updateTotalStatsFunction) {
+        this(
+                dbConfig,
+                storeName,
+                dataFileCollection,
+                index,
+                reportDurationMetricFunction,
+                reportSavedSpaceMetricFunction,
+                reportFileSizeByLevelMetricFunction,
+                updateTotalStatsFunction,
+                null);
+    }
+
+    /**
+     * @param dbConfig                       MerkleDb config
+     * @param storeName                      name of the store to compact
+     * @param dataFileCollection             data file collection to compact
+     * @param index                          index to update during compaction
+     * @param reportDurationMetricFunction   function to report how long compaction took, in ms
+     * @param reportSavedSpaceMetricFunction function to report how much space was compacted, in Mb
+     * @param reportFileSizeByLevelMetricFunction function to report how much spaсе is used by the store by compaction level, in Mb
+     * @param updateTotalStatsFunction       A function that updates statistics of total usage of disk space and off-heap space
+     * @param reportIoStatsFunction          function to report compaction I/O stats
+     */
+    public DataFileCompactor(
+            final MerkleDbConfig dbConfig,
+            final String storeName,
+            final DataFileCollection dataFileCollection,
+            CASableLongIndex index,
+            @Nullable final BiConsumer<Integer, Long> reportDurationMetricFunction,
+            @Nullable final BiConsumer<Integer, Double> reportSavedSpaceMetricFunction,
+            @Nullable final BiConsumer<Integer, Double> reportFileSizeByLevelMetricFunction,
+            @Nullable Runnable updateTotalStatsFunction,
+            @Nullable final CompactionIoStatsReporter reportIoStatsFunction) {
         this.dbConfig = dbConfig;
         this.storeName = storeName;
         this.dataFileCollection = dataFileCollection;
@@ -168,6 +225,8 @@ public class DataFileCompactor {
         this.reportSavedSpaceMetricFunction = reportSavedSpaceMetricFunction;
         this.reportFileSizeByLevelMetricFunction = reportFileSizeByLevelMetricFunction;
         this.updateTotalStatsFunction = updateTotalStatsFunction;
+        this.reportIoStatsFunction = reportIoStatsFunction;
+        this.compactionStrategy = CompactionStrategy.create(dbConfig);
     }
 
     /**
@@ -190,8 +249,28 @@ public class DataFileCompactor {
         if (filesToCompact.size() < getMinNumberOfFilesToCompact()) {
             // nothing to do we have merged since the last data update
             logger.debug(MERKLE_DB.getMarker(), "No files were available for merging [{}]", storeName);
-            return Collections.emptyList();
+            return List.of();
         }
+        return compactSelectedFiles(index, filesToCompact, targetCompactionLevel);
+    }
+
+    /**
+     * Compacts all given files, regardless of how many of them there are. Files to compact are
+     * expected to be selected by the compaction strategy.
+     *
+     * @param index          index to update
+     * @param filesToCompact list of files to compact
+     * @param targetCompactionLevel target compaction level
+     * @return list of files created during the compaction
+     * @throws IOException          If there was a problem with the compaction
+     * @throws InterruptedException If the compaction thread was interrupted
+     */
+    private synchronized List<Path> compactSelectedFiles(
+            final CASableLongIndex index,
+            final List<? extends DataFileReader> filesToCompact,
+            final int targetCompactionLevel)
+            throws IOException, InterruptedException {
+        compactionBytesRead.set(0);
 
         // create a merge time stamp, this timestamp is the newest time of the set of files we are
         // merging
@@ -249,6 +328,7 @@ public class DataFileCompactor {
                     final DataFileWriter newFileWriter = currentWriter.get();
                     final BufferedData itemBytes = reader.readDataItem(fileOffset);
                     assert itemBytes != null;
+                    compactionBytesRead.addAndGet(itemBytes.remaining());
                     long newLocation = newFileWriter.storeDataItem(itemBytes);
                     // update the index
                     index.putIfEqual(path, dataLocation, newLocation);
@@ -311,8 +391,7 @@ public class DataFileCompactor {
         currentWriter.set(newFileWriter);
         final Path newFileCreated = newFileWriter.getPath();
         newCompactedFiles.add(newFileCreated);
-        final DataFileMetadata newFileMetadata = newFileWriter.getMetadata();
-        final DataFileReader newFileReader = dataFileCollection.addNewDataFileReader(newFileCreated, newFileMetadata);
+        final DataFileReader newFileReader = dataFileCollection.addNewDataFileReader(newFileWriter);
         currentReader.set(newFileReader);
     }
 
@@ -401,8 +480,10 @@ public class DataFileCompactor {
     public boolean compact() throws IOException, InterruptedException {
         final List<DataFileReader> completedFiles = dataFileCollection.getAllCompletedFiles();
         reportFileSizeByLevel(completedFiles);
+        final ToLongFunction<DataFileReader> liveItemCounts =
+                compactionStrategy.requiresLiveItemCounts() ? countLiveItems(completedFiles) : null;
         final List<DataFileReader> filesToCompact =
-                compactionPlan(completedFiles, getMinNumberOfFilesToCompact(), dbConfig.maxCompactionLevel());
+                compactionStrategy.selectFilesToCompact(completedFiles, liveItemCounts);
         if (filesToCompact.isEmpty()) {
             logger.debug(MERKLE_DB.getMarker(), "[{}] No need to compact, as the compaction plan is empty", storeName);
             return false;
@@ -411,7 +492,7 @@ public class DataFileCompactor {
         final int filesCount = filesToCompact.size();
         logger.info(MERKLE_DB.getMarker(), "[{}] Starting compaction", storeName);
 
-        final int targetCompactionLevel = getTargetCompactionLevel(filesToCompact, filesCount);
+        final int targetCompactionLevel = getTargetCompactionLevel(filesToCompact);
 
         final long start = System.currentTimeMillis();
 
@@ -423,7 +504,7 @@ public class DataFileCompactor {
                 filesCount,
                 formatSizeBytes(filesToCompactSize));
 
-        final List<Path> newFilesCreated = compactFiles(index, filesToCompact, targetCompactionLevel);
+        final List<Path> newFilesCreated = compactSelectedFiles(index, filesToCompact, targetCompactionLevel);
 
         final long end = System.currentTimeMillis();
         final long tookMillis = end - start;
@@ -440,6 +521,17 @@ public class DataFileCompactor {
 
         reportFileSizeByLevel(dataFileCollection.getAllCompletedFiles());
 
+        // Write amplification is the ratio of all bytes written to the store, by both flushes and
+        // compactions, to the bytes written by flushes only
+        final long bytesRead = compactionBytesRead.get();
+        final long totalBytesWritten = totalCompactionBytesWritten.addAndGet(compactedFilesSize);
+        final long flushedBytes = dataFileCollection.getFlushedBytes();
+        final double writeAmplification =
+                (flushedBytes > 0) ? (double) (flushedBytes + totalBytesWritten) / flushedBytes : 0;
+        if (reportIoStatsFunction != null) {
+            reportIoStatsFunction.report(bytesRead, compactedFilesSize, writeAmplification);
+        }
+
         logCompactStats(
                 storeName,
                 tookMillis,
@@ -450,11 +542,14 @@ public class DataFileCompactor {
                 dataFileCollection);
         logger.info(
                 MERKLE_DB.getMarker(),
-                "[{}] Finished compaction {} files / {} in {} ms",
+                "[{}] Finished compaction {} files / {} in {} ms, read {}, written {}, write amplification {}",
                 storeName,
                 filesCount,
                 formatSizeBytes(filesToCompactSize),
-                tookMillis);
+                tookMillis,
+                formatSizeBytes(bytesRead),
+                formatSizeBytes(compactedFilesSize),
+                String.format("%.2f", writeAmplification));
 
         if (updateTotalStatsFunction != null) {
             updateTotalStatsFunction.run();
@@ -482,50 +577,72 @@ public class DataFileCompactor {
      *  - To ensure a reasonably predictable frequency for full compactions, even for data that changes infrequently.
      *  - We maintain metrics for each level, and there should be a cap on the number of these metrics.
      */
-    private int getTargetCompactionLevel(List<? extends DataFileReader> filesToCompact, int filesCount) {
-        int highestExistingCompactionLevel =
-                filesToCompact.get(filesCount - 1).getMetadata().getCompactionLevel();
+    private int getTargetCompactionLevel(List<? extends DataFileReader> filesToCompact) {
+        final int highestExistingCompactionLevel = filesToCompact.stream()
+                .mapToInt(r -> r.getMetadata().getCompactionLevel())
+                .max()
+                .orElse(INITIAL_COMPACTION_LEVEL);
 
         return Math.min(highestExistingCompactionLevel + 1, dbConfig.maxCompactionLevel());
     }
 
     /**
-     * This method creates a compaction plan (a set of files to be compacted). The plan is organized by compaction levels
-     * in ascending order. If there are not enough files to compact, then no files are compacted and the plan will be empty.
-     * If the current level doesn't reach minNumberOfFilesToCompact threshold,
-     * then this level and the levels above it are not included in the plan.
-     * @return filter creating a compaction plan
+     * Counts data items in the given files, which are still referenced from the index. It takes a
+     * full pass over the index, so it should only be called when the compaction strategy needs it.
+     *
+     * @param files data files to count live items in
+     * @return a function that returns the number of live data items in a file
+     * @throws InterruptedException if the thread is interrupted while iterating over the index
      */
-    static <D> List<DataFileReader> compactionPlan(
-            List<DataFileReader> dataFileReaders, int minNumberOfFilesToCompact, int maxCompactionLevel) {
-        if (dataFileReaders.isEmpty()) {
-            return dataFileReaders;
+    private ToLongFunction<DataFileReader> countLiveItems(final List<DataFileReader> files)
+            throws InterruptedException {
+        if (files.isEmpty()) {
+            return file -> 0;
         }
-
-        final Map<Integer, List<DataFileReader>> readersByLevel = getReadersByLevel(dataFileReaders);
-
-        final List<DataFileReader> nonCompactedReaders = readersByLevel.get(INITIAL_COMPACTION_LEVEL);
-        if (nonCompactedReaders == null || nonCompactedReaders.size() < minNumberOfFilesToCompact) {
-            return Collections.emptyList();
+        int minFileIndex = Integer.MAX_VALUE;
+        int maxFileIndex = 0;
+        for (final DataFileReader r : files) {
+            minFileIndex = Math.min(minFileIndex, r.getIndex());
+            maxFileIndex = Math.max(maxFileIndex, r.getIndex());
         }
-
-        // we always compact files from level 0 if we have enough files
-        final List<DataFileReader> readersToCompact = new ArrayList<>(nonCompactedReaders);
-
-        for (int i = 1; i <= maxCompactionLevel; i++) {
-            final List<DataFileReader> readers = readersByLevel.get(i);
-            // Presumably, one file comes from the compaction of the previous level.
-            // If, counting this file in, it still doesn't have enough, then it stops collecting.
-            if (readers == null || readers.size() < minNumberOfFilesToCompact - 1) {
-                break;
+        final int firstIndexInc = minFileIndex;
+        final int lastIndexExc = maxFileIndex + 1;
+        final long[] counts = new long[lastIndexExc - firstIndexInc];
+        final KeyRange keyRange = dataFileCollection.getValidKeyRange();
+        index.forEach((key, dataLocation) -> {
+            if (!keyRange.withinRange(key)) {
+                return;
             }
-            readersToCompact.addAll(readers);
-        }
-        return readersToCompact;
+            final int fileIndex = DataFileCommon.fileIndexFromDataLocation(dataLocation);
+            if ((fileIndex >= firstIndexInc) && (fileIndex < lastIndexExc)) {
+                counts[fileIndex - firstIndexInc]++;
+            }
+        });
+        return file -> {
+            final int fileIndex = file.getIndex();
+            return ((fileIndex >= firstIndexInc) && (fileIndex < lastIndexExc)) ? counts[fileIndex - firstIndexInc] : 0;
+        };
     }
 
     private static Map<Integer, List<DataFileReader>> getReadersByLevel(final List<DataFileReader> dataFileReaders) {
         return dataFileReaders.stream()
                 .collect(Collectors.groupingBy(r -> r.getMetadata().getCompactionLevel()));
     }
+
+    /**
+     * A function to report compaction I/O stats after every compaction.
+     */
+    @FunctionalInterface
+    public interface CompactionIoStatsReporter {
+        /**
+         * Reports compaction I/O stats.
+         *
+         * @param bytesRead number of data item bytes read during the compaction
+         * @param bytesWritten number of bytes written to new files during the compaction
+         * @param writeAmplification total number of bytes written to the store by flushes and
+         *                           compactions divided by the number of bytes written by flushes,
+         *                           or zero if no flushes happened yet
+         */
+        void report(long bytesRead, long bytesWritten, double writeAmplification);
+    }
 }
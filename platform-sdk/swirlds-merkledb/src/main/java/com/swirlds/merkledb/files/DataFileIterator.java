@@ -17,14 +17,18 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_METADATA;
 
+import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
 import com.swirlds.base.utility.ToStringBuilder;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.utilities.Lz4BlockCodec;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -37,6 +41,9 @@ import java.util.Objects;
  * loop and you can then read the data items info for current item with getDataItemsKey, getDataItemsDataLocation and
  * getDataItemData.
  *
+ * <p>If data items in the file are stored in compressed blocks, every block is read and decompressed
+ * once, then data items are read from the decompressed block.
+ *
  * <p>It is designed to be used from a single thread.
  *
  * @see DataFileReader for definition of file structure
@@ -61,6 +68,17 @@ public final class DataFileIterator implements AutoCloseable {
     /** True if this iterator has been closed */
     private boolean closed = false;
 
+    /** Buffer that is reused for reading compressed blocks */
+    private byte[] compressedBlock;
+    /** Current decompressed block, for compressed files */
+    private byte[] block;
+    /** Current decompressed block size */
+    private int blockSize = 0;
+    /** Index of the current block, -1 being before the first block */
+    private int currentBlockIndex = -1;
+    /** Position of the next data item in the current block */
+    private int nextItemOffsetInBlock = 0;
+
     /**
      * Create a new DataFileIterator on an existing file.
      *
@@ -108,6 +126,8 @@ public final class DataFileIterator implements AutoCloseable {
         if (!closed) {
             closed = true;
             dataItemBuffer = null;
+            block = null;
+            compressedBlock = null;
             inputStream.close();
         }
     }
@@ -130,6 +150,12 @@ public final class DataFileIterator implements AutoCloseable {
             return false;
         }
 
+        // Compressed files: read the next data item from the current block, if available
+        if (nextItemOffsetInBlock < blockSize) {
+            readItemFromBlock();
+            return true;
+        }
+
         while (in.hasRemaining()) {
             currentDataItemFilePosition = in.position();
             final int tag = in.readVarInt(false);
@@ -139,9 +165,17 @@ public final class DataFileIterator implements AutoCloseable {
                 dataItemBuffer = fillBuffer(currentDataItemSize);
                 currentDataItem++;
                 return true;
-            } else if (fieldNum == FIELD_DATAFILE_METADATA.number()) {
-                final int metadataSize = in.readVarInt(false);
-                in.skip(metadataSize);
+            } else if (fieldNum == FIELD_DATAFILE_BLOCKS.number()) {
+                final int compressedBlockSize = in.readVarInt(false);
+                readBlock(compressedBlockSize);
+                if (nextItemOffsetInBlock < blockSize) {
+                    readItemFromBlock();
+                    return true;
+                }
+            } else if ((fieldNum == FIELD_DATAFILE_METADATA.number())
+                    || (fieldNum == FIELD_DATAFILE_BLOCK_INDEX.number())) {
+                final int fieldSize = in.readVarInt(false);
+                in.skip(fieldSize);
             } else {
                 throw new IllegalArgumentException("Unknown data file field: " + fieldNum);
             }
@@ -170,6 +204,11 @@ public final class DataFileIterator implements AutoCloseable {
         return DataFileCommon.dataLocation(metadata.getIndex(), currentDataItemFilePosition);
     }
 
+    // For testing purposes
+    int getCurrentBlockIndex() {
+        return currentBlockIndex;
+    }
+
     /** toString for debugging */
     @Override
     public String toString() {
@@ -237,6 +276,74 @@ public final class DataFileIterator implements AutoCloseable {
         return dataItemBuffer;
     }
 
+    /**
+     * Reads a compressed block from the file and decompresses it. The block becomes the current block,
+     * and the next data item is read from its beginning.
+     *
+     * @param compressedBlockSize the size of the block field, in bytes
+     * @throws IOException if the block can't be read, or if it's corrupted
+     */
+    private void readBlock(final int compressedBlockSize) throws IOException {
+        if ((compressedBlock == null) || (compressedBlock.length < compressedBlockSize)) {
+            compressedBlock = new byte[compressedBlockSize];
+        }
+        final BufferedData compressedData = BufferedData.wrap(compressedBlock);
+        compressedData.limit(compressedBlockSize);
+        final long bytesRead = in.readBytes(compressedData);
+        if (bytesRead != compressedBlockSize) {
+            throw new IOException("Couldn't read " + compressedBlockSize + " bytes, block [" + (currentBlockIndex + 1)
+                    + "], file [" + path + "]");
+        }
+        final int uncompressedSize = compressedData.getVarInt(0, false);
+        final int sizeOfUncompressedSize = ProtoWriterTools.sizeOfUnsignedVarInt32(uncompressedSize);
+        if ((block == null) || (block.length < uncompressedSize)) {
+            block = new byte[uncompressedSize];
+        }
+        try {
+            blockSize = Lz4BlockCodec.decompress(
+                    compressedBlock,
+                    sizeOfUncompressedSize,
+                    compressedBlockSize - sizeOfUncompressedSize,
+                    block,
+                    0,
+                    uncompressedSize);
+        } catch (final IllegalArgumentException e) {
+            throw new IOException("Malformed file [" + path + "], block [" + (currentBlockIndex + 1) + "]", e);
+        }
+        if (blockSize != uncompressedSize) {
+            throw new IOException("Malformed file [" + path + "], block [" + (currentBlockIndex + 1)
+                    + "], decompressed size mismatch");
+        }
+        currentBlockIndex++;
+        nextItemOffsetInBlock = 0;
+    }
+
+    /**
+     * Reads the next data item from the current decompressed block.
+     *
+     * @throws IOException if the data item is corrupted
+     */
+    private void readItemFromBlock() throws IOException {
+        final BufferedData blockData = BufferedData.wrap(block);
+        final int offsetInBlock = nextItemOffsetInBlock;
+        final int tag = blockData.getVarInt(offsetInBlock, false);
+        if ((tag >> TAG_FIELD_OFFSET) != FIELD_DATAFILE_ITEMS.number()) {
+            throw new IOException("Malformed file [" + path + "], block [" + currentBlockIndex + "], unknown tag ["
+                    + tag + "]");
+        }
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = blockData.getVarInt(offsetInBlock + sizeOfTag, false);
+        final int dataOffset = offsetInBlock + sizeOfTag + ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        if ((size <= 0) || (dataOffset + size > blockSize)) {
+            throw new IOException("Malformed file [" + path + "], block [" + currentBlockIndex + "], data item ["
+                    + (currentDataItem + 1) + "], requested bytes [" + size + "]");
+        }
+        dataItemBuffer = blockData.slice(dataOffset, size);
+        nextItemOffsetInBlock = dataOffset + size;
+        currentDataItemFilePosition = DataFileCommon.blockItemOffset(currentBlockIndex, offsetInBlock);
+        currentDataItem++;
+    }
+
     /**
      * Resizes the dataItemBuffer, or creates it if necessary, such that it is large enough
      * to read the bytes provided.
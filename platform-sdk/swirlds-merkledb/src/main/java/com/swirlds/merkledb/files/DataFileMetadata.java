@@ -17,12 +17,16 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_COMPACTION_LEVEL;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_COMPRESSION_BLOCK_SIZE;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_CREATION_NANOS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_CREATION_SECONDS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_ITEMS_COUNT;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_ITEM_VERSION;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_METADATA;
 
@@ -65,9 +69,24 @@ public final class DataFileMetadata {
     /** The level of compaction this file has. See {@link DataFileCompactor}*/
     private final byte compactionLevel;
 
+    /**
+     * Uncompressed block size, in bytes, if data items in the file are stored in compressed blocks,
+     * or zero if data items are stored uncompressed.
+     */
+    private final int compressionBlockSize;
+
+    /**
+     * Offset of the block index in a compressed data file. Similar to {@link #itemsCount}, for new
+     * files it's updated right before the file is finished writing.
+     */
+    private volatile long blockIndexOffset;
+
     // Set in writeTo()
     private long dataItemCountHeaderOffset = 0;
 
+    // Set in writeTo()
+    private long blockIndexOffsetHeaderOffset = 0;
+
     /**
      * Create a new DataFileMetadata with complete set of data
      *
@@ -78,11 +97,33 @@ public final class DataFileMetadata {
      */
     public DataFileMetadata(
             final long itemsCount, final int index, final Instant creationDate, final int compactionLevel) {
+        this(itemsCount, index, creationDate, compactionLevel, 0);
+    }
+
+    /**
+     * Create a new DataFileMetadata with complete set of data
+     *
+     * @param itemsCount The number of data items the file contains
+     * @param index The file index, in a data file collection
+     * @param creationDate The creation data of this file, this is critical as it is used when
+     *     merging two files to know which files data is newer.
+     * @param compactionLevel The level of compaction this file has
+     * @param compressionBlockSize Uncompressed block size, if data items are stored in compressed
+     *     blocks, or zero otherwise
+     */
+    public DataFileMetadata(
+            final long itemsCount,
+            final int index,
+            final Instant creationDate,
+            final int compactionLevel,
+            final int compressionBlockSize) {
         this.itemsCount = itemsCount;
         this.index = index;
         this.creationDate = creationDate;
         assert compactionLevel >= 0 && compactionLevel < MAX_COMPACTION_LEVEL;
         this.compactionLevel = (byte) compactionLevel;
+        assert compressionBlockSize >= 0 && compressionBlockSize <= DataFileCommon.MAX_COMPRESSION_BLOCK_SIZE;
+        this.compressionBlockSize = compressionBlockSize;
     }
 
     /**
@@ -98,6 +139,8 @@ public final class DataFileMetadata {
         int creationNanos = 0;
         long itemsCount = 0;
         byte compactionLevel = 0;
+        int compressionBlockSize = 0;
+        long blockIndexOffset = 0;
 
         // Read values from the file, skipping all data items
         try (final ReadableStreamingData in = new ReadableStreamingData(file)) {
@@ -126,6 +169,10 @@ public final class DataFileMetadata {
                                 final int compactionLevelInt = in.readVarInt(false);
                                 assert compactionLevelInt < MAX_COMPACTION_LEVEL;
                                 compactionLevel = (byte) compactionLevelInt;
+                            } else if (metadataFieldNum == FIELD_DATAFILEMETADATA_COMPRESSION_BLOCK_SIZE.number()) {
+                                compressionBlockSize = in.readVarInt(false);
+                            } else if (metadataFieldNum == FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET.number()) {
+                                blockIndexOffset = in.readLong();
                             } else {
                                 throw new IllegalArgumentException(
                                         "Unknown data file metadata field: " + metadataFieldNum);
@@ -135,7 +182,9 @@ public final class DataFileMetadata {
                         in.limit(oldLimit);
                     }
                     break;
-                } else if (fieldNum == FIELD_DATAFILE_ITEMS.number()) {
+                } else if ((fieldNum == FIELD_DATAFILE_ITEMS.number())
+                        || (fieldNum == FIELD_DATAFILE_BLOCKS.number())
+                        || (fieldNum == FIELD_DATAFILE_BLOCK_INDEX.number())) {
                     // Just skip it. By default, metadata is written to the very beginning of the file,
                     // so this code should never be executed. However, with other implementations data
                     // items may come first, this code must be ready to handle it
@@ -152,6 +201,8 @@ public final class DataFileMetadata {
         this.creationDate = Instant.ofEpochSecond(creationSeconds, creationNanos);
         this.itemsCount = itemsCount;
         this.compactionLevel = compactionLevel;
+        this.compressionBlockSize = compressionBlockSize;
+        this.blockIndexOffset = blockIndexOffset;
     }
 
     void writeTo(final BufferedData out) {
@@ -175,6 +226,13 @@ public final class DataFileMetadata {
             ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_COMPACTION_LEVEL);
             out.writeVarInt(compactionLevel, false);
         }
+        if (compressionBlockSize != 0) {
+            ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_COMPRESSION_BLOCK_SIZE);
+            out.writeVarInt(compressionBlockSize, false);
+            blockIndexOffsetHeaderOffset = out.position();
+            ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET);
+            out.writeLong(0); // will be updated later
+        }
     }
 
     /**
@@ -199,6 +257,45 @@ public final class DataFileMetadata {
         out.writeLong(count);
     }
 
+    /**
+     * Indicates whether data items in the file are stored in compressed blocks.
+     *
+     * @return true if the file is compressed, false otherwise
+     */
+    public boolean isCompressed() {
+        return compressionBlockSize != 0;
+    }
+
+    /**
+     * Get uncompressed block size in the file, or zero, if data items are stored uncompressed.
+     */
+    public int getCompressionBlockSize() {
+        return compressionBlockSize;
+    }
+
+    /**
+     * Get the offset of the block index in a compressed data file. If this method is called before
+     * the file is completely written by {@link DataFileWriter}, the return value is 0.
+     */
+    long getBlockIndexOffset() {
+        return blockIndexOffset;
+    }
+
+    /**
+     * Updates the offset of the block index in the file. This method must be called after metadata
+     * is written to a file using {@link #writeTo(BufferedData)}.
+     *
+     * <p>This method is called by {@link DataFileWriter} right before a compressed file is finished
+     * writing.
+     */
+    void updateBlockIndexOffset(final BufferedData out, final long offset) {
+        this.blockIndexOffset = offset;
+        assert blockIndexOffsetHeaderOffset != 0;
+        out.position(blockIndexOffsetHeaderOffset);
+        ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET);
+        out.writeLong(offset);
+    }
+
     /** Get the files index, out of a set of data files */
     public int getIndex() {
         return index;
@@ -235,6 +332,14 @@ public final class DataFileMetadata {
                     FIELD_DATAFILEMETADATA_COMPACTION_LEVEL, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
             size += ProtoWriterTools.sizeOfVarInt32(compactionLevel);
         }
+        if (compressionBlockSize != 0) {
+            size += ProtoWriterTools.sizeOfTag(
+                    FIELD_DATAFILEMETADATA_COMPRESSION_BLOCK_SIZE, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
+            size += ProtoWriterTools.sizeOfVarInt32(compressionBlockSize);
+            size += ProtoWriterTools.sizeOfTag(
+                    FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET, ProtoConstants.WIRE_TYPE_FIXED_64_BIT);
+            size += Long.BYTES;
+        }
         return size;
     }
 
@@ -249,6 +354,7 @@ public final class DataFileMetadata {
                 .append("itemsCount", itemsCount)
                 .append("index", index)
                 .append("creationDate", creationDate)
+                .append("compressionBlockSize", compressionBlockSize)
                 .toString();
     }
 
@@ -267,6 +373,7 @@ public final class DataFileMetadata {
         return itemsCount == that.itemsCount
                 && index == that.index
                 && compactionLevel == that.compactionLevel
+                && compressionBlockSize == that.compressionBlockSize
                 && Objects.equals(this.creationDate, that.creationDate);
     }
 
@@ -275,6 +382,6 @@ public final class DataFileMetadata {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(itemsCount, index, creationDate, compactionLevel);
+        return Objects.hash(itemsCount, index, creationDate, compactionLevel, compressionBlockSize);
     }
 }
@@ -17,6 +17,8 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 
 import com.hedera.pbj.runtime.ProtoConstants;
@@ -24,14 +26,20 @@ import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.merkledb.collections.IndexedObject;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.utilities.Lz4BlockCodec;
+import com.swirlds.merkledb.utilities.MemoryUtils;
 import com.swirlds.merkledb.utilities.MerkleDbFileUtils;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -45,6 +53,17 @@ import java.util.concurrent.atomic.AtomicReferenceArray;
  * The aim for a DataFileReader is to facilitate fast highly concurrent random reading of items from
  * a data file. It is designed to be used concurrently from many threads.
  *
+ * <p>By default, data items are read using a small pool of file channels. If {@link
+ * MerkleDbConfig#mmapDataFileReadsEnabled()} is set, completed data files that are not larger than
+ * {@link MerkleDbConfig#maxMappedDataFileSize()} are mapped into memory, and data items are copied
+ * from the mapped buffer rather than read through file channels. The mapping is released when the
+ * reader is closed and no reads from it are in progress.
+ *
+ * <p>If data items are stored in compressed blocks (see {@link DataFileWriter}), a whole block is read
+ * and decompressed to read a data item. Recently decompressed blocks are kept in a {@link
+ * DataBlockCache} shared by all readers in a data file collection. Compressed files are never mapped
+ * into memory.
+ *
  * <p>Protobuf schema:
  *
  * <pre>
@@ -65,8 +84,20 @@ import java.util.concurrent.atomic.AtomicReferenceArray;
  *     // Data item version. May not be needed
  *     uint64 itemVersion = 5;
  *
+ *     // Uncompressed block size, if data items are stored in compressed blocks
+ *     uint32 compressionBlockSize = 7;
+ *
+ *     // Block index offset in the file, if data items are stored in compressed blocks
+ *     fixed64 blockIndexOffset = 8;
+ *
  *     // Data items
  *     repeated bytes items = 11;
+ *
+ *     // Compressed blocks: uncompressed block size (varint), then LZ4 compressed items (field 11)
+ *     repeated bytes blocks = 12;
+ *
+ *     // Offsets of all compressed blocks in the file
+ *     repeated fixed64 blockIndex = 13;
  * }
  * </pre>
  */
@@ -119,6 +150,43 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      */
     private final AtomicLong fileSizeBytes = new AtomicLong(0);
 
+    /**
+     * Data file content mapped into memory. It's only set in {@link #setFileCompleted()}, when the
+     * file is fully written and will not change any longer, and only if memory mapped reads are
+     * enabled in MerkleDb config. When null, data items are read using file channels.
+     *
+     * <p>Reads from this buffer are guarded by {@link #mappedDataRefs}. When the reader is closed
+     * and the last read is done, the buffer is unmapped and this field is reset to null.
+     */
+    private volatile BufferedData mappedData = null;
+
+    /** The mapped buffer {@link #mappedData} wraps, to unmap it explicitly. */
+    private MappedByteBuffer mappedBuffer = null;
+
+    /**
+     * Number of reads from {@link #mappedData} in progress, plus one while the reader owns the
+     * mapping (until it's closed). When it drops to zero, the buffer is unmapped.
+     */
+    private final AtomicInteger mappedDataRefs = new AtomicInteger(0);
+
+    /** Whether the reader still owns the mapping, i.e. holds one of {@link #mappedDataRefs}. */
+    private final AtomicBoolean mappedDataOwned = new AtomicBoolean(false);
+
+    /** Decompressed block cache for compressed files, may be null */
+    @Nullable
+    private final DataBlockCache blockCache;
+
+    /**
+     * Writer of this file, if the reader is created for a compressed file, which is still being
+     * written. Data items in blocks, which are not written to the file yet, are read from the writer.
+     * Reset to null in {@link #setFileCompleted()}.
+     */
+    @Nullable
+    private volatile DataFileWriter writer;
+
+    /** File offsets of all blocks in a compressed file. Loaded from the file on first use */
+    private volatile long[] blockOffsets = null;
+
     /**
      * Open an existing data file, reading the metadata from the file
      *
@@ -138,7 +206,28 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      */
     public DataFileReader(final MerkleDbConfig dbConfig, final Path path, final DataFileMetadata metadata)
             throws IOException {
+        this(dbConfig, path, metadata, null, null);
+    }
+
+    /**
+     * Open a data file, using the provided metadata, decompressed block cache, and writer.
+     *
+     * @param dbConfig MerkleDb config
+     * @param path the path to the data file
+     * @param metadata the file's metadata to save loading from file
+     * @param blockCache decompressed block cache, may be null
+     * @param writer the file writer, if the file is still being written, or null
+     */
+    DataFileReader(
+            final MerkleDbConfig dbConfig,
+            final Path path,
+            final DataFileMetadata metadata,
+            @Nullable final DataBlockCache blockCache,
+            @Nullable final DataFileWriter writer)
+            throws IOException {
         this.dbConfig = dbConfig;
+        this.blockCache = blockCache;
+        this.writer = writer;
         maxFileChannels = dbConfig.maxFileChannelsPerFileReader();
         threadsPerFileChannel = dbConfig.maxThreadsPerFileChannel();
         fileChannels = new AtomicReferenceArray<>(maxFileChannels);
@@ -168,7 +257,15 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      */
     public void setFileCompleted() {
         try {
-            fileSizeBytes.set(fileChannels.get(0).size());
+            final long size = fileChannels.get(0).size();
+            fileSizeBytes.set(size);
+            if (metadata.isCompressed()) {
+                // The file is fully written, load block offsets from the file and release the writer
+                getBlockOffsets();
+                writer = null;
+            } else {
+                mapFileIfEnabled(size);
+            }
         } catch (final IOException e) {
             throw new UncheckedIOException("Failed to update data file reader size", e);
         } finally {
@@ -225,7 +322,7 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      */
     public BufferedData readDataItem(final long dataLocation) throws IOException {
         final long byteOffset = DataFileCommon.byteOffsetFromDataLocation(dataLocation);
-        return read(byteOffset);
+        return metadata.isCompressed() ? readFromBlock(byteOffset) : read(byteOffset);
     }
 
     /**
@@ -297,6 +394,9 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
     @Override
     public void close() throws IOException {
         open.set(false);
+        if (mappedDataOwned.compareAndSet(true, false)) {
+            releaseMappedData();
+        }
         for (int i = 0; i < maxFileChannels; i++) {
             final FileChannel fileChannel = fileChannels.getAndSet(i, null);
             if (fileChannel != null) {
@@ -308,6 +408,68 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
     // =================================================================================================================
     // Private methods
 
+    /**
+     * Maps this data file into memory, if memory mapped reads are enabled in MerkleDb config and
+     * the file size doesn't exceed the configured limit. Must only be called when the file is fully
+     * written.
+     *
+     * @param size the data file size
+     * @throws IOException
+     *      If an I/O error occurs
+     */
+    private void mapFileIfEnabled(final long size) throws IOException {
+        if (!dbConfig.mmapDataFileReadsEnabled() || (size == 0)) {
+            return;
+        }
+        if (size > Math.min(dbConfig.maxMappedDataFileSize(), Integer.MAX_VALUE)) {
+            return;
+        }
+        final FileChannel fileChannel = fileChannels.get(0);
+        if (fileChannel == null) {
+            // The reader is already closed
+            return;
+        }
+        final MappedByteBuffer mapped = fileChannel.map(MapMode.READ_ONLY, 0, size);
+        mappedBuffer = mapped;
+        mappedData = BufferedData.wrap(mapped);
+        mappedDataRefs.set(1);
+        mappedDataOwned.set(true);
+        // The reader may have been closed in parallel
+        if (!isOpen() && mappedDataOwned.compareAndSet(true, false)) {
+            releaseMappedData();
+        }
+    }
+
+    /**
+     * Registers a read from {@link #mappedData}, so the buffer isn't unmapped until the read is
+     * done. Every successful call must be followed by a call to {@link #releaseMappedData()}.
+     *
+     * @return true if the mapping is available, false if the file is not mapped or was unmapped
+     */
+    private boolean acquireMappedData() {
+        int refs;
+        do {
+            refs = mappedDataRefs.get();
+            if (refs == 0) {
+                return false;
+            }
+        } while (!mappedDataRefs.compareAndSet(refs, refs + 1));
+        return true;
+    }
+
+    /**
+     * Releases a reference to {@link #mappedData}, taken either by the reader when the file is
+     * mapped or by {@link #acquireMappedData()}. The last released reference unmaps the buffer.
+     */
+    private void releaseMappedData() {
+        if (mappedDataRefs.decrementAndGet() == 0) {
+            final MappedByteBuffer buffer = mappedBuffer;
+            mappedBuffer = null;
+            mappedData = null;
+            MemoryUtils.closeMmapBuffer(buffer);
+        }
+    }
+
     /**
      * Opens a new file channel for reading the file, if the total number of channels opened is
      * less than {@link #maxFileChannels}. This method is safe to call from multiple threads.
@@ -397,6 +559,13 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      * @throws ClosedChannelException if the file was closed
      */
     private BufferedData read(final long byteOffsetInFile) throws IOException {
+        if ((mappedData != null) && acquireMappedData()) {
+            try {
+                return readMapped(mappedData, byteOffsetInFile);
+            } finally {
+                releaseMappedData();
+            }
+        }
         // Buffer size to read data item tag and size. If the whole item is small and
         // fits into this buffer, there is no need to make an extra file read
         final int PRE_READ_BUF_SIZE = 2048;
@@ -480,8 +649,278 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
         throw new IOException("Failed to read from file, file channel keeps getting closed");
     }
 
+    /**
+     * Reads a data item at the given offset from the memory mapped file content. The data item is
+     * copied to the same reused per thread buffer as in {@link #read(long)}, so the mapping can be
+     * released as soon as the read is done.
+     *
+     * @param mapped the mapped file content
+     * @param byteOffsetInFile data item offset
+     * @return data item bytes
+     * @throws IOException if the data item is corrupted
+     */
+    private BufferedData readMapped(final BufferedData mapped, final long byteOffsetInFile) throws IOException {
+        final long fileSize = mapped.length();
+        if ((byteOffsetInFile < 0) || (byteOffsetInFile >= fileSize)) {
+            throw new IOException(
+                    "Invalid data item offset: file=" + getIndex() + " off=" + byteOffsetInFile + " size=" + fileSize);
+        }
+        final int tag = mapped.getVarInt(byteOffsetInFile, false);
+        if (tag
+                != ((FIELD_DATAFILE_ITEMS.number() << TAG_FIELD_OFFSET)
+                        | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal())) {
+            throw new IOException(
+                    "Unknown data item tag: tag=" + tag + " file=" + getIndex() + " off=" + byteOffsetInFile);
+        }
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = mapped.getVarInt(byteOffsetInFile + sizeOfTag, false);
+        final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        final long dataOffset = byteOffsetInFile + sizeOfTag + sizeOfSize;
+        if (dataOffset + size > fileSize) {
+            throw new IOException("Failed to read all bytes: toread=" + size + " available="
+                    + (fileSize - dataOffset) + " file=" + getIndex() + " off=" + byteOffsetInFile);
+        }
+        ByteBuffer readBB = BUFFER_CACHE.get();
+        BufferedData readBuf = BUFFEREDDATA_CACHE.get();
+        if ((readBB == null) || (readBB.capacity() < size)) {
+            readBB = ByteBuffer.allocate(Math.max(size, 2048));
+            BUFFER_CACHE.set(readBB);
+            readBuf = BufferedData.wrap(readBB);
+            BUFFEREDDATA_CACHE.set(readBuf);
+        }
+        readBB.clear();
+        readBB.limit(size);
+        mapped.getBytes(dataOffset, readBB);
+        readBuf.position(0);
+        readBuf.limit(size);
+        return readBuf;
+    }
+
+    /**
+     * Reads a data item from a compressed file. The returned buffer is a slice of the decompressed
+     * block, it can be used by the calling thread as long as needed.
+     *
+     * @param byteOffset data item offset, a combination of block index and offset in the block
+     * @return data item bytes, or null if the file is closed
+     * @throws IOException if the data item can't be read, or if it's corrupted
+     */
+    private BufferedData readFromBlock(final long byteOffset) throws IOException {
+        final int blockIndex = DataFileCommon.blockIndexFromItemOffset(byteOffset);
+        final int offsetInBlock = DataFileCommon.offsetInBlockFromItemOffset(byteOffset);
+        final DataFileWriter currentWriter = writer;
+        if (currentWriter != null) {
+            final byte[] pendingItem = currentWriter.readPendingItem(blockIndex, offsetInBlock);
+            if (pendingItem != null) {
+                return BufferedData.wrap(pendingItem);
+            }
+        }
+        final byte[] block = readBlock(blockIndex);
+        if (block == null) {
+            return null;
+        }
+        if (offsetInBlock >= block.length) {
+            throw new IOException("Invalid data item offset: file=" + getIndex() + " block=" + blockIndex + " off="
+                    + offsetInBlock + " size=" + block.length);
+        }
+        final BufferedData blockData = BufferedData.wrap(block);
+        final int tag = blockData.getVarInt(offsetInBlock, false);
+        if (tag
+                != ((FIELD_DATAFILE_ITEMS.number() << TAG_FIELD_OFFSET)
+                        | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal())) {
+            throw new IOException("Unknown data item tag: tag=" + tag + " file=" + getIndex() + " block=" + blockIndex
+                    + " off=" + offsetInBlock);
+        }
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = blockData.getVarInt(offsetInBlock + sizeOfTag, false);
+        final int dataOffset = offsetInBlock + sizeOfTag + ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        if (dataOffset + size > block.length) {
+            throw new IOException("Failed to read all bytes: toread=" + size + " available="
+                    + (block.length - dataOffset) + " file=" + getIndex() + " block=" + blockIndex);
+        }
+        return blockData.slice(dataOffset, size);
+    }
+
+    /**
+     * Returns an uncompressed block from a compressed file. The block is read from the block cache,
+     * if present, or from the file otherwise. Blocks not yet written to the file are handled by the
+     * caller, see {@link DataFileWriter#readPendingItem(int, int)}.
+     *
+     * @param blockIndex the block index
+     * @return uncompressed block bytes, or null if the file is closed. The returned array must not
+     *     be modified
+     * @throws IOException if the block can't be read, or if it's corrupted
+     */
+    private byte[] readBlock(final int blockIndex) throws IOException {
+        final DataFileWriter currentWriter = writer;
+        if (blockCache != null) {
+            final byte[] cached = blockCache.get(getIndex(), blockIndex);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final long blockOffset;
+        if (currentWriter != null) {
+            blockOffset = currentWriter.getBlockOffset(blockIndex);
+        } else {
+            final long[] offsets = getBlockOffsets();
+            if (offsets == null) {
+                return null;
+            }
+            blockOffset = (blockIndex >= 0) && (blockIndex < offsets.length) ? offsets[blockIndex] : -1;
+        }
+        if (blockOffset < 0) {
+            throw new IOException("Invalid block index: file=" + getIndex() + " block=" + blockIndex);
+        }
+        final byte[] block = readAndDecompressBlock(blockOffset);
+        if ((block != null) && (blockCache != null)) {
+            blockCache.put(getIndex(), blockIndex, block);
+        }
+        return block;
+    }
+
+    /**
+     * Reads a compressed block at the given file offset and decompresses it.
+     *
+     * @param blockOffset the block offset in the file
+     * @return uncompressed block bytes, or null if the file is closed
+     * @throws IOException if the block can't be read, or if it's corrupted
+     */
+    private byte[] readAndDecompressBlock(final long blockOffset) throws IOException {
+        // Max block header size: tag, block size, and uncompressed size
+        final int maxHeaderSize = 16;
+        final int estimatedSize = maxHeaderSize + Lz4BlockCodec.maxCompressedLength(metadata.getCompressionBlockSize());
+        for (int retries = 3; retries > 0; retries--) {
+            final int fcIndex = leaseFileChannel();
+            final FileChannel fileChannel = fileChannels.get(fcIndex);
+            if (fileChannel == null) {
+                // The file is closed, most likely because of compaction. The caller should retry with
+                // a new reader
+                return null;
+            }
+            try {
+                ByteBuffer readBB = ByteBuffer.allocate(estimatedSize);
+                int bytesRead = MerkleDbFileUtils.completelyRead(fileChannel, readBB, blockOffset);
+                BufferedData readBuf = BufferedData.wrap(readBB.array());
+                final int tag = readBuf.getVarInt(0, false);
+                if (tag
+                        != ((FIELD_DATAFILE_BLOCKS.number() << TAG_FIELD_OFFSET)
+                                | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal())) {
+                    throw new IOException(
+                            "Unknown data block tag: tag=" + tag + " file=" + getIndex() + " off=" + blockOffset);
+                }
+                final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+                final int size = readBuf.getVarInt(sizeOfTag, false);
+                final int headerSize = sizeOfTag + ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+                if (bytesRead < headerSize + size) {
+                    // The block is larger than estimated, e.g. it contains a large data item
+                    final ByteBuffer largeBB = ByteBuffer.allocate(headerSize + size);
+                    largeBB.put(readBB.array(), 0, bytesRead);
+                    bytesRead += MerkleDbFileUtils.completelyRead(fileChannel, largeBB, blockOffset + bytesRead);
+                    if (bytesRead != headerSize + size) {
+                        throw new IOException("Failed to read all bytes: toread=" + (headerSize + size) + " read="
+                                + bytesRead + " file=" + getIndex() + " off=" + blockOffset);
+                    }
+                    readBB = largeBB;
+                    readBuf = BufferedData.wrap(readBB.array());
+                }
+                final int uncompressedSize = readBuf.getVarInt(headerSize, false);
+                final int sizeOfUncompressedSize = ProtoWriterTools.sizeOfUnsignedVarInt32(uncompressedSize);
+                final byte[] block = new byte[uncompressedSize];
+                try {
+                    final int decompressedSize = Lz4BlockCodec.decompress(
+                            readBB.array(),
+                            headerSize + sizeOfUncompressedSize,
+                            size - sizeOfUncompressedSize,
+                            block,
+                            0,
+                            uncompressedSize);
+                    if (decompressedSize != uncompressedSize) {
+                        throw new IOException("Decompressed block size mismatch: expected=" + uncompressedSize
+                                + " actual=" + decompressedSize + " file=" + getIndex() + " off=" + blockOffset);
+                    }
+                } catch (final IllegalArgumentException e) {
+                    throw new IOException("Corrupted data block: file=" + getIndex() + " off=" + blockOffset, e);
+                }
+                return block;
+            } catch (final ClosedByInterruptException e) {
+                // If the thread and the channel are interrupted, propagate it to the callers
+                throw e;
+            } catch (final ClosedChannelException e) {
+                // The channel was closed, because a different thread reading from the channel was
+                // interrupted. Re-create the file channel and retry
+                reopenFileChannel(fcIndex, fileChannel);
+            } finally {
+                releaseFileChannel();
+            }
+        }
+        throw new IOException("Failed to read from file, file channel keeps getting closed");
+    }
+
+    /**
+     * Returns file offsets of all blocks in a compressed file. The offsets are loaded from the block
+     * index at the end of the file on first use, so this method must only be called when the file is
+     * fully written.
+     *
+     * @return block offsets, or null if the file is closed
+     * @throws IOException if the block index can't be read
+     */
+    private long[] getBlockOffsets() throws IOException {
+        long[] offsets = blockOffsets;
+        if (offsets == null) {
+            synchronized (this) {
+                offsets = blockOffsets;
+                if (offsets == null) {
+                    offsets = readBlockIndex();
+                    blockOffsets = offsets;
+                }
+            }
+        }
+        return offsets;
+    }
+
+    private long[] readBlockIndex() throws IOException {
+        final long blockIndexOffset = metadata.getBlockIndexOffset();
+        if (blockIndexOffset <= 0) {
+            throw new IOException("Block index isn't available: file=" + getIndex());
+        }
+        final FileChannel fileChannel = fileChannels.get(0);
+        if (fileChannel == null) {
+            // The reader is already closed
+            return null;
+        }
+        final int sizeToRead = Math.toIntExact(fileChannel.size() - blockIndexOffset);
+        final ByteBuffer readBB = ByteBuffer.allocate(sizeToRead);
+        final int bytesRead = MerkleDbFileUtils.completelyRead(fileChannel, readBB, blockIndexOffset);
+        if (bytesRead != sizeToRead) {
+            throw new IOException("Failed to read block index: toread=" + sizeToRead + " read=" + bytesRead
+                    + " file=" + getIndex());
+        }
+        final BufferedData readBuf = BufferedData.wrap(readBB.array());
+        final int tag = readBuf.getVarInt(0, false);
+        if (tag
+                != ((FIELD_DATAFILE_BLOCK_INDEX.number() << TAG_FIELD_OFFSET)
+                        | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal())) {
+            throw new IOException("Unknown block index tag: tag=" + tag + " file=" + getIndex());
+        }
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = readBuf.getVarInt(sizeOfTag, false);
+        final int headerSize = sizeOfTag + ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        if ((size % Long.BYTES != 0) || (headerSize + size > sizeToRead)) {
+            throw new IOException("Malformed block index: size=" + size + " file=" + getIndex());
+        }
+        final long[] offsets = new long[size / Long.BYTES];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = readBuf.getLong(headerSize + (long) i * Long.BYTES, ByteOrder.LITTLE_ENDIAN);
+        }
+        return offsets;
+    }
+
     // Testing support
 
+    boolean isMapped() {
+        return mappedData != null;
+    }
+
     int getFileChannelsCount() {
         return fileChannelsCount.get();
     }
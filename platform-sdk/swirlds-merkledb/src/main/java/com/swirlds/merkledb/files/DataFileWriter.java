@@ -16,15 +16,22 @@
 
 package com.swirlds.merkledb.files;
 
+import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.PAGE_SIZE;
 import static com.swirlds.merkledb.files.DataFileCommon.createDataFilePath;
 
+import com.hedera.pbj.runtime.FieldDefinition;
+import com.hedera.pbj.runtime.ProtoConstants;
 import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.merkledb.utilities.Lz4BlockCodec;
 import com.swirlds.merkledb.utilities.MemoryUtils;
 import java.io.IOException;
 import java.nio.BufferOverflowException;
+import java.nio.ByteOrder;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
@@ -32,6 +39,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 /**
@@ -44,6 +52,14 @@ import java.util.function.Consumer;
  * <p>At the end of the file it is padded till a 4096 byte page boundary then a footer page is
  * written by DataFileMetadata.
  *
+ * <p>If the writer is created with a non-zero compression block size, data items are not written
+ * to the file directly. Instead, they are appended to an in-memory block. When the block size reaches
+ * the compression block size, the block is compressed using LZ4 and written to the file. Data item
+ * locations in such files refer to a block index and the item offset in the uncompressed block, see
+ * {@link DataFileCommon#blockItemOffset(int, int)}. File offsets of all blocks are written to the end
+ * of the file, once all data items are written. Data items in the current (not yet written) block
+ * are available to readers via {@link #readPendingItem(int, int)}.
+ *
  * <p>Protobuf schema: see {@link DataFileReader} for details.
  */
 public final class DataFileWriter {
@@ -77,6 +93,19 @@ public final class DataFileWriter {
      */
     private long dataItemCount = 0;
 
+    /** Uncompressed block size, or zero if data items are written uncompressed */
+    private final int compressionBlockSize;
+    /** The current block, data items are appended to it till it's full, then it's written to the file */
+    private byte[] pendingBlock;
+    /** Buffer over {@link #pendingBlock}, its position is the current uncompressed block size */
+    private BufferedData pendingBlockData;
+    /** Reused buffer for compressed blocks */
+    private byte[] compressedBlock;
+    /** File offsets of all blocks written so far */
+    private long[] blockOffsets;
+    /** Number of blocks written so far, this is also the index of the pending block */
+    private int blockCount = 0;
+
     /**
      * Create a new data file in the given directory, in append mode. Puts the object into "writing"
      * mode (i.e. creates a lock file. So you'd better start writing data and be sure to finish it
@@ -94,12 +123,46 @@ public final class DataFileWriter {
             final Instant creationTime,
             final int compactionLevel)
             throws IOException {
+        this(filePrefix, dataFileDir, index, creationTime, compactionLevel, 0);
+    }
+
+    /**
+     * Create a new data file in the given directory, in append mode. Puts the object into "writing"
+     * mode (i.e. creates a lock file. So you'd better start writing data and be sure to finish it
+     * off).
+     *
+     * @param filePrefix string prefix for all files, must not contain "_" chars
+     * @param dataFileDir the path to directory to create the data file in
+     * @param index the index number for this file
+     * @param creationTime the time stamp for the creation time for this file
+     * @param compactionLevel the compaction level for this file
+     * @param compressionBlockSize uncompressed block size, in bytes, to store data items in LZ4
+     *     compressed blocks, or zero to store data items uncompressed
+     */
+    public DataFileWriter(
+            final String filePrefix,
+            final Path dataFileDir,
+            final int index,
+            final Instant creationTime,
+            final int compactionLevel,
+            final int compressionBlockSize)
+            throws IOException {
+        if ((compressionBlockSize < 0) || (compressionBlockSize > DataFileCommon.MAX_COMPRESSION_BLOCK_SIZE)) {
+            throw new IllegalArgumentException("Invalid compression block size: " + compressionBlockSize);
+        }
         this.path = createDataFilePath(filePrefix, dataFileDir, index, creationTime, DataFileCommon.FILE_EXTENSION);
+        this.compressionBlockSize = compressionBlockSize;
         metadata = new DataFileMetadata(
                 0, // data item count will be updated later in finishWriting()
                 index,
                 creationTime,
-                compactionLevel);
+                compactionLevel,
+                compressionBlockSize);
+        if (compressionBlockSize > 0) {
+            pendingBlock = new byte[compressionBlockSize];
+            pendingBlockData = BufferedData.wrap(pendingBlock);
+            blockOffsets = new long[64];
+        }
         Files.createFile(path);
         writeHeader();
     }
@@ -162,6 +225,9 @@ public final class DataFileWriter {
      * @throws IOException if there was a problem appending data to file
      */
     public synchronized long storeDataItem(final BufferedData dataItem) throws IOException {
+        if (compressionBlockSize > 0) {
+            return storeDataItemInBlock(o -> o.writeBytes(dataItem), Math.toIntExact(dataItem.remaining()));
+        }
         // find offset for the start of this new data item, we assume we always write data in a
         // whole number of blocks
         long currentWritingMmapPos = writingPbjData.position();
@@ -199,6 +265,9 @@ public final class DataFileWriter {
      */
     public synchronized long storeDataItem(final Consumer<BufferedData> dataItemWriter, final int dataItemSize)
             throws IOException {
+        if (compressionBlockSize > 0) {
+            return storeDataItemInBlock(dataItemWriter, dataItemSize);
+        }
         // find offset for the start of this new data item, we assume we always write data in a
         // whole number of blocks
         final long currentWritingMmapPos = writingPbjData.position();
@@ -226,6 +295,19 @@ public final class DataFileWriter {
      * @throws IOException if there was a problem sealing file or opening again as read only
      */
     public synchronized void finishWriting() throws IOException {
+        if (compressionBlockSize > 0) {
+            writePendingBlock();
+            final int blockIndexSize = blockCount * Long.BYTES;
+            final long blockIndexOffset = writeField(FIELD_DATAFILE_BLOCK_INDEX, blockIndexSize, o -> {
+                for (int i = 0; i < blockCount; i++) {
+                    o.writeLong(blockOffsets[i], ByteOrder.LITTLE_ENDIAN);
+                }
+            });
+            metadata.updateBlockIndexOffset(writingHeaderPbjData, blockIndexOffset);
+            pendingBlock = null;
+            pendingBlockData = null;
+            compressedBlock = null;
+        }
         // total file size is where the current writing pos is
         final long totalFileSize = mmapPositionInFile + writingPbjData.position();
         // update data item count in the metadata and in the file
@@ -242,4 +324,148 @@ public final class DataFileWriter {
             mmapPositionInFile = totalFileSize;
         }
     }
+
+    /**
+     * Returns a copy of a data item from the current (not yet written to the file) block, if its
+     * index is the given block index. Only the data item bytes are copied, not the whole block. This
+     * method is used by data file readers to read data items from the file, while it's being written.
+     *
+     * @param blockIndex the block index
+     * @param offsetInBlock data item offset in the uncompressed block
+     * @return data item bytes, or null if the block is already written to the file
+     * @throws IOException if the offset doesn't point to a data item in the pending block
+     */
+    synchronized byte[] readPendingItem(final int blockIndex, final int offsetInBlock) throws IOException {
+        if ((pendingBlockData == null) || (blockIndex != blockCount)) {
+            return null;
+        }
+        final int blockSize = Math.toIntExact(pendingBlockData.position());
+        if ((offsetInBlock < 0) || (offsetInBlock >= blockSize)) {
+            throw new IOException("Invalid pending data item offset: block=" + blockIndex + " off=" + offsetInBlock
+                    + " size=" + blockSize);
+        }
+        final int tag = pendingBlockData.getVarInt(offsetInBlock, false);
+        if (tag
+                != ((FIELD_DATAFILE_ITEMS.number() << TAG_FIELD_OFFSET)
+                        | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal())) {
+            throw new IOException(
+                    "Unknown pending data item tag: tag=" + tag + " block=" + blockIndex + " off=" + offsetInBlock);
+        }
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = pendingBlockData.getVarInt(offsetInBlock + sizeOfTag, false);
+        final int dataOffset = offsetInBlock + sizeOfTag + ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        if (dataOffset + size > blockSize) {
+            throw new IOException("Failed to read all pending bytes: toread=" + size + " available="
+                    + (blockSize - dataOffset) + " block=" + blockIndex);
+        }
+        return Arrays.copyOfRange(pendingBlock, dataOffset, dataOffset + size);
+    }
+
+    /**
+     * Returns the file offset of a block, which is already written to the file.
+     *
+     * @param blockIndex the block index
+     * @return the block offset in the file, or -1 if the block isn't written yet
+     */
+    synchronized long getBlockOffset(final int blockIndex) {
+        if ((blockIndex < 0) || (blockIndex >= blockCount)) {
+            return -1;
+        }
+        return blockOffsets[blockIndex];
+    }
+
+    /**
+     * Appends a data item to the current block. If the block is full after that, writes it to the file.
+     *
+     * @param dataItemWriter the data item to write
+     * @param dataItemSize the data item size, in bytes
+     * @return the data location of written data item
+     * @throws IOException if there was a problem writing the block to file
+     */
+    private long storeDataItemInBlock(final Consumer<BufferedData> dataItemWriter, final int dataItemSize)
+            throws IOException {
+        final int offsetInBlock = Math.toIntExact(pendingBlockData.position());
+        final int sizeToWrite = ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_ITEMS, dataItemSize);
+        if (offsetInBlock + sizeToWrite > pendingBlock.length) {
+            // The last data item in a block may exceed compression block size
+            pendingBlock = Arrays.copyOf(pendingBlock, offsetInBlock + sizeToWrite);
+            pendingBlockData = BufferedData.wrap(pendingBlock);
+            pendingBlockData.position(offsetInBlock);
+        }
+        ProtoWriterTools.writeDelimited(pendingBlockData, FIELD_DATAFILE_ITEMS, dataItemSize, dataItemWriter);
+        if (pendingBlockData.position() != offsetInBlock + sizeToWrite) {
+            throw new IOException("Estimated size / written bytes mismatch: expected=" + sizeToWrite + " written="
+                    + (pendingBlockData.position() - offsetInBlock));
+        }
+        dataItemCount++;
+        final long byteOffset = DataFileCommon.blockItemOffset(blockCount, offsetInBlock);
+        if (pendingBlockData.position() >= compressionBlockSize) {
+            writePendingBlock();
+        }
+        return DataFileCommon.dataLocation(metadata.getIndex(), byteOffset);
+    }
+
+    /**
+     * Compresses the current block and writes it to the file. Does nothing, if the block is empty.
+     *
+     * @throws IOException if there was a problem writing the block to file
+     */
+    private void writePendingBlock() throws IOException {
+        final int uncompressedSize = Math.toIntExact(pendingBlockData.position());
+        if (uncompressedSize == 0) {
+            return;
+        }
+        final int maxCompressedSize = Lz4BlockCodec.maxCompressedLength(uncompressedSize);
+        if ((compressedBlock == null) || (compressedBlock.length < maxCompressedSize)) {
+            compressedBlock = new byte[maxCompressedSize];
+        }
+        final int compressedSize = Lz4BlockCodec.compress(pendingBlock, 0, uncompressedSize, compressedBlock, 0);
+        final int blockSize = ProtoWriterTools.sizeOfUnsignedVarInt32(uncompressedSize) + compressedSize;
+        final long blockOffset = writeField(FIELD_DATAFILE_BLOCKS, blockSize, o -> {
+            o.writeVarInt(uncompressedSize, false);
+            o.writeBytes(compressedBlock, 0, compressedSize);
+        });
+        if (blockCount == blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, blockOffsets.length * 2);
+        }
+        blockOffsets[blockCount++] = blockOffset;
+        if (pendingBlock.length > compressionBlockSize) {
+            // Don't keep large blocks in memory, if the block was extended for a large data item
+            pendingBlock = new byte[compressionBlockSize];
+            pendingBlockData = BufferedData.wrap(pendingBlock);
+        } else {
+            pendingBlockData.reset();
+        }
+    }
+
+    /**
+     * Writes a delimited field directly to the file.
+     *
+     * @param field the field to write
+     * @param size the field size, in bytes
+     * @param fieldWriter the field content writer
+     * @return the field offset in the file
+     * @throws IOException if there was a problem writing to file
+     */
+    private long writeField(final FieldDefinition field, final int size, final Consumer<BufferedData> fieldWriter)
+            throws IOException {
+        long currentWritingMmapPos = writingPbjData.position();
+        final long byteOffset = mmapPositionInFile + currentWritingMmapPos;
+        final int sizeToWrite = ProtoWriterTools.sizeOfDelimited(field, size);
+        if (writingPbjData.remaining() < sizeToWrite) {
+            moveWritingBuffer(byteOffset);
+            currentWritingMmapPos = 0;
+        }
+        try {
+            ProtoWriterTools.writeDelimited(writingPbjData, field, size, fieldWriter);
+            if (writingPbjData.position() != currentWritingMmapPos + sizeToWrite) {
+                throw new IOException("Estimated size / written bytes mismatch: expected=" + sizeToWrite + " written="
+                        + (writingPbjData.position() - currentWritingMmapPos));
+            }
+        } catch (final BufferOverflowException e) {
+            // Buffer overflow here means the mapped buffer is smaller than even a single field
+            throw new IOException(DataFileCommon.ERROR_DATAITEM_TOO_LARGE, e);
+        }
+        return byteOffset;
+    }
 }
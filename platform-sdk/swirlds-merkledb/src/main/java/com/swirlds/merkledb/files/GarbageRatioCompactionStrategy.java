@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static com.swirlds.merkledb.files.DataFileCompactor.INITIAL_COMPACTION_LEVEL;
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Garbage-ratio-driven compaction strategy. A file is compacted, when the ratio of garbage (no
+ * longer referenced) data items in it reaches the configured threshold, regardless of the file
+ * size or compaction level. Files with few garbage items are not rewritten, which keeps write
+ * amplification low for data that rarely changes.
+ *
+ * <p>Level 0 files, which are created during flushes, are usually small. To prevent them from
+ * piling up, all level 0 files are compacted, too, once there are at least
+ * minNumberOfFilesToCompact of them.
+ */
+final class GarbageRatioCompactionStrategy implements CompactionStrategy {
+
+    private final int minNumberOfFilesToCompact;
+
+    private final double garbageRatioThreshold;
+
+    GarbageRatioCompactionStrategy(final int minNumberOfFilesToCompact, final double garbageRatioThreshold) {
+        if ((garbageRatioThreshold <= 0) || (garbageRatioThreshold > 1)) {
+            throw new IllegalArgumentException("Garbage ratio threshold must be in (0, 1] range");
+        }
+        this.minNumberOfFilesToCompact = minNumberOfFilesToCompact;
+        this.garbageRatioThreshold = garbageRatioThreshold;
+    }
+
+    @Override
+    public boolean requiresLiveItemCounts() {
+        return true;
+    }
+
+    @NonNull
+    @Override
+    public List<DataFileReader> selectFilesToCompact(
+            @NonNull final List<DataFileReader> completedFiles,
+            @Nullable final ToLongFunction<DataFileReader> liveItemCounts) {
+        requireNonNull(liveItemCounts);
+        final long level0Count = completedFiles.stream()
+                .filter(f -> f.getMetadata().getCompactionLevel() == INITIAL_COMPACTION_LEVEL)
+                .count();
+        final boolean compactLevel0 = level0Count >= minNumberOfFilesToCompact;
+        final List<DataFileReader> filesToCompact = new ArrayList<>();
+        for (final DataFileReader file : completedFiles) {
+            if (compactLevel0 && (file.getMetadata().getCompactionLevel() == INITIAL_COMPACTION_LEVEL)) {
+                filesToCompact.add(file);
+            } else if (1.0 - CompactionStrategy.liveItemsRatio(file, liveItemCounts) >= garbageRatioThreshold) {
+                filesToCompact.add(file);
+            }
+        }
+        return filesToCompact;
+    }
+}
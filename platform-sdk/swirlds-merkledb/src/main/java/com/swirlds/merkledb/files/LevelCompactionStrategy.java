@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static com.swirlds.merkledb.files.DataFileCompactor.INITIAL_COMPACTION_LEVEL;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Default compaction strategy, it selects files by compaction levels. The plan is organized by compaction levels
+ * in ascending order. If there are not enough files to compact, then no files are compacted and the plan will be empty.
+ * If the current level doesn't reach minNumberOfFilesToCompact threshold, then this level and the levels above it are
+ * not included in the plan.
+ */
+final class LevelCompactionStrategy implements CompactionStrategy {
+
+    private final int minNumberOfFilesToCompact;
+
+    private final int maxCompactionLevel;
+
+    LevelCompactionStrategy(final int minNumberOfFilesToCompact, final int maxCompactionLevel) {
+        this.minNumberOfFilesToCompact = minNumberOfFilesToCompact;
+        this.maxCompactionLevel = maxCompactionLevel;
+    }
+
+    @Override
+    public boolean requiresLiveItemCounts() {
+        return false;
+    }
+
+    @NonNull
+    @Override
+    public List<DataFileReader> selectFilesToCompact(
+            @NonNull final List<DataFileReader> completedFiles,
+            @Nullable final ToLongFunction<DataFileReader> liveItemCounts) {
+        if (completedFiles.isEmpty()) {
+            return completedFiles;
+        }
+
+        final Map<Integer, List<DataFileReader>> readersByLevel = completedFiles.stream()
+                .collect(Collectors.groupingBy(r -> r.getMetadata().getCompactionLevel()));
+
+        final List<DataFileReader> nonCompactedReaders = readersByLevel.get(INITIAL_COMPACTION_LEVEL);
+        if (nonCompactedReaders == null || nonCompactedReaders.size() < minNumberOfFilesToCompact) {
+            return Collections.emptyList();
+        }
+
+        // we always compact files from level 0 if we have enough files
+        final List<DataFileReader> readersToCompact = new ArrayList<>(nonCompactedReaders);
+
+        for (int i = 1; i <= maxCompactionLevel; i++) {
+            final List<DataFileReader> readers = readersByLevel.get(i);
+            // Presumably, one file comes from the compaction of the previous level.
+            // If, counting this file in, it still doesn't have enough, then it stops collecting.
+            if (readers == null || readers.size() < minNumberOfFilesToCompact - 1) {
+                break;
+            }
+            readersToCompact.addAll(readers);
+        }
+        return readersToCompact;
+    }
+}
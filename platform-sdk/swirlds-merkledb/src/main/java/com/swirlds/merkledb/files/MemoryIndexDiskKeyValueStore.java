@@ -29,8 +29,11 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -81,12 +84,36 @@ public class MemoryIndexDiskKeyValueStore implements AutoCloseable, Snapshotable
             final LoadedDataCallback loadedDataCallback,
             final LongList keyToDiskLocationIndex)
             throws IOException {
+        this(config, storeDir, storeName, legacyStoreName, 0, loadedDataCallback, keyToDiskLocationIndex);
+    }
+
+    /**
+     * Construct a new MemoryIndexDiskKeyValueStore, which stores data items in compressed blocks.
+     *
+     * @param storeDir The directory to store data files in
+     * @param storeName The name for the data store, this allows more than one data store in a single directory.
+     * @param legacyStoreName Base name for the data store. If not null, the store will process files with this prefix at startup. New files in the store will be prefixed with {@code storeName}
+     * @param compressionBlockSize Uncompressed block size for new data files, in bytes. If zero, data items are stored uncompressed
+     * @param loadedDataCallback call back for handing loaded data from existing files on startup. Can be null if not needed.
+     * @param keyToDiskLocationIndex The index to use for keys to disk locations, see the other constructor for details.
+     * @throws IOException If there was a problem opening data files
+     */
+    public MemoryIndexDiskKeyValueStore(
+            final MerkleDbConfig config,
+            final Path storeDir,
+            final String storeName,
+            final String legacyStoreName,
+            final int compressionBlockSize,
+            final LoadedDataCallback loadedDataCallback,
+            final LongList keyToDiskLocationIndex)
+            throws IOException {
         this.storeName = storeName;
         index = keyToDiskLocationIndex;
         // create store dir
         Files.createDirectories(storeDir);
         // create file collection
-        fileCollection = new DataFileCollection(config, storeDir, storeName, legacyStoreName, loadedDataCallback);
+        fileCollection = new DataFileCollection(
+                config, storeDir, storeName, legacyStoreName, compressionBlockSize, loadedDataCallback);
     }
 
     /**
@@ -179,6 +206,42 @@ public class MemoryIndexDiskKeyValueStore implements AutoCloseable, Snapshotable
         return fileCollection.readDataItemUsingIndex(index, key);
     }
 
+    /**
+     * Get values for multiple keys by reading them from disk. Data locations for all keys are
+     * looked up in the index first, then data items are read on the current thread, in the order
+     * of their data locations, i.e. file by file, and sorted by offsets within each file. Every
+     * data item is converted to a value object using the provided parser right after it's read,
+     * since the data buffers returned by file readers may be reused.
+     *
+     * @param keys the keys to find and read values for
+     * @param parser the function to convert data items to values
+     * @return a list of values, in the same order as the keys, with nulls for keys not found
+     * @param <T> the value type
+     * @throws IOException If there was a problem reading values from files
+     */
+    public <T> List<T> getAll(final long[] keys, final Function<BufferedData, T> parser) throws IOException {
+        final int count = keys.length;
+        final Object[] values = new Object[count];
+        final long[] dataLocations = new long[count];
+        for (int i = 0; i < count; i++) {
+            dataLocations[i] = checkKeyInRange(keys[i])
+                    ? index.get(keys[i], LongList.IMPERMISSIBLE_VALUE)
+                    : LongList.IMPERMISSIBLE_VALUE;
+        }
+        final int[] order = DataFileCommon.readOrder(dataLocations, null);
+        for (final int i : order) {
+            if (dataLocations[i] == LongList.IMPERMISSIBLE_VALUE) {
+                continue;
+            }
+            // read from files via index lookup, the location may be changed by compaction
+            final BufferedData dataItem = fileCollection.readDataItemUsingIndex(index, keys[i]);
+            values[i] = (dataItem != null) ? parser.apply(dataItem) : null;
+        }
+        @SuppressWarnings("unchecked")
+        final List<T> result = (List<T>) Arrays.asList(values);
+        return result;
+    }
+
     /**
      * Close all files being used
      *
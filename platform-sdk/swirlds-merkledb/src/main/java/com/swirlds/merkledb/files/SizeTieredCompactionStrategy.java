@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Size-tiered compaction strategy. Files are sorted by the estimated size of their live data, which
+ * is the file size multiplied by the ratio of live data items, and grouped into tiers of files of
+ * similar live data size. Every file in a tier is at most {@link #TIER_HIGH} times larger and at
+ * least {@link #TIER_LOW} times smaller than the average file size in the tier. All files smaller
+ * than {@link #SMALL_FILE_SIZE} are put to a single tier.
+ *
+ * <p>Tiers with at least minNumberOfFilesToCompact files are candidates to compact. If there are
+ * many candidates, the tier with the highest ratio of garbage (no longer referenced) data items is
+ * compacted, so the disk space is reclaimed sooner. Compacted files are much larger than the files
+ * they are compacted from, so they move to a higher tier, and every data item is rewritten a
+ * logarithmic number of times.
+ */
+final class SizeTieredCompactionStrategy implements CompactionStrategy {
+
+    /** Upper bound of file sizes in a tier, relative to the average file size in the tier */
+    static final double TIER_HIGH = 1.5;
+
+    /** Lower bound of file sizes in a tier, relative to the average file size in the tier */
+    static final double TIER_LOW = 0.5;
+
+    /** All files with live data smaller than this size, in bytes, are put to a single tier */
+    static final long SMALL_FILE_SIZE = 16L * 1024 * 1024;
+
+    private final int minNumberOfFilesToCompact;
+
+    SizeTieredCompactionStrategy(final int minNumberOfFilesToCompact) {
+        this.minNumberOfFilesToCompact = minNumberOfFilesToCompact;
+    }
+
+    @Override
+    public boolean requiresLiveItemCounts() {
+        return true;
+    }
+
+    @NonNull
+    @Override
+    public List<DataFileReader> selectFilesToCompact(
+            @NonNull final List<DataFileReader> completedFiles,
+            @Nullable final ToLongFunction<DataFileReader> liveItemCounts) {
+        requireNonNull(liveItemCounts);
+        if (completedFiles.size() < minNumberOfFilesToCompact) {
+            return Collections.emptyList();
+        }
+        final List<FileStats> files = new ArrayList<>(completedFiles.size());
+        for (final DataFileReader file : completedFiles) {
+            final double liveRatio = CompactionStrategy.liveItemsRatio(file, liveItemCounts);
+            files.add(new FileStats(file, (long) (file.getSize() * liveRatio), liveRatio));
+        }
+        files.sort(Comparator.comparingLong(FileStats::liveSize));
+
+        // Group files into tiers
+        final List<List<FileStats>> tiers = new ArrayList<>();
+        List<FileStats> tier = null;
+        long tierSize = 0;
+        for (final FileStats file : files) {
+            boolean fits = false;
+            if (tier != null) {
+                final long avgSize = tierSize / tier.size();
+                final long size = file.liveSize();
+                fits = ((size < SMALL_FILE_SIZE) && (avgSize < SMALL_FILE_SIZE))
+                        || ((size >= avgSize * TIER_LOW) && (size <= avgSize * TIER_HIGH));
+            }
+            if (!fits) {
+                tier = new ArrayList<>();
+                tiers.add(tier);
+                tierSize = 0;
+            }
+            tier.add(file);
+            tierSize += file.liveSize();
+        }
+
+        // Select the tier with the highest garbage ratio among the tiers with enough files
+        List<FileStats> bestTier = null;
+        double bestTierGarbageRatio = -1;
+        for (final List<FileStats> candidate : tiers) {
+            if (candidate.size() < minNumberOfFilesToCompact) {
+                continue;
+            }
+            final double garbageRatio = 1.0
+                    - candidate.stream().mapToDouble(FileStats::liveRatio).sum() / candidate.size();
+            if (garbageRatio > bestTierGarbageRatio) {
+                bestTier = candidate;
+                bestTierGarbageRatio = garbageRatio;
+            }
+        }
+        if (bestTier == null) {
+            return Collections.emptyList();
+        }
+        return bestTier.stream().map(FileStats::file).toList();
+    }
+
+    private record FileStats(DataFileReader file, long liveSize, double liveRatio) {}
+}
@@ -338,9 +338,128 @@ public sealed class Bucket implements Closeable permits ParsedBucket {
         out.writeBytes(bucketData);
     }
 
+    /**
+     * Removes all entries from this bucket, which don't belong to the bucket with the given index.
+     * An entry belongs to the bucket, if its key hash code masked with the given bucket mask is
+     * equal to the bucket index. After the call, this bucket's index is set to the given index.
+     *
+     * <p>This method is used after a bucket is split, when some of its entries are moved to a new
+     * bucket, but still present in this bucket's data on disk.
+     *
+     * @param expectedIndex the bucket index
+     * @param bucketMask the bucket mask to apply to entry key hash codes
+     */
+    public void sanitize(final int expectedIndex, final int bucketMask) {
+        final long length = bucketData.length();
+        long readPos = 0;
+        long writePos = 0;
+        int count = 0;
+        while (readPos < length) {
+            bucketData.position(readPos);
+            final int tag = bucketData.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            final long fieldEnd;
+            final boolean keep;
+            if (fieldNum == FIELD_BUCKET_INDEX.number()) {
+                fieldEnd = bucketData.position() + Integer.BYTES;
+                keep = true;
+            } else if (fieldNum == FIELD_BUCKET_ENTRIES.number()) {
+                final int entrySize = bucketData.readVarInt(false);
+                final long entryOffset = bucketData.position();
+                fieldEnd = entryOffset + entrySize;
+                keep = (readEntryHashCode(entryOffset, fieldEnd) & bucketMask) == expectedIndex;
+            } else {
+                throw new IllegalArgumentException("Unknown bucket field: " + fieldNum);
+            }
+            if (keep) {
+                if (writePos != readPos) {
+                    final BufferedData field = bucketData.slice(readPos, fieldEnd - readPos);
+                    bucketData.position(writePos);
+                    bucketData.writeBytes(field);
+                }
+                if (fieldNum == FIELD_BUCKET_INDEX.number()) {
+                    bucketIndexFieldOffset = writePos;
+                } else {
+                    count++;
+                }
+                writePos += fieldEnd - readPos;
+            }
+            readPos = fieldEnd;
+        }
+        bucketData.position(0); // limit() doesn't work if the new limit is less than the current pos
+        bucketData.limit(writePos);
+        entryCount = count;
+        setBucketIndex(expectedIndex);
+    }
+
+    /**
+     * Copies all entries from this bucket, which belong to the given target bucket, to the target
+     * bucket. An entry belongs to the target bucket, if its key hash code masked with the given
+     * bucket mask is equal to the target bucket index. This bucket is not changed.
+     *
+     * @param target the bucket to copy entries to
+     * @param bucketMask the bucket mask to apply to entry key hash codes
+     */
+    public void copyEntriesTo(final Bucket target, final int bucketMask) {
+        final int targetIndex = target.getBucketIndex();
+        final long length = bucketData.length();
+        long readPos = 0;
+        while (readPos < length) {
+            bucketData.position(readPos);
+            final int tag = bucketData.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            if (fieldNum == FIELD_BUCKET_INDEX.number()) {
+                readPos = bucketData.position() + Integer.BYTES;
+            } else if (fieldNum == FIELD_BUCKET_ENTRIES.number()) {
+                final int entrySize = bucketData.readVarInt(false);
+                final long entryOffset = bucketData.position();
+                final long fieldEnd = entryOffset + entrySize;
+                if ((readEntryHashCode(entryOffset, fieldEnd) & bucketMask) == targetIndex) {
+                    target.appendEntry(bucketData.slice(readPos, fieldEnd - readPos));
+                }
+                readPos = fieldEnd;
+            } else {
+                throw new IllegalArgumentException("Unknown bucket field: " + fieldNum);
+            }
+        }
+    }
+
     // =================================================================================================================
     // Private API
 
+    /**
+     * Appends a bucket entry to this bucket. The entry is provided as serialized protobuf field,
+     * including the field tag and the entry size.
+     *
+     * @param entryField the serialized entry field
+     */
+    protected void appendEntry(final BufferedData entryField) {
+        final long entryOffset = bucketData.limit();
+        setSize(Math.toIntExact(entryOffset + entryField.length()), true);
+        bucketData.position(entryOffset);
+        bucketData.writeBytes(entryField);
+        checkLargestBucket(++entryCount);
+    }
+
+    private int readEntryHashCode(final long entryOffset, final long entryEnd) {
+        bucketData.position(entryOffset);
+        while (bucketData.position() < entryEnd) {
+            final int entryTag = bucketData.readVarInt(false);
+            final int entryFieldNum = entryTag >> TAG_FIELD_OFFSET;
+            if (entryFieldNum == FIELD_BUCKETENTRY_HASHCODE.number()) {
+                return bucketData.readInt();
+            } else if (entryFieldNum == FIELD_BUCKETENTRY_VALUE.number()) {
+                bucketData.skip(Long.BYTES);
+            } else if (entryFieldNum == FIELD_BUCKETENTRY_KEYBYTES.number()) {
+                final int keyBytesSize = bucketData.readVarInt(false);
+                bucketData.skip(keyBytesSize);
+            } else {
+                throw new IllegalArgumentException("Unknown bucket entry field: " + entryFieldNum);
+            }
+        }
+        throw new IllegalArgumentException("Bucket entry without key hash code");
+    }
+
     private FindResult findEntry(final int keyHashCode, final Bytes key) {
         bucketData.resetPosition();
         while (bucketData.hasRemaining()) {
@@ -33,6 +33,7 @@ import com.swirlds.merkledb.collections.OffHeapUser;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.files.DataFileCollection;
 import com.swirlds.merkledb.files.DataFileCollection.LoadedDataCallback;
+import com.swirlds.merkledb.files.DataFileCommon;
 import com.swirlds.merkledb.files.DataFileReader;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.DataInputStream;
@@ -41,6 +42,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Iterator;
+import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -59,6 +61,14 @@ import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
  * <p>This implementation depends on good hashCode() implementation on the keys, if there are too
  * many hash collisions the performance can get bad.
  *
+ * <p>The number of buckets may grow over time, if the map contains more entries than it was
+ * initially sized for. Growth is implemented in linear hashing style: buckets are split one at
+ * a time, in order, at the end of {@link #endWriting()}. When bucket {@code i} is split, entries
+ * that belong to bucket {@code i + numOfBuckets} are copied to a new bucket. The original bucket
+ * still contains all its old entries on disk, they are removed the next time the bucket is
+ * updated. When all buckets at the current level are split, the number of buckets is doubled,
+ * and splitting starts over from bucket 0.
+ *
  * <p><b>IMPORTANT: This implementation assumes a single writing thread. There can be multiple
  * readers while writing is happening.</b>
  */
@@ -67,7 +77,9 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     private static final Logger logger = LogManager.getLogger(HalfDiskHashMap.class);
 
     /** The version number for format of current data files */
-    private static final int METADATA_FILE_FORMAT_VERSION = 1;
+    private static final int METADATA_FILE_FORMAT_VERSION = 2;
+    /** The version number for metadata files with no bucket splitting support */
+    private static final int METADATA_FILE_FORMAT_VERSION_NO_SPLITS = 1;
     /** Metadata file name suffix with extension. */
     private static final String METADATA_FILENAME_SUFFIX = "_metadata.hdhm";
     /** Bucket index file name suffix with extension */
@@ -89,6 +101,16 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     /** The limit on the number of concurrent read tasks in {@code endWriting()} */
     private static final int MAX_IN_FLIGHT = 1024;
 
+    /** The max number of buckets at a single level. Bucket indices must fit into an int */
+    private static final int MAX_NUM_OF_BUCKETS = 1 << 30;
+
+    /**
+     * The max number of buckets in a new map, if bucket splitting is enabled. New maps start small,
+     * and buckets are split during flushes as the number of entries grows, so no memory is spent on
+     * bucket index entries for buckets that aren't needed yet.
+     */
+    private static final int MAX_INITIAL_NUM_OF_BUCKETS = 1 << 10;
+
     /**
      * Long list used for mapping bucketIndex(index into list) to disk location for latest copy of
      * bucket
@@ -98,10 +120,28 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     private final DataFileCollection fileCollection;
 
     /**
-     * This is the next power of 2 bigger than minimumBuckets. It needs to be a power of two, so
-     * that we can optimize and avoid the cost of doing a % to find the bucket index from hash code.
+     * Current bucket layout: the number of buckets at the current level, and the number of buckets
+     * split at this level so far. The number of buckets is initially the next power of 2 bigger than
+     * minimumBuckets, but not more than {@link #MAX_INITIAL_NUM_OF_BUCKETS} if buckets can be split.
+     * It needs to be a power of two, so that we can optimize and avoid the cost of doing a % to find
+     * the bucket index from hash code.
+     *
+     * <p>The layout is only updated on the writing thread, but may be read by multiple reader
+     * threads at the same time.
      */
-    private final int numOfBuckets;
+    private volatile BucketsLayout bucketsLayout;
+
+    /**
+     * Max number of buckets to split in a single {@link #endWriting()} call. Zero means the number
+     * of buckets never grows.
+     */
+    private final int maxBucketSplitsPerFlush;
+
+    /**
+     * Target total number of buckets, as requested in the last {@link #resizeIfNeeded(long)} call.
+     * Buckets are split at the end of {@link #endWriting()} till this number is reached.
+     */
+    private volatile long targetNumOfBuckets = 0;
     /**
      * The requested max size for the map, this is the maximum number of key/values expected to be
      * stored in this map.
@@ -204,6 +244,7 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             throws IOException {
         this.mapSize = mapSize;
         this.storeName = storeName;
+        this.maxBucketSplitsPerFlush = config.maxBucketSplitsPerFlush();
         Path indexFile = storeDir.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX);
         // create bucket pool
         this.bucketPool = new ReusableBucketPool(Bucket::new);
@@ -221,15 +262,20 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             if (Files.exists(metaDataFile)) {
                 try (DataInputStream metaIn = new DataInputStream(Files.newInputStream(metaDataFile))) {
                     final int fileVersion = metaIn.readInt();
-                    if (fileVersion != METADATA_FILE_FORMAT_VERSION) {
+                    if (fileVersion == METADATA_FILE_FORMAT_VERSION_NO_SPLITS) {
+                        metaIn.readInt(); // backwards compatibility, was: minimumBuckets
+                        bucketsLayout = new BucketsLayout(metaIn.readInt(), 0);
+                    } else if (fileVersion == METADATA_FILE_FORMAT_VERSION) {
+                        final int numOfBuckets = metaIn.readInt();
+                        final int splitIndex = metaIn.readInt();
+                        bucketsLayout = new BucketsLayout(numOfBuckets, splitIndex);
+                    } else {
                         throw new IOException("Tried to read a file with incompatible file format version ["
                                 + fileVersion
                                 + "], expected ["
                                 + METADATA_FILE_FORMAT_VERSION
                                 + "].");
                     }
-                    metaIn.readInt(); // backwards compatibility, was: minimumBuckets
-                    numOfBuckets = metaIn.readInt();
                 }
                 if (loadedLegacyMetadata) {
                     Files.delete(metaDataFile);
@@ -266,8 +312,13 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             bucketIndexToBucketLocation = preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap();
             // calculate number of entries we can store in a disk page
             final int minimumBuckets = (int) (mapSize / GOOD_AVERAGE_BUCKET_ENTRY_COUNT);
-            // numOfBuckets is the nearest power of two greater than minimumBuckets with a min of 2
-            numOfBuckets = Math.max(Integer.highestOneBit(minimumBuckets) * 2, 2);
+            // numOfBuckets is the nearest power of two greater than minimumBuckets with a min of 2. If buckets
+            // can be split, start small and let splits in endWriting() grow the map as entries are added
+            final int sizedNumOfBuckets = Math.max(Integer.highestOneBit(minimumBuckets) * 2, 2);
+            final int numOfBuckets = (maxBucketSplitsPerFlush > 0)
+                    ? Math.min(sizedNumOfBuckets, MAX_INITIAL_NUM_OF_BUCKETS)
+                    : sizedNumOfBuckets;
+            bucketsLayout = new BucketsLayout(numOfBuckets, 0);
             // we are new so no need for a loadedDataCallback
             loadedDataCallback = null;
             // write metadata
@@ -279,7 +330,7 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                     minimumBuckets,
                     numOfBuckets);
         }
-        bucketIndexToBucketLocation.updateValidRange(0, numOfBuckets - 1);
+        bucketIndexToBucketLocation.updateValidRange(0, bucketsLayout.totalNumOfBuckets() - 1);
         // create file collection
         fileCollection = new DataFileCollection(
                 // Need: propagate MerkleDb config from the database
@@ -287,11 +338,12 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     }
 
     private void writeMetadata(final Path dir) throws IOException {
+        final BucketsLayout layout = bucketsLayout;
         try (DataOutputStream metaOut =
                 new DataOutputStream(Files.newOutputStream(dir.resolve(storeName + METADATA_FILENAME_SUFFIX)))) {
             metaOut.writeInt(METADATA_FILE_FORMAT_VERSION);
-            metaOut.writeInt(0); // backwards compatibility, was: minimumBuckets
-            metaOut.writeInt(numOfBuckets);
+            metaOut.writeInt(layout.numOfBuckets());
+            metaOut.writeInt(layout.splitIndex());
             metaOut.flush();
         }
     }
@@ -344,6 +396,33 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     // =================================================================================================================
     // Writing API - Single thead safe
 
+    /**
+     * Requests the map to grow, if the given number of entries is more than the map can store
+     * with good performance. The number of buckets isn't changed immediately. Instead, buckets
+     * are split incrementally in subsequent {@link #endWriting()} calls, at most {@link
+     * MerkleDbConfig#maxBucketSplitsPerFlush()} buckets per call.
+     *
+     * <p>The number of buckets never shrinks. If the given number of entries is less than what
+     * the map is currently sized for, this method is a no-op.
+     *
+     * @param numOfEntries the current number of entries in the map
+     */
+    public void resizeIfNeeded(final long numOfEntries) {
+        final long minNumOfBuckets =
+                (numOfEntries + GOOD_AVERAGE_BUCKET_ENTRY_COUNT - 1) / GOOD_AVERAGE_BUCKET_ENTRY_COUNT;
+        targetNumOfBuckets = Math.min(minNumOfBuckets, 2L * MAX_NUM_OF_BUCKETS - 1);
+    }
+
+    /**
+     * Returns the current total number of buckets in this map, including the buckets split at
+     * the current level.
+     *
+     * @return the total number of buckets
+     */
+    public int getNumOfBuckets() {
+        return bucketsLayout.totalNumOfBuckets();
+    }
+
     /**
      * Start a writing session to the map. Each new writing session results in a new data file on
      * disk, so you should ideally batch up map writes.
@@ -485,8 +564,10 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                 if (exceptionOccurred.get() != null) {
                     throw exceptionOccurred.get();
                 }
+                // grow the map, if needed
+                splitBuckets();
                 // close files session
-                dataFileReader = fileCollection.endWriting(0, numOfBuckets);
+                dataFileReader = fileCollection.endWriting(0, bucketsLayout.totalNumOfBuckets());
                 // we have updated all indexes so the data file can now be included in merges
                 dataFileReader.setFileCompleted();
             } else {
@@ -501,6 +582,44 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         return dataFileReader;
     }
 
+    /**
+     * Splits buckets one at a time, till the total number of buckets reaches the target set in
+     * {@link #resizeIfNeeded(long)}, or the max number of splits per flush is reached. Must be
+     * called on the writing thread, when all bucket updates for the current flush are complete.
+     *
+     * <p>When a bucket is split, its entries that belong to the new bucket are copied to the new
+     * bucket, but not removed from the original bucket. The original bucket is cleaned up in
+     * {@link ReadUpdateBucketTask}, when it's updated next time. This makes sure concurrent
+     * readers, which may have computed bucket indices using the old layout, always find their
+     * keys. The new bucket layout is published only after the new bucket is written to disk.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void splitBuckets() throws IOException {
+        int splitsLeft = maxBucketSplitsPerFlush;
+        while ((splitsLeft-- > 0) && (bucketsLayout.totalNumOfBuckets() < targetNumOfBuckets)) {
+            final BucketsLayout layout = bucketsLayout;
+            final int splitIndex = layout.splitIndex();
+            final int newBucketIndex = layout.numOfBuckets() + splitIndex;
+            final int newBucketMask = (layout.numOfBuckets() << 1) - 1;
+            bucketIndexToBucketLocation.updateValidRange(0, newBucketIndex);
+            try (final Bucket bucket = readBucket(splitIndex)) {
+                if (bucket != null) {
+                    try (final Bucket newBucket = bucketPool.getBucket()) {
+                        newBucket.setBucketIndex(newBucketIndex);
+                        bucket.copyEntriesTo(newBucket, newBucketMask);
+                        if (!newBucket.isEmpty()) {
+                            final long bucketLocation =
+                                    fileCollection.storeDataItem(newBucket::writeTo, newBucket.sizeInBytes());
+                            bucketIndexToBucketLocation.put(newBucketIndex, bucketLocation);
+                        }
+                    }
+                }
+            }
+            bucketsLayout = layout.nextSplit();
+        }
+    }
+
     /**
      * A task to submit "read bucket" tasks. Tasks are submitted till the number of buckets
      * in progress exceeds MAX_IN_FLIGHT. After that, if there are still unprocessed buckets,
@@ -608,6 +727,8 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                         throw new RuntimeException(
                                 "Bucket index integrity check " + bucketIndex + " != " + bucket.getBucketIndex());
                     }
+                    // If the bucket has been split, remove entries moved to other buckets
+                    bucket.sanitize(bucketIndex, bucketsLayout.bucketMask(bucketIndex));
                 }
                 // Apply all updates
                 keyUpdates.forEachKeyValue(bucket::putValue);
@@ -731,6 +852,64 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         return notFoundValue;
     }
 
+    /**
+     * Get values for multiple keys from this map. Keys are grouped by buckets, so every bucket is
+     * read from disk at most once. Buckets are read on the current thread, in the order of their
+     * locations on disk, i.e. file by file, and sorted by offsets within each file.
+     *
+     * @param keyBytes the keys to get values for
+     * @param keyHashCodes the key hash codes, in the same order as the keys
+     * @param notFoundValue the value to return for keys not found in the map
+     * @return the values retrieved from the map, in the same order as the keys, or {@code
+     *     notFoundValue} for keys with no values stored
+     * @throws IOException If there was a problem reading from the map
+     */
+    public long[] getAll(final List<Bytes> keyBytes, final int[] keyHashCodes, final long notFoundValue)
+            throws IOException {
+        final int count = keyBytes.size();
+        if (keyHashCodes.length != count) {
+            throw new IllegalArgumentException("Number of keys and key hash codes must be equal");
+        }
+        final long[] values = new long[count];
+        if (count == 0) {
+            return values;
+        }
+        final int[] bucketIndices = new int[count];
+        final long[] bucketLocations = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (keyBytes.get(i) == null) {
+                throw new IllegalArgumentException("Can not get a null key");
+            }
+            bucketIndices[i] = computeBucketIndex(keyHashCodes[i]);
+            bucketLocations[i] = bucketIndexToBucketLocation.get(bucketIndices[i], LongList.IMPERMISSIBLE_VALUE);
+        }
+        // Sort keys by bucket locations, then split them into groups, one group per bucket
+        final int[] order = DataFileCommon.readOrder(bucketLocations, bucketIndices);
+        final int[] groupStarts = new int[count + 1];
+        int numOfGroups = 0;
+        for (int i = 0; i < count; i++) {
+            if ((i == 0) || (bucketIndices[order[i]] != bucketIndices[order[i - 1]])) {
+                groupStarts[numOfGroups++] = i;
+            }
+        }
+        groupStarts[numOfGroups] = count;
+        // Read buckets and look up keys
+        for (int group = 0; group < numOfGroups; group++) {
+            final int groupStart = groupStarts[group];
+            final int groupEnd = groupStarts[group + 1];
+            final int bucketIndex = bucketIndices[order[groupStart]];
+            try (final Bucket bucket = readBucket(bucketIndex)) {
+                for (int i = groupStart; i < groupEnd; i++) {
+                    final int keyIndex = order[i];
+                    values[keyIndex] = (bucket != null)
+                            ? bucket.findValue(keyHashCodes[keyIndex], keyBytes.get(keyIndex), notFoundValue)
+                            : notFoundValue;
+                }
+            }
+        }
+        return values;
+    }
+
     private Bucket readBucket(final int bucketIndex) throws IOException {
         final BufferedData bucketData = fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, bucketIndex);
         if (bucketData == null) {
@@ -752,10 +931,12 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                         HalfDiskHashMap Stats {
                         	mapSize = {}
                         	numOfBuckets = {}
+                        	splitIndex = {}
                         	GOOD_AVERAGE_BUCKET_ENTRY_COUNT = {}
                         }""",
                 mapSize,
-                numOfBuckets,
+                bucketsLayout.numOfBuckets(),
+                bucketsLayout.splitIndex(),
                 GOOD_AVERAGE_BUCKET_ENTRY_COUNT);
     }
 
@@ -778,7 +959,53 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
      * @return the index of the bucket that key falls in
      */
     private int computeBucketIndex(final int keyHash) {
-        return (numOfBuckets - 1) & keyHash;
+        return bucketsLayout.bucketIndex(keyHash);
+    }
+
+    /**
+     * Bucket layout in linear hashing style. There are {@code numOfBuckets} buckets at the current
+     * level, and buckets from 0 to {@code splitIndex} (exclusive) have been split into two buckets
+     * each: {@code i} and {@code i + numOfBuckets}.
+     *
+     * @param numOfBuckets the number of buckets at the current level, a power of two
+     * @param splitIndex the number of buckets split at the current level
+     */
+    private record BucketsLayout(int numOfBuckets, int splitIndex) {
+
+        BucketsLayout {
+            if ((numOfBuckets <= 0) || (Integer.bitCount(numOfBuckets) != 1)) {
+                throw new IllegalArgumentException("Number of buckets must be a power of two: " + numOfBuckets);
+            }
+            if ((splitIndex < 0) || (splitIndex >= numOfBuckets)) {
+                throw new IllegalArgumentException("Invalid split index: " + splitIndex);
+            }
+        }
+
+        int totalNumOfBuckets() {
+            return numOfBuckets + splitIndex;
+        }
+
+        int bucketIndex(final int keyHash) {
+            final int bucketIndex = keyHash & (numOfBuckets - 1);
+            return (bucketIndex < splitIndex) ? keyHash & ((numOfBuckets << 1) - 1) : bucketIndex;
+        }
+
+        int bucketMask(final int bucketIndex) {
+            return ((bucketIndex < splitIndex) || (bucketIndex >= numOfBuckets))
+                    ? (numOfBuckets << 1) - 1
+                    : numOfBuckets - 1;
+        }
+
+        BucketsLayout nextSplit() {
+            if (splitIndex + 1 < numOfBuckets) {
+                return new BucketsLayout(numOfBuckets, splitIndex + 1);
+            }
+            if (numOfBuckets >= MAX_NUM_OF_BUCKETS) {
+                // Can't grow any further
+                return this;
+            }
+            return new BucketsLayout(numOfBuckets << 1, 0);
+        }
     }
 
     private record ReadBucketResult(Bucket bucket, Throwable error) {
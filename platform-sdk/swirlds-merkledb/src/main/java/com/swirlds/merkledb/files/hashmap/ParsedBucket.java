@@ -24,6 +24,7 @@ import com.hedera.pbj.runtime.ProtoConstants;
 import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
 import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
@@ -197,6 +198,40 @@ public final class ParsedBucket extends Bucket {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sanitize(final int expectedIndex, final int bucketMask) {
+        entries.removeIf(entry -> (entry.getHashCode() & bucketMask) != expectedIndex);
+        bucketIndex = expectedIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void copyEntriesTo(final Bucket target, final int bucketMask) {
+        final int targetIndex = target.getBucketIndex();
+        for (final BucketEntry entry : entries) {
+            if ((entry.getHashCode() & bucketMask) == targetIndex) {
+                target.putValue(entry.getKeyBytes(), entry.getHashCode(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void appendEntry(final BufferedData entryField) {
+        entryField.readVarInt(false); // tag
+        final int entryBytesSize = entryField.readVarInt(false);
+        entryField.limit(entryField.position() + entryBytesSize);
+        entries.add(new BucketEntry(entryField));
+        checkLargestBucket(entries.size());
+    }
+
     // =================================================================================================================
     // Private API
 
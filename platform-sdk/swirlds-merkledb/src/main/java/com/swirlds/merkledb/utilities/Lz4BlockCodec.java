@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.utilities;
+
+import java.util.Arrays;
+
+/**
+ * Pure Java implementation of LZ4 block format compression and decompression. Compressed blocks are
+ * compatible with the reference LZ4 implementation, i.e. they can be decompressed by any LZ4 block
+ * decoder. Frame format (magic numbers, checksums, block sizes) isn't supported, callers are expected
+ * to store uncompressed block sizes along with compressed data.
+ *
+ * <p>The compressor is a simple single pass greedy compressor with a small hash table. It's not as
+ * good as high compression LZ4 modes, but it's fast, and it's good enough for MerkleDb data items,
+ * which contain lots of repeated bytes (zero bytes in particular).
+ *
+ * <p>This class is thread safe.
+ */
+public final class Lz4BlockCodec {
+
+    /** Min match length */
+    private static final int MIN_MATCH = 4;
+
+    /** The last bytes of a block are always encoded as literals */
+    private static final int LAST_LITERALS = 5;
+
+    /** The last match must start at least this number of bytes before the end of a block */
+    private static final int MF_LIMIT = 12;
+
+    /** Blocks smaller than this are always encoded as literals */
+    private static final int MIN_LENGTH = MF_LIMIT + 1;
+
+    /** Max distance between a match and its reference, limited by the two-byte offset format */
+    private static final int MAX_DISTANCE = 0xFFFF;
+
+    /** Token bits for literal and match lengths */
+    private static final int RUN_MASK = 0x0F;
+
+    private static final int HASH_LOG = 12;
+
+    private static final int HASH_TABLE_SIZE = 1 << HASH_LOG;
+
+    private static final ThreadLocal<int[]> HASH_TABLE = ThreadLocal.withInitial(() -> new int[HASH_TABLE_SIZE]);
+
+    private Lz4BlockCodec() {
+        throw new IllegalStateException("Utility class; should not be instantiated.");
+    }
+
+    /**
+     * Returns the max size of compressed data for the given uncompressed data size. Destination
+     * arrays passed to {@link #compress(byte[], int, int, byte[], int)} must have at least this
+     * number of bytes available.
+     *
+     * @param length uncompressed data size, in bytes
+     * @return max compressed data size, in bytes
+     */
+    public static int maxCompressedLength(final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length: " + length);
+        }
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses data into LZ4 block format.
+     *
+     * @param src source array
+     * @param srcOff offset of data to compress in the source array
+     * @param srcLen number of bytes to compress
+     * @param dst destination array
+     * @param dstOff offset in the destination array to write compressed data to
+     * @return compressed data size, in bytes
+     * @throws IndexOutOfBoundsException if the destination array is too small
+     */
+    public static int compress(
+            final byte[] src, final int srcOff, final int srcLen, final byte[] dst, final int dstOff) {
+        final int srcEnd = srcOff + srcLen;
+        int sOff = srcOff;
+        int dOff = dstOff;
+        int anchor = srcOff;
+        if (srcLen >= MIN_LENGTH) {
+            final int matchLimit = srcEnd - LAST_LITERALS;
+            final int mfLimit = srcEnd - MF_LIMIT;
+            final int[] hashTable = HASH_TABLE.get();
+            // Hash table entries are offsets relative to srcOff plus one, zero means no entry
+            Arrays.fill(hashTable, 0);
+            while (sOff < mfLimit) {
+                final int sequence = readInt(src, sOff);
+                final int h = hash(sequence);
+                int ref = hashTable[h] - 1 + srcOff;
+                hashTable[h] = sOff - srcOff + 1;
+                if ((ref < srcOff) || (sOff - ref > MAX_DISTANCE) || (readInt(src, ref) != sequence)) {
+                    sOff++;
+                    continue;
+                }
+                // Extend the match backwards, as long as there are pending literals
+                while ((sOff > anchor) && (ref > srcOff) && (src[sOff - 1] == src[ref - 1])) {
+                    sOff--;
+                    ref--;
+                }
+                // Extend the match forward
+                int matchLen = MIN_MATCH;
+                while ((sOff + matchLen < matchLimit) && (src[sOff + matchLen] == src[ref + matchLen])) {
+                    matchLen++;
+                }
+                dOff = writeSequence(src, anchor, sOff - anchor, sOff - ref, matchLen, dst, dOff);
+                sOff += matchLen;
+                anchor = sOff;
+                // Improve compression ratio a bit by indexing a position inside the match
+                if (sOff < mfLimit) {
+                    hashTable[hash(readInt(src, sOff - 2))] = sOff - 2 - srcOff + 1;
+                }
+            }
+        }
+        dOff = writeLiterals(src, anchor, srcEnd - anchor, dst, dOff);
+        return dOff - dstOff;
+    }
+
+    /**
+     * Decompresses data in LZ4 block format.
+     *
+     * @param src source array
+     * @param srcOff offset of compressed data in the source array
+     * @param srcLen compressed data size, in bytes
+     * @param dst destination array
+     * @param dstOff offset in the destination array to write decompressed data to
+     * @param dstLen max number of bytes to write to the destination array
+     * @return decompressed data size, in bytes
+     * @throws IllegalArgumentException if compressed data is malformed, or if decompressed data
+     *      doesn't fit into the destination array
+     */
+    public static int decompress(
+            final byte[] src,
+            final int srcOff,
+            final int srcLen,
+            final byte[] dst,
+            final int dstOff,
+            final int dstLen) {
+        final int srcEnd = srcOff + srcLen;
+        final int dstEnd = dstOff + dstLen;
+        int sOff = srcOff;
+        int dOff = dstOff;
+        while (true) {
+            if (sOff >= srcEnd) {
+                throw new IllegalArgumentException("Malformed LZ4 block: unexpected end of data");
+            }
+            final int token = src[sOff++] & 0xFF;
+            // Literals
+            int literalLen = token >>> 4;
+            if (literalLen == RUN_MASK) {
+                int b;
+                do {
+                    if (sOff >= srcEnd) {
+                        throw new IllegalArgumentException("Malformed LZ4 block: unexpected end of data");
+                    }
+                    b = src[sOff++] & 0xFF;
+                    literalLen += b;
+                } while (b == 0xFF);
+            }
+            if ((literalLen > srcEnd - sOff) || (literalLen > dstEnd - dOff)) {
+                throw new IllegalArgumentException("Malformed LZ4 block: literals out of bounds");
+            }
+            System.arraycopy(src, sOff, dst, dOff, literalLen);
+            sOff += literalLen;
+            dOff += literalLen;
+            if (sOff == srcEnd) {
+                // The last sequence contains literals only
+                break;
+            }
+            // Match
+            if (srcEnd - sOff < 2) {
+                throw new IllegalArgumentException("Malformed LZ4 block: unexpected end of data");
+            }
+            final int offset = (src[sOff] & 0xFF) | ((src[sOff + 1] & 0xFF) << 8);
+            sOff += 2;
+            if ((offset == 0) || (offset > dOff - dstOff)) {
+                throw new IllegalArgumentException("Malformed LZ4 block: invalid match offset " + offset);
+            }
+            int matchLen = token & RUN_MASK;
+            if (matchLen == RUN_MASK) {
+                int b;
+                do {
+                    if (sOff >= srcEnd) {
+                        throw new IllegalArgumentException("Malformed LZ4 block: unexpected end of data");
+                    }
+                    b = src[sOff++] & 0xFF;
+                    matchLen += b;
+                } while (b == 0xFF);
+            }
+            matchLen += MIN_MATCH;
+            if (matchLen > dstEnd - dOff) {
+                throw new IllegalArgumentException("Malformed LZ4 block: match out of bounds");
+            }
+            final int ref = dOff - offset;
+            if (offset >= matchLen) {
+                System.arraycopy(dst, ref, dst, dOff, matchLen);
+            } else {
+                // Overlapping copy, e.g. a run of the same byte
+                for (int i = 0; i < matchLen; i++) {
+                    dst[dOff + i] = dst[ref + i];
+                }
+            }
+            dOff += matchLen;
+        }
+        return dOff - dstOff;
+    }
+
+    private static int writeSequence(
+            final byte[] src,
+            final int literalOff,
+            final int literalLen,
+            final int matchOffset,
+            final int matchLen,
+            final byte[] dst,
+            int dOff) {
+        final int tokenOff = dOff++;
+        final int literalToken = Math.min(literalLen, RUN_MASK);
+        if (literalLen >= RUN_MASK) {
+            dOff = writeLength(literalLen - RUN_MASK, dst, dOff);
+        }
+        System.arraycopy(src, literalOff, dst, dOff, literalLen);
+        dOff += literalLen;
+        dst[dOff++] = (byte) matchOffset;
+        dst[dOff++] = (byte) (matchOffset >>> 8);
+        final int matchLenMinusMin = matchLen - MIN_MATCH;
+        final int matchToken = Math.min(matchLenMinusMin, RUN_MASK);
+        if (matchLenMinusMin >= RUN_MASK) {
+            dOff = writeLength(matchLenMinusMin - RUN_MASK, dst, dOff);
+        }
+        dst[tokenOff] = (byte) ((literalToken << 4) | matchToken);
+        return dOff;
+    }
+
+    private static int writeLiterals(
+            final byte[] src, final int literalOff, final int literalLen, final byte[] dst, int dOff) {
+        final int tokenOff = dOff++;
+        if (literalLen >= RUN_MASK) {
+            dOff = writeLength(literalLen - RUN_MASK, dst, dOff);
+        }
+        System.arraycopy(src, literalOff, dst, dOff, literalLen);
+        dOff += literalLen;
+        dst[tokenOff] = (byte) (Math.min(literalLen, RUN_MASK) << 4);
+        return dOff;
+    }
+
+    private static int writeLength(int length, final byte[] dst, int dOff) {
+        while (length >= 0xFF) {
+            dst[dOff++] = (byte) 0xFF;
+            length -= 0xFF;
+        }
+        dst[dOff++] = (byte) length;
+        return dOff;
+    }
+
+    private static int readInt(final byte[] src, final int off) {
+        return (src[off] & 0xFF) | ((src[off + 1] & 0xFF) << 8) | ((src[off + 2] & 0xFF) << 16) | (src[off + 3] << 24);
+    }
+
+    private static int hash(final int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+}
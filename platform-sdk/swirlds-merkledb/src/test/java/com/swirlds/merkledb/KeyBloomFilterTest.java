@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class KeyBloomFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Bytes key(final int i) {
+        // Keys of different lengths, to cover both full longs and tail bytes
+        final byte[] bytes = new byte[4 + (i % 13)];
+        bytes[0] = (byte) (i >>> 24);
+        bytes[1] = (byte) (i >>> 16);
+        bytes[2] = (byte) (i >>> 8);
+        bytes[3] = (byte) i;
+        return Bytes.wrap(bytes);
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyBloomFilter(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new KeyBloomFilter(1000, 0));
+    }
+
+    @Test
+    void emptyFilter() {
+        final KeyBloomFilter filter = new KeyBloomFilter(1000, 10);
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(filter.mightContain(key(i)), "Empty filter must not contain any keys");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 10, 16})
+    void noFalseNegatives(final int bitsPerKey) {
+        final int count = 100_000;
+        final KeyBloomFilter filter = new KeyBloomFilter(count, bitsPerKey);
+        for (int i = 0; i < count; i++) {
+            filter.add(key(i));
+        }
+        for (int i = 0; i < count; i++) {
+            assertTrue(filter.mightContain(key(i)), "Added key must be in the filter: " + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRate() {
+        final int count = 100_000;
+        final KeyBloomFilter filter = new KeyBloomFilter(count, 10);
+        for (int i = 0; i < count; i++) {
+            filter.add(key(i));
+        }
+        int falsePositives = 0;
+        for (int i = count; i < count * 2; i++) {
+            if (filter.mightContain(key(i))) {
+                falsePositives++;
+            }
+        }
+        // Expected rate with 10 bits per key is about 1%
+        assertTrue(falsePositives < count * 0.02, "Too many false positives: " + falsePositives);
+    }
+
+    @Test
+    void writeAndRead() throws IOException {
+        final int count = 10_000;
+        final KeyBloomFilter filter = new KeyBloomFilter(count, 10);
+        for (int i = 0; i < count; i++) {
+            filter.add(key(i));
+        }
+        final Path file = tempDir.resolve("keys.bf");
+        filter.writeToFile(file);
+        final KeyBloomFilter loaded = KeyBloomFilter.readFromFile(file);
+        assertEquals(filter.getCapacity(), loaded.getCapacity());
+        assertEquals(filter.getSizeInBytes(), loaded.getSizeInBytes());
+        for (int i = 0; i < count * 2; i++) {
+            assertEquals(filter.mightContain(key(i)), loaded.mightContain(key(i)), "Loaded filter mismatch: " + i);
+        }
+    }
+
+    @Test
+    void readUnsupportedFile() throws IOException {
+        final Path file = tempDir.resolve("bad.bf");
+        Files.write(file, new byte[] {0, 0, 0, 42, 0, 0, 0, 0});
+        assertThrows(IOException.class, () -> KeyBloomFilter.readFromFile(file));
+    }
+}
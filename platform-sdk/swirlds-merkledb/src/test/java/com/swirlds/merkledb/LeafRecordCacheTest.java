@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static com.swirlds.virtualmap.datasource.VirtualDataSource.INVALID_PATH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class LeafRecordCacheTest {
+
+    private static Bytes key(final int i) {
+        return Bytes.wrap(new byte[] {(byte) (i >>> 24), (byte) (i >>> 16), (byte) (i >>> 8), (byte) i});
+    }
+
+    private static int hash(final int i) {
+        return i * 31 + 7;
+    }
+
+    private static VirtualLeafBytes record(final int i) {
+        return new VirtualLeafBytes(i, key(i), hash(i), Bytes.wrap(new byte[64]));
+    }
+
+    @Test
+    void invalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new LeafRecordCache(0, () -> {}));
+    }
+
+    @Test
+    void putGetInvalidate() {
+        final LeafRecordCache cache = new LeafRecordCache(1024 * 1024, () -> {});
+        assertNull(cache.get(key(1), hash(1)));
+        cache.put(key(1), hash(1), record(1));
+        assertEquals(record(1), cache.get(key(1), hash(1)));
+        // Replace with a key to path mapping
+        final VirtualLeafBytes negative = new VirtualLeafBytes(INVALID_PATH, key(1), hash(1), null);
+        cache.put(key(1), hash(1), negative);
+        assertEquals(negative, cache.get(key(1), hash(1)));
+        assertEquals(1, cache.getCount());
+        cache.invalidate(key(1), hash(1));
+        assertNull(cache.get(key(1), hash(1)));
+        assertEquals(0, cache.getCount());
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    void sizeIsBoundedInBytes() {
+        final long maxSize = 64 * 1024;
+        final AtomicLong evictions = new AtomicLong();
+        final LeafRecordCache cache = new LeafRecordCache(maxSize, evictions::incrementAndGet);
+        for (int i = 0; i < 10_000; i++) {
+            // Access new keys more often than old keys, so new keys are admitted to the cache
+            for (int r = 0; r < 1 + i / 500; r++) {
+                cache.get(key(i), hash(i));
+            }
+            cache.put(key(i), hash(i), record(i));
+            assertTrue(cache.getSizeInBytes() <= maxSize, "Cache size limit is exceeded");
+        }
+        assertTrue(evictions.get() > 0, "Some entries must be evicted");
+        assertTrue(cache.getCount() > 0, "Cache must not be empty");
+        assertTrue(cache.getCount() * LeafRecordCache.ENTRY_OVERHEAD_BYTES <= maxSize, "Too many cached entries");
+    }
+
+    @Test
+    void rejectedEntryDoesNotEvictAnything() {
+        final long maxSize = 64 * 1024;
+        final AtomicLong evictions = new AtomicLong();
+        final LeafRecordCache cache = new LeafRecordCache(maxSize, evictions::incrementAndGet);
+        final long weight = record(0).keyBytes().length() + 64 + LeafRecordCache.ENTRY_OVERHEAD_BYTES;
+        final int count = (int) (maxSize / weight);
+        for (int i = 0; i < count; i++) {
+            if (i == 3) {
+                // Make one of the first eviction candidates frequently accessed
+                for (int r = 0; r < 10; r++) {
+                    cache.get(key(i), hash(i));
+                }
+            }
+            cache.put(key(i), hash(i), record(i));
+        }
+        assertEquals(count, cache.getCount());
+        final long sizeBefore = cache.getSizeInBytes();
+
+        // A large entry, which needs several entries to be evicted, is accessed more often than some
+        // of them, but less often than entry 3
+        final int large = 1_000_000;
+        final VirtualLeafBytes largeRecord =
+                new VirtualLeafBytes(large, key(large), hash(large), Bytes.wrap(new byte[1000]));
+        cache.get(key(large), hash(large));
+        cache.get(key(large), hash(large));
+        cache.put(key(large), hash(large), largeRecord);
+        assertNull(cache.get(key(large), hash(large)), "Large entry must be rejected");
+        assertEquals(0, evictions.get(), "Rejected entry must not evict other entries");
+        assertEquals(count, cache.getCount());
+        assertEquals(sizeBefore, cache.getSizeInBytes());
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(cache.get(key(i), hash(i)), "Entry is evicted for a rejected entry: " + i);
+        }
+    }
+
+    @Test
+    void scanDoesNotEvictHotEntries() {
+        final LeafRecordCache cache = new LeafRecordCache(64 * 1024, () -> {});
+        final int hotCount = 50;
+        // Make some keys hot
+        for (int r = 0; r < 5; r++) {
+            for (int i = 0; i < hotCount; i++) {
+                if (cache.get(key(i), hash(i)) == null) {
+                    cache.put(key(i), hash(i), record(i));
+                }
+            }
+        }
+        // Scan many keys, every key is read once. Hot keys are still read from time to time
+        IntStream.range(1000, 100_000).forEach(i -> {
+            if (cache.get(key(i), hash(i)) == null) {
+                cache.put(key(i), hash(i), record(i));
+            }
+            final int hot = i % hotCount;
+            if (cache.get(key(hot), hash(hot)) == null) {
+                cache.put(key(hot), hash(hot), record(hot));
+            }
+        });
+        for (int i = 0; i < hotCount; i++) {
+            assertNotNull(cache.get(key(i), hash(i)), "Hot entry is evicted by scan: " + i);
+        }
+    }
+}
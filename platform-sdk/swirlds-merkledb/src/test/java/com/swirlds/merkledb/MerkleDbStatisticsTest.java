@@ -84,6 +84,9 @@ class MerkleDbStatisticsTest {
         assertDoesNotThrow(statistics::countHashReads);
         assertDoesNotThrow(statistics::countLeafReads);
         assertDoesNotThrow(statistics::countLeafKeyReads);
+        assertDoesNotThrow(statistics::countLeafCacheHits);
+        assertDoesNotThrow(statistics::countLeafCacheMisses);
+        assertDoesNotThrow(statistics::countLeafCacheEvictions);
         assertDoesNotThrow(() -> statistics.setHashesStoreFileCount(42));
         assertDoesNotThrow(() -> statistics.setHashesStoreFileSizeMb(31415));
         assertDoesNotThrow(() -> statistics.setLeafKeysStoreFileCount(42));
@@ -166,6 +169,36 @@ class MerkleDbStatisticsTest {
         assertValueSet(metric);
     }
 
+    @Test
+    void testCountLeafCacheHits() {
+        // given
+        final Metric metric = getMetric("cache_", "leafHits_" + LABEL);
+        // when
+        statistics.countLeafCacheHits();
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testCountLeafCacheMisses() {
+        // given
+        final Metric metric = getMetric("cache_", "leafMisses_" + LABEL);
+        // when
+        statistics.countLeafCacheMisses();
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testCountLeafCacheEvictions() {
+        // given
+        final Metric metric = getMetric("cache_", "leafEvictions_" + LABEL);
+        // when
+        statistics.countLeafCacheEvictions();
+        // then
+        assertValueSet(metric);
+    }
+
     @Test
     void testSetHashesStoreFileCount() {
         // given
@@ -331,6 +364,48 @@ class MerkleDbStatisticsTest {
         assertValueSet(metric);
     }
 
+    @Test
+    void testHashesStoreCompactionIo() {
+        // given
+        final Metric readMetric = getMetric("compactions_", "hashesReadMb_" + LABEL);
+        final Metric writtenMetric = getMetric("compactions_", "hashesWrittenMb_" + LABEL);
+        final Metric writeAmpMetric = getMetric("compactions_", "hashesWriteAmplification_" + LABEL);
+        // when
+        statistics.setHashesStoreCompactionIo(1.5, 0.5, 2.5);
+        // then
+        assertValueSet(readMetric);
+        assertValueSet(writtenMetric);
+        assertValueSet(writeAmpMetric);
+    }
+
+    @Test
+    void testLeavesStoreCompactionIo() {
+        // given
+        final Metric readMetric = getMetric("compactions_", "leavesReadMb_" + LABEL);
+        final Metric writtenMetric = getMetric("compactions_", "leavesWrittenMb_" + LABEL);
+        final Metric writeAmpMetric = getMetric("compactions_", "leavesWriteAmplification_" + LABEL);
+        // when
+        statistics.setLeavesStoreCompactionIo(1.5, 0.5, 2.5);
+        // then
+        assertValueSet(readMetric);
+        assertValueSet(writtenMetric);
+        assertValueSet(writeAmpMetric);
+    }
+
+    @Test
+    void testLeafKeysStoreCompactionIo() {
+        // given
+        final Metric readMetric = getMetric("compactions_", "leafKeysReadMb_" + LABEL);
+        final Metric writtenMetric = getMetric("compactions_", "leafKeysWrittenMb_" + LABEL);
+        final Metric writeAmpMetric = getMetric("compactions_", "leafKeysWriteAmplification_" + LABEL);
+        // when
+        statistics.setLeafKeysStoreCompactionIo(1.5, 0.5, 2.5);
+        // then
+        assertValueSet(readMetric);
+        assertValueSet(writtenMetric);
+        assertValueSet(writeAmpMetric);
+    }
+
     @Test
     void testOffHeapHashesIndex() {
         // given
@@ -371,6 +446,66 @@ class MerkleDbStatisticsTest {
         assertValueSet(metric);
     }
 
+    @Test
+    void testSnapshotHashesIndexTime() {
+        // given
+        final Metric metric = getMetric("snapshots_", "hashesIndexTimeMs_" + LABEL);
+        // when
+        statistics.setSnapshotHashesIndexTimeMs(1234);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testSnapshotLeavesIndexTime() {
+        // given
+        final Metric metric = getMetric("snapshots_", "leavesIndexTimeMs_" + LABEL);
+        // when
+        statistics.setSnapshotLeavesIndexTimeMs(1234);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testSnapshotHashesTime() {
+        // given
+        final Metric metric = getMetric("snapshots_", "hashesTimeMs_" + LABEL);
+        // when
+        statistics.setSnapshotHashesTimeMs(1234);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testSnapshotLeavesTime() {
+        // given
+        final Metric metric = getMetric("snapshots_", "leavesTimeMs_" + LABEL);
+        // when
+        statistics.setSnapshotLeavesTimeMs(1234);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testSnapshotLeafKeysTime() {
+        // given
+        final Metric metric = getMetric("snapshots_", "leafKeysTimeMs_" + LABEL);
+        // when
+        statistics.setSnapshotLeafKeysTimeMs(1234);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testSnapshotTotalTime() {
+        // given
+        final Metric metric = getMetric("snapshots_", "totalTimeMs_" + LABEL);
+        // when
+        statistics.setSnapshotTotalTimeMs(1234);
+        // then
+        assertValueSet(metric);
+    }
+
     @Test
     void testTableNameWithPeriod() {
         final String complexLabel = "service." + LABEL;
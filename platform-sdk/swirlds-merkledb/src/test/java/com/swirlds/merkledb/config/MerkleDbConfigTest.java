@@ -21,6 +21,8 @@ import com.swirlds.config.api.validation.ConfigViolationException;
 import com.swirlds.config.extensions.sources.SimpleConfigSource;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class MerkleDbConfigTest {
 
@@ -49,4 +51,22 @@ class MerkleDbConfigTest {
         // then
         Assertions.assertEquals(1, configViolationException.getViolations().size());
     }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 1.1})
+    public void testCompactionGarbageRatioThresholdViolation(final double threshold) {
+        // given
+        final ConfigurationBuilder configurationBuilder = ConfigurationBuilder.create()
+                .withConfigDataTypes(MerkleDbConfig.class)
+                .withSources(new SimpleConfigSource("merkleDb.compactionGarbageRatioThreshold", threshold));
+
+        // when
+        final ConfigViolationException configViolationException = Assertions.assertThrows(
+                ConfigViolationException.class,
+                () -> configurationBuilder.build(),
+                "A violation should cancel the initialization");
+
+        // then
+        Assertions.assertEquals(1, configViolationException.getViolations().size());
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import org.junit.jupiter.api.Test;
+
+class CompactionStrategyTest {
+
+    private static final long MB = 1024 * 1024;
+
+    private final Map<DataFileReader, Long> liveItems = new HashMap<>();
+
+    private final ToLongFunction<DataFileReader> liveItemCounts = liveItems::get;
+
+    private DataFileReader file(final int level, final long size, final long items, final long live) {
+        final DataFileReader reader = mock(DataFileReader.class);
+        final DataFileMetadata metadata = mock(DataFileMetadata.class);
+        when(reader.getMetadata()).thenReturn(metadata);
+        when(reader.getSize()).thenReturn(size);
+        when(metadata.getCompactionLevel()).thenReturn(level);
+        when(metadata.getDataItemCount()).thenReturn(items);
+        liveItems.put(reader, live);
+        return reader;
+    }
+
+    @Test
+    void createFromConfig() {
+        final MerkleDbConfig defaultConfig =
+                new TestConfigBuilder().getOrCreateConfig().getConfigData(MerkleDbConfig.class);
+        final CompactionStrategy levels = CompactionStrategy.create(defaultConfig);
+        assertInstanceOf(LevelCompactionStrategy.class, levels);
+        assertFalse(levels.requiresLiveItemCounts());
+
+        final MerkleDbConfig sizeTieredConfig = new TestConfigBuilder()
+                .withValue("merkleDb.compactionStrategy", "SIZE_TIERED")
+                .getOrCreateConfig()
+                .getConfigData(MerkleDbConfig.class);
+        final CompactionStrategy sizeTiered = CompactionStrategy.create(sizeTieredConfig);
+        assertInstanceOf(SizeTieredCompactionStrategy.class, sizeTiered);
+        assertTrue(sizeTiered.requiresLiveItemCounts());
+
+        final MerkleDbConfig garbageRatioConfig = new TestConfigBuilder()
+                .withValue("merkleDb.compactionStrategy", "GARBAGE_RATIO")
+                .getOrCreateConfig()
+                .getConfigData(MerkleDbConfig.class);
+        final CompactionStrategy garbageRatio = CompactionStrategy.create(garbageRatioConfig);
+        assertInstanceOf(GarbageRatioCompactionStrategy.class, garbageRatio);
+        assertTrue(garbageRatio.requiresLiveItemCounts());
+    }
+
+    @Test
+    void liveItemsRatio() {
+        assertEquals(0.25, CompactionStrategy.liveItemsRatio(file(0, MB, 100, 25), liveItemCounts));
+        assertEquals(1.0, CompactionStrategy.liveItemsRatio(file(0, MB, 0, 0), liveItemCounts));
+        assertEquals(1.0, CompactionStrategy.liveItemsRatio(file(0, MB, 100, 200), liveItemCounts));
+    }
+
+    @Test
+    void sizeTieredNotEnoughFiles() {
+        final CompactionStrategy strategy = new SizeTieredCompactionStrategy(3);
+        final List<DataFileReader> files = List.of(file(0, MB, 100, 100), file(0, MB, 100, 100));
+        assertTrue(strategy.selectFilesToCompact(files, liveItemCounts).isEmpty());
+    }
+
+    @Test
+    void sizeTieredSmallFilesInOneTier() {
+        final CompactionStrategy strategy = new SizeTieredCompactionStrategy(3);
+        final DataFileReader small1 = file(0, MB, 100, 100);
+        final DataFileReader small2 = file(0, 5 * MB, 100, 100);
+        final DataFileReader small3 = file(1, 10 * MB, 100, 100);
+        final DataFileReader large = file(2, 1024 * MB, 100, 100);
+        final List<DataFileReader> result =
+                strategy.selectFilesToCompact(List.of(large, small1, small2, small3), liveItemCounts);
+        assertEquals(Set.of(small1, small2, small3), Set.copyOf(result));
+    }
+
+    @Test
+    void sizeTieredPicksTierWithMostGarbage() {
+        final CompactionStrategy strategy = new SizeTieredCompactionStrategy(2);
+        // Tier of ~100Mb files, no garbage
+        final DataFileReader mid1 = file(1, 100 * MB, 100, 100);
+        final DataFileReader mid2 = file(1, 110 * MB, 100, 100);
+        // Tier of ~1Gb live data files, half of the items are garbage
+        final DataFileReader large1 = file(2, 2000 * MB, 100, 50);
+        final DataFileReader large2 = file(2, 2200 * MB, 100, 50);
+        final List<DataFileReader> result =
+                strategy.selectFilesToCompact(List.of(mid1, large1, mid2, large2), liveItemCounts);
+        assertEquals(Set.of(large1, large2), Set.copyOf(result));
+    }
+
+    @Test
+    void sizeTieredNoTierWithEnoughFiles() {
+        final CompactionStrategy strategy = new SizeTieredCompactionStrategy(2);
+        final List<DataFileReader> files =
+                List.of(file(1, 100 * MB, 100, 100), file(2, 1000 * MB, 100, 100), file(3, 10000 * MB, 100, 100));
+        assertTrue(strategy.selectFilesToCompact(files, liveItemCounts).isEmpty());
+    }
+
+    @Test
+    void garbageRatioInvalidThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new GarbageRatioCompactionStrategy(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GarbageRatioCompactionStrategy(3, 1.5));
+    }
+
+    @Test
+    void garbageRatioSelectsFilesAboveThreshold() {
+        final CompactionStrategy strategy = new GarbageRatioCompactionStrategy(3, 0.5);
+        final DataFileReader level0 = file(0, MB, 100, 100);
+        final DataFileReader clean = file(2, 100 * MB, 100, 90);
+        final DataFileReader dirty = file(2, 100 * MB, 100, 40);
+        final DataFileReader empty = file(3, 1000 * MB, 100, 0);
+        final List<DataFileReader> result =
+                strategy.selectFilesToCompact(List.of(level0, clean, dirty, empty), liveItemCounts);
+        assertEquals(List.of(dirty, empty), result);
+    }
+
+    @Test
+    void garbageRatioCompactsLevel0Files() {
+        final CompactionStrategy strategy = new GarbageRatioCompactionStrategy(2, 0.5);
+        final DataFileReader level0a = file(0, MB, 100, 100);
+        final DataFileReader level0b = file(0, MB, 100, 100);
+        final DataFileReader clean = file(2, 100 * MB, 100, 90);
+        final List<DataFileReader> result =
+                strategy.selectFilesToCompact(List.of(level0a, clean, level0b), liveItemCounts);
+        assertEquals(List.of(level0a, level0b), result);
+    }
+}
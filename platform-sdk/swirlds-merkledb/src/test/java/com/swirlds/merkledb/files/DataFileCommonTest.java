@@ -16,10 +16,14 @@
 
 package com.swirlds.merkledb.files;
 
+import static com.swirlds.merkledb.files.DataFileCommon.dataLocation;
 import static com.swirlds.merkledb.files.DataFileCommon.formatSizeBytes;
+import static com.swirlds.merkledb.files.DataFileCommon.readOrder;
 import static com.swirlds.merkledb.files.DataFileCommon.roundTwoDecimals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -36,4 +40,30 @@ class DataFileCommonTest {
     void formatsAsExpected(final long size, final String desc) {
         assertEquals(desc, formatSizeBytes(size), "Should recognize the largest size denomination relevant");
     }
+
+    @Test
+    void readOrderSortsByDataLocation() {
+        final long[] locations = {
+            dataLocation(2, 100), dataLocation(1, 500), dataLocation(2, 10), dataLocation(1, 500), dataLocation(0, 7)
+        };
+        assertArrayEquals(
+                new int[] {4, 1, 3, 2, 0},
+                readOrder(locations, null),
+                "Items should be ordered by file, then by offset, then by index");
+    }
+
+    @Test
+    void readOrderBreaksTiesBySecondaryKeys() {
+        final long[] locations = {dataLocation(1, 64), dataLocation(0, 8), dataLocation(1, 64), dataLocation(1, 64)};
+        final int[] secondaryKeys = {7, 3, 2, 7};
+        assertArrayEquals(
+                new int[] {1, 2, 0, 3},
+                readOrder(locations, secondaryKeys),
+                "Items with equal locations should be ordered by secondary keys, then by index");
+    }
+
+    @Test
+    void readOrderOfNoItems() {
+        assertArrayEquals(new int[0], readOrder(new long[0], new int[0]), "No items should give an empty order");
+    }
 }
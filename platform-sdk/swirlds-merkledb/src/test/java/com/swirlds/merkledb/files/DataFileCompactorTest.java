@@ -17,7 +17,6 @@
 package com.swirlds.merkledb.files;
 
 import static com.swirlds.common.test.fixtures.RandomUtils.nextInt;
-import static com.swirlds.merkledb.files.DataFileCompactor.compactionPlan;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -72,6 +71,12 @@ class DataFileCompactorTest {
         when(metadata.getCompactionLevel()).thenReturn(level);
     }
 
+    private static List<? extends DataFileReader> compactionPlan(
+            final List<DataFileReader> readers, final int minNumberOfFilesToCompact, final int maxCompactionLevel) {
+        return new LevelCompactionStrategy(minNumberOfFilesToCompact, maxCompactionLevel)
+                .selectFilesToCompact(readers, null);
+    }
+
     @Test
     void testEmptyCompactionPlan() {
         assertEquals(0, compactionPlan(emptyList(), nextInt(), nextInt()).size());
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static com.swirlds.merkledb.files.DataFileCompactor.INITIAL_COMPACTION_LEVEL;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.common.config.singleton.ConfigurationHolder;
+import com.swirlds.common.io.utility.LegacyTemporaryFileBuilder;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DataFileCompressionTest {
+
+    private static final int COUNT = 3000;
+
+    private final MerkleDbConfig dbConfig = ConfigurationHolder.getConfigData(MerkleDbConfig.class);
+
+    /**
+     * Test data items are mostly zeroes, with some item specific bytes. Every 100th item is larger
+     * than the max compression block size.
+     */
+    private static byte[] dataItem(final int i) {
+        final int size = (i % 100 == 99) ? DataFileCommon.MAX_COMPRESSION_BLOCK_SIZE + 100 : 20 + (i * 7) % 200;
+        final byte[] bytes = new byte[size];
+        for (int j = 0; j < size; j += 8) {
+            bytes[j] = (byte) (i + j);
+        }
+        return bytes;
+    }
+
+    private static byte[] toBytes(final BufferedData data) {
+        final byte[] bytes = new byte[Math.toIntExact(data.remaining())];
+        data.getBytes(data.position(), bytes);
+        return bytes;
+    }
+
+    private long[] writeItems(final DataFileWriter writer, final DataFileReader reader) throws IOException {
+        final Random random = new Random(COUNT);
+        final long[] locations = new long[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            final byte[] bytes = dataItem(i);
+            locations[i] = (i % 2 == 0)
+                    ? writer.storeDataItem(BufferedData.wrap(bytes))
+                    : writer.storeDataItem(o -> o.writeBytes(bytes), bytes.length);
+            // Data items must be readable while the file is being written
+            final int j = random.nextInt(i + 1);
+            assertArrayEquals(dataItem(j), toBytes(reader.readDataItem(locations[j])), "Wrong data item " + j);
+        }
+        return locations;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1024, 16 * 1024, DataFileCommon.MAX_COMPRESSION_BLOCK_SIZE})
+    @DisplayName("Write, read, and iterate over compressed data file")
+    void writeReadIterate(final int blockSize) throws IOException {
+        final Path tmpDir = LegacyTemporaryFileBuilder.buildTemporaryDirectory("writeReadIterate");
+        final DataFileWriter writer =
+                new DataFileWriter("test", tmpDir, 1, Instant.now(), INITIAL_COMPACTION_LEVEL, blockSize);
+        final DataFileMetadata metadata = writer.getMetadata();
+        assertTrue(metadata.isCompressed());
+        assertEquals(blockSize, metadata.getCompressionBlockSize());
+        final DataBlockCache cache = new DataBlockCache(16);
+        final DataFileReader reader = new DataFileReader(dbConfig, writer.getPath(), metadata, cache, writer);
+        try {
+            final long[] locations = writeItems(writer, reader);
+            writer.finishWriting();
+            reader.setFileCompleted();
+            for (int i = 0; i < COUNT; i++) {
+                assertArrayEquals(dataItem(i), toBytes(reader.readDataItem(locations[i])), "Wrong data item " + i);
+            }
+
+            // Reopen the file
+            final DataFileMetadata loadedMetadata = new DataFileMetadata(writer.getPath());
+            assertEquals(metadata, loadedMetadata, "Metadata must be preserved");
+            assertEquals(COUNT, loadedMetadata.getDataItemCount());
+            final DataFileReader loadedReader = new DataFileReader(dbConfig, writer.getPath(), loadedMetadata);
+            try {
+                loadedReader.setFileCompleted();
+                assertFalse(loadedReader.isMapped(), "Compressed files must not be mapped");
+                for (int i = COUNT - 1; i >= 0; i--) {
+                    assertArrayEquals(
+                            dataItem(i), toBytes(loadedReader.readDataItem(locations[i])), "Wrong data item " + i);
+                }
+            } finally {
+                loadedReader.close();
+            }
+
+            // Iterate over the file, data item locations must match locations returned by the writer
+            int count = 0;
+            try (final DataFileIterator iterator = loadedReader.createIterator()) {
+                while (iterator.next()) {
+                    assertEquals(locations[count], iterator.getDataItemDataLocation(), "Wrong data item location");
+                    assertArrayEquals(dataItem(count), toBytes(iterator.getDataItemData()), "Wrong data item");
+                    count++;
+                }
+            }
+            assertEquals(COUNT, count, "Wrong number of data items");
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Compressed data files are smaller than uncompressed")
+    void compressedFileIsSmaller() throws IOException {
+        final Path tmpDir = LegacyTemporaryFileBuilder.buildTemporaryDirectory("compressedFileIsSmaller");
+        final DataFileWriter plainWriter = new DataFileWriter("plain", tmpDir, 1, Instant.now(), 0);
+        final DataFileWriter compressedWriter = new DataFileWriter("compressed", tmpDir, 2, Instant.now(), 0, 16384);
+        for (int i = 0; i < COUNT; i++) {
+            plainWriter.storeDataItem(BufferedData.wrap(dataItem(i)));
+            compressedWriter.storeDataItem(BufferedData.wrap(dataItem(i)));
+        }
+        plainWriter.finishWriting();
+        compressedWriter.finishWriting();
+        assertFalse(plainWriter.getMetadata().isCompressed());
+        final long plainSize = Files.size(plainWriter.getPath());
+        final long compressedSize = Files.size(compressedWriter.getPath());
+        assertTrue(compressedSize * 2 < plainSize, "Compressed file is too large: " + compressedSize);
+    }
+
+    @Test
+    @DisplayName("Invalid compression block size")
+    void invalidBlockSize() throws IOException {
+        final Path tmpDir = LegacyTemporaryFileBuilder.buildTemporaryDirectory("invalidBlockSize");
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new DataFileWriter(
+                        "test", tmpDir, 1, Instant.now(), 0, DataFileCommon.MAX_COMPRESSION_BLOCK_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> new DataFileWriter("test", tmpDir, 1, Instant.now(), 0, -1));
+    }
+
+    @Test
+    @DisplayName("Block cache")
+    void blockCache() {
+        final DataBlockCache cache = new DataBlockCache(4);
+        final byte[] block = new byte[10];
+        cache.put(1, 2, block);
+        assertSame(block, cache.get(1, 2));
+        assertNull(cache.get(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> new DataBlockCache(0));
+    }
+}
@@ -16,16 +16,26 @@
 
 package com.swirlds.merkledb.files;
 
-import static org.junit.jupiter.api.Assertions.*;
+import static com.swirlds.merkledb.files.DataFileCompactor.INITIAL_COMPACTION_LEVEL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.MockitoAnnotations.openMocks;
 
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.common.config.singleton.ConfigurationHolder;
+import com.swirlds.common.io.utility.LegacyTemporaryFileBuilder;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 
 class DataFileReaderTest {
@@ -130,6 +140,47 @@ class DataFileReaderTest {
         assertEquals(2, dataFileReader.leaseFileChannel());
     }
 
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1024, 1024 * 1024})
+    void testMappedReads(final long maxMappedDataFileSize) throws IOException {
+        final MerkleDbConfig mmapConfig = new TestConfigBuilder()
+                .withValue("merkleDb.mmapDataFileReadsEnabled", true)
+                .withValue("merkleDb.maxMappedDataFileSize", maxMappedDataFileSize)
+                .getOrCreateConfig()
+                .getConfigData(MerkleDbConfig.class);
+        final Path tmpDir = LegacyTemporaryFileBuilder.buildTemporaryDirectory("testMappedReads");
+        final DataFileWriter writer = new DataFileWriter("test", tmpDir, 0, Instant.now(), INITIAL_COMPACTION_LEVEL);
+        final int count = 1000;
+        final long[] locations = new long[count];
+        for (int i = 0; i < count; i++) {
+            final int fi = i;
+            locations[i] = writer.storeDataItem(
+                    o -> {
+                        o.writeLong(fi);
+                        o.writeLong(fi * 3L);
+                    },
+                    2 * Long.BYTES);
+        }
+        writer.finishWriting();
+        final DataFileReader reader = new DataFileReader(mmapConfig, writer.getPath(), writer.getMetadata());
+        try {
+            assertFalse(reader.isMapped(), "Incomplete files must not be mapped");
+            reader.setFileCompleted();
+            final boolean expectMapped = reader.getSize() <= maxMappedDataFileSize;
+            assertEquals(expectMapped, reader.isMapped(), "Unexpected mapping state");
+            for (int i = count - 1; i >= 0; i--) {
+                final BufferedData itemBytes = reader.readDataItem(locations[i]);
+                assertEquals(2 * Long.BYTES, itemBytes.remaining());
+                assertEquals(i, itemBytes.readLong());
+                assertEquals(i * 3L, itemBytes.readLong());
+            }
+        } finally {
+            reader.close();
+        }
+        assertFalse(reader.isMapped(), "Closed readers must not keep mappings");
+        assertNull(reader.readDataItem(locations[0]), "Closed readers must not read unmapped data");
+    }
+
     @AfterEach
     public void tearDown() {
         file.deleteOnExit();
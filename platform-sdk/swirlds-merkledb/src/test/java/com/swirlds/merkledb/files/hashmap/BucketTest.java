@@ -28,6 +28,7 @@ import com.swirlds.virtualmap.serialize.KeySerializer;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.function.Function;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
@@ -300,6 +301,42 @@ class BucketTest {
                 () -> bucket.putValue(keyType.keySerializer.toBytes(key1), key1.hashCode(), INVALID_VALUE, 1));
     }
 
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    void splitAndSanitizeBucket(final KeyType keyType) throws IOException {
+        for (final Bucket bucket : new Bucket[] {new Bucket(), new ParsedBucket()}) {
+            // only keys that belong to bucket 1 of 2
+            final VirtualKey[] testKeys = LongStream.range(0, 100)
+                    .mapToObj(keyType.keyConstructor::apply)
+                    .filter(key -> (key.hashCode() & 0b1) == 1)
+                    .toArray(VirtualKey[]::new);
+            bucket.setBucketIndex(1);
+            for (final VirtualKey key : testKeys) {
+                bucket.putValue(keyType.keySerializer.toBytes(key), key.hashCode(), keyType.getKeyAsLong(key) + 100);
+            }
+            // split bucket 1 of 2 into buckets 1 and 3 of 4
+            final Bucket newBucket = new Bucket();
+            newBucket.setBucketIndex(3);
+            bucket.copyEntriesTo(newBucket, 0b11);
+            assertEquals(testKeys.length, bucket.getBucketEntryCount(), "Original bucket should not change");
+            bucket.sanitize(1, 0b11);
+            assertEquals(1, bucket.getBucketIndex(), "Bucket index should not change");
+            assertEquals(
+                    testKeys.length,
+                    bucket.getBucketEntryCount() + newBucket.getBucketEntryCount(),
+                    "All entries should be in one of the buckets");
+            for (final VirtualKey key : testKeys) {
+                final Bucket expectedBucket = (key.hashCode() & 0b11) == 3 ? newBucket : bucket;
+                final Bucket otherBucket = expectedBucket == bucket ? newBucket : bucket;
+                checkKey(keyType, expectedBucket, key);
+                assertEquals(
+                        -1,
+                        otherBucket.findValue(key.hashCode(), keyType.keySerializer.toBytes(key), -1),
+                        "Key should only be in one bucket");
+            }
+        }
+    }
+
     private void checkKey(KeyType keyType, Bucket bucket, VirtualKey key) {
         var findResult = assertDoesNotThrow(
                 () -> bucket.findValue(key.hashCode(), keyType.keySerializer.toBytes(key), -1),
@@ -18,6 +18,7 @@ package com.swirlds.merkledb.files.hashmap;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
@@ -183,6 +184,60 @@ class HalfDiskHashMapTest {
         checkData(testType, map, 600, 400, 1);
     }
 
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void growNumberOfBuckets(FilesTestType testType) throws Exception {
+        final Path tempSnapshotDir = tempDirPath.resolve("GrowNumberOfBucketsSnapshot_" + testType.name());
+        // create a map sized for 1000 entries, but store 20_000 entries in it
+        final HalfDiskHashMap map = createNewTempMap(testType, 1000);
+        final int initialNumOfBuckets = map.getNumOfBuckets();
+        for (int i = 0; i < 20; i++) {
+            map.resizeIfNeeded((i + 1) * 1000L);
+            createSomeData(testType, map, i * 1000, 1000, 1);
+            checkData(testType, map, 0, (i + 1) * 1000, 1);
+        }
+        assertTrue(map.getNumOfBuckets() > initialNumOfBuckets, "The number of buckets should grow");
+        // update and delete some data, which cleans up split buckets
+        createSomeData(testType, map, 5000, 1000, 2);
+        map.startWriting();
+        for (int i = 0; i < 1000; i++) {
+            final VirtualKey key = testType.createVirtualLongKey(i);
+            map.delete(testType.keySerializer.toBytes(key), key.hashCode());
+        }
+        map.endWriting();
+        for (int i = 0; i < 1000; i++) {
+            final VirtualKey key = testType.createVirtualLongKey(i);
+            assertEquals(-1, map.get(testType.keySerializer.toBytes(key), key.hashCode(), -1), "Expect not to exist");
+        }
+        checkData(testType, map, 1000, 4000, 1);
+        checkData(testType, map, 5000, 1000, 2);
+        checkData(testType, map, 6000, 14_000, 1);
+        // the number of buckets should be preserved in snapshots
+        map.snapshot(tempSnapshotDir);
+        final HalfDiskHashMap mapFromSnapshot =
+                new HalfDiskHashMap(dbConfig, 1000, tempSnapshotDir, "HalfDiskHashMapTest", null, false);
+        assertEquals(map.getNumOfBuckets(), mapFromSnapshot.getNumOfBuckets(), "Wrong number of buckets");
+        checkData(testType, mapFromSnapshot, 1000, 4000, 1);
+        checkData(testType, mapFromSnapshot, 5000, 1000, 2);
+        checkData(testType, mapFromSnapshot, 6000, 14_000, 1);
+        mapFromSnapshot.close();
+        map.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void largeMapStartsSmall(FilesTestType testType) throws Exception {
+        // a map sized for 100M entries would need millions of buckets, but it starts small
+        final HalfDiskHashMap map = createNewTempMap(testType, 100_000_000);
+        final int initialNumOfBuckets = map.getNumOfBuckets();
+        assertTrue(initialNumOfBuckets <= 1024, "A new map should start with a small number of buckets");
+        map.resizeIfNeeded(50_000);
+        createSomeData(testType, map, 0, 50_000, 1);
+        assertTrue(map.getNumOfBuckets() > initialNumOfBuckets, "Buckets should be split as entries are added");
+        checkData(testType, map, 0, 50_000, 1);
+        map.close();
+    }
+
     @Test
     void testOverwritesWithCollision() throws IOException {
         final FilesTestType testType = FilesTestType.fixed;
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class Lz4BlockCodecTest {
+
+    private static byte[] compressAndDecompress(final byte[] data) {
+        // Use non-zero offsets in both source and destination arrays
+        final byte[] src = new byte[data.length + 3];
+        System.arraycopy(data, 0, src, 3, data.length);
+        final byte[] compressed = new byte[Lz4BlockCodec.maxCompressedLength(data.length) + 5];
+        final int compressedSize = Lz4BlockCodec.compress(src, 3, data.length, compressed, 5);
+        assertTrue(compressedSize <= Lz4BlockCodec.maxCompressedLength(data.length), "Compressed data is too large");
+        final byte[] decompressed = new byte[data.length + 2];
+        final int decompressedSize =
+                Lz4BlockCodec.decompress(compressed, 5, compressedSize, decompressed, 2, data.length);
+        assertEquals(data.length, decompressedSize, "Wrong decompressed size");
+        assertArrayEquals(data, Arrays.copyOfRange(decompressed, 2, 2 + data.length), "Wrong decompressed data");
+        return Arrays.copyOfRange(compressed, 5, 5 + compressedSize);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 5, 12, 13, 100, 4096, 65536, 300_000})
+    @DisplayName("Random data round trip")
+    void randomData(final int size) {
+        final Random random = new Random(size);
+        final byte[] data = new byte[size];
+        random.nextBytes(data);
+        compressAndDecompress(data);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {13, 100, 4096, 65536, 300_000})
+    @DisplayName("Compressible data round trip")
+    void compressibleData(final int size) {
+        final Random random = new Random(size);
+        final byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            // Mostly zeroes, with some random bytes, similar to serialized leaves
+            data[i] = (random.nextInt(8) == 0) ? (byte) random.nextInt() : 0;
+        }
+        final byte[] compressed = compressAndDecompress(data);
+        if (size >= 4096) {
+            assertTrue(compressed.length < size / 2, "Data must be compressed at least 2x");
+        }
+    }
+
+    @Test
+    @DisplayName("Overlapping matches round trip")
+    void overlappingMatches() {
+        final byte[] data = new byte[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 3);
+        }
+        final byte[] compressed = compressAndDecompress(data);
+        assertTrue(compressed.length < 100, "Repeated pattern must be compressed well");
+    }
+
+    @Test
+    @DisplayName("Known LZ4 block is decompressed")
+    void knownBlock() {
+        // Literals "abc", then a match of length 9 at offset 3, then 5 literals "abcde"
+        final byte[] compressed = {0x35, 'a', 'b', 'c', 3, 0, 0x50, 'a', 'b', 'c', 'd', 'e'};
+        final byte[] decompressed = new byte[17];
+        assertEquals(17, Lz4BlockCodec.decompress(compressed, 0, compressed.length, decompressed, 0, 17));
+        assertArrayEquals("abcabcabcabcabcde".getBytes(), decompressed);
+    }
+
+    @Test
+    @DisplayName("Malformed blocks are rejected")
+    void malformedBlocks() {
+        final byte[] data = new byte[1000];
+        Arrays.fill(data, (byte) 7);
+        final byte[] compressed = new byte[Lz4BlockCodec.maxCompressedLength(data.length)];
+        final int compressedSize = Lz4BlockCodec.compress(data, 0, data.length, compressed, 0);
+        // Truncated block
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Lz4BlockCodec.decompress(compressed, 0, compressedSize - 3, new byte[1000], 0, 1000));
+        // Destination is too small
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Lz4BlockCodec.decompress(compressed, 0, compressedSize, new byte[999], 0, 999));
+        // Match offset before the beginning of data
+        final byte[] badOffset = {0x10, 'a', 2, 0, 0x00};
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Lz4BlockCodec.decompress(badOffset, 0, badOffset.length, new byte[100], 0, 100));
+    }
+}
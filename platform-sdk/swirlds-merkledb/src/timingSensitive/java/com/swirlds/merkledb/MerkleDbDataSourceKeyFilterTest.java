@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.swirlds.merkledb;
+
+import static com.swirlds.common.test.fixtures.AssertionUtils.assertEventuallyEquals;
+import static com.swirlds.merkledb.MerkleDbDataSourceTest.assertEqualsAndPrint;
+import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.createMetrics;
+import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.getMetric;
+import static com.swirlds.virtualmap.datasource.VirtualDataSource.INVALID_PATH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.io.utility.LegacyTemporaryFileBuilder;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.test.fixtures.TestType;
+import com.swirlds.metrics.api.Metric.ValueType;
+import com.swirlds.metrics.api.Metrics;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import com.swirlds.virtualmap.serialize.KeySerializer;
+import com.swirlds.virtualmap.serialize.ValueSerializer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class MerkleDbDataSourceKeyFilterTest {
+
+    private static final String TABLE_NAME = "keyFilter";
+
+    private static final int COUNT = 1000;
+
+    private static final TestType TEST_TYPE = TestType.fixed_fixed;
+
+    private static final String LEAF_KEY_READS = "ds_reads_leafKeys_";
+
+    private static final String FILTER_NEGATIVES = "ds_reads_leafKeysFilterNegatives_";
+
+    private static final String FILTER_FALSE_POSITIVES = "ds_reads_leafKeysFilterFalsePositives_";
+
+    private final KeySerializer keySerializer = TEST_TYPE.dataType().getKeySerializer();
+
+    private final ValueSerializer valueSerializer = TEST_TYPE.dataType().getValueSerializer();
+
+    // Leaf record cache is disabled, so every key passed by the filter is looked up in the key to path store
+    private final MerkleDbConfig config = new TestConfigBuilder()
+            .withValue("merkleDb.keyBloomFilterBitsPerKey", 10)
+            .withValue("merkleDb.leafRecordCacheSizeBytes", 0)
+            .getOrCreateConfig()
+            .getConfigData(MerkleDbConfig.class);
+
+    @BeforeAll
+    static void setup() {
+        ConstructableRegistry.getInstance().registerConstructables("com.swirlds.merkledb");
+    }
+
+    @AfterEach
+    void checkNoOpenDatabases() {
+        assertEventuallyEquals(
+                0L, MerkleDbDataSource::getCountOfOpenDatabases, Duration.ofSeconds(1), "Expected no open dbs");
+    }
+
+    @Test
+    void filterNegativesSkipKeyToPathStore() throws IOException {
+        final MerkleDbDataSource dataSource = createDataSource(buildDbPath("filterNegatives"));
+        final Metrics metrics = createMetrics();
+        dataSource.registerMetrics(metrics);
+        try {
+            saveLeaves(dataSource);
+            assertLeavesFound(dataSource);
+            assertEquals(COUNT * 3L, metricValue(metrics, dataSource, LEAF_KEY_READS));
+            assertEquals(0, metricValue(metrics, dataSource, FILTER_NEGATIVES));
+
+            assertMissingKeysNotFound(dataSource);
+            final long negatives = metricValue(metrics, dataSource, FILTER_NEGATIVES);
+            final long falsePositives = metricValue(metrics, dataSource, FILTER_FALSE_POSITIVES);
+            // Every missing key is looked up three times: findKey, loadLeafRecord, loadLeafRecords
+            assertEquals(COUNT * 3L, negatives + falsePositives);
+            assertTrue(negatives > COUNT * 2L, "Most missing keys must be rejected by the key filter");
+            // Only keys passed by the filter are read from the key to path store
+            assertEquals(COUNT * 3L + falsePositives, metricValue(metrics, dataSource, LEAF_KEY_READS));
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void keyFilterSavedInSnapshotAndRestored() throws IOException {
+        final Snapshot snapshot = snapshotWithLeaves("snapshotRestore");
+        assertTrue(Files.exists(snapshot.paths().keyFilterFile), "Key filter must be saved in the snapshot");
+
+        final MerkleDbDataSource restored = snapshot.database().getDataSource(TABLE_NAME, false);
+        final Metrics metrics = createMetrics();
+        restored.registerMetrics(metrics);
+        try {
+            assertLeavesFound(restored);
+            assertMissingKeysNotFound(restored);
+            assertTrue(
+                    metricValue(metrics, restored, FILTER_NEGATIVES) > COUNT * 2L,
+                    "Restored key filter must reject most missing keys");
+        } finally {
+            restored.close();
+        }
+    }
+
+    @Test
+    void keyFilterRebuiltWhenMissingInSnapshot() throws IOException {
+        final Snapshot snapshot = snapshotWithLeaves("snapshotRebuild");
+        Files.delete(snapshot.paths().keyFilterFile);
+
+        final MerkleDbDataSource restored = snapshot.database().getDataSource(TABLE_NAME, false);
+        final Metrics metrics = createMetrics();
+        restored.registerMetrics(metrics);
+        try {
+            // No filter is loaded, all lookups go to the key to path store
+            assertMissingKeysNotFound(restored);
+            assertEquals(0, metricValue(metrics, restored, FILTER_NEGATIVES));
+            assertEquals(COUNT * 3L, metricValue(metrics, restored, LEAF_KEY_READS));
+
+            restored.rebuildKeyFilterIfNeeded();
+            // The rebuilt filter must contain all live keys
+            assertLeavesFound(restored);
+            assertMissingKeysNotFound(restored);
+            assertTrue(
+                    metricValue(metrics, restored, FILTER_NEGATIVES) > COUNT * 2L,
+                    "Rebuilt key filter must reject most missing keys");
+        } finally {
+            restored.close();
+        }
+    }
+
+    @Test
+    void keyFilterRebuiltAfterRemovals() throws IOException {
+        final MerkleDbDataSource dataSource = createDataSource(buildDbPath("rebuildAfterRemovals"));
+        final Metrics metrics = createMetrics();
+        dataSource.registerMetrics(metrics);
+        try {
+            saveLeaves(dataSource);
+            // Remove most leaves. Leaves at paths [COUNT, lastLeafPath] are kept
+            final int lastLeafPath = COUNT + COUNT / 4;
+            dataSource.saveRecords(
+                    COUNT,
+                    lastLeafPath,
+                    Stream.empty(),
+                    Stream.empty(),
+                    IntStream.range(lastLeafPath + 1, COUNT * 2).mapToObj(this::leafBytes));
+
+            // Removed keys are still in the old filter, so they are read from the key to path store
+            IntStream.range(lastLeafPath + 1, COUNT * 2).forEach(i -> assertKeyNotFound(dataSource, i));
+            assertEquals(0, metricValue(metrics, dataSource, FILTER_NEGATIVES));
+
+            dataSource.rebuildKeyFilterIfNeeded();
+            IntStream.rangeClosed(COUNT, lastLeafPath).forEach(i -> assertKeyFound(dataSource, i));
+            IntStream.range(lastLeafPath + 1, COUNT * 2).forEach(i -> assertKeyNotFound(dataSource, i));
+            assertTrue(
+                    metricValue(metrics, dataSource, FILTER_NEGATIVES) > (COUNT * 2L - lastLeafPath) / 2,
+                    "Rebuilt key filter must reject most removed keys");
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    // =================================================================================================================
+    // Helper Methods
+
+    private static Path buildDbPath(final String name) throws IOException {
+        return LegacyTemporaryFileBuilder.buildTemporaryFile("MerkleDbDataSourceKeyFilterTest-" + name);
+    }
+
+    private MerkleDbDataSource createDataSource(final Path dbPath) throws IOException {
+        final MerkleDb database = MerkleDb.getInstance(dbPath, config);
+        final MerkleDbTableConfig tableConfig =
+                new MerkleDbTableConfig((short) 1, DigestType.SHA_384).maxNumberOfKeys(COUNT * 10L);
+        return database.createDataSource(TABLE_NAME, tableConfig, false);
+    }
+
+    /**
+     * A data source snapshot: the snapshot database and the data source files in it.
+     */
+    private record Snapshot(MerkleDb database, MerkleDbPaths paths) {}
+
+    /**
+     * Creates a data source with leaves at paths [COUNT, COUNT * 2), snapshots it and closes it.
+     * The snapshot database uses the same config as the original database.
+     */
+    private Snapshot snapshotWithLeaves(final String name) throws IOException {
+        final MerkleDbDataSource dataSource = createDataSource(buildDbPath(name));
+        final Path snapshotPath = buildDbPath(name + "-snapshot");
+        // Create the snapshot database first, otherwise it would be created with the default config
+        final MerkleDb snapshotDb = MerkleDb.getInstance(snapshotPath, config);
+        try {
+            saveLeaves(dataSource);
+            dataSource.getDatabase().snapshot(snapshotPath, dataSource);
+            return new Snapshot(
+                    snapshotDb, new MerkleDbPaths(snapshotDb.getTableDir(TABLE_NAME, dataSource.getTableId())));
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    private void saveLeaves(final MerkleDbDataSource dataSource) throws IOException {
+        dataSource.saveRecords(
+                COUNT,
+                COUNT * 2,
+                IntStream.range(COUNT, COUNT * 2).mapToObj(MerkleDbDataSourceTest::createVirtualInternalRecord),
+                IntStream.range(COUNT, COUNT * 2).mapToObj(this::leafBytes),
+                Stream.empty());
+    }
+
+    private VirtualLeafBytes leafBytes(final int i) {
+        return TEST_TYPE.dataType().createVirtualLeafRecord(i).toBytes(keySerializer, valueSerializer);
+    }
+
+    private Bytes keyBytes(final int i) {
+        return keySerializer.toBytes(TEST_TYPE.dataType().createVirtualLongKey(i));
+    }
+
+    private static int keyHashCode(final int i) {
+        return TEST_TYPE.dataType().createVirtualLongKey(i).hashCode();
+    }
+
+    /**
+     * Checks all leaves at paths [COUNT, COUNT * 2) are found using findKey, loadLeafRecord and
+     * loadLeafRecords.
+     */
+    private void assertLeavesFound(final MerkleDbDataSource dataSource) {
+        IntStream.range(COUNT, COUNT * 2).forEach(i -> assertKeyFound(dataSource, i));
+        assertBulkLookup(dataSource, COUNT, COUNT * 2, true);
+    }
+
+    /**
+     * Checks keys [0, COUNT) are not found using findKey, loadLeafRecord and loadLeafRecords.
+     */
+    private void assertMissingKeysNotFound(final MerkleDbDataSource dataSource) {
+        IntStream.range(0, COUNT).forEach(i -> assertKeyNotFound(dataSource, i));
+        assertBulkLookup(dataSource, 0, COUNT, false);
+    }
+
+    private void assertKeyFound(final MerkleDbDataSource dataSource, final int i) {
+        try {
+            assertEquals(i, dataSource.findKey(keyBytes(i), keyHashCode(i)), "Wrong path for key " + i);
+            assertEqualsAndPrint(leafBytes(i), dataSource.loadLeafRecord(keyBytes(i), keyHashCode(i)));
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void assertKeyNotFound(final MerkleDbDataSource dataSource, final int i) {
+        try {
+            assertEquals(INVALID_PATH, dataSource.findKey(keyBytes(i), keyHashCode(i)), "Key " + i + " is found");
+            assertNull(dataSource.loadLeafRecord(keyBytes(i), keyHashCode(i)), "Leaf " + i + " is found");
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void assertBulkLookup(
+            final MerkleDbDataSource dataSource, final int from, final int to, final boolean expectFound) {
+        final List<Bytes> keys = IntStream.range(from, to).mapToObj(this::keyBytes).toList();
+        final int[] hashCodes = IntStream.range(from, to)
+                .map(MerkleDbDataSourceKeyFilterTest::keyHashCode)
+                .toArray();
+        try {
+            final List<VirtualLeafBytes> leaves = dataSource.loadLeafRecords(keys, hashCodes);
+            for (int i = from; i < to; i++) {
+                if (expectFound) {
+                    assertNotNull(leaves.get(i - from), "Leaf " + i + " is not found");
+                } else {
+                    assertNull(leaves.get(i - from), "Leaf " + i + " is found");
+                }
+            }
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static long metricValue(final Metrics metrics, final MerkleDbDataSource dataSource, final String name) {
+        final Object value = getMetric(metrics, dataSource, name).get(ValueType.VALUE);
+        return ((Number) value).longValue();
+    }
+}
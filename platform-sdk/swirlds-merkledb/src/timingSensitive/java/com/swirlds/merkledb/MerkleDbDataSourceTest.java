@@ -32,6 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.base.function.CheckedConsumer;
 import com.swirlds.base.units.UnitConstants;
 import com.swirlds.common.constructable.ConstructableRegistry;
@@ -395,6 +396,49 @@ class MerkleDbDataSourceTest {
         });
     }
 
+    @ParameterizedTest
+    @EnumSource(TestType.class)
+    void loadLeavesInBulk(final TestType testType) throws IOException {
+        final int count = 1000;
+        final KeySerializer keySerializer = testType.dataType().getKeySerializer();
+        final ValueSerializer valueSerializer = testType.dataType().getValueSerializer();
+        createAndApplyDataSource(testDirectory, "test7", testType, count, dataSource -> {
+            // create some leaves
+            dataSource.saveRecords(
+                    count,
+                    count * 2,
+                    IntStream.range(count, count * 2).mapToObj(MerkleDbDataSourceTest::createVirtualInternalRecord),
+                    IntStream.range(count, count * 2)
+                            .mapToObj(i -> testType.dataType().createVirtualLeafRecord(i))
+                            .map(r -> r.toBytes(keySerializer, valueSerializer)),
+                    Stream.empty());
+            // load existing and missing keys in a random order, some of them twice
+            final int[] indices = shuffle(
+                    RANDOM,
+                    IntStream.concat(IntStream.range(count / 2, count * 2), IntStream.range(count, count + 100))
+                            .toArray());
+            final List<Bytes> keyBytes = new ArrayList<>(indices.length);
+            final int[] keyHashCodes = new int[indices.length];
+            for (int j = 0; j < indices.length; j++) {
+                final VirtualKey key = testType.dataType().createVirtualLongKey(indices[j]);
+                keyBytes.add(keySerializer.toBytes(key));
+                keyHashCodes[j] = key.hashCode();
+            }
+            final List<VirtualLeafBytes> leaves = dataSource.loadLeafRecords(keyBytes, keyHashCodes);
+            assertEquals(indices.length, leaves.size(), "Wrong number of loaded leaves");
+            for (int j = 0; j < indices.length; j++) {
+                final int i = indices[j];
+                if (i < count) {
+                    assertNull(leaves.get(j), "Leaf " + i + " should not be found");
+                } else {
+                    assertEqualsAndPrint(
+                            testType.dataType().createVirtualLeafRecord(i).toBytes(keySerializer, valueSerializer),
+                            leaves.get(j));
+                }
+            }
+        });
+    }
+
     @Test
     void preservesInterruptStatusWhenInterruptedSavingRecords() throws IOException {
         createAndApplyDataSource(testDirectory, "test6", TestType.fixed_fixed, 1000, dataSource -> {
@@ -53,9 +53,16 @@ public class PcesWriterBenchmark {
     @Param({"true", "false"})
     public boolean syncEveryEvent;
 
+    /**
+     * Flush policy: 0 - never flush, 1 - flush after every event, N - flush after every N events (group commit).
+     */
+    @Param({"0", "1", "100"})
+    public int eventsPerFlush;
+
     private PlatformEvent event;
     private Path directory;
     private PcesMutableFile mutableFile;
+    private int eventsSinceFlush;
 
     @Setup(Level.Iteration)
     public void setup() throws IOException {
@@ -71,6 +78,7 @@ public class PcesWriterBenchmark {
         final PcesFile file = PcesFile.of(AncientMode.GENERATION_THRESHOLD, r.nextInstant(), 1, 0, 100, 0, directory);
 
         mutableFile = file.getMutableFile(useFileChannelWriter, syncEveryEvent);
+        eventsSinceFlush = 0;
     }
 
     @TearDown(Level.Iteration)
@@ -79,7 +87,7 @@ public class PcesWriterBenchmark {
         FileUtils.deleteDirectory(directory);
     }
     /*
-    Results on a M1 Max MacBook Pro:
+    Results on a M1 Max MacBook Pro, before the eventsPerFlush parameter was added (same as eventsPerFlush = 0):
 
     Benchmark                       (syncEveryEvent)  (useFileChannelWriter)   Mode  Cnt       Score        Error  Units
     PcesWriterBenchmark.writeEvent              true                    true  thrpt    3   12440.268 ±  42680.146  ops/s
@@ -92,5 +100,30 @@ public class PcesWriterBenchmark {
     @OutputTimeUnit(TimeUnit.SECONDS)
     public void writeEvent() throws IOException {
         mutableFile.writeEvent(event);
+        if (eventsPerFlush > 0 && ++eventsSinceFlush >= eventsPerFlush) {
+            mutableFile.flush();
+            eventsSinceFlush = 0;
+        }
+    }
+
+    /**
+     * Writes a batch of events before every invocation of {@link #flush(FlushBatch)}, so the benchmark measures the
+     * latency of flushes only.
+     */
+    @State(Scope.Benchmark)
+    public static class FlushBatch {
+        @Setup(Level.Invocation)
+        public void writeBatch(final PcesWriterBenchmark benchmark) throws IOException {
+            for (int i = 0; i < Math.max(1, benchmark.eventsPerFlush); i++) {
+                benchmark.mutableFile.writeEvent(benchmark.event);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void flush(final FlushBatch batch) throws IOException {
+        mutableFile.flush();
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.core.jmh;
+
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.test.fixtures.WeightGenerators;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.platform.consensus.EventWindow;
+import com.swirlds.platform.event.AncientMode;
+import com.swirlds.platform.event.PlatformEvent;
+import com.swirlds.platform.gossip.NoOpIntakeEventCounter;
+import com.swirlds.platform.gossip.shadowgraph.ShadowEvent;
+import com.swirlds.platform.gossip.shadowgraph.Shadowgraph;
+import com.swirlds.platform.gossip.shadowgraph.ShadowgraphInsertionException;
+import com.swirlds.platform.internal.EventImpl;
+import com.swirlds.platform.system.address.AddressBook;
+import com.swirlds.platform.test.event.emitter.StandardEventEmitter;
+import com.swirlds.platform.test.event.source.EventSourceFactory;
+import com.swirlds.platform.test.fixtures.event.generator.StandardGraphGenerator;
+import com.swirlds.platform.test.fixtures.event.source.EventSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@Fork(value = 1)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 10)
+public class ShadowgraphBenchmark {
+    @Param({"39"})
+    public int numNodes;
+
+    @Param({"100000"})
+    public int numEvents;
+
+    /** The number of non-expired generations kept in the shadowgraph */
+    @Param({"50"})
+    public int numGenerations;
+
+    @Param({"0"})
+    public long seed;
+
+    private PlatformContext platformContext;
+    private AddressBook addressBook;
+    private List<PlatformEvent> events;
+
+    /** A shadowgraph that holds the last {@link #numGenerations} generations of the events */
+    private Shadowgraph shadowgraph;
+
+    @Setup(Level.Iteration)
+    public void setup() throws ShadowgraphInsertionException {
+        final List<EventSource<?>> eventSources =
+                EventSourceFactory.newStandardEventSources(WeightGenerators.balancedNodeWeights(numNodes));
+
+        platformContext = TestPlatformContextBuilder.create().build();
+        final StandardGraphGenerator generator = new StandardGraphGenerator(platformContext, seed, eventSources);
+        final StandardEventEmitter emitter = new StandardEventEmitter(generator);
+        events = emitter.emitEvents(numEvents).stream()
+                .map(EventImpl::getBaseEvent)
+                .toList();
+        addressBook = emitter.getGraphGenerator().getAddressBook();
+
+        shadowgraph = new Shadowgraph(platformContext, addressBook, new NoOpIntakeEventCounter());
+        addAndExpire(shadowgraph);
+    }
+
+    /**
+     * Adds all events to the shadowgraph, moving the event window forward whenever a new generation shows up, so
+     * that events older than {@link #numGenerations} generations are expired.
+     */
+    private void addAndExpire(final Shadowgraph graph) throws ShadowgraphInsertionException {
+        graph.updateEventWindow(EventWindow.getGenesisEventWindow(AncientMode.GENERATION_THRESHOLD));
+        long maxGeneration = 0;
+        for (final PlatformEvent event : events) {
+            graph.addEvent(event);
+            if (event.getGeneration() > maxGeneration) {
+                maxGeneration = event.getGeneration();
+                final long expiredThreshold = Math.max(0, maxGeneration - numGenerations);
+                graph.updateEventWindow(new EventWindow(
+                        0, expiredThreshold, expiredThreshold, AncientMode.GENERATION_THRESHOLD));
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void insertAndExpire(final Blackhole bh) throws ShadowgraphInsertionException {
+        final Shadowgraph graph = new Shadowgraph(platformContext, addressBook, new NoOpIntakeEventCounter());
+        addAndExpire(graph);
+        bh.consume(graph);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void findAncestorsOfTips(final Blackhole bh) {
+        final List<ShadowEvent> tips = shadowgraph.getTips();
+        bh.consume(shadowgraph.findAncestors(tips, e -> true));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void getTips(final Blackhole bh) {
+        bh.consume(shadowgraph.getTips());
+    }
+}
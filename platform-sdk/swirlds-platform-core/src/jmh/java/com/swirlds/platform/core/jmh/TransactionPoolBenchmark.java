@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.core.jmh;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.platform.pool.TransactionPoolNexus;
+import com.swirlds.platform.system.status.PlatformStatus;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Simulates many gRPC threads submitting application transactions to the transaction pool, while a single event
+ * creator takes transactions for new events.
+ */
+@State(Scope.Group)
+@Fork(value = 1)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 10)
+public class TransactionPoolBenchmark {
+    @Param({"256"})
+    public int transactionSize;
+
+    private TransactionPoolNexus transactionPool;
+    private Bytes transaction;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        final PlatformContext platformContext =
+                TestPlatformContextBuilder.create().build();
+        transactionPool = new TransactionPoolNexus(platformContext);
+        transactionPool.updatePlatformStatus(PlatformStatus.ACTIVE);
+        transaction = Bytes.wrap(new byte[transactionSize]);
+    }
+
+    @Benchmark
+    @Group("submitAndCreateEvents")
+    @GroupThreads(64)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean submitTransaction() {
+        // Rejected transactions are counted as well, they pay for the same queue size check
+        return transactionPool.submitApplicationTransaction(transaction);
+    }
+
+    @Benchmark
+    @Group("submitAndCreateEvents")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void createEvent(final Blackhole bh) {
+        bh.consume(transactionPool.getTransactions());
+    }
+}
@@ -51,6 +51,7 @@ import com.swirlds.platform.event.EventCounter;
 import com.swirlds.platform.event.PlatformEvent;
 import com.swirlds.platform.event.preconsensus.PcesConfig;
 import com.swirlds.platform.event.preconsensus.PcesFileTracker;
+import com.swirlds.platform.event.preconsensus.PcesReplayMetrics;
 import com.swirlds.platform.event.preconsensus.PcesReplayer;
 import com.swirlds.platform.eventhandling.EventConfig;
 import com.swirlds.platform.metrics.RuntimeMetrics;
@@ -169,6 +170,11 @@ public class SwirldsPlatform implements Platform {
      */
     private final PlatformWiring platformWiring;
 
+    /**
+     * Metrics for preconsensus event replay, shared by the replayer and the iterator that reads events to replay.
+     */
+    private final PcesReplayMetrics pcesReplayMetrics;
+
     /**
      * Constructor.
      *
@@ -238,13 +244,15 @@ public class SwirldsPlatform implements Platform {
                 .getConfiguration()
                 .getConfigData(PcesConfig.class)
                 .replayHealthThreshold();
+        pcesReplayMetrics = new PcesReplayMetrics(platformContext.getMetrics());
         final PcesReplayer pcesReplayer = new PcesReplayer(
                 platformContext,
                 platformWiring.getPcesReplayerEventOutput(),
                 platformWiring::flushIntakePipeline,
                 platformWiring::flushTransactionHandler,
                 () -> latestImmutableStateNexus.getState("PCES replay"),
-                () -> isLessThan(blocks.model().getUnhealthyDuration(), replayHealthThreshold));
+                () -> isLessThan(blocks.model().getUnhealthyDuration(), replayHealthThreshold),
+                pcesReplayMetrics);
 
         initializeState(this, platformContext, initialState);
 
@@ -438,8 +446,19 @@ public class SwirldsPlatform implements Platform {
     private void replayPreconsensusEvents() {
         platformWiring.getStatusActionSubmitter().submitStatusAction(new StartedReplayingEventsAction());
 
-        final IOIterator<PlatformEvent> iterator =
-                initialPcesFiles.getEventIterator(initialAncientThreshold, startingRound);
+        final PcesConfig pcesConfig = platformContext.getConfiguration().getConfigData(PcesConfig.class);
+        final IOIterator<PlatformEvent> iterator;
+        if (pcesConfig.parallelReplay()) {
+            iterator = initialPcesFiles.getParallelEventIterator(
+                    initialAncientThreshold,
+                    startingRound,
+                    platformContext.getExecutorFactory().createExecutorService(pcesConfig.replayHashPoolSize()),
+                    pcesConfig.replayHashPoolSize(),
+                    pcesConfig.replayBatchSize(),
+                    pcesReplayMetrics);
+        } else {
+            iterator = initialPcesFiles.getEventIterator(initialAncientThreshold, startingRound);
+        }
 
         logger.info(
                 STARTUP.getMarker(),
@@ -469,6 +488,14 @@ public class SwirldsPlatform implements Platform {
         return transactionPoolNexus.submitApplicationTransaction(Bytes.wrap(transaction));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean createTransaction(@NonNull final Bytes transaction) {
+        return transactionPoolNexus.submitApplicationTransaction(transaction);
+    }
+
     /**
      * {@inheritDoc}
      */
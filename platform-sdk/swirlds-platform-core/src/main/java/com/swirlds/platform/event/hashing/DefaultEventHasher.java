@@ -21,14 +21,17 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.Objects;
 
 /**
- * Default implementation of the {@link EventHasher}.
+ * Default implementation of the {@link EventHasher}. Events that are already hashed, e.g. events hashed in parallel
+ * during preconsensus event replay, are not hashed again.
  */
 public class DefaultEventHasher implements EventHasher {
     @Override
     @NonNull
     public PlatformEvent hashEvent(@NonNull final PlatformEvent event) {
         Objects.requireNonNull(event);
-        new PbjStreamHasher().hashEvent(event);
+        if (event.getHash() == null) {
+            new PbjStreamHasher().hashEvent(event);
+        }
         return event;
     }
 }
@@ -25,8 +25,11 @@ import com.swirlds.common.platform.NodeId;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -148,7 +151,7 @@ public final class BestEffortPcesFileCopy {
             return;
         }
 
-        copyPcesFileList(filesToCopy, destinationDirectory);
+        copyPcesFileList(filesToCopy, destinationDirectory, lowerBound);
     }
 
     /**
@@ -255,8 +258,11 @@ public final class BestEffortPcesFileCopy {
      *
      * @param filesToCopy     the files to copy
      * @param pcesDestination the directory where the files should be copied
+     * @param lowerBound      the lower bound of events that are not ancient, with respect to the state that is being
+     *                        written
      */
-    private static void copyPcesFileList(@NonNull final List<PcesFile> filesToCopy, @NonNull final Path pcesDestination)
+    private static void copyPcesFileList(
+            @NonNull final List<PcesFile> filesToCopy, @NonNull final Path pcesDestination, final long lowerBound)
             throws IOException {
         logger.info(STATE_TO_DISK.getMarker(), "Copying {} preconsensus event file(s)", filesToCopy.size());
 
@@ -265,9 +271,56 @@ public final class BestEffortPcesFileCopy {
         // so that we can retry again more quickly.
         for (int index = filesToCopy.size() - 1; index >= 0; index--) {
             final PcesFile file = filesToCopy.get(index);
-            Files.copy(file.getPath(), pcesDestination.resolve(file.getFileName()));
+            copyPcesFile(file, pcesDestination, lowerBound);
         }
 
         logger.info(STATE_TO_DISK.getMarker(), "Finished copying {} preconsensus event file(s)", filesToCopy.size());
     }
+
+    /**
+     * Copy a preconsensus event file into a directory. If the file has a {@link PcesFileIndex}, then events that are
+     * known to be ancient with respect to the state are not copied.
+     *
+     * @param file            the file to copy
+     * @param pcesDestination the directory where the file should be copied
+     * @param lowerBound      the lower bound of events that are not ancient, with respect to the state that is being
+     *                        written
+     */
+    private static void copyPcesFile(
+            @NonNull final PcesFile file, @NonNull final Path pcesDestination, final long lowerBound)
+            throws IOException {
+        final Path destination = pcesDestination.resolve(file.getFileName());
+        final PcesFileIndex index = PcesFileIndex.read(file);
+        final long startOffset = index == null ? 0 : index.getStartOffset(lowerBound);
+        if (startOffset <= Integer.BYTES) {
+            Files.copy(file.getPath(), destination);
+            if (index != null) {
+                Files.copy(
+                        PcesFileIndex.getIndexPath(file),
+                        pcesDestination.resolve(file.getFileName() + PcesFileIndex.INDEX_FILE_EXTENSION));
+            }
+            return;
+        }
+
+        // Copy the file version, followed by the events from the start offset on. The index doesn't match the
+        // shortened copy, so it isn't copied.
+        try (final FileChannel source = FileChannel.open(file.getPath(), StandardOpenOption.READ);
+                final FileChannel target =
+                        FileChannel.open(destination, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final ByteBuffer version = ByteBuffer.allocate(Integer.BYTES);
+            if (source.read(version, 0) != Integer.BYTES) {
+                throw new IOException("Unable to read the version of " + file.getPath());
+            }
+            version.flip();
+            while (version.hasRemaining()) {
+                target.write(version);
+            }
+
+            final long size = source.size();
+            long position = startOffset;
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+        }
+    }
 }
@@ -20,6 +20,7 @@ import static com.swirlds.common.units.DataUnit.UNIT_BYTES;
 import static com.swirlds.common.units.DataUnit.UNIT_MEGABYTES;
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 
+import com.swirlds.base.time.Time;
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.utility.LongRunningAverage;
 import com.swirlds.platform.consensus.EventWindow;
@@ -30,6 +31,8 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Objects;
@@ -144,6 +147,40 @@ public class DefaultPcesWriter implements PcesWriter {
      */
     private final Deque<Long> flushRequests = new ArrayDeque<>();
 
+    /**
+     * If true, then files are written using a file channel rather than an output stream.
+     */
+    private final boolean useFileChannelWriter;
+
+    /**
+     * The number of events between entries of the sparse index written for every file, or 0 if no index is written.
+     */
+    private final int sparseIndexInterval;
+
+    /**
+     * The maximum amount of time a satisfiable flush request may be delayed, so a single flush covers more events.
+     */
+    private final Duration flushBatchWindow;
+
+    /**
+     * The number of events written since the previous flush, which triggers a delayed flush before the flush batch
+     * window has elapsed.
+     */
+    private final int flushBatchSize;
+
+    /**
+     * The time when the oldest satisfiable, but not yet performed, flush request was received, or null if there are no
+     * such requests.
+     */
+    private Instant pendingFlushStart = null;
+
+    /**
+     * The number of events written since the previous flush.
+     */
+    private long eventsWrittenSinceFlush = 0;
+
+    private final Time time;
+
     /**
      * Constructor
      *
@@ -163,6 +200,11 @@ public class DefaultPcesWriter implements PcesWriter {
         bootstrapSpanOverlapFactor = config.bootstrapSpanOverlapFactor();
         spanOverlapFactor = config.spanOverlapFactor();
         minimumSpan = config.minimumSpan();
+        useFileChannelWriter = config.useFileChannelWriter();
+        sparseIndexInterval = config.sparseIndexInterval();
+        flushBatchWindow = config.flushBatchWindow();
+        flushBatchSize = config.flushBatchSize();
+        time = platformContext.getTime();
 
         this.fileManager = fileManager;
 
@@ -186,35 +228,59 @@ public class DefaultPcesWriter implements PcesWriter {
     }
 
     /**
-     * Consider outstanding flush requests and perform a flush if needed.
+     * Consider outstanding flush requests and perform a flush if needed. If a flush batch window is configured, a
+     * satisfiable flush request is delayed until either the window elapses or enough events are written, and then all
+     * events written so far are flushed at once.
      *
+     * @param now the current time
      * @return true if a flush was performed, otherwise false
      */
-    private boolean processFlushRequests() {
-        boolean flushRequired = false;
+    private boolean processFlushRequests(@NonNull final Instant now) {
         while (!flushRequests.isEmpty() && flushRequests.peekFirst() <= lastWrittenEvent) {
             final long flushRequest = flushRequests.removeFirst();
 
-            if (flushRequest > lastFlushedEvent) {
-                flushRequired = true;
+            if (flushRequest > lastFlushedEvent && pendingFlushStart == null) {
+                pendingFlushStart = now;
             }
         }
 
-        if (flushRequired) {
-            if (currentMutableFile == null) {
-                logger.error(EXCEPTION.getMarker(), "Flush required, but no file is open. This should never happen");
-            }
+        if (pendingFlushStart == null || !isFlushBatchComplete(now)) {
+            return false;
+        }
 
-            try {
-                currentMutableFile.flush();
-            } catch (final IOException e) {
-                throw new UncheckedIOException(e);
-            }
+        if (currentMutableFile == null) {
+            logger.error(EXCEPTION.getMarker(), "Flush required, but no file is open. This should never happen");
+        }
 
-            lastFlushedEvent = lastWrittenEvent;
+        try {
+            currentMutableFile.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
         }
 
-        return flushRequired;
+        markAllWrittenEventsFlushed();
+        return true;
+    }
+
+    /**
+     * Check if a pending flush should be performed now.
+     *
+     * @param now the current time
+     * @return true if the pending flush should be performed, false if it may be delayed further
+     */
+    private boolean isFlushBatchComplete(@NonNull final Instant now) {
+        return flushBatchWindow.isZero()
+                || eventsWrittenSinceFlush >= flushBatchSize
+                || Duration.between(pendingFlushStart, now).compareTo(flushBatchWindow) >= 0;
+    }
+
+    /**
+     * Record that all events written so far are durable.
+     */
+    private void markAllWrittenEventsFlushed() {
+        lastFlushedEvent = lastWrittenEvent;
+        pendingFlushStart = null;
+        eventsWrittenSinceFlush = 0;
     }
 
     /**
@@ -243,8 +309,9 @@ public class DefaultPcesWriter implements PcesWriter {
             final boolean fileClosed = prepareOutputStream(event);
             currentMutableFile.writeEvent(event);
             lastWrittenEvent = event.getStreamSequenceNumber();
+            eventsWrittenSinceFlush++;
 
-            final boolean flushPerformed = processFlushRequests();
+            final boolean flushPerformed = processFlushRequests(time.now());
 
             return fileClosed || flushPerformed ? lastFlushedEvent : null;
         } catch (final IOException e) {
@@ -282,7 +349,16 @@ public class DefaultPcesWriter implements PcesWriter {
     public Long submitFlushRequest(@NonNull final Long sequenceNumber) {
         flushRequests.add(sequenceNumber);
 
-        return processFlushRequests() ? lastFlushedEvent : null;
+        return processFlushRequests(time.now()) ? lastFlushedEvent : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public Long checkDelayedFlush(@NonNull final Instant now) {
+        return processFlushRequests(now) ? lastFlushedEvent : null;
     }
 
     /**
@@ -337,7 +413,7 @@ public class DefaultPcesWriter implements PcesWriter {
                 averageSpanUtilization.add(previousSpan);
             }
             currentMutableFile.close();
-            lastFlushedEvent = lastWrittenEvent;
+            markAllWrittenEventsFlushed();
 
             fileManager.finishedWritingFile(currentMutableFile);
             currentMutableFile = null;
@@ -402,7 +478,7 @@ public class DefaultPcesWriter implements PcesWriter {
 
             currentMutableFile = fileManager
                     .getNextFileDescriptor(nonAncientBoundary, upperBound)
-                    .getMutableFile();
+                    .getMutableFile(useFileChannelWriter, false, sparseIndexInterval);
         }
 
         return fileClosed;
@@ -153,6 +153,7 @@ public final class PcesBirthRoundMigration {
         try (final Stream<Path> fileStream = Files.walk(path)) {
             return fileStream
                     .filter(f -> !Files.isDirectory(f))
+                    .filter(f -> f.toString().endsWith(PcesFile.EVENT_FILE_EXTENSION))
                     .map(PcesUtilities::parseFile)
                     .filter(Objects::nonNull)
                     .filter(f -> f.getFileType() == ancientMode)
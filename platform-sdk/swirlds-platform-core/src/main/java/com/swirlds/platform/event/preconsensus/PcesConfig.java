@@ -71,7 +71,8 @@ import java.time.Duration;
  *                                             com.swirlds.common.config.StateCommonConfig#savedStateDirectory()}.
  * @param replayQueueSize                      the size of the queue used for holding preconsensus events that are
  *                                             waiting to be replayed
- * @param replayHashPoolSize                   the number of threads used for hashing events during replay
+ * @param replayHashPoolSize                   the number of threads used for decoding and hashing events during
+ *                                             replay, if {@link #parallelReplay} is enabled
  * @param copyRecentStreamToStateSnapshots     if true, then copy recent PCES files into the saved state snapshot
  *                                             directories every time we take a state snapshot. The files copied are
  *                                             guaranteed to contain all non-ancient events w.r.t. the state snapshot.
@@ -87,6 +88,26 @@ import java.time.Duration;
  *                                             time, pause PCES replay until the system is able to catch up.
  * @param limitReplayFrequency                 if true, then directly limit the replay frequency of preconsensus events
  * @param maxEventReplayFrequency              the maximum number of events that can be replayed per second
+ * @param useFileChannelWriter                 if true, then write preconsensus event files using a file channel, which
+ *                                             buffers events and syncs files to disk on flush. If false, then use an
+ *                                             output stream, which doesn't sync files to disk on flush.
+ * @param flushBatchWindow                     the maximum amount of time a flush request may be delayed, so the flush
+ *                                             covers more events (group commit). Every flush syncs all events written
+ *                                             so far. If zero, then flush requests are honored as soon as the
+ *                                             requested event is written.
+ * @param flushBatchSize                       if a flush request is delayed because of {@link #flushBatchWindow}, then
+ *                                             flush as soon as this many events have been written since the previous
+ *                                             flush, even if the window hasn't elapsed yet.
+ * @param parallelReplay                       if true, then memory map preconsensus event files at boot up time and
+ *                                             decode and hash events in parallel, using {@link #replayHashPoolSize}
+ *                                             threads. Events are still replayed in file order. If false, then read
+ *                                             and decode events one at a time on the replay thread.
+ * @param replayBatchSize                      the maximum number of events decoded and hashed by a single task if
+ *                                             {@link #parallelReplay} is enabled
+ * @param sparseIndexInterval                  if positive, then write a sparse index next to every preconsensus event
+ *                                             file when the file is closed, with an entry every this many events. The
+ *                                             index allows readers to skip events below a lower bound without
+ *                                             decoding them. If zero, then no index is written.
  */
 @ConfigData("event.preconsensus")
 public record PcesConfig(
@@ -101,7 +122,7 @@ public record PcesConfig(
         @ConfigProperty(defaultValue = "false") boolean permitGaps,
         @ConfigProperty(defaultValue = "preconsensus-events") Path databaseDirectory,
         @ConfigProperty(defaultValue = "1024") int replayQueueSize,
-        @ConfigProperty(defaultValue = "8") int replayHashPoolSize,
+        @Min(1) @ConfigProperty(defaultValue = "8") int replayHashPoolSize,
         @ConfigProperty(defaultValue = "true") boolean copyRecentStreamToStateSnapshots,
         @ConfigProperty(defaultValue = "true") boolean compactLastFileOnStartup,
         @ConfigProperty(defaultValue = "false") boolean forceIgnorePcesSignatures,
@@ -109,4 +130,10 @@ public record PcesConfig(
         @ConfigProperty(defaultValue = "1m") Duration suspiciousRoundDurabilityDuration,
         @ConfigProperty(defaultValue = "1ms") Duration replayHealthThreshold,
         @ConfigProperty(defaultValue = "true") boolean limitReplayFrequency,
-        @ConfigProperty(defaultValue = "5000") int maxEventReplayFrequency) {}
+        @ConfigProperty(defaultValue = "5000") int maxEventReplayFrequency,
+        @ConfigProperty(defaultValue = "false") boolean useFileChannelWriter,
+        @ConfigProperty(defaultValue = "0ms") Duration flushBatchWindow,
+        @Min(1) @ConfigProperty(defaultValue = "1000") int flushBatchSize,
+        @ConfigProperty(defaultValue = "false") boolean parallelReplay,
+        @Min(1) @ConfigProperty(defaultValue = "256") int replayBatchSize,
+        @Min(0) @ConfigProperty(defaultValue = "0") int sparseIndexInterval) {}
@@ -397,7 +397,7 @@ public final class PcesFile implements Comparable<PcesFile> {
      */
     @NonNull
     public PcesMutableFile getMutableFile() throws IOException {
-        return new PcesMutableFile(this, false, false);
+        return new PcesMutableFile(this, false, false, 0);
     }
 
     /**
@@ -412,7 +412,25 @@ public final class PcesFile implements Comparable<PcesFile> {
     @NonNull
     public PcesMutableFile getMutableFile(final boolean useFileChannelWriter, final boolean syncEveryEvent)
             throws IOException {
-        return new PcesMutableFile(this, useFileChannelWriter, syncEveryEvent);
+        return getMutableFile(useFileChannelWriter, syncEveryEvent, 0);
+    }
+
+    /**
+     * Get an object that can be used to write events to this file. Throws if there already exists a file on disk with
+     * the same path.
+     *
+     * @param useFileChannelWriter if true, use a {@link java.nio.channels.FileChannel} to write to the file. Otherwise,
+     *                             use a {@link java.io.FileOutputStream}.
+     * @param syncEveryEvent       if true, sync the file after every event is written
+     * @param indexInterval        if positive, write a {@link PcesFileIndex} with an entry every this many events when
+     *                             the file is closed
+     * @return a writer for this file
+     */
+    @NonNull
+    public PcesMutableFile getMutableFile(
+            final boolean useFileChannelWriter, final boolean syncEveryEvent, final int indexInterval)
+            throws IOException {
+        return new PcesMutableFile(this, useFileChannelWriter, syncEveryEvent, indexInterval);
     }
 
     /**
@@ -439,10 +457,15 @@ public final class PcesFile implements Comparable<PcesFile> {
             return;
         }
 
+        final Path indexPath = PcesFileIndex.getIndexPath(this);
         if (recycleBin == null) {
             Files.delete(path);
+            Files.deleteIfExists(indexPath);
         } else {
             recycleBin.recycle(path);
+            if (Files.exists(indexPath)) {
+                recycleBin.recycle(indexPath);
+            }
         }
 
         // Delete parent directories if they are empty
@@ -28,6 +28,10 @@ import java.nio.file.StandardOpenOption;
 
 /**
  * Writes preconsensus events to a file using a {@link FileChannel}.
+ * <p>
+ * Unless the file is synced after every event, events are accumulated in a direct buffer and written to the file in
+ * batches, when the buffer is full or when the file is flushed or closed. This way, a batch of events is written with a
+ * single system call rather than one call per event.
  */
 public class PcesFileChannelWriter implements PcesFileWriter {
     /** The capacity of the ByteBuffer used to write events */
@@ -38,8 +42,10 @@ public class PcesFileChannelWriter implements PcesFileWriter {
     private final ByteBuffer buffer;
     /** Wraps a ByteBuffer so that the protobuf codec can write to it */
     private final WritableSequentialData writableSequentialData;
-    /** Tracks the size of the file in bytes */
-    private int fileSize;
+    /** If true, every event is written to the file immediately, and the file is synced after every write */
+    private final boolean syncEveryEvent;
+    /** Tracks the size of the file in bytes, including the bytes that are buffered, but not written yet */
+    private long fileSize;
 
     /**
      * Create a new writer that writes events to a file using a {@link FileChannel}.
@@ -49,6 +55,7 @@ public class PcesFileChannelWriter implements PcesFileWriter {
      * @throws IOException if an error occurs while opening the file
      */
     public PcesFileChannelWriter(@NonNull final Path filePath, final boolean syncEveryEvent) throws IOException {
+        this.syncEveryEvent = syncEveryEvent;
         if (syncEveryEvent) {
             channel = FileChannel.open(
                     filePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.DSYNC);
@@ -62,41 +69,82 @@ public class PcesFileChannelWriter implements PcesFileWriter {
     @Override
     public void writeVersion(final int version) throws IOException {
         buffer.putInt(version);
-        flipWriteClear();
+        fileSize += Integer.BYTES;
+        if (syncEveryEvent) {
+            flipWriteClear();
+        }
     }
 
     @Override
     public void writeEvent(@NonNull final GossipEvent event) throws IOException {
-        buffer.putInt(GossipEvent.PROTOBUF.measureRecord(event));
-        GossipEvent.PROTOBUF.write(event, writableSequentialData);
-        flipWriteClear();
+        final int eventSize = GossipEvent.PROTOBUF.measureRecord(event);
+        final int totalSize = Integer.BYTES + eventSize;
+        if (buffer.remaining() < totalSize) {
+            // Write the events buffered so far to make room for this event
+            flipWriteClear();
+        }
+        if (buffer.remaining() < totalSize) {
+            // The event doesn't fit into an empty buffer, write it using a one-off buffer
+            final ByteBuffer largeEventBuffer = ByteBuffer.allocate(totalSize);
+            largeEventBuffer.putInt(eventSize);
+            GossipEvent.PROTOBUF.write(event, BufferedData.wrap(largeEventBuffer));
+            largeEventBuffer.flip();
+            writeFully(largeEventBuffer);
+        } else {
+            buffer.putInt(eventSize);
+            GossipEvent.PROTOBUF.write(event, writableSequentialData);
+            if (syncEveryEvent) {
+                flipWriteClear();
+            }
+        }
+        fileSize += totalSize;
     }
 
     /**
-     * Writes the data in the buffer to the file. This method expects that the buffer will have data that is written to
-     * it. The buffer will be flipped so that it can be read from, the data will be written to the file, and the buffer
-     * will be cleared so that it can be used again.
+     * Writes the data in the buffer to the file. The buffer will be flipped so that it can be read from, the data will
+     * be written to the file, and the buffer will be cleared so that it can be used again. If the buffer is empty, this
+     * method does nothing.
      */
     private void flipWriteClear() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
         buffer.flip();
-        final int bytesWritten = channel.write(buffer);
-        fileSize += bytesWritten;
-        if (bytesWritten != buffer.limit()) {
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes all remaining bytes of the given buffer to the file.
+     *
+     * @param data the buffer to write
+     */
+    private void writeFully(@NonNull final ByteBuffer data) throws IOException {
+        final int bytesToWrite = data.remaining();
+        final int bytesWritten = channel.write(data);
+        if (bytesWritten != bytesToWrite) {
             throw new IOException(
-                    "Failed to write data to file. Wrote " + bytesWritten + " bytes out of " + buffer.limit());
+                    "Failed to write data to file. Wrote " + bytesWritten + " bytes out of " + bytesToWrite);
         }
-        buffer.clear();
     }
 
     @Override
     public void flush() throws IOException {
-        // benchmarks show that this has horrible performance
-        channel.force(false);
+        flipWriteClear();
+        if (!syncEveryEvent) {
+            // benchmarks show that this has horrible performance, callers are expected to batch flushes
+            // if the channel is opened with DSYNC, all written data is already synced
+            channel.force(false);
+        }
     }
 
     @Override
     public void close() throws IOException {
-        channel.close();
+        try {
+            flipWriteClear();
+        } finally {
+            channel.close();
+        }
     }
 
     @Override
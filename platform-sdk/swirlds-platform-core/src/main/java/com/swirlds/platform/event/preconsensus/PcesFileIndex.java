@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.event.preconsensus;
+
+import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A sparse index of a preconsensus event file, stored in a sidecar file next to the event file. The index has an entry
+ * for every N-th event in the file. Each entry holds the byte offset of the event and the highest ancient indicator of
+ * all events written before it.
+ * <p>
+ * Events in a file are not sorted by ancient indicator, so it isn't possible to seek to the first event with a given
+ * ancient indicator. It is possible to skip all events before an offset, if every event before that offset has an
+ * ancient indicator below the lower bound. The highest ancient indicator before an entry never decreases from one
+ * entry to the next, so the entry to start reading from is found with a binary search.
+ * <p>
+ * An index is only written when an event file is closed, so files that were not closed cleanly have no index. An index
+ * that doesn't match its event file is ignored, and such a file is read from the start.
+ */
+public final class PcesFileIndex {
+
+    private static final Logger logger = LogManager.getLogger(PcesFileIndex.class);
+
+    /**
+     * The extension appended to the name of an event file to get the name of its index file.
+     */
+    public static final String INDEX_FILE_EXTENSION = ".idx";
+
+    /**
+     * The version of the index file format.
+     */
+    private static final int INDEX_VERSION = 1;
+
+    /**
+     * The number of entries in this index.
+     */
+    private final int entryCount;
+
+    /**
+     * Byte offsets of indexed events in the event file, in increasing order.
+     */
+    private final long[] offsets;
+
+    /**
+     * For every indexed event, the highest ancient indicator of all events before it in the event file.
+     */
+    private final long[] highestAncientIndicatorsBefore;
+
+    private PcesFileIndex(
+            final int entryCount, @NonNull final long[] offsets, @NonNull final long[] highestAncientIndicatorsBefore) {
+        this.entryCount = entryCount;
+        this.offsets = offsets;
+        this.highestAncientIndicatorsBefore = highestAncientIndicatorsBefore;
+    }
+
+    /**
+     * Get the path of the index file of an event file.
+     *
+     * @param eventFile the event file
+     * @return the path of the index file
+     */
+    @NonNull
+    public static Path getIndexPath(@NonNull final PcesFile eventFile) {
+        return eventFile.getPath().resolveSibling(eventFile.getFileName() + INDEX_FILE_EXTENSION);
+    }
+
+    /**
+     * Get the offset in the event file to start reading from, to get all events with an ancient indicator at or above
+     * the given lower bound. All events before the returned offset have ancient indicators below the lower bound.
+     *
+     * @param lowerBound the lower bound of events to read
+     * @return the offset of an event in the event file, or 0 if the file must be read from the start
+     */
+    public long getStartOffset(final long lowerBound) {
+        // Find the last entry such that all events before it are below the lower bound
+        int low = 0;
+        int high = entryCount - 1;
+        int found = -1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (highestAncientIndicatorsBefore[mid] < lowerBound) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found < 0 ? 0 : offsets[found];
+    }
+
+    /**
+     * Get the number of entries in this index.
+     *
+     * @return the number of entries
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Read the index of an event file.
+     *
+     * @param eventFile the event file
+     * @return the index, or null if the event file has no index or the index doesn't match the event file
+     */
+    @Nullable
+    public static PcesFileIndex read(@NonNull final PcesFile eventFile) {
+        final Path indexPath = getIndexPath(eventFile);
+        if (!Files.exists(indexPath)) {
+            return null;
+        }
+        try (final DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            final int version = in.readInt();
+            if (version != INDEX_VERSION) {
+                return null;
+            }
+            final long eventFileSize = in.readLong();
+            if (eventFileSize != Files.size(eventFile.getPath())) {
+                // The event file was modified after the index was written
+                return null;
+            }
+            final int entryCount = in.readInt();
+            if (entryCount < 0) {
+                return null;
+            }
+            final long[] offsets = new long[entryCount];
+            final long[] highestAncientIndicatorsBefore = new long[entryCount];
+            for (int i = 0; i < entryCount; i++) {
+                offsets[i] = in.readLong();
+                highestAncientIndicatorsBefore[i] = in.readLong();
+                if (offsets[i] < Integer.BYTES
+                        || offsets[i] >= eventFileSize
+                        || (i > 0 && offsets[i] <= offsets[i - 1])
+                        || (i > 0 && highestAncientIndicatorsBefore[i] < highestAncientIndicatorsBefore[i - 1])) {
+                    return null;
+                }
+            }
+            return new PcesFileIndex(entryCount, offsets, highestAncientIndicatorsBefore);
+        } catch (final IOException e) {
+            logger.warn(EXCEPTION.getMarker(), "Unable to read PCES file index {}", indexPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Move the index of an event file, if there is one, so it follows the event file to its new location.
+     *
+     * @param source      the event file before it was moved
+     * @param destination the event file after it was moved
+     */
+    public static void move(@NonNull final PcesFile source, @NonNull final PcesFile destination) throws IOException {
+        final Path sourceIndex = getIndexPath(source);
+        if (Files.exists(sourceIndex)) {
+            Files.move(sourceIndex, getIndexPath(destination), StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Builds the index of an event file while the file is written.
+     */
+    static final class Builder {
+
+        private final int interval;
+        private int eventsSinceLastEntry;
+        private long highestAncientIndicator = Long.MIN_VALUE;
+
+        private int entryCount = 0;
+        private long[] offsets = new long[64];
+        private long[] highestAncientIndicatorsBefore = new long[64];
+
+        /**
+         * Create a new builder.
+         *
+         * @param interval the number of events between index entries
+         */
+        Builder(final int interval) {
+            if (interval < 1) {
+                throw new IllegalArgumentException("interval must be at least 1, got " + interval);
+            }
+            this.interval = interval;
+            // The first event is always indexed
+            this.eventsSinceLastEntry = interval;
+        }
+
+        /**
+         * Record an event written to the event file.
+         *
+         * @param offset           the offset of the event in the event file
+         * @param ancientIndicator the ancient indicator of the event
+         */
+        void addEvent(final long offset, final long ancientIndicator) {
+            if (eventsSinceLastEntry == interval) {
+                if (entryCount == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, entryCount * 2);
+                    highestAncientIndicatorsBefore = Arrays.copyOf(highestAncientIndicatorsBefore, entryCount * 2);
+                }
+                offsets[entryCount] = offset;
+                highestAncientIndicatorsBefore[entryCount] = highestAncientIndicator;
+                entryCount++;
+                eventsSinceLastEntry = 0;
+            }
+            eventsSinceLastEntry++;
+            highestAncientIndicator = Math.max(highestAncientIndicator, ancientIndicator);
+        }
+
+        /**
+         * Write the index to the sidecar file of an event file. The index is written to a temporary file first, which
+         * is then moved into place, so a partially written index is never read.
+         *
+         * @param eventFile     the event file
+         * @param eventFileSize the size of the event file, in bytes
+         */
+        void write(@NonNull final PcesFile eventFile, final long eventFileSize) throws IOException {
+            final Path indexPath = getIndexPath(eventFile);
+            final Path temporaryPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+            try (final DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath)))) {
+                out.writeInt(INDEX_VERSION);
+                out.writeLong(eventFileSize);
+                out.writeInt(entryCount);
+                for (int i = 0; i < entryCount; i++) {
+                    out.writeLong(offsets[i]);
+                    out.writeLong(highestAncientIndicatorsBefore[i]);
+                }
+            }
+            Files.move(temporaryPath, indexPath, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
@@ -29,11 +29,14 @@ import java.io.BufferedInputStream;
 import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
 /**
- * Iterates over the events in a single preconsensus event file.
+ * Iterates over the events in a single preconsensus event file. If the file has a {@link PcesFileIndex}, events that
+ * are known to be below the lower bound are skipped without being read.
  */
 public class PcesFileIterator implements IOIterator<PlatformEvent> {
 
@@ -61,10 +64,22 @@ public class PcesFileIterator implements IOIterator<PlatformEvent> {
         this.lowerBound = lowerBound;
         this.fileType = Objects.requireNonNull(fileType);
         counter = new CountingStreamExtension();
-        stream = new SerializableDataInputStream(new ExtendableInputStream(
-                new BufferedInputStream(
-                        new FileInputStream(fileDescriptor.getPath().toFile())),
-                counter));
+        final FileInputStream fileStream = new FileInputStream(fileDescriptor.getPath().toFile());
+        final boolean seekedToLowerBound;
+        try {
+            seekedToLowerBound = seekToLowerBound(fileDescriptor, fileStream.getChannel(), lowerBound);
+        } catch (final IOException e) {
+            fileStream.close();
+            throw e;
+        }
+        stream = new SerializableDataInputStream(
+                new ExtendableInputStream(new BufferedInputStream(fileStream), counter));
+
+        if (seekedToLowerBound) {
+            // The file version was checked before seeking
+            fileVersion = PcesFileVersion.PROTOBUF_EVENTS;
+            return;
+        }
 
         try {
             final int fileVersionNumber = stream.readInt();
@@ -79,6 +94,36 @@ public class PcesFileIterator implements IOIterator<PlatformEvent> {
         }
     }
 
+    /**
+     * If the file has a {@link PcesFileIndex}, skip events that are known to be below the lower bound by moving the
+     * channel position past them.
+     *
+     * @param fileDescriptor describes the file
+     * @param channel        the channel of the file, positioned at the start of the file
+     * @param lowerBound     the lower bound for all events to be returned
+     * @return true if the channel was moved to the first event to read, false if the file must be read from the start
+     */
+    private static boolean seekToLowerBound(
+            @NonNull final PcesFile fileDescriptor, @NonNull final FileChannel channel, final long lowerBound)
+            throws IOException {
+        final PcesFileIndex index = PcesFileIndex.read(fileDescriptor);
+        if (index == null) {
+            return false;
+        }
+        final long startOffset = index.getStartOffset(lowerBound);
+        if (startOffset <= Integer.BYTES) {
+            return false;
+        }
+        // Indices are only written for files in the protobuf format, but it's cheap to double check
+        final ByteBuffer versionBuffer = ByteBuffer.allocate(Integer.BYTES);
+        if (channel.read(versionBuffer, 0) != Integer.BYTES
+                || versionBuffer.getInt(0) != PcesFileVersion.PROTOBUF_EVENTS.getVersionNumber()) {
+            return false;
+        }
+        channel.position(startOffset);
+        return true;
+    }
+
     /**
      * Find the next event that should be returned.
      */
@@ -123,6 +168,14 @@ public class PcesFileIterator implements IOIterator<PlatformEvent> {
         return hasPartialEvent;
     }
 
+    /**
+     * Get the number of bytes read from the file so far. Events skipped using the file's {@link PcesFileIndex} are
+     * not counted.
+     */
+    public long getBytesRead() {
+        return counter.getCount();
+    }
+
     /**
      * {@inheritDoc}
      */
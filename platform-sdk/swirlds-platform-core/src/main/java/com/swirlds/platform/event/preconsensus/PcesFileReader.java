@@ -73,6 +73,7 @@ public class PcesFileReader {
         try (final Stream<Path> fileStream = Files.walk(databaseDirectory)) {
             fileStream
                     .filter(f -> !Files.isDirectory(f))
+                    .filter(f -> f.toString().endsWith(PcesFile.EVENT_FILE_EXTENSION))
                     .map(PcesUtilities::parseFile)
                     .filter(Objects::nonNull)
                     .filter(f -> f.getFileType() == typeToRead)
@@ -28,6 +28,7 @@ import java.nio.file.Files;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -171,6 +172,38 @@ public class PcesFileTracker {
         return new PcesMultiFileIterator(lowerBound, getFileIterator(lowerBound, startingRound), fileType);
     }
 
+    /**
+     * Get an iterator that walks over all events starting with a specified lower bound, decoding and hashing events
+     * in parallel. Events are returned in the same order as by {@link #getEventIterator(long, long)}.
+     * <p>
+     * Note: this method only works at system startup time, using this iterator after startup has undefined behavior.
+     *
+     * @param lowerBound    the desired lower bound, see {@link #getEventIterator(long, long)}
+     * @param startingRound the round to start iterating from
+     * @param executor      the executor to decode and hash events on, shut down when the iterator is closed
+     * @param parallelism   the number of threads of the executor
+     * @param batchSize     the maximum number of events decoded by a single task
+     * @param metrics       replay metrics
+     * @return an iterator that walks over events
+     */
+    @NonNull
+    public PcesParallelMultiFileIterator getParallelEventIterator(
+            final long lowerBound,
+            final long startingRound,
+            @NonNull final ExecutorService executor,
+            final int parallelism,
+            final int batchSize,
+            @NonNull final PcesReplayMetrics metrics) {
+        return new PcesParallelMultiFileIterator(
+                lowerBound,
+                getFileIterator(lowerBound, startingRound),
+                fileType,
+                executor,
+                parallelism,
+                batchSize,
+                metrics);
+    }
+
     /**
      * Get an iterator that walks over all event files currently being tracked, in order.
      * <p>
@@ -34,6 +34,11 @@ public class PcesMutableFile {
 
     private final PcesFileWriter writer;
 
+    /**
+     * Builds the sparse index of the file, or null if no index is written.
+     */
+    private final PcesFileIndex.Builder indexBuilder;
+
     /**
      * The highest ancient indicator of all events written to the file.
      */
@@ -45,9 +50,14 @@ public class PcesMutableFile {
      * @param descriptor           a description of the file
      * @param useFileChannelWriter whether to use a FileChannel to write to the file as opposed to an OutputStream
      * @param syncEveryEvent       whether to sync the file after every event
+     * @param indexInterval        the number of events between entries of the file's sparse index, or 0 if no index
+     *                             should be written
      */
     PcesMutableFile(
-            @NonNull final PcesFile descriptor, final boolean useFileChannelWriter, final boolean syncEveryEvent)
+            @NonNull final PcesFile descriptor,
+            final boolean useFileChannelWriter,
+            final boolean syncEveryEvent,
+            final int indexInterval)
             throws IOException {
         if (Files.exists(descriptor.getPath())) {
             throw new IOException("File " + descriptor.getPath() + " already exists");
@@ -61,6 +71,7 @@ public class PcesMutableFile {
                 : new PcesOutputStreamFileWriter(descriptor.getPath(), syncEveryEvent);
         writer.writeVersion(PcesFileVersion.currentVersionNumber());
         highestAncientIdentifierInFile = descriptor.getLowerBound();
+        indexBuilder = indexInterval > 0 ? new PcesFileIndex.Builder(indexInterval) : null;
     }
 
     /**
@@ -83,6 +94,9 @@ public class PcesMutableFile {
             throw new IllegalStateException("Cannot write event " + event.getHash() + " with ancient indicator "
                     + event.getAncientIndicator(descriptor.getFileType()) + " to file " + descriptor);
         }
+        if (indexBuilder != null) {
+            indexBuilder.addEvent(writer.fileSize(), event.getAncientIndicator(descriptor.getFileType()));
+        }
         writer.writeEvent(event.getGossipEvent());
         highestAncientIdentifierInFile =
                 Math.max(highestAncientIdentifierInFile, event.getAncientIndicator(descriptor.getFileType()));
@@ -107,6 +121,7 @@ public class PcesMutableFile {
 
         try {
             Files.move(descriptor.getPath(), newDescriptor.getPath(), StandardCopyOption.ATOMIC_MOVE);
+            PcesFileIndex.move(descriptor, newDescriptor);
         } catch (final IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -122,10 +137,13 @@ public class PcesMutableFile {
     }
 
     /**
-     * Close the file.
+     * Close the file, and write its sparse index if enabled.
      */
     public void close() throws IOException {
         writer.close();
+        if (indexBuilder != null) {
+            indexBuilder.write(descriptor, writer.fileSize());
+        }
     }
 
     /**
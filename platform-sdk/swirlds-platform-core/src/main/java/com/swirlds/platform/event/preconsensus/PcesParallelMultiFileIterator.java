@@ -0,0 +1,417 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.event.preconsensus;
+
+import com.hedera.hapi.platform.event.GossipEvent;
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.common.io.IOIterator;
+import com.swirlds.platform.event.AncientMode;
+import com.swirlds.platform.event.PlatformEvent;
+import com.swirlds.platform.event.hashing.PbjStreamHasher;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Iterates over events from a sequence of preconsensus event files, decoding and hashing events in parallel.
+ * <p>
+ * Every file is memory mapped and scanned for the offsets of the events it contains. If the file has a
+ * {@link PcesFileIndex}, scanning starts at the first event that may be at or above the lower bound. Events are then
+ * split into batches, which are decoded and hashed on an executor. Batches are returned in file order, so events are
+ * returned in exactly the same order as by {@link PcesMultiFileIterator}. A bounded number of batches is in flight at
+ * any time, which limits the number of decoded events held in memory when the consumer is slower than the decoders.
+ * <p>
+ * Files written in the {@link PcesFileVersion#ORIGINAL} format can't be scanned without decoding events, each of them
+ * is read sequentially by a single task.
+ * <p>
+ * This iterator owns the executor it is given, the executor is shut down when this iterator is closed.
+ */
+public class PcesParallelMultiFileIterator implements IOIterator<PlatformEvent> {
+
+    private final Iterator<PcesFile> fileIterator;
+    private final long lowerBound;
+    private final AncientMode fileType;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+    private final PcesReplayMetrics metrics;
+
+    /**
+     * Batches submitted to the executor, in file order.
+     */
+    private final Deque<Future<List<PlatformEvent>>> pendingBatches = new ArrayDeque<>();
+
+    /**
+     * The file that batches are currently being submitted for, or null if the next file needs to be scanned.
+     */
+    private ScannedFile currentFile;
+
+    private Iterator<PlatformEvent> currentBatch = Collections.emptyIterator();
+    private PlatformEvent next;
+    private final AtomicInteger truncatedFileCount = new AtomicInteger();
+    private boolean closed = false;
+
+    private final LongAdder bytesRead = new LongAdder();
+    private long scanNanos;
+    private long waitNanos;
+    private final LongAdder decodeNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    /**
+     * The event offsets in a memory mapped protobuf event file.
+     */
+    private static final class ScannedFile {
+        /** The mapped file. */
+        private final ByteBuffer buffer;
+        /** The offsets of the length prefixes of complete events in the file. */
+        private final int[] offsets;
+        /** The number of complete events in the file. */
+        private final int count;
+        /** The index of the first event not yet submitted for decoding. */
+        private int nextOffset = 0;
+
+        private ScannedFile(@NonNull final ByteBuffer buffer, @NonNull final int[] offsets, final int count) {
+            this.buffer = buffer;
+            this.offsets = offsets;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Create an iterator that walks over events in a series of event files.
+     *
+     * @param lowerBound   the minimum ancient indicator of events to return, events with lower ancient indicators are
+     *                     not returned
+     * @param fileIterator an iterator that walks over event files
+     * @param fileType     the type of file to read
+     * @param executor     the executor to decode and hash events on, shut down when this iterator is closed
+     * @param parallelism  the number of threads of the executor
+     * @param batchSize    the maximum number of events decoded by a single task
+     * @param metrics      replay metrics
+     */
+    public PcesParallelMultiFileIterator(
+            final long lowerBound,
+            @NonNull final Iterator<PcesFile> fileIterator,
+            @NonNull final AncientMode fileType,
+            @NonNull final ExecutorService executor,
+            final int parallelism,
+            final int batchSize,
+            @NonNull final PcesReplayMetrics metrics) {
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, got " + parallelism);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be at least 1, got " + batchSize);
+        }
+        this.lowerBound = lowerBound;
+        this.fileIterator = Objects.requireNonNull(fileIterator);
+        this.fileType = Objects.requireNonNull(fileType);
+        this.executor = Objects.requireNonNull(executor);
+        this.batchSize = batchSize;
+        // Keep every thread busy while the consumer drains the oldest batch
+        this.maxBatchesInFlight = parallelism * 2;
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Find the next event that should be returned.
+     */
+    private void findNext() throws IOException {
+        while (next == null && !closed) {
+            if (currentBatch.hasNext()) {
+                next = currentBatch.next();
+                continue;
+            }
+
+            submitBatches();
+            if (pendingBatches.isEmpty()) {
+                close();
+                break;
+            }
+            currentBatch = awaitBatch(pendingBatches.removeFirst()).iterator();
+        }
+    }
+
+    /**
+     * Submit batches to the executor until the maximum number of batches is in flight or all files are submitted.
+     */
+    private void submitBatches() throws IOException {
+        while (pendingBatches.size() < maxBatchesInFlight) {
+            if (currentFile == null || currentFile.nextOffset == currentFile.count) {
+                if (!fileIterator.hasNext()) {
+                    return;
+                }
+                currentFile = scanFile(fileIterator.next());
+                continue;
+            }
+
+            final ScannedFile file = currentFile;
+            final int from = file.nextOffset;
+            final int to = Math.min(from + batchSize, file.count);
+            file.nextOffset = to;
+            pendingBatches.addLast(executor.submit(() -> decodeBatch(file, from, to)));
+        }
+    }
+
+    /**
+     * Map a file into memory and find the offsets of all complete events in it. Files in the original format are
+     * submitted for sequential reading instead.
+     *
+     * @param file the file to scan
+     * @return the scanned file, or null if the file doesn't contain any events to decode in parallel
+     */
+    private ScannedFile scanFile(@NonNull final PcesFile file) throws IOException {
+        final long start = System.nanoTime();
+        try (final FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < Integer.BYTES) {
+                // Empty file. Possible if the node crashed right after it created this file.
+                bytesRead.add(size);
+                return null;
+            }
+            if (size > Integer.MAX_VALUE) {
+                // Too large for a single mapping, but still readable as a stream
+                pendingBatches.addLast(executor.submit(() -> readFileSequentially(file)));
+                return null;
+            }
+
+            final ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+            final int fileVersionNumber = buffer.getInt(0);
+            final PcesFileVersion fileVersion = PcesFileVersion.fromVersionNumber(fileVersionNumber);
+            if (fileVersion == null) {
+                throw new IOException("unsupported file version: " + fileVersionNumber);
+            }
+            if (fileVersion == PcesFileVersion.ORIGINAL) {
+                pendingBatches.addLast(executor.submit(() -> readFileSequentially(file)));
+                return null;
+            }
+
+            // Events before the index start offset are below the lower bound, there is no need to decode them
+            final PcesFileIndex index = PcesFileIndex.read(file);
+            int[] offsets = new int[1024];
+            int count = 0;
+            final int startPosition = index == null
+                    ? Integer.BYTES
+                    : (int) Math.max(Integer.BYTES, index.getStartOffset(lowerBound));
+            int position = startPosition;
+            while (position < size) {
+                if (size - position < Integer.BYTES) {
+                    truncatedFileCount.incrementAndGet();
+                    break;
+                }
+                final int length = buffer.getInt(position);
+                if (length < 0 || size - position - Integer.BYTES < length) {
+                    // We found an event that wasn't fully written. This is possible (if not likely) when a node
+                    // is shut down abruptly.
+                    truncatedFileCount.incrementAndGet();
+                    break;
+                }
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = position;
+                position += Integer.BYTES + length;
+            }
+            // Only the file version and the scanned part of the file are read, skipped events are never touched
+            bytesRead.add(Integer.BYTES + Math.min(position, size) - startPosition);
+            return new ScannedFile(buffer, offsets, count);
+        } finally {
+            scanNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Decode and hash a range of events of a scanned file.
+     *
+     * @param file the scanned file
+     * @param from the index of the first event offset to decode, inclusive
+     * @param to   the index of the last event offset to decode, exclusive
+     * @return the decoded events with ancient indicators at or above the lower bound
+     */
+    @NonNull
+    private List<PlatformEvent> decodeBatch(@NonNull final ScannedFile file, final int from, final int to)
+            throws IOException {
+        final long decodeStart = System.nanoTime();
+        final List<PlatformEvent> events = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            final int offset = file.offsets[i];
+            final int length = file.buffer.getInt(offset);
+            final BufferedData data = BufferedData.wrap(file.buffer.slice(offset + Integer.BYTES, length));
+            final GossipEvent gossipEvent;
+            try {
+                gossipEvent = GossipEvent.PROTOBUF.parse(data);
+            } catch (final ParseException e) {
+                throw new IOException("GossipEvent read from the file is malformed", e);
+            }
+            if (data.remaining() != 0) {
+                throw new IOException("GossipEvent read from the file was not fully read");
+            }
+            final PlatformEvent event;
+            try {
+                event = new PlatformEvent(gossipEvent);
+            } catch (final NullPointerException e) {
+                throw new IOException("GossipEvent read from the file is malformed", e);
+            }
+            if (event.getAncientIndicator(fileType) >= lowerBound) {
+                events.add(event);
+            }
+        }
+        final long hashStart = System.nanoTime();
+        decodeNanos.add(hashStart - decodeStart);
+        hashEvents(events);
+        hashNanos.add(System.nanoTime() - hashStart);
+        return events;
+    }
+
+    /**
+     * Read all events of a file sequentially and hash them.
+     *
+     * @param file the file to read
+     * @return the events with ancient indicators at or above the lower bound
+     */
+    @NonNull
+    private List<PlatformEvent> readFileSequentially(@NonNull final PcesFile file) throws IOException {
+        final long decodeStart = System.nanoTime();
+        final List<PlatformEvent> events = new ArrayList<>();
+        final PcesFileIterator iterator = new PcesFileIterator(file, lowerBound, fileType);
+        while (iterator.hasNext()) {
+            events.add(iterator.next());
+        }
+        if (iterator.hasPartialEvent()) {
+            truncatedFileCount.incrementAndGet();
+        }
+        bytesRead.add(iterator.getBytesRead());
+        final long hashStart = System.nanoTime();
+        decodeNanos.add(hashStart - decodeStart);
+        hashEvents(events);
+        hashNanos.add(System.nanoTime() - hashStart);
+        return events;
+    }
+
+    /**
+     * Hash events, so the event hasher in the intake pipeline doesn't need to.
+     *
+     * @param events the events to hash
+     */
+    private static void hashEvents(@NonNull final List<PlatformEvent> events) {
+        final PbjStreamHasher hasher = new PbjStreamHasher();
+        for (final PlatformEvent event : events) {
+            hasher.hashEvent(event);
+        }
+    }
+
+    /**
+     * Wait for a batch to be decoded.
+     *
+     * @param batch the batch
+     * @return the decoded events
+     */
+    @NonNull
+    private List<PlatformEvent> awaitBatch(@NonNull final Future<List<PlatformEvent>> batch) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            return batch.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new InterruptedIOException("interrupted while reading preconsensus events");
+        } catch (final ExecutionException e) {
+            close();
+            if (e.getCause() instanceof final IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("unable to read preconsensus events", e.getCause());
+        } finally {
+            waitNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() throws IOException {
+        findNext();
+        return next != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public PlatformEvent next() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("iterator is empty, can not get next element");
+        }
+        try {
+            return next;
+        } finally {
+            next = null;
+        }
+    }
+
+    /**
+     * Stop reading events, shut down the executor, and report replay metrics. Events that were already decoded, but
+     * not returned by {@link #next()}, are discarded.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (final Future<List<PlatformEvent>> batch : pendingBatches) {
+            batch.cancel(true);
+        }
+        pendingBatches.clear();
+        currentFile = null;
+        currentBatch = Collections.emptyIterator();
+        executor.shutdownNow();
+        metrics.reportRead(bytesRead.sum(), scanNanos, decodeNanos.sum(), hashNanos.sum(), waitNanos);
+    }
+
+    /**
+     * Get the number of files that had partial event data at the end. This can happen if JVM is shut down abruptly
+     * while and event is being written to disk.
+     *
+     * @return the number of files that had partial event data at the end that have been encountered so far
+     */
+    public int getTruncatedFileCount() {
+        return truncatedFileCount.get();
+    }
+}
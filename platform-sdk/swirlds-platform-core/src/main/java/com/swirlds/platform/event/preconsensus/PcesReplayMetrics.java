@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.event.preconsensus;
+
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.DoubleGauge;
+import com.swirlds.metrics.api.LongGauge;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Metrics for preconsensus event replay at boot up time. Replay happens once per JVM, so timings are reported as
+ * totals for the whole replay.
+ */
+public class PcesReplayMetrics {
+
+    private static final String CATEGORY = "platform";
+
+    private static final LongGauge.Config REPLAY_TIME_CONFIG = new LongGauge.Config(CATEGORY, "pcesReplayTime")
+            .withUnit("milliseconds")
+            .withDescription("The wall clock time it took to replay preconsensus events.");
+    private final LongGauge replayTime;
+
+    private static final LongGauge.Config REPLAY_EVENT_COUNT_CONFIG = new LongGauge.Config(
+                    CATEGORY, "pcesReplayEventCount")
+            .withUnit("count")
+            .withDescription("The number of preconsensus events replayed.");
+    private final LongGauge replayEventCount;
+
+    private static final DoubleGauge.Config REPLAY_EVENT_RATE_CONFIG = new DoubleGauge.Config(
+                    CATEGORY, "pcesReplayEventsPerSecond")
+            .withUnit("hertz")
+            .withDescription("The average number of preconsensus events replayed per second.");
+    private final DoubleGauge replayEventRate;
+
+    private static final DoubleGauge.Config REPLAY_BYTE_RATE_CONFIG = new DoubleGauge.Config(
+                    CATEGORY, "pcesReplayMegabytesPerSecond")
+            .withUnit("megabytes per second")
+            .withDescription("The average rate at which preconsensus event files were read during replay.");
+    private final DoubleGauge replayByteRate;
+
+    private static final Counter.Config REPLAY_BYTES_READ_CONFIG = new Counter.Config(CATEGORY, "pcesReplayBytesRead")
+            .withUnit("bytes")
+            .withDescription("The number of bytes read from preconsensus event files during replay.");
+    private final Counter replayBytesRead;
+
+    private static final Counter.Config REPLAY_SCAN_TIME_CONFIG = new Counter.Config(CATEGORY, "pcesReplayScanTime")
+            .withUnit("milliseconds")
+            .withDescription("The time spent mapping preconsensus event files and scanning them for event offsets.");
+    private final Counter replayScanTime;
+
+    private static final Counter.Config REPLAY_DECODE_TIME_CONFIG = new Counter.Config(
+                    CATEGORY, "pcesReplayDecodeTime")
+            .withUnit("milliseconds")
+            .withDescription("The time spent decoding preconsensus events during replay, summed over all threads.");
+    private final Counter replayDecodeTime;
+
+    private static final Counter.Config REPLAY_HASH_TIME_CONFIG = new Counter.Config(CATEGORY, "pcesReplayHashTime")
+            .withUnit("milliseconds")
+            .withDescription("The time spent hashing preconsensus events during replay, summed over all threads.");
+    private final Counter replayHashTime;
+
+    private static final Counter.Config REPLAY_READ_WAIT_TIME_CONFIG = new Counter.Config(
+                    CATEGORY, "pcesReplayReadWaitTime")
+            .withUnit("milliseconds")
+            .withDescription("The time the replayer spent waiting for decoded preconsensus events.");
+    private final Counter replayReadWaitTime;
+
+    private static final Counter.Config REPLAY_HEALTH_WAIT_TIME_CONFIG = new Counter.Config(
+                    CATEGORY, "pcesReplayHealthWaitTime")
+            .withUnit("milliseconds")
+            .withDescription("The time the replayer spent waiting for the system to become healthy.");
+    private final Counter replayHealthWaitTime;
+
+    /**
+     * Construct preconsensus event replay metrics.
+     *
+     * @param metrics the metrics manager for the platform
+     */
+    public PcesReplayMetrics(@NonNull final Metrics metrics) {
+        Objects.requireNonNull(metrics);
+        replayTime = metrics.getOrCreate(REPLAY_TIME_CONFIG);
+        replayEventCount = metrics.getOrCreate(REPLAY_EVENT_COUNT_CONFIG);
+        replayEventRate = metrics.getOrCreate(REPLAY_EVENT_RATE_CONFIG);
+        replayByteRate = metrics.getOrCreate(REPLAY_BYTE_RATE_CONFIG);
+        replayBytesRead = metrics.getOrCreate(REPLAY_BYTES_READ_CONFIG);
+        replayScanTime = metrics.getOrCreate(REPLAY_SCAN_TIME_CONFIG);
+        replayDecodeTime = metrics.getOrCreate(REPLAY_DECODE_TIME_CONFIG);
+        replayHashTime = metrics.getOrCreate(REPLAY_HASH_TIME_CONFIG);
+        replayReadWaitTime = metrics.getOrCreate(REPLAY_READ_WAIT_TIME_CONFIG);
+        replayHealthWaitTime = metrics.getOrCreate(REPLAY_HEALTH_WAIT_TIME_CONFIG);
+    }
+
+    /**
+     * Report the time spent in the stages of a parallel replay read.
+     *
+     * @param bytesRead   the number of bytes read from event files
+     * @param scanNanos   the time spent scanning event files for event offsets, in nanoseconds
+     * @param decodeNanos the time spent decoding events, summed over all threads, in nanoseconds
+     * @param hashNanos   the time spent hashing events, summed over all threads, in nanoseconds
+     * @param waitNanos   the time the consumer spent waiting for decoded events, in nanoseconds
+     */
+    public void reportRead(
+            final long bytesRead,
+            final long scanNanos,
+            final long decodeNanos,
+            final long hashNanos,
+            final long waitNanos) {
+        replayBytesRead.add(bytesRead);
+        replayScanTime.add(Duration.ofNanos(scanNanos).toMillis());
+        replayDecodeTime.add(Duration.ofNanos(decodeNanos).toMillis());
+        replayHashTime.add(Duration.ofNanos(hashNanos).toMillis());
+        replayReadWaitTime.add(Duration.ofNanos(waitNanos).toMillis());
+    }
+
+    /**
+     * Report the completion of replay.
+     *
+     * @param eventCount     the number of events replayed
+     * @param elapsedTime    the wall clock time the replay took
+     * @param healthWaitTime the time spent waiting for the system to become healthy
+     */
+    public void reportReplay(
+            final long eventCount, @NonNull final Duration elapsedTime, @NonNull final Duration healthWaitTime) {
+        replayTime.set(elapsedTime.toMillis());
+        replayEventCount.set(eventCount);
+        replayHealthWaitTime.add(healthWaitTime.toMillis());
+
+        final double seconds = elapsedTime.toNanos() / 1_000_000_000.0;
+        if (seconds > 0) {
+            replayEventRate.set(eventCount / seconds);
+            replayByteRate.set(replayBytesRead.get() / 1024.0 / 1024.0 / seconds);
+        }
+    }
+}
@@ -59,6 +59,13 @@ public class PcesReplayer {
 
     private final PcesConfig config;
 
+    private final PcesReplayMetrics metrics;
+
+    /**
+     * The time spent waiting for the system to become healthy during the current replay.
+     */
+    private Duration healthWaitTime = Duration.ZERO;
+
     /**
      * Constructor
      *
@@ -69,6 +76,7 @@ public class PcesReplayer {
      * @param latestImmutableState     a supplier of the latest immutable state
      * @param isSystemHealthy          a supplier that returns true if the system is healthy and false if the system is
      *                                 overwhelmed
+     * @param metrics                  the replay metrics, shared with the iterator that reads the events to replay
      */
     public PcesReplayer(
             final @NonNull PlatformContext context,
@@ -76,7 +84,8 @@ public class PcesReplayer {
             final @NonNull Runnable flushIntake,
             final @NonNull Runnable flushTransactionHandling,
             final @NonNull Supplier<ReservedSignedState> latestImmutableState,
-            final @NonNull Supplier<Boolean> isSystemHealthy) {
+            final @NonNull Supplier<Boolean> isSystemHealthy,
+            final @NonNull PcesReplayMetrics metrics) {
 
         this.time = context.getTime();
         this.eventOutputWire = Objects.requireNonNull(eventOutputWire);
@@ -86,6 +95,7 @@ public class PcesReplayer {
         this.isSystemHealthy = Objects.requireNonNull(isSystemHealthy);
 
         this.config = context.getConfiguration().getConfigData(PcesConfig.class);
+        this.metrics = Objects.requireNonNull(metrics);
     }
 
     /**
@@ -148,7 +158,7 @@ public class PcesReplayer {
     /**
      * Replays preconsensus events from disk.
      *
-     * @param eventIterator an iterator over the events in the preconsensus stream
+     * @param eventIterator an iterator over the events in the preconsensus stream, closed when replay is complete
      * @return a trigger object indicating when the replay is complete
      */
     @NonNull
@@ -156,6 +166,7 @@ public class PcesReplayer {
         Objects.requireNonNull(eventIterator);
 
         final Instant start = time.now();
+        healthWaitTime = Duration.ZERO;
         final Instant timestampBeforeReplay;
         final long roundBeforeReplay;
         try (final ReservedSignedState startState = latestImmutableState.get()) {
@@ -191,6 +202,8 @@ public class PcesReplayer {
             }
         } catch (final IOException e) {
             throw new UncheckedIOException("error encountered while reading from the PCES", e);
+        } finally {
+            eventIterator.close();
         }
 
         flushIntake.run();
@@ -198,6 +211,7 @@ public class PcesReplayer {
 
         final Duration elapsedTime = Duration.between(start, time.now());
 
+        metrics.reportReplay(eventCount, elapsedTime, healthWaitTime);
         logReplayInfo(timestampBeforeReplay, roundBeforeReplay, eventCount, transactionCount, elapsedTime);
 
         return NoInput.getInstance();
@@ -208,7 +222,11 @@ public class PcesReplayer {
      * large.
      */
     private void waitUntilHealthy() {
+        Instant start = null;
         while (!isSystemHealthy.get()) {
+            if (start == null) {
+                start = time.now();
+            }
             // wait until the system is healthy
             try {
                 MILLISECONDS.sleep(100);
@@ -216,5 +234,8 @@ public class PcesReplayer {
                 throw new RuntimeException("interrupted while replaying PCES", e);
             }
         }
+        if (start != null) {
+            healthWaitTime = healthWaitTime.plus(Duration.between(start, time.now()));
+        }
     }
 }
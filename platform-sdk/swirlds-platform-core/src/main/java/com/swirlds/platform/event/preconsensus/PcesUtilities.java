@@ -89,6 +89,7 @@ public final class PcesUtilities {
         final PcesFile newFile = originalFile.buildFileWithCompressedSpan(newUpperBound);
         try {
             Files.move(originalFile.getPath(), newFile.getPath(), StandardCopyOption.ATOMIC_MOVE);
+            PcesFileIndex.move(originalFile, newFile);
         } catch (final IOException e) {
             logger.error(EXCEPTION.getMarker(), "Failed to compact span of file {}", originalFile.getPath(), e);
             return originalFile;
@@ -21,6 +21,7 @@ import com.swirlds.platform.consensus.EventWindow;
 import com.swirlds.platform.event.PlatformEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Instant;
 
 /**
  * This object is responsible for writing preconsensus events to disk.
@@ -69,6 +70,18 @@ public interface PcesWriter {
     @Nullable
     Long submitFlushRequest(@NonNull Long sequenceNumber);
 
+    /**
+     * Perform a flush that was delayed to be batched with later events, if the flush batch window has elapsed. Called
+     * periodically, so delayed flushes are performed even if no new events are written.
+     *
+     * @param now the current time
+     * @return the sequence number of the last event durably written to the stream, or null if this method call didn't
+     * result in any additional events being durably written to the stream
+     */
+    @InputWireLabel("check delayed flush")
+    @Nullable
+    Long checkDelayedFlush(@NonNull Instant now);
+
     /**
      * Let the event writer know the current non-ancient event boundary. Ancient events will be ignored if added to the
      * event writer.
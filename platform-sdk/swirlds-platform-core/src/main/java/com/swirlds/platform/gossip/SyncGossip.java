@@ -254,7 +254,8 @@ public class SyncGossip implements ConnectionTracker, Gossip {
 
         syncConfig = platformContext.getConfiguration().getConfigData(SyncConfig.class);
 
-        final ParallelExecutor shadowgraphExecutor = new CachedPoolParallelExecutor(threadManager, "node-sync");
+        final ParallelExecutor shadowgraphExecutor =
+                new CachedPoolParallelExecutor(threadManager, "node-sync", syncConfig.useVirtualThreads());
         thingsToStart.add(shadowgraphExecutor);
         final SyncMetrics syncMetrics = new SyncMetrics(platformContext.getMetrics());
         syncShadowgraphSynchronizer = new ShadowgraphSynchronizer(
@@ -341,6 +342,7 @@ public class SyncGossip implements ConnectionTracker, Gossip {
         for (final NodeId otherId : topology.getNeighbors()) {
             syncProtocolThreads.add(new StoppableThreadConfiguration<>(threadManager)
                     .setPriority(Thread.NORM_PRIORITY)
+                    .setVirtual(syncConfig.useVirtualThreads())
                     .setNodeId(selfId)
                     .setComponent(PLATFORM_THREAD_POOL_NAME)
                     .setOtherNodeId(otherId)
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A ring buffer of shadow events grouped by ancient indicator (i.e. a generation or a birth round, depending on the
+ * current ancient mode). There is a slot for every ancient indicator starting with the oldest non-expired indicator.
+ * The slot of an indicator is found by masking the indicator, so there are no boxed keys and no per-indicator map
+ * entries. Slot lists are reused after their events are expired.
+ *
+ * <p>Events must be added in the order of their {@link ShadowEvent#getSequence() sequence numbers}, so the first event
+ * of every slot list has the oldest sequence number of its slot. This is used to keep track of the oldest sequence
+ * number of all events without walking through all events.
+ *
+ * <p>This class is not thread safe, it is guarded by the {@link Shadowgraph} lock.
+ */
+final class AncientIndicatorSlots {
+
+    /**
+     * Initial number of slots, must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Initial capacity of a slot list.
+     */
+    private static final int INITIAL_SLOT_CAPACITY = 16;
+
+    /**
+     * Slots, the slot of an ancient indicator is at index {@code indicator & (slots.length - 1)}.
+     */
+    private List<ShadowEvent>[] slots;
+
+    /**
+     * The oldest ancient indicator that has a slot.
+     */
+    private long firstIndicator;
+
+    /**
+     * The newest ancient indicator that has ever been added, or {@code firstIndicator - 1} if none has been added.
+     */
+    private long lastIndicator;
+
+    /**
+     * The oldest sequence number of all events, or {@link Long#MAX_VALUE} if there are no events.
+     */
+    private long oldestSequence = Long.MAX_VALUE;
+
+    /**
+     * Constructor.
+     *
+     * @param firstIndicator the oldest ancient indicator to have a slot
+     */
+    AncientIndicatorSlots(final long firstIndicator) {
+        this.slots = newSlots(INITIAL_CAPACITY);
+        this.firstIndicator = firstIndicator;
+        this.lastIndicator = firstIndicator - 1;
+    }
+
+    /**
+     * Add a shadow event to the slot of its ancient indicator. The number of slots grows, if the indicator is too far
+     * ahead of the oldest indicator.
+     *
+     * @param indicator the ancient indicator of the event, must not be less than the oldest indicator
+     * @param event     the shadow event, its sequence number must be greater than that of all events added before
+     */
+    void add(final long indicator, @NonNull final ShadowEvent event) {
+        if (indicator < firstIndicator) {
+            throw new IllegalArgumentException(
+                    "Ancient indicator " + indicator + " is less than the oldest indicator " + firstIndicator);
+        }
+        final long distance = indicator - firstIndicator;
+        if (distance >= slots.length) {
+            resize(distance + 1);
+        }
+        final int index = (int) (indicator & (slots.length - 1));
+        List<ShadowEvent> slot = slots[index];
+        if (slot == null) {
+            slot = new ArrayList<>(INITIAL_SLOT_CAPACITY);
+            slots[index] = slot;
+        }
+        slot.add(event);
+        lastIndicator = Math.max(lastIndicator, indicator);
+        oldestSequence = Math.min(oldestSequence, event.getSequence());
+    }
+
+    /**
+     * Get the shadow events with the given ancient indicator.
+     *
+     * @param indicator the ancient indicator
+     * @return the shadow events, the returned list must not be modified or retained
+     */
+    @NonNull
+    List<ShadowEvent> get(final long indicator) {
+        if (indicator < firstIndicator || indicator - firstIndicator >= slots.length) {
+            return Collections.emptyList();
+        }
+        final List<ShadowEvent> slot = slots[(int) (indicator & (slots.length - 1))];
+        return slot == null ? Collections.emptyList() : slot;
+    }
+
+    /**
+     * Get the oldest ancient indicator that has a slot.
+     *
+     * @return the oldest ancient indicator
+     */
+    long getFirstIndicator() {
+        return firstIndicator;
+    }
+
+    /**
+     * Get the newest ancient indicator that may have events. There are no events with newer indicators.
+     *
+     * @return the newest ancient indicator, less than the oldest indicator if there are no events
+     */
+    long getLastIndicator() {
+        return lastIndicator;
+    }
+
+    /**
+     * Get the oldest sequence number of all events.
+     *
+     * @return the oldest sequence number, or {@link Long#MAX_VALUE} if there are no events
+     */
+    long getOldestSequence() {
+        return oldestSequence;
+    }
+
+    /**
+     * Remove all shadow events of the oldest ancient indicator, and move to the next indicator. The slot list is kept
+     * for reuse.
+     *
+     * @param consumer called for every removed shadow event
+     * @return true if there were any events with the oldest ancient indicator, false otherwise
+     */
+    boolean removeFirst(@NonNull final Consumer<ShadowEvent> consumer) {
+        final List<ShadowEvent> slot = slots[(int) (firstIndicator & (slots.length - 1))];
+        firstIndicator++;
+        if (slot == null || slot.isEmpty()) {
+            return false;
+        }
+        final boolean hadOldestSequence = slot.getFirst().getSequence() == oldestSequence;
+        slot.forEach(consumer);
+        slot.clear();
+        if (hadOldestSequence) {
+            // Only the first events of slot lists need to be checked, as they are the oldest events of their slots
+            oldestSequence = Long.MAX_VALUE;
+            for (long indicator = firstIndicator; indicator <= lastIndicator; indicator++) {
+                final List<ShadowEvent> remaining = get(indicator);
+                if (!remaining.isEmpty()) {
+                    oldestSequence = Math.min(oldestSequence, remaining.getFirst().getSequence());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remove all shadow events, and release the memory used by slots.
+     *
+     * @param firstIndicator the oldest ancient indicator to have a slot
+     */
+    void clear(final long firstIndicator) {
+        this.slots = newSlots(INITIAL_CAPACITY);
+        this.firstIndicator = firstIndicator;
+        this.lastIndicator = firstIndicator - 1;
+        this.oldestSequence = Long.MAX_VALUE;
+    }
+
+    private void resize(final long minCapacity) {
+        if (minCapacity > (1 << 30)) {
+            throw new IllegalStateException("Too many ancient indicator slots: " + minCapacity);
+        }
+        final int capacity = Integer.highestOneBit((int) (minCapacity - 1)) << 1;
+        final List<ShadowEvent>[] oldSlots = slots;
+        slots = newSlots(capacity);
+        final int oldMask = oldSlots.length - 1;
+        final int newMask = capacity - 1;
+        for (long indicator = firstIndicator; indicator < firstIndicator + oldSlots.length; indicator++) {
+            slots[(int) (indicator & newMask)] = oldSlots[(int) (indicator & oldMask)];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @NonNull
+    private static List<ShadowEvent>[] newSlots(final int capacity) {
+        return (List<ShadowEvent>[]) new List[capacity];
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+/**
+ * A bitmap of shadow events a peer is known to have, indexed by {@link ShadowEvent#getSequence() sequence numbers}.
+ * Bits are stored in a ring of words, starting with the word of the oldest sequence number that may still be in the
+ * shadowgraph. Words of older sequence numbers are dropped as events expire, so the bitmap only covers events in the
+ * shadowgraph.
+ *
+ * <p>Bits below the oldest kept sequence number are never set and always read as not set. This is safe, as an event
+ * reported as unknown is at worst sent to the peer again.
+ *
+ * <p>This class is not thread safe, it is guarded by the {@link Shadowgraph} lock.
+ */
+final class KnownEventsBitmap {
+
+    /**
+     * Initial number of words, must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Bitmap words, the word of a sequence number is at index {@code (sequence >>> 6) & (words.length - 1)}.
+     */
+    private long[] words = new long[INITIAL_CAPACITY];
+
+    /**
+     * The index of the oldest word in the bitmap, i.e. the oldest sequence number divided by 64.
+     */
+    private long firstWord;
+
+    /**
+     * Constructor.
+     *
+     * @param firstSequence the oldest sequence number the bitmap should cover
+     */
+    KnownEventsBitmap(final long firstSequence) {
+        this.firstWord = firstSequence >>> 6;
+    }
+
+    /**
+     * Check if the bit of a sequence number is set.
+     *
+     * @param sequence the sequence number
+     * @return true if the bit is set, false otherwise
+     */
+    boolean get(final long sequence) {
+        final long word = sequence >>> 6;
+        if (word < firstWord || word - firstWord >= words.length) {
+            return false;
+        }
+        return (words[(int) (word & (words.length - 1))] & (1L << sequence)) != 0;
+    }
+
+    /**
+     * Set the bit of a sequence number. Sequence numbers older than the oldest kept sequence number are ignored.
+     *
+     * @param sequence the sequence number
+     */
+    void set(final long sequence) {
+        final long word = sequence >>> 6;
+        if (word < firstWord) {
+            return;
+        }
+        if (word - firstWord >= words.length) {
+            resize(word - firstWord + 1);
+        }
+        words[(int) (word & (words.length - 1))] |= 1L << sequence;
+    }
+
+    /**
+     * Drop all bits below the given sequence number. Some bits below the sequence number may still be kept, if they
+     * share a word with the sequence number.
+     *
+     * @param sequence the oldest sequence number to keep
+     */
+    void dropBelow(final long sequence) {
+        final long newFirstWord = sequence >>> 6;
+        if (newFirstWord <= firstWord) {
+            return;
+        }
+        final long end = Math.min(newFirstWord, firstWord + words.length);
+        for (long word = firstWord; word < end; word++) {
+            words[(int) (word & (words.length - 1))] = 0;
+        }
+        firstWord = newFirstWord;
+    }
+
+    private void resize(final long minCapacity) {
+        if (minCapacity > (1 << 30)) {
+            throw new IllegalStateException("Too many known event bitmap words: " + minCapacity);
+        }
+        final int capacity = Integer.highestOneBit((int) (minCapacity - 1)) << 1;
+        final long[] oldWords = words;
+        words = new long[capacity];
+        final int oldMask = oldWords.length - 1;
+        final int newMask = capacity - 1;
+        for (long word = firstWord; word < firstWord + oldWords.length; word++) {
+            words[(int) (word & newMask)] = oldWords[(int) (word & oldMask)];
+        }
+    }
+}
@@ -51,6 +51,16 @@ public class ShadowEvent {
      */
     private ShadowEvent otherParent;
 
+    /**
+     * the index of this event in the shadowgraph's list of tips, or -1 if this event is not a tip
+     */
+    private int tipIndex = -1;
+
+    /**
+     * the sequence number assigned to this event when it was inserted into the shadowgraph
+     */
+    private long sequence;
+
     /**
      * Construct a shadow event from an event and the shadow events of its parents
      *
@@ -113,6 +123,43 @@ public class ShadowEvent {
         return event.getHash();
     }
 
+    /**
+     * Get the index of this event in the shadowgraph's list of tips.
+     *
+     * @return the tip index, or -1 if this event is not a tip
+     */
+    int getTipIndex() {
+        return tipIndex;
+    }
+
+    /**
+     * Set the index of this event in the shadowgraph's list of tips.
+     *
+     * @param tipIndex the tip index, or -1 if this event is not a tip
+     */
+    void setTipIndex(final int tipIndex) {
+        this.tipIndex = tipIndex;
+    }
+
+    /**
+     * Get the sequence number assigned to this event when it was inserted into the shadowgraph. Sequence numbers are
+     * unique and increase in insertion order.
+     *
+     * @return the sequence number
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Set the sequence number of this event.
+     *
+     * @param sequence the sequence number
+     */
+    void setSequence(final long sequence) {
+        this.sequence = sequence;
+    }
+
     /**
      * Disconnect this shadow event from its parents. Remove inbound links and outbound links
      */
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import com.swirlds.common.crypto.Hash;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * A hash index of shadow events, an open addressing hash table with linear probing. The table is keyed by the first 8
+ * bytes of event hashes, which are stored in a primitive array, so lookups don't need to touch {@link Hash} objects
+ * unless the 8-byte prefixes match. Full hashes are always compared before a shadow event is returned, so events with
+ * the same hash prefix are still distinguished.
+ *
+ * <p>This class is not thread safe, it is guarded by the {@link Shadowgraph} lock.
+ */
+final class ShadowEventIndex {
+
+    /**
+     * Initial capacity of the table, must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Random seed to mix hash prefixes with, so table slots can't be predicted from event hashes.
+     */
+    private final long seed;
+
+    /**
+     * First 8 bytes of event hashes. Only valid where {@link #events} is not null.
+     */
+    private long[] prefixes;
+
+    /**
+     * Shadow events, null for empty slots.
+     */
+    private ShadowEvent[] events;
+
+    /**
+     * Number of shadow events in the index.
+     */
+    private int size;
+
+    ShadowEventIndex() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor with a fixed seed, used in tests to make table slots predictable.
+     *
+     * @param seed the seed to mix hash prefixes with
+     */
+    ShadowEventIndex(final long seed) {
+        this.seed = seed;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Get the number of shadow events in the index.
+     *
+     * @return the number of shadow events
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the shadow event with the given hash.
+     *
+     * @param hash the event hash
+     * @return the shadow event, or null if there is no shadow event with the hash in the index
+     */
+    @Nullable
+    ShadowEvent get(@Nullable final Hash hash) {
+        if (hash == null) {
+            return null;
+        }
+        final long prefix = prefixOf(hash);
+        final int mask = events.length - 1;
+        for (int i = slotOf(prefix, mask); ; i = (i + 1) & mask) {
+            final ShadowEvent event = events[i];
+            if (event == null) {
+                return null;
+            }
+            if (prefixes[i] == prefix && event.getEventBaseHash().equals(hash)) {
+                return event;
+            }
+        }
+    }
+
+    /**
+     * Add a shadow event to the index. The index must not contain a shadow event with the same hash.
+     *
+     * @param event the shadow event to add
+     */
+    void add(@NonNull final ShadowEvent event) {
+        if ((size + 1) * 2 > events.length) {
+            resize(events.length * 2);
+        }
+        insert(prefixOf(event.getEventBaseHash()), event);
+        size++;
+    }
+
+    /**
+     * Remove a shadow event from the index.
+     *
+     * @param event the shadow event to remove
+     */
+    void remove(@NonNull final ShadowEvent event) {
+        final long prefix = prefixOf(event.getEventBaseHash());
+        final int mask = events.length - 1;
+        int i = slotOf(prefix, mask);
+        while (events[i] != event) {
+            if (events[i] == null) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        // Backward shift deletion: move following entries of the probe sequence into the freed slot, so lookups
+        // never hit an empty slot before reaching their entry
+        int free = i;
+        for (int j = (i + 1) & mask; events[j] != null; j = (j + 1) & mask) {
+            final int home = slotOf(prefixes[j], mask);
+            // The entry at j can be moved, if its home slot is not in the (cyclic) range (free, j]
+            if (((j - home) & mask) >= ((j - free) & mask)) {
+                events[free] = events[j];
+                prefixes[free] = prefixes[j];
+                free = j;
+            }
+        }
+        events[free] = null;
+        size--;
+    }
+
+    /**
+     * Get the number of slots in the table.
+     *
+     * @return the table capacity
+     */
+    int capacity() {
+        return events.length;
+    }
+
+    /**
+     * Get the home slot of a hash, i.e. the first slot probed when the hash is looked up in the current table.
+     *
+     * @param hash the event hash
+     * @return the home slot index
+     */
+    int homeSlotOf(@NonNull final Hash hash) {
+        return slotOf(prefixOf(hash), events.length - 1);
+    }
+
+    /**
+     * Call the consumer for every shadow event in the index.
+     *
+     * @param consumer the consumer
+     */
+    void forEach(@NonNull final Consumer<ShadowEvent> consumer) {
+        for (final ShadowEvent event : events) {
+            if (event != null) {
+                consumer.accept(event);
+            }
+        }
+    }
+
+    /**
+     * Remove all shadow events from the index, and release the memory used by the table.
+     */
+    void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    private void allocate(final int capacity) {
+        prefixes = new long[capacity];
+        events = new ShadowEvent[capacity];
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldPrefixes = prefixes;
+        final ShadowEvent[] oldEvents = events;
+        allocate(capacity);
+        for (int i = 0; i < oldEvents.length; i++) {
+            if (oldEvents[i] != null) {
+                insert(oldPrefixes[i], oldEvents[i]);
+            }
+        }
+    }
+
+    private void insert(final long prefix, @NonNull final ShadowEvent event) {
+        final int mask = events.length - 1;
+        int i = slotOf(prefix, mask);
+        while (events[i] != null) {
+            i = (i + 1) & mask;
+        }
+        prefixes[i] = prefix;
+        events[i] = event;
+    }
+
+    private int slotOf(final long prefix, final int mask) {
+        final long mixed = (prefix ^ seed) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32) & mask;
+    }
+
+    private static long prefixOf(@NonNull final Hash hash) {
+        return hash.getBytes().getLong(0);
+    }
+}
@@ -22,6 +22,7 @@ import static com.swirlds.logging.legacy.LogMarker.SYNC_INFO;
 
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.utility.Clearable;
 import com.swirlds.platform.consensus.EventWindow;
 import com.swirlds.platform.event.AncientMode;
@@ -35,12 +36,9 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -64,19 +62,20 @@ public class Shadowgraph implements Clearable {
     public static final int NO_RESERVATION = -1;
 
     /**
-     * The shadowgraph represented in a map from has to shadow event.
+     * The shadowgraph represented as a hash index of shadow events.
      */
-    private final HashMap<Hash, ShadowEvent> hashToShadowEvent;
+    private final ShadowEventIndex hashToShadowEvent;
 
     /**
-     * Map from ancient indicator to all shadow events with that ancient indicator.
+     * Slots of shadow events by ancient indicator, starting with the oldest non-expired ancient indicator.
      */
-    private final Map<Long /* ancient indicator */, Set<ShadowEvent>> indicatorToShadowEvent;
+    private final AncientIndicatorSlots indicatorToShadowEvent;
 
     /**
-     * The set of all tips for the shadowgraph. A tip is an event with no self child (could have other children)
+     * The list of all tips for the shadowgraph. A tip is an event with no self child (could have other children). The
+     * index of a tip in this list is stored in the tip, so tips are added and removed without hashing.
      */
-    private final HashSet<ShadowEvent> tips;
+    private final ArrayList<ShadowEvent> tips;
 
     /**
      * The oldest ancient indicator that has not yet been expired
@@ -84,9 +83,9 @@ public class Shadowgraph implements Clearable {
     private long oldestUnexpiredIndicator;
 
     /**
-     * The list of all currently reserved indicators and their number of reservations.
+     * All currently reserved indicators and their number of reservations.
      */
-    private final LinkedList<ShadowgraphReservation> reservationList;
+    private final ShadowgraphReservations reservations;
 
     /**
      * Encapsulates metrics for the shadowgraph.
@@ -113,6 +112,22 @@ public class Shadowgraph implements Clearable {
      */
     private final IntakeEventCounter intakeEventCounter;
 
+    /**
+     * The sequence number to assign to the next inserted shadow event.
+     */
+    private long nextSequence;
+
+    /**
+     * For each peer that is tracked, the events the peer is known to have. A peer is tracked from the first call to
+     * {@link #markKnownByPeer(NodeId, Collection)} until {@link #forgetPeer(NodeId)} is called.
+     */
+    private final Map<NodeId, KnownEventsBitmap> knownEventsByPeer = new HashMap<>();
+
+    /**
+     * The stack used to mark events and their ancestors as known, only used while holding the lock.
+     */
+    private final Deque<ShadowEvent> markStack = new ArrayDeque<>();
+
     /**
      * Constructor.
      *
@@ -133,10 +148,10 @@ public class Shadowgraph implements Clearable {
         this.metrics = new ShadowgraphMetrics(platformContext);
         this.numberOfNodes = addressBook.getSize();
         this.intakeEventCounter = Objects.requireNonNull(intakeEventCounter);
-        tips = new HashSet<>();
-        hashToShadowEvent = new HashMap<>();
-        indicatorToShadowEvent = new HashMap<>();
-        reservationList = new LinkedList<>();
+        tips = new ArrayList<>();
+        hashToShadowEvent = new ShadowEventIndex();
+        indicatorToShadowEvent = new AncientIndicatorSlots(ancientMode.getGenesisIndicator());
+        reservations = new ShadowgraphReservations();
     }
 
     /**
@@ -147,6 +162,7 @@ public class Shadowgraph implements Clearable {
     private void startWithEventWindow(@NonNull final EventWindow eventWindow) {
         this.eventWindow = eventWindow;
         oldestUnexpiredIndicator = eventWindow.getExpiredThreshold();
+        indicatorToShadowEvent.clear(oldestUnexpiredIndicator);
         logger.info(
                 STARTUP.getMarker(),
                 "Shadowgraph starting from expiration threshold {}",
@@ -162,17 +178,16 @@ public class Shadowgraph implements Clearable {
         disconnectShadowEvents();
         tips.clear();
         hashToShadowEvent.clear();
-        indicatorToShadowEvent.clear();
-        reservationList.clear();
+        indicatorToShadowEvent.clear(oldestUnexpiredIndicator);
+        reservations.clear();
+        knownEventsByPeer.clear();
     }
 
     /**
      * Disconnect all shadow events to help the garbage collector.
      */
     private void disconnectShadowEvents() {
-        for (final ShadowEvent shadow : hashToShadowEvent.values()) {
-            shadow.disconnect();
-        }
+        hashToShadowEvent.forEach(ShadowEvent::disconnect);
     }
 
     /**
@@ -183,33 +198,10 @@ public class Shadowgraph implements Clearable {
      */
     @NonNull
     public synchronized ReservedEventWindow reserve() {
-        if (reservationList.isEmpty()) {
-            // If we are not currently holding any reservations, we need to create a new one.
-            return new ReservedEventWindow(eventWindow, newReservation());
-        }
-
-        // Check to see if an existing reservation is good enough.
-
-        final ShadowgraphReservation lastReservation = reservationList.getLast();
-
-        final long previouslyReservedThreshold = lastReservation.getReservedThreshold();
-        final long thresholdWeWantToReserve = eventWindow.getExpiredThreshold();
-
-        if (previouslyReservedThreshold == thresholdWeWantToReserve) {
-
-            // The latest reservation is against the same expired threshold that we currently want to reserve.
-            // We can reuse that reservation instead of creating a new one. We still need to package that
-            // reservation with the most recent eventWindow we know about.
-
-            lastReservation.incrementReservations();
-            return new ReservedEventWindow(eventWindow, lastReservation);
-        } else {
-
-            // We want a reservation on an expired threshold that isn't currently reserved.
-            // Create a new reservation.
-
-            return new ReservedEventWindow(eventWindow, newReservation());
-        }
+        // If the latest reservation is against the same expired threshold that we currently want to reserve, it is
+        // reused instead of creating a new one. We still need to package that reservation with the most recent
+        // eventWindow we know about.
+        return new ReservedEventWindow(eventWindow, reservations.reserve(eventWindow.getExpiredThreshold()));
     }
 
     /**
@@ -229,7 +221,7 @@ public class Shadowgraph implements Clearable {
      */
     @Deprecated(forRemoval = true)
     public synchronized boolean isHashInGraph(final Hash hash) {
-        return hashToShadowEvent.containsKey(hash);
+        return hashToShadowEvent.get(hash) != null;
     }
 
     /**
@@ -253,27 +245,27 @@ public class Shadowgraph implements Clearable {
      */
     public Set<ShadowEvent> findAncestors(final Iterable<ShadowEvent> events, final Predicate<ShadowEvent> predicate) {
         final HashSet<ShadowEvent> ancestors = new HashSet<>();
+        final Deque<ShadowEvent> todoStack = new ArrayDeque<>();
         for (ShadowEvent event : events) {
-            // add ancestors that have not already been found and that pass the predicate
-            final Predicate<ShadowEvent> isValidShadowEvent =
-                    e -> !ancestors.contains(e) && !expired(e.getEvent().getDescriptor()) && predicate.test(e);
-            findAncestors(ancestors, event, isValidShadowEvent);
+            findAncestors(ancestors, todoStack, event, predicate);
         }
         return ancestors;
     }
 
     /**
      * Private method that searches for ancestors and takes a HashSet as input. This method exists for efficiency, when
-     * looking for ancestors of multiple events, we want to append to the same HashSet.
+     * looking for ancestors of multiple events, we want to append to the same HashSet, and reuse the same stack.
      *
      * @param ancestors the HashSet to add ancestors to
+     * @param todoStack the empty stack to use for the search, it is empty again when this method returns
      * @param event     the event to find ancestors of
      * @param predicate determines whether or not to add the ancestor to the return list
      */
     private void findAncestors(
-            final HashSet<ShadowEvent> ancestors, final ShadowEvent event, final Predicate<ShadowEvent> predicate) {
-        final Deque<ShadowEvent> todoStack = new ArrayDeque<>();
-
+            final HashSet<ShadowEvent> ancestors,
+            final Deque<ShadowEvent> todoStack,
+            final ShadowEvent event,
+            final Predicate<ShadowEvent> predicate) {
         final ShadowEvent sp = event.getSelfParent();
         if (sp != null) {
             todoStack.push(sp);
@@ -292,17 +284,18 @@ public class Shadowgraph implements Clearable {
 
             1. the event is not expired
             AND
-            2. the predicate passes
+            2. the event is not already in ancestors,
             AND
-            3. the event is not already in ancestors,
+            3. the predicate passes
 
             THEN
 
             add it to ancestors and push any non-null parents to the stack
              */
             if (!expired(testEvent.getEvent().getDescriptor())
-                    && predicate.test(testEvent)
-                    && ancestors.add(testEvent)) {
+                    && !ancestors.contains(testEvent)
+                    && predicate.test(testEvent)) {
+                ancestors.add(testEvent);
                 final ShadowEvent xsp = testEvent.getSelfParent();
                 if (xsp != null) {
                     todoStack.push(xsp);
@@ -333,10 +326,11 @@ public class Shadowgraph implements Clearable {
             return result;
         }
         for (long indicator = lowerBound; indicator < upperBound; indicator++) {
-            indicatorToShadowEvent.getOrDefault(indicator, Collections.emptySet()).stream()
-                    .map(ShadowEvent::getEvent)
-                    .filter(predicate)
-                    .forEach(result::add);
+            for (final ShadowEvent shadow : indicatorToShadowEvent.get(indicator)) {
+                if (predicate.test(shadow.getEvent())) {
+                    result.add(shadow.getEvent());
+                }
+            }
         }
         return result;
     }
@@ -375,7 +369,7 @@ public class Shadowgraph implements Clearable {
 
         // Remove reservations for events that can and should be expired, and
         // keep track of the oldest threshold that can be expired
-        long oldestReservedIndicator = pruneReservationList();
+        long oldestReservedIndicator = reservations.prune(eventWindow.getExpiredThreshold());
 
         if (oldestReservedIndicator == NO_RESERVATION) {
             oldestReservedIndicator = eventWindow.getExpiredThreshold();
@@ -392,50 +386,136 @@ public class Shadowgraph implements Clearable {
         final long minimumIndicatorToKeep = Math.min(eventWindow.getExpiredThreshold(), oldestReservedIndicator);
 
         while (oldestUnexpiredIndicator < minimumIndicatorToKeep) {
-            final Set<ShadowEvent> shadowsToExpire = indicatorToShadowEvent.remove(oldestUnexpiredIndicator);
-            // shadowsToExpire should never be null, but check just in case.
-            if (shadowsToExpire == null) {
+            // there should always be events to expire, but check just in case.
+            if (!indicatorToShadowEvent.removeFirst(this::expire)) {
                 logger.error(
                         EXCEPTION.getMarker(),
                         "There were no events with ancient indicator {} to expire.",
                         oldestUnexpiredIndicator);
-            } else {
-                shadowsToExpire.forEach(this::expire);
             }
             oldestUnexpiredIndicator++;
         }
+
+        if (!knownEventsByPeer.isEmpty()) {
+            final long oldestSequence = getOldestSequence();
+            knownEventsByPeer.values().forEach(known -> known.dropBelow(oldestSequence));
+        }
     }
 
     /**
-     * Removes reservations that can and should be expired, starting with the oldest ancient indicator reservation.
+     * Get the oldest sequence number of all events in the shadowgraph.
      *
-     * @return the oldest ancient indicator with at least one reservation, or {@code -1} if there are no reservations
+     * @return the oldest sequence number, or the next sequence number if the shadowgraph is empty
      */
-    private long pruneReservationList() {
-        long oldestReservedIndicator = NO_RESERVATION;
+    private long getOldestSequence() {
+        return Math.min(nextSequence, indicatorToShadowEvent.getOldestSequence());
+    }
 
-        // Iterate through the reservation list in ascending ancient indicator order, removing reservations
-        // for indicators that can and should be expired.
-        final Iterator<ShadowgraphReservation> iterator = reservationList.iterator();
-        while (iterator.hasNext()) {
-            final ShadowgraphReservation reservation = iterator.next();
-            final long reservedIndicator = reservation.getReservedThreshold();
+    /**
+     * Record that a peer has the given events. A peer that has an event also has all of its ancestors, so they are
+     * recorded as well. Events the peer sends to us are recorded automatically when they are added to the
+     * shadowgraph, once the peer is tracked.
+     *
+     * <p>Each event is marked at most once per peer, so the cost of keeping this information is proportional to the
+     * number of events, and not to the number of syncs.</p>
+     *
+     * @param peer   the peer, it is tracked from now on
+     * @param events the events the peer has, {@code null} elements are ignored
+     */
+    public synchronized void markKnownByPeer(
+            @NonNull final NodeId peer, @NonNull final Collection<ShadowEvent> events) {
+        Objects.requireNonNull(peer);
+        Objects.requireNonNull(events);
+        final KnownEventsBitmap known =
+                knownEventsByPeer.computeIfAbsent(peer, p -> new KnownEventsBitmap(getOldestSequence()));
+        for (final ShadowEvent event : events) {
+            if (event != null) {
+                markKnown(known, event);
+            }
+        }
+    }
 
-            if (reservation.getReservationCount() > 0) {
-                // As soon as we find a reserved indicator, stop iterating
-                oldestReservedIndicator = reservation.getReservedThreshold();
-                break;
-            } else if (reservedIndicator < eventWindow.getExpiredThreshold()) {
-                // If the number of reservations is 0 and the
-                // indicator should be expired, remove the reservation
-                iterator.remove();
-            } else {
-                // If the expireBelow indicator is reached, stop
-                // because no more indicators should be expired
-                break;
+    /**
+     * Record that the given events were sent to a peer. Does nothing if the peer is not tracked.
+     *
+     * @param peer   the peer
+     * @param events the events sent to the peer
+     */
+    public synchronized void markSentToPeer(@NonNull final NodeId peer, @NonNull final List<PlatformEvent> events) {
+        Objects.requireNonNull(peer);
+        Objects.requireNonNull(events);
+        final KnownEventsBitmap known = knownEventsByPeer.get(peer);
+        if (known == null) {
+            return;
+        }
+        for (final PlatformEvent event : events) {
+            final ShadowEvent shadow = hashToShadowEvent.get(event.getHash());
+            if (shadow != null) {
+                markKnown(known, shadow);
+            }
+        }
+    }
+
+    /**
+     * Find all events in the shadowgraph that are not known to be held by a peer. This is a scan of the known events
+     * bitmap of the peer, and does not walk the graph.
+     *
+     * @param peer             the peer
+     * @param minimumIndicator events with an ancient indicator less than this are ignored
+     * @return the events the peer is not known to have, ordered by ancient indicator. All events are returned if the
+     * peer is not tracked
+     */
+    @NonNull
+    public synchronized List<ShadowEvent> findEventsUnknownToPeer(
+            @NonNull final NodeId peer, final long minimumIndicator) {
+        Objects.requireNonNull(peer);
+        final KnownEventsBitmap known = knownEventsByPeer.get(peer);
+        final List<ShadowEvent> unknown = new ArrayList<>();
+        final long firstIndicator = Math.max(minimumIndicator, indicatorToShadowEvent.getFirstIndicator());
+        final long lastIndicator = indicatorToShadowEvent.getLastIndicator();
+        for (long indicator = firstIndicator; indicator <= lastIndicator; indicator++) {
+            for (final ShadowEvent shadow : indicatorToShadowEvent.get(indicator)) {
+                if (known == null || !known.get(shadow.getSequence())) {
+                    unknown.add(shadow);
+                }
+            }
+        }
+        return unknown;
+    }
+
+    /**
+     * Stop tracking the events a peer is known to have, e.g. because the peer may have lost events it had before.
+     *
+     * @param peer the peer
+     */
+    public synchronized void forgetPeer(@NonNull final NodeId peer) {
+        knownEventsByPeer.remove(Objects.requireNonNull(peer));
+    }
+
+    /**
+     * Mark an event and all of its non-expired ancestors as known. The search stops at events that are already known,
+     * since their ancestors are known as well.
+     *
+     * @param known the known events of a peer
+     * @param event the event to mark
+     */
+    private void markKnown(@NonNull final KnownEventsBitmap known, @NonNull final ShadowEvent event) {
+        markStack.push(event);
+        while (!markStack.isEmpty()) {
+            final ShadowEvent shadow = markStack.pop();
+            if (known.get(shadow.getSequence()) || expired(shadow.getEvent().getDescriptor())) {
+                continue;
+            }
+            known.set(shadow.getSequence());
+            final ShadowEvent selfParent = shadow.getSelfParent();
+            if (selfParent != null) {
+                markStack.push(selfParent);
+            }
+            final ShadowEvent otherParent = shadow.getOtherParent();
+            if (otherParent != null) {
+                markStack.push(otherParent);
             }
         }
-        return oldestReservedIndicator;
     }
 
     /**
@@ -445,10 +525,10 @@ public class Shadowgraph implements Clearable {
      */
     private void expire(final ShadowEvent shadow) {
         // Remove the shadow from the shadowgraph
-        hashToShadowEvent.remove(shadow.getEventBaseHash());
+        hashToShadowEvent.remove(shadow);
         // Remove references to parent shadows so this event gets garbage collected
         shadow.disconnect();
-        tips.remove(shadow);
+        removeTip(shadow);
     }
 
     /**
@@ -546,8 +626,8 @@ public class Shadowgraph implements Clearable {
             if (status == InsertableStatus.INSERTABLE) {
                 final int tipsBefore = tips.size();
                 final ShadowEvent s = insert(event);
-                tips.add(s);
-                tips.remove(s.getSelfParent());
+                addTip(s);
+                removeTip(s.getSelfParent());
 
                 if (numberOfNodes > 0 && tips.size() > numberOfNodes && tips.size() > tipsBefore) {
                     // It is possible that we have more tips than nodes even if there is no fork.
@@ -594,10 +674,33 @@ public class Shadowgraph implements Clearable {
         }
     }
 
-    private ShadowgraphReservation newReservation() {
-        final ShadowgraphReservation reservation = new ShadowgraphReservation(eventWindow.getExpiredThreshold());
-        reservationList.addLast(reservation);
-        return reservation;
+    /**
+     * Add a shadow event to the list of tips.
+     *
+     * @param shadow the new tip
+     */
+    private void addTip(@NonNull final ShadowEvent shadow) {
+        shadow.setTipIndex(tips.size());
+        tips.add(shadow);
+    }
+
+    /**
+     * Remove a shadow event from the list of tips, if it is a tip. The last tip is moved to the place of the removed
+     * tip, so removal is constant time.
+     *
+     * @param shadow the shadow event to remove, may be null
+     */
+    private void removeTip(@Nullable final ShadowEvent shadow) {
+        if (shadow == null || shadow.getTipIndex() < 0) {
+            return;
+        }
+        final int index = shadow.getTipIndex();
+        final ShadowEvent last = tips.removeLast();
+        if (last != shadow) {
+            tips.set(index, last);
+            last.setTipIndex(index);
+        }
+        shadow.setTipIndex(-1);
     }
 
     private ShadowEvent shadow(final Hash h) {
@@ -627,14 +730,19 @@ public class Shadowgraph implements Clearable {
         final ShadowEvent op = shadow(event.getOtherParents());
 
         final ShadowEvent se = new ShadowEvent(event, sp, op);
+        se.setSequence(nextSequence++);
 
-        hashToShadowEvent.put(se.getEventBaseHash(), se);
+        hashToShadowEvent.add(se);
+        indicatorToShadowEvent.add(event.getAncientIndicator(ancientMode), se);
 
-        final long ancientIndicator = event.getAncientIndicator(ancientMode);
-        if (!indicatorToShadowEvent.containsKey(ancientIndicator)) {
-            indicatorToShadowEvent.put(ancientIndicator, new HashSet<>());
+        // The peer that sent us the event has it
+        final NodeId senderId = event.getSenderId();
+        if (senderId != null) {
+            final KnownEventsBitmap known = knownEventsByPeer.get(senderId);
+            if (known != null) {
+                markKnown(known, se);
+            }
         }
-        indicatorToShadowEvent.get(ancientIndicator).add(se);
 
         return se;
     }
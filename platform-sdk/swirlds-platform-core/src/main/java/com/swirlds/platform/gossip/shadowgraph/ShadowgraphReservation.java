@@ -16,43 +16,48 @@
 
 package com.swirlds.platform.gossip.shadowgraph;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
 
 /**
  * Represents zero or more reservations for an ancient indicator (i.e. a generation or a birth round, depending on
  * current {@link com.swirlds.platform.event.AncientMode andient mode}). It is used to determine when it is safe to
  * expire events in a given ancient indicator. Reservations are made by gossip threads inside {@link Shadowgraph}.
  * Ancient indicators that have at least one reservation may not have any of its events expired.
+ *
+ * <p>This is a handle of a reservation stored in {@link ShadowgraphReservations}, which holds the reservation count.
  */
 public final class ShadowgraphReservation implements AutoCloseable {
 
     /**
-     * The threshold that is being reserved. No event with an ancient indicator greater than or equal to this value may
-     * be expired.
+     * The reservations this reservation belongs to.
      */
-    private final long reservedThreshold;
+    private final ShadowgraphReservations reservations;
+
+    /**
+     * The id of this reservation in {@link #reservations}.
+     */
+    private final long id;
 
     /**
-     * The number of reservations on this ancient indicator.
+     * The threshold that is being reserved. No event with an ancient indicator greater than or equal to this value may
+     * be expired.
      */
-    private final AtomicInteger reservationCount;
+    private final long reservedThreshold;
 
     /**
      * Constructor.
      *
+     * @param reservations      the reservations this reservation belongs to
+     * @param id                the id of this reservation
      * @param reservedThreshold the ancient indicator that is being reserved, no event with an ancient indicator greater
      *                          than or equal to this value may be expired
      */
-    public ShadowgraphReservation(final long reservedThreshold) {
+    ShadowgraphReservation(
+            @NonNull final ShadowgraphReservations reservations, final long id, final long reservedThreshold) {
+        this.reservations = Objects.requireNonNull(reservations);
+        this.id = id;
         this.reservedThreshold = reservedThreshold;
-        reservationCount = new AtomicInteger(1);
-    }
-
-    /**
-     * Increments the number of reservations on this ancient indicator.
-     */
-    public void incrementReservations() {
-        reservationCount.incrementAndGet();
     }
 
     /**
@@ -61,7 +66,7 @@ public final class ShadowgraphReservation implements AutoCloseable {
      * @return number of reservations
      */
     public int getReservationCount() {
-        return reservationCount.get();
+        return reservations.getReservationCount(id);
     }
 
     /**
@@ -69,7 +74,7 @@ public final class ShadowgraphReservation implements AutoCloseable {
      */
     @Override
     public void close() {
-        reservationCount.decrementAndGet();
+        reservations.release(id);
     }
 
     /**
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import static com.swirlds.platform.gossip.shadowgraph.Shadowgraph.NO_RESERVATION;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Reservations of ancient indicator thresholds in the {@link Shadowgraph}, ordered from the oldest to the newest
+ * threshold. Reserved thresholds and their reservation counts are stored in a ring of primitive arrays. Every
+ * reserved threshold gets a sequential id, which is also used to find its slot in the ring. Ids of pruned or cleared
+ * reservations are never reused, so closing a stale {@link ShadowgraphReservation} has no effect.
+ *
+ * <p>Methods are synchronized on this object rather than on the shadowgraph, so reservations can be closed by gossip
+ * threads without contending on the shadowgraph lock.
+ */
+final class ShadowgraphReservations {
+
+    /**
+     * Initial capacity of the ring, must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Reserved thresholds, the threshold of reservation {@code id} is at index {@code id & (thresholds.length - 1)}.
+     */
+    private long[] thresholds = new long[INITIAL_CAPACITY];
+
+    /**
+     * Reservation counts, at the same indices as {@link #thresholds}.
+     */
+    private int[] counts = new int[INITIAL_CAPACITY];
+
+    /**
+     * The id of the oldest reservation in the ring.
+     */
+    private long firstId;
+
+    /**
+     * The id of the next new reservation.
+     */
+    private long nextId;
+
+    /**
+     * The handle of the newest reservation, reused when the same threshold is reserved again.
+     */
+    @Nullable
+    private ShadowgraphReservation lastReservation;
+
+    /**
+     * Reserve a threshold. If the newest reservation is against the same threshold, its reservation count is
+     * incremented, and its handle is returned. Otherwise, a new reservation is created.
+     *
+     * @param threshold the threshold to reserve, must not be less than the newest reserved threshold
+     * @return the reservation, must be closed when no longer needed
+     */
+    @NonNull
+    synchronized ShadowgraphReservation reserve(final long threshold) {
+        if (lastReservation != null && lastReservation.getReservedThreshold() == threshold) {
+            counts[index(nextId - 1)]++;
+            return lastReservation;
+        }
+        if (nextId - firstId == thresholds.length) {
+            grow();
+        }
+        final int index = index(nextId);
+        thresholds[index] = threshold;
+        counts[index] = 1;
+        lastReservation = new ShadowgraphReservation(this, nextId, threshold);
+        nextId++;
+        return lastReservation;
+    }
+
+    /**
+     * Release a single reservation.
+     *
+     * @param id the reservation id
+     */
+    synchronized void release(final long id) {
+        if (id >= firstId && id < nextId) {
+            counts[index(id)]--;
+        }
+    }
+
+    /**
+     * Get the current number of reservations.
+     *
+     * @param id the reservation id
+     * @return the number of reservations, zero if the reservation has been pruned or cleared
+     */
+    synchronized int getReservationCount(final long id) {
+        return (id >= firstId && id < nextId) ? counts[index(id)] : 0;
+    }
+
+    /**
+     * Remove reservations that can and should be expired, starting with the oldest reservation. Reservations without
+     * any remaining reservations and with a threshold below the expired threshold are removed.
+     *
+     * @param expiredThreshold the current expired threshold
+     * @return the oldest threshold with at least one reservation, or {@link Shadowgraph#NO_RESERVATION} if there are
+     * no reservations
+     */
+    synchronized long prune(final long expiredThreshold) {
+        while (firstId < nextId) {
+            final int index = index(firstId);
+            if (counts[index] > 0) {
+                // As soon as we find a reserved threshold, stop
+                return thresholds[index];
+            } else if (thresholds[index] < expiredThreshold) {
+                // If the number of reservations is 0 and the threshold should be expired, remove the reservation
+                if (firstId == nextId - 1) {
+                    lastReservation = null;
+                }
+                firstId++;
+            } else {
+                // If the expired threshold is reached, stop because no more thresholds should be expired
+                break;
+            }
+        }
+        return NO_RESERVATION;
+    }
+
+    /**
+     * Remove all reservations. Handles of removed reservations remain valid, but closing them has no effect.
+     */
+    synchronized void clear() {
+        firstId = nextId;
+        lastReservation = null;
+    }
+
+    private int index(final long id) {
+        return (int) (id & (thresholds.length - 1));
+    }
+
+    private void grow() {
+        final long[] oldThresholds = thresholds;
+        final int[] oldCounts = counts;
+        final int oldMask = oldThresholds.length - 1;
+        thresholds = new long[oldThresholds.length * 2];
+        counts = new int[oldCounts.length * 2];
+        for (long id = firstId; id < nextId; id++) {
+            final int index = index(id);
+            thresholds[index] = oldThresholds[(int) (id & oldMask)];
+            counts[index] = oldCounts[(int) (id & oldMask)];
+        }
+    }
+}
@@ -49,9 +49,11 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -133,6 +135,19 @@ public class ShadowgraphSynchronizer {
      */
     private final AncientMode ancientMode;
 
+    /**
+     * If true, the shadowgraph keeps track of the events each peer is known to have, and the events to send are found
+     * by a scan of that information instead of a graph search.
+     */
+    private final boolean trackKnownEvents;
+
+    /**
+     * The last connection used to sync with each peer. Ignored if {@link #trackKnownEvents} is false. The events a
+     * peer is known to have are forgotten when the connection changes, since the peer may have restarted and lost
+     * events.
+     */
+    private final Map<NodeId, Connection> lastConnections = new ConcurrentHashMap<>();
+
     /**
      * Constructs a new ShadowgraphSynchronizer.
      *
@@ -171,6 +186,7 @@ public class ShadowgraphSynchronizer {
 
         this.filterLikelyDuplicates = syncConfig.filterLikelyDuplicates();
         this.maximumEventsPerSync = syncConfig.maxSyncEventCount();
+        this.trackKnownEvents = syncConfig.trackKnownEvents();
 
         this.ancientMode = platformContext
                 .getConfiguration()
@@ -210,6 +226,9 @@ public class ShadowgraphSynchronizer {
         // reporting and performance analysis
         final SyncTiming timing = new SyncTiming();
         final List<PlatformEvent> sendList;
+        if (trackKnownEvents && lastConnections.put(connection.getOtherId(), connection) != connection) {
+            shadowGraph.forgetPeer(connection.getOtherId());
+        }
         try (final ReservedEventWindow reservation = shadowGraph.reserve()) {
             connection.initForSync();
 
@@ -262,13 +281,21 @@ public class ShadowgraphSynchronizer {
 
             // create a send list based on the known set
             sendList = createSendList(
-                    connection.getSelfId(), eventsTheyHave, myWindow, theirTipsAndEventWindow.eventWindow());
+                    connection.getSelfId(),
+                    connection.getOtherId(),
+                    eventsTheyHave,
+                    myWindow,
+                    theirTipsAndEventWindow.eventWindow());
         }
 
         final SyncConfig syncConfig = platformContext.getConfiguration().getConfigData(SyncConfig.class);
 
-        return sendAndReceiveEvents(
+        final boolean success = sendAndReceiveEvents(
                 connection, timing, sendList, syncConfig.syncKeepalivePeriod(), syncConfig.maxSyncTime());
+        if (success && trackKnownEvents) {
+            shadowGraph.markSentToPeer(connection.getOtherId(), sendList);
+        }
+        return success;
     }
 
     @NonNull
@@ -299,6 +326,9 @@ public class ShadowgraphSynchronizer {
         }
 
         if (status != SyncFallenBehindStatus.NONE_FALLEN_BEHIND) {
+            if (trackKnownEvents) {
+                shadowGraph.forgetPeer(connection.getOtherId());
+            }
             logger.info(SYNC_INFO.getMarker(), "{} aborting sync due to {}", connection.getDescription(), status);
             return true; // abort the sync
         }
@@ -309,6 +339,7 @@ public class ShadowgraphSynchronizer {
      * Create a list of events to send to the peer.
      *
      * @param selfId           the id of this node
+     * @param peerId           the id of the peer
      * @param knownSet         the set of events that the peer already has (this is incomplete at this stage and is
      *                         added to during this method)
      * @param myEventWindow    the event window of this node
@@ -318,15 +349,83 @@ public class ShadowgraphSynchronizer {
     @NonNull
     private List<PlatformEvent> createSendList(
             @NonNull final NodeId selfId,
+            @NonNull final NodeId peerId,
             @NonNull final Set<ShadowEvent> knownSet,
             @NonNull final EventWindow myEventWindow,
             @NonNull final EventWindow theirEventWindow) {
 
         Objects.requireNonNull(selfId);
+        Objects.requireNonNull(peerId);
         Objects.requireNonNull(knownSet);
         Objects.requireNonNull(myEventWindow);
         Objects.requireNonNull(theirEventWindow);
 
+        final long startTime = time.nanoTime();
+
+        final List<PlatformEvent> eventsTheyMayNeed = trackKnownEvents
+                ? findUnknownEvents(peerId, knownSet, myEventWindow, theirEventWindow)
+                : searchUnknownEvents(knownSet, myEventWindow, theirEventWindow);
+
+        SyncUtils.sort(eventsTheyMayNeed);
+
+        List<PlatformEvent> sendList;
+        if (filterLikelyDuplicates) {
+            final long startFilterTime = time.nanoTime();
+            sendList = filterLikelyDuplicates(selfId, nonAncestorFilterThreshold, time.now(), eventsTheyMayNeed);
+            final long endFilterTime = time.nanoTime();
+            syncMetrics.recordSyncFilterTime(endFilterTime - startFilterTime);
+        } else {
+            sendList = eventsTheyMayNeed;
+        }
+
+        if (maximumEventsPerSync > 0 && sendList.size() > maximumEventsPerSync) {
+            sendList = sendList.subList(0, maximumEventsPerSync);
+        }
+
+        syncMetrics.recordSendListTime(time.nanoTime() - startTime);
+
+        return sendList;
+    }
+
+    /**
+     * Find the events the peer may need using the events the shadowgraph knows the peer has. The known set is added
+     * to that information first.
+     *
+     * @param peerId           the id of the peer
+     * @param knownSet         the set of events that the peer already has
+     * @param myEventWindow    the event window of this node
+     * @param theirEventWindow the event window of the peer
+     * @return the events the peer may need, not sorted
+     */
+    @NonNull
+    private List<PlatformEvent> findUnknownEvents(
+            @NonNull final NodeId peerId,
+            @NonNull final Set<ShadowEvent> knownSet,
+            @NonNull final EventWindow myEventWindow,
+            @NonNull final EventWindow theirEventWindow) {
+
+        shadowGraph.markKnownByPeer(peerId, knownSet);
+        final long minimumSearchThreshold = SyncUtils.getMinimumSearchThreshold(myEventWindow, theirEventWindow);
+        return shadowGraph.findEventsUnknownToPeer(peerId, minimumSearchThreshold).stream()
+                .map(ShadowEvent::getEvent)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Find the events the peer may need by searching the graph for ancestors of the known set and of the tips.
+     *
+     * @param knownSet         the set of events that the peer already has (this is incomplete at this stage and is
+     *                         added to during this method)
+     * @param myEventWindow    the event window of this node
+     * @param theirEventWindow the event window of the peer
+     * @return the events the peer may need, not sorted
+     */
+    @NonNull
+    private List<PlatformEvent> searchUnknownEvents(
+            @NonNull final Set<ShadowEvent> knownSet,
+            @NonNull final EventWindow myEventWindow,
+            @NonNull final EventWindow theirEventWindow) {
+
         // add to knownSet all the ancestors of each known event
         final Set<ShadowEvent> knownAncestors = shadowGraph.findAncestors(
                 knownSet, SyncUtils.unknownNonAncient(knownSet, myEventWindow, theirEventWindow, ancientMode));
@@ -351,26 +450,7 @@ public class ShadowgraphSynchronizer {
         // add the tips themselves
         sendSet.addAll(unknownTips);
 
-        final List<PlatformEvent> eventsTheyMayNeed =
-                sendSet.stream().map(ShadowEvent::getEvent).collect(Collectors.toCollection(ArrayList::new));
-
-        SyncUtils.sort(eventsTheyMayNeed);
-
-        List<PlatformEvent> sendList;
-        if (filterLikelyDuplicates) {
-            final long startFilterTime = time.nanoTime();
-            sendList = filterLikelyDuplicates(selfId, nonAncestorFilterThreshold, time.now(), eventsTheyMayNeed);
-            final long endFilterTime = time.nanoTime();
-            syncMetrics.recordSyncFilterTime(endFilterTime - startFilterTime);
-        } else {
-            sendList = eventsTheyMayNeed;
-        }
-
-        if (maximumEventsPerSync > 0 && sendList.size() > maximumEventsPerSync) {
-            sendList = sendList.subList(0, maximumEventsPerSync);
-        }
-
-        return sendList;
+        return sendSet.stream().map(ShadowEvent::getEvent).collect(Collectors.toCollection(ArrayList::new));
     }
 
     /**
@@ -445,6 +445,21 @@ public final class SyncUtils {
             @NonNull final EventWindow theirEventWindow,
             @NonNull final AncientMode ancientMode) {
 
+        final long minimumSearchThreshold = getMinimumSearchThreshold(myEventWindow, theirEventWindow);
+        return s ->
+                s.getEvent().getAncientIndicator(ancientMode) >= minimumSearchThreshold && !knownShadows.contains(s);
+    }
+
+    /**
+     * Returns the minimum ancient indicator of events that may be sent to the peer.
+     *
+     * @param myEventWindow    the event window of this node
+     * @param theirEventWindow the event window of the peer node
+     * @return the minimum ancient indicator of events to search for
+     */
+    public static long getMinimumSearchThreshold(
+            @NonNull final EventWindow myEventWindow, @NonNull final EventWindow theirEventWindow) {
+
         // When searching for events, we don't want to send any events that are known to be ancient to the peer.
         // We should never be syncing with a peer if their ancient threshold is less than our expired threshold
         // (if this is the case, then the peer is "behind"), so in practice the minimumSearchThreshold will always
@@ -452,10 +467,7 @@ public final class SyncUtils {
         // the two thresholds to ensure that we don't ever attempt to traverse over events that are expired to us,
         // since those events may be unlinked and could cause race conditions if accessed.
 
-        final long minimumSearchThreshold =
-                Math.max(myEventWindow.getExpiredThreshold(), theirEventWindow.getAncientThreshold());
-        return s ->
-                s.getEvent().getAncientIndicator(ancientMode) >= minimumSearchThreshold && !knownShadows.contains(s);
+        return Math.max(myEventWindow.getExpiredThreshold(), theirEventWindow.getAncientThreshold());
     }
 
     /**
@@ -50,6 +50,14 @@ import java.time.Duration;
  * @param minimumHealthyUnrevokedPermitCount the minimum number of permits that must be unrevoked when the system is in
  *                                           a healthy state. If non-zero, this means that this number of permits is
  *                                           immediately returned as soon as the system becomes healthy.
+ * @param trackKnownEvents                   if true, keep a bitmap of the events each peer is known to have, which is
+ *                                           updated as events are sent and received. Events to send are then found by
+ *                                           a scan of the bitmap, instead of searching the graph in every sync
+ * @param useVirtualThreads                  if true, the protocol thread of each peer and the threads that write
+ *                                           events during a sync are virtual threads, so the number of platform
+ *                                           threads used for gossip does not grow with the number of peers. Stream
+ *                                           buffers are sized by {@code socket.bufferSize}, which may be raised when
+ *                                           this is enabled
  */
 @ConfigData("sync")
 public record SyncConfig(
@@ -66,4 +74,6 @@ public record SyncConfig(
         @ConfigProperty(defaultValue = "1s") Duration unhealthyGracePeriod,
         @ConfigProperty(defaultValue = "5") double permitsRevokedPerSecond,
         @ConfigProperty(defaultValue = "0.1") double permitsReturnedPerSecond,
-        @ConfigProperty(defaultValue = "1") int minimumHealthyUnrevokedPermitCount) {}
+        @ConfigProperty(defaultValue = "1") int minimumHealthyUnrevokedPermitCount,
+        @ConfigProperty(defaultValue = "false") boolean trackKnownEvents,
+        @ConfigProperty(defaultValue = "false") boolean useVirtualThreads) {}
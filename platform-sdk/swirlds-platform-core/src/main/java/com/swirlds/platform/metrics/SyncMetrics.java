@@ -95,6 +95,11 @@ public class SyncMetrics {
             .withDescription("the average time spent filtering events during a sync")
             .withUnit("nanoseconds");
 
+    private static final RunningAverageMetric.Config SYNC_SEND_LIST_TIME_CONFIG = new RunningAverageMetric.Config(
+                    PLATFORM_CATEGORY, "syncSendListTime")
+            .withDescription("the average time spent computing the events to send during a sync")
+            .withUnit("nanoseconds");
+
     private static final CountPerSecond.Config DO_NOT_SYNC_PLATFORM_STATUS = new CountPerSecond.Config(
                     PLATFORM_CATEGORY, "doNotSyncPlatformStatus")
             .withUnit("hz")
@@ -146,6 +151,7 @@ public class SyncMetrics {
     private final AverageAndMax avgEventsPerSyncRec;
     private final MaxStat multiTipsPerSync;
     private final RunningAverageMetric syncFilterTime;
+    private final RunningAverageMetric syncSendListTime;
 
     /**
      * Constructor of {@code SyncMetrics}
@@ -165,6 +171,7 @@ public class SyncMetrics {
         outgoingSyncRequestsPerSec = new CountPerSecond(metrics, OUTGOING_SYNC_REQUESTS_CONFIG);
         syncsPerSec = new CountPerSecond(metrics, SYNCS_PER_SECOND_CONFIG);
         syncFilterTime = metrics.getOrCreate(SYNC_FILTER_TIME_CONFIG);
+        syncSendListTime = metrics.getOrCreate(SYNC_SEND_LIST_TIME_CONFIG);
 
         doNoSyncPlatformStatus = new CountPerSecond(metrics, DO_NOT_SYNC_PLATFORM_STATUS);
         doNotSyncCooldown = new CountPerSecond(metrics, DO_NOT_SYNC_COOLDOWN_CONFIG);
@@ -384,6 +391,15 @@ public class SyncMetrics {
         syncFilterTime.update(nanoseconds);
     }
 
+    /**
+     * Record the amount of time spent computing the events to send during a sync, including filtering.
+     *
+     * @param nanoseconds the amount of time spent computing the events to send during a sync
+     */
+    public void recordSendListTime(final long nanoseconds) {
+        syncSendListTime.update(nanoseconds);
+    }
+
     /**
      * Signal that we chose not to sync because of the current platform status
      */
@@ -35,38 +35,56 @@ import com.swirlds.platform.util.TransactionUtils;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  * Store a list of transactions created by self, both system and non-system, for wrapping in the next event to be
  * created.
+ *
+ * <p>Transactions may be submitted by many threads at the same time, without locking. Transactions are taken by a
+ * single consumer, the event creator, see {@link #getTransactions()}.
  */
 public class TransactionPoolNexus implements TransactionSupplier {
 
     private static final Logger logger = LogManager.getLogger(TransactionPoolNexus.class);
+
+    /**
+     * Max initial capacity of the list of transactions taken for a single event. The list grows if more transactions
+     * fit into the event, but it's never sized for the whole backlog, which may be much larger than an event.
+     */
+    private static final int MAX_INITIAL_EVENT_TRANSACTIONS = 64;
+
     private final RateLimitedLogger illegalTransactionLogger;
 
     /**
-     * A list of transactions created by this node waiting to be put into a self-event.
+     * Transactions created by this node waiting to be put into a self-event.
      */
-    private final Queue<EventTransaction> bufferedTransactions = new LinkedList<>();
+    private final TransactionRingBuffer bufferedTransactions;
 
     /**
-     * A list of high-priority transactions created by this node waiting to be put into a self-event. Transactions in
-     * this queue are always inserted into an event before transactions waiting in {@link #bufferedTransactions}.
+     * High-priority transactions created by this node waiting to be put into a self-event. Transactions in this queue
+     * are always inserted into an event before transactions waiting in {@link #bufferedTransactions}. This queue is
+     * not bounded, so system transactions are never rejected.
      */
-    private final Queue<EventTransaction> priorityBufferedTransactions = new LinkedList<>();
+    private final Queue<EventTransaction> priorityBufferedTransactions = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of transactions in {@link #priorityBufferedTransactions}, which doesn't have a constant time size.
+     */
+    private final AtomicInteger priorityBufferedTransactionCount = new AtomicInteger();
 
     /**
      * The number of buffered signature transactions waiting to be put into events.
      */
-    private int bufferedSignatureTransactionCount = 0;
+    private final AtomicInteger bufferedSignatureTransactionCount = new AtomicInteger();
 
     /**
      * The maximum number of bytes of transactions that can be put in an event.
@@ -92,7 +110,7 @@ public class TransactionPoolNexus implements TransactionSupplier {
     /**
      * The current status of the platform.
      */
-    private PlatformStatus platformStatus = PlatformStatus.STARTING_UP;
+    private volatile PlatformStatus platformStatus = PlatformStatus.STARTING_UP;
 
     /**
      * The maximum amount of time the platform may be in an unhealthy state before we start rejecting transactions.
@@ -102,7 +120,13 @@ public class TransactionPoolNexus implements TransactionSupplier {
     /**
      * Whether the platform is currently in a healthy state.
      */
-    private boolean healthy = true;
+    private volatile boolean healthy = true;
+
+    /**
+     * Taken by the consumer of transactions, so {@link #getTransactions()} and {@link #clear()} never run at the same
+     * time. Threads submitting transactions don't take it.
+     */
+    private final Object consumerLock = new Object();
 
     /**
      * Creates a new transaction pool for transactions waiting to be put in an event.
@@ -118,6 +142,8 @@ public class TransactionPoolNexus implements TransactionSupplier {
                 platformContext.getConfiguration().getConfigData(TransactionConfig.class);
         maxTransactionBytesPerEvent = transactionConfig.maxTransactionBytesPerEvent();
         throttleTransactionQueueSize = transactionConfig.throttleTransactionQueueSize();
+        // Leave room for non-priority system transactions, which are accepted above the throttle
+        bufferedTransactions = new TransactionRingBuffer(2 * Math.max(1, throttleTransactionQueueSize));
 
         transactionPoolMetrics = new TransactionPoolMetrics(
                 platformContext, this::getBufferedTransactionCount, this::getPriorityBufferedTransactionCount);
@@ -140,7 +166,7 @@ public class TransactionPoolNexus implements TransactionSupplier {
      * @param appTransaction the transaction to submit
      * @return true if the transaction passed all validity checks and was accepted by the consumer
      */
-    public synchronized boolean submitApplicationTransaction(@NonNull final Bytes appTransaction) {
+    public boolean submitApplicationTransaction(@NonNull final Bytes appTransaction) {
         if (!healthy || platformStatus != PlatformStatus.ACTIVE) {
             return false;
         }
@@ -174,7 +200,7 @@ public class TransactionPoolNexus implements TransactionSupplier {
      *                    functionalities.
      * @return true if successful
      */
-    public synchronized boolean submitTransaction(@NonNull final EventTransaction transaction, final boolean priority) {
+    public boolean submitTransaction(@NonNull final EventTransaction transaction, final boolean priority) {
 
         Objects.requireNonNull(transaction);
         final boolean isSystem = TransactionUtils.isSystemTransaction(transaction);
@@ -182,22 +208,31 @@ public class TransactionPoolNexus implements TransactionSupplier {
         // Always submit system transactions. If it's not a system transaction, then only submit it if we
         // don't violate queue size capacity restrictions.
         if (!isSystem
-                && (bufferedTransactions.size() + priorityBufferedTransactions.size()) > throttleTransactionQueueSize) {
+                && (bufferedTransactions.size() + priorityBufferedTransactionCount.get())
+                        > throttleTransactionQueueSize) {
             transactionPoolMetrics.recordRejectedAppTransaction();
             return false;
         }
 
         if (isSystem) {
-            bufferedSignatureTransactionCount++;
-            transactionPoolMetrics.recordSubmittedPlatformTransaction();
-        } else {
-            transactionPoolMetrics.recordAcceptedAppTransaction();
+            // Counted before the transaction is visible to the consumer, so the count never goes negative
+            bufferedSignatureTransactionCount.incrementAndGet();
         }
 
-        if (priority) {
+        if (priority || !bufferedTransactions.offer(transaction)) {
+            if (!priority && !isSystem) {
+                // The queue is full, which may happen if many threads pass the size check at the same time
+                transactionPoolMetrics.recordRejectedAppTransaction();
+                return false;
+            }
+            priorityBufferedTransactionCount.incrementAndGet();
             priorityBufferedTransactions.add(transaction);
+        }
+
+        if (isSystem) {
+            transactionPoolMetrics.recordSubmittedPlatformTransaction();
         } else {
-            bufferedTransactions.add(transaction);
+            transactionPoolMetrics.recordAcceptedAppTransaction();
         }
 
         return true;
@@ -208,7 +243,7 @@ public class TransactionPoolNexus implements TransactionSupplier {
      *
      * @param platformStatus the new platform status
      */
-    public synchronized void updatePlatformStatus(@NonNull final PlatformStatus platformStatus) {
+    public void updatePlatformStatus(@NonNull final PlatformStatus platformStatus) {
         this.platformStatus = platformStatus;
     }
 
@@ -218,7 +253,7 @@ public class TransactionPoolNexus implements TransactionSupplier {
      *
      * @param duration the amount of time that the system has been in an unhealthy state
      */
-    public synchronized void reportUnhealthyDuration(@NonNull final Duration duration) {
+    public void reportUnhealthyDuration(@NonNull final Duration duration) {
         healthy = isLessThan(duration, maximumPermissibleUnhealthyDuration);
     }
 
@@ -232,13 +267,15 @@ public class TransactionPoolNexus implements TransactionSupplier {
     private EventTransaction getNextTransaction(final int currentEventSize) {
         final int maxSize = maxTransactionBytesPerEvent - currentEventSize;
 
-        if (!priorityBufferedTransactions.isEmpty()
-                && TransactionUtils.getLegacyTransactionSize(priorityBufferedTransactions.peek()) <= maxSize) {
-            return priorityBufferedTransactions.poll();
+        final EventTransaction priorityTransaction = priorityBufferedTransactions.peek();
+        if (priorityTransaction != null && TransactionUtils.getLegacyTransactionSize(priorityTransaction) <= maxSize) {
+            priorityBufferedTransactions.poll();
+            priorityBufferedTransactionCount.decrementAndGet();
+            return priorityTransaction;
         }
 
-        if (!bufferedTransactions.isEmpty()
-                && TransactionUtils.getLegacyTransactionSize(bufferedTransactions.peek()) <= maxSize) {
+        final EventTransaction transaction = bufferedTransactions.peek();
+        if (transaction != null && TransactionUtils.getLegacyTransactionSize(transaction) <= maxSize) {
             return bufferedTransactions.poll();
         }
 
@@ -249,16 +286,32 @@ public class TransactionPoolNexus implements TransactionSupplier {
      * Removes as many transactions from the list waiting to be in an event that can fit (FIFO ordering), and returns
      * them as an array, along with a boolean indicating if the array of transactions returned contains a freeze state
      * signature transaction.
+     *
+     * <p>Only the consumer lock is taken, so threads submitting transactions are never blocked by this method.
      */
     @NonNull
     @Override
-    public synchronized List<EventTransaction> getTransactions() {
+    public List<EventTransaction> getTransactions() {
+        synchronized (consumerLock) {
+            return takeTransactions();
+        }
+    }
+
+    /**
+     * Takes transactions for an event, must be called while holding {@link #consumerLock}.
+     *
+     * @return the transactions to put into an event
+     */
+    @NonNull
+    private List<EventTransaction> takeTransactions() {
         // Early return due to no transactions waiting
-        if (bufferedTransactions.isEmpty() && priorityBufferedTransactions.isEmpty()) {
+        if (bufferedTransactions.peek() == null && priorityBufferedTransactions.peek() == null) {
             return Collections.emptyList();
         }
 
-        final List<EventTransaction> selectedTrans = new LinkedList<>();
+        final int backlog = bufferedTransactions.size() + priorityBufferedTransactionCount.get();
+        final List<EventTransaction> selectedTrans =
+                new ArrayList<>(Math.clamp(backlog, 1, MAX_INITIAL_EVENT_TRANSACTIONS));
         int currEventSize = 0;
 
         while (true) {
@@ -273,7 +326,7 @@ public class TransactionPoolNexus implements TransactionSupplier {
             selectedTrans.add(transaction);
 
             if (STATE_SIGNATURE_TRANSACTION.equals(transaction.transaction().kind())) {
-                bufferedSignatureTransactionCount--;
+                bufferedSignatureTransactionCount.decrementAndGet();
             }
         }
 
@@ -285,8 +338,8 @@ public class TransactionPoolNexus implements TransactionSupplier {
      *
      * @return true if there are any buffered signature transactions
      */
-    public synchronized boolean hasBufferedSignatureTransactions() {
-        return bufferedSignatureTransactionCount > 0;
+    public boolean hasBufferedSignatureTransactions() {
+        return bufferedSignatureTransactionCount.get() > 0;
     }
 
     /**
@@ -294,7 +347,7 @@ public class TransactionPoolNexus implements TransactionSupplier {
      *
      * @return the number of transactions
      */
-    private synchronized int getBufferedTransactionCount() {
+    private int getBufferedTransactionCount() {
         return bufferedTransactions.size();
     }
 
@@ -303,16 +356,34 @@ public class TransactionPoolNexus implements TransactionSupplier {
      *
      * @return the number of transactions
      */
-    private synchronized int getPriorityBufferedTransactionCount() {
-        return priorityBufferedTransactions.size();
+    private int getPriorityBufferedTransactionCount() {
+        return priorityBufferedTransactionCount.get();
     }
 
     /**
      * Clear all the transactions
      */
-    synchronized void clear() {
-        bufferedTransactions.clear();
-        priorityBufferedTransactions.clear();
-        bufferedSignatureTransactionCount = 0;
+    void clear() {
+        synchronized (consumerLock) {
+            EventTransaction transaction;
+            while ((transaction = priorityBufferedTransactions.poll()) != null) {
+                priorityBufferedTransactionCount.decrementAndGet();
+                discard(transaction);
+            }
+            while ((transaction = bufferedTransactions.poll()) != null) {
+                discard(transaction);
+            }
+        }
+    }
+
+    /**
+     * Account for a transaction that is removed without being put into an event.
+     *
+     * @param transaction the removed transaction
+     */
+    private void discard(@NonNull final EventTransaction transaction) {
+        if (STATE_SIGNATURE_TRANSACTION.equals(transaction.transaction().kind())) {
+            bufferedSignatureTransactionCount.decrementAndGet();
+        }
     }
 }
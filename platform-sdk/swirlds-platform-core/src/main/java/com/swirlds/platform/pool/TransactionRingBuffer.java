@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.pool;
+
+import com.hedera.hapi.platform.event.EventTransaction;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, array-backed queue of transactions for many producers and a single consumer. Producers claim a slot with
+ * a CAS on the tail index and then publish the transaction into it, so they never block each other or the consumer.
+ * The consumer takes transactions from the head without any locking or allocation.
+ *
+ * <p>A transaction is visible to the consumer only after it is published. If a producer has claimed a slot, but not
+ * yet published the transaction, the consumer sees the queue as empty at that slot until it is published, which
+ * preserves FIFO order.
+ *
+ * <p>{@link #offer(EventTransaction)} and {@link #size()} may be called by any thread. {@link #peek()} and
+ * {@link #poll()} must only be called by one thread at a time.
+ */
+final class TransactionRingBuffer {
+
+    /**
+     * Slots, the slot of an index is at {@code index & mask}. A slot is null if it is free, or if it has been claimed
+     * but not yet published.
+     */
+    private final AtomicReferenceArray<EventTransaction> slots;
+
+    private final int mask;
+
+    /**
+     * The index of the next slot to be claimed by a producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The index of the next slot to be taken by the consumer. Only written by the consumer.
+     */
+    private volatile long head;
+
+    /**
+     * Constructor.
+     *
+     * @param minimumCapacity the minimum number of transactions the queue can hold, the actual capacity is the next
+     *                        power of two
+     */
+    TransactionRingBuffer(final int minimumCapacity) {
+        if (minimumCapacity <= 0 || minimumCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid capacity: " + minimumCapacity);
+        }
+        final int capacity = minimumCapacity == 1 ? 1 : Integer.highestOneBit(minimumCapacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Add a transaction to the tail of the queue.
+     *
+     * @param transaction the transaction
+     * @return true if the transaction was added, false if the queue is full
+     */
+    boolean offer(@NonNull final EventTransaction transaction) {
+        final int capacity = mask + 1;
+        while (true) {
+            final long index = tail.get();
+            if (index - head >= capacity) {
+                return false;
+            }
+            if (tail.compareAndSet(index, index + 1)) {
+                slots.setRelease((int) (index & mask), transaction);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get the transaction at the head of the queue without removing it. Consumer only.
+     *
+     * @return the transaction at the head, or null if the queue is empty
+     */
+    @Nullable
+    EventTransaction peek() {
+        return slots.getAcquire((int) (head & mask));
+    }
+
+    /**
+     * Remove the transaction at the head of the queue. Consumer only.
+     *
+     * @return the removed transaction, or null if the queue is empty
+     */
+    @Nullable
+    EventTransaction poll() {
+        final long index = head;
+        final int slot = (int) (index & mask);
+        final EventTransaction transaction = slots.getAcquire(slot);
+        if (transaction == null) {
+            return null;
+        }
+        // The slot must be freed before the head moves, producers may reuse it as soon as they see the new head
+        slots.setRelease(slot, null);
+        head = index + 1;
+        return transaction;
+    }
+
+    /**
+     * Get the number of transactions in the queue. The value is approximate if producers or the consumer are active
+     * at the same time, and includes claimed slots that are not yet published.
+     *
+     * @return the number of transactions
+     */
+    int size() {
+        final long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, mask + 1));
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.swirlds.platform.system;
 
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.crypto.Signature;
 import com.swirlds.common.notification.NotificationEngine;
@@ -100,6 +101,17 @@ public interface Platform {
      */
     boolean createTransaction(@NonNull byte[] transaction);
 
+    /**
+     * Same as {@link #createTransaction(byte[])}, but takes the transaction as immutable {@link Bytes}. The bytes are
+     * not copied, so callers that already hold the transaction as {@link Bytes} should prefer this method.
+     *
+     * @param transaction the transaction to handle in binary format (format used is up to the application)
+     * @return true if the transaction is accepted, false if it is rejected
+     */
+    default boolean createTransaction(@NonNull final Bytes transaction) {
+        return createTransaction(transaction.toByteArray());
+    }
+
     /**
      * generate signature bytes for given data
      *
@@ -108,6 +108,7 @@ import com.swirlds.platform.wiring.components.RunningEventHashOverrideWiring;
 import com.swirlds.platform.wiring.components.StateAndRound;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 
@@ -669,6 +670,15 @@ public class PlatformWiring {
                     .solderTo(
                             roundDurabilityBufferWiring.getInputWire(RoundDurabilityBuffer::checkForStaleRounds),
                             OFFER);
+            final Duration pcesFlushBatchWindow = platformContext
+                    .getConfiguration()
+                    .getConfigData(PcesConfig.class)
+                    .flushBatchWindow();
+            if (!pcesFlushBatchWindow.isZero()) {
+                // Delayed flushes must be performed even if no new events are written
+                model.buildHeartbeatWire(pcesFlushBatchWindow)
+                        .solderTo(pcesWriterWiring.getInputWire(PcesWriter::checkDelayedFlush), OFFER);
+            }
             stateSnapshotManagerWiring
                     .getTransformedOutput(StateSnapshotManager::extractOldestMinimumGenerationOnDisk)
                     .solderTo(pcesWriterWiring.getInputWire(PcesWriter::setMinimumAncientIdentifierToStore), INJECT);
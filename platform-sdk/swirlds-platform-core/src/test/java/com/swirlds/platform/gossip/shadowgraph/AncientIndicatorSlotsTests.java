@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class AncientIndicatorSlotsTests {
+
+    /**
+     * The oldest indicator used in tests, intentionally not a multiple of the number of slots.
+     */
+    private static final long FIRST = 1000;
+
+    private static void assertSlots(
+            final AncientIndicatorSlots slots, final Map<Long, List<ShadowEvent>> expected, final long last) {
+        for (long indicator = slots.getFirstIndicator() - 10; indicator <= last + 10; indicator++) {
+            final List<ShadowEvent> events =
+                    indicator < slots.getFirstIndicator() ? List.of() : expected.getOrDefault(indicator, List.of());
+            assertEquals(events, slots.get(indicator), "Unexpected events for indicator " + indicator);
+        }
+    }
+
+    private static void add(
+            final AncientIndicatorSlots slots, final Map<Long, List<ShadowEvent>> expected, final long indicator) {
+        final ShadowEvent event = mock(ShadowEvent.class);
+        slots.add(indicator, event);
+        expected.computeIfAbsent(indicator, i -> new ArrayList<>()).add(event);
+    }
+
+    @Test
+    void emptySlots() {
+        final AncientIndicatorSlots slots = new AncientIndicatorSlots(FIRST);
+        assertEquals(FIRST, slots.getFirstIndicator());
+        assertEquals(FIRST - 1, slots.getLastIndicator());
+        assertTrue(slots.get(FIRST).isEmpty());
+        assertTrue(slots.get(FIRST + 100_000).isEmpty());
+        assertFalse(slots.removeFirst(e -> {
+            throw new AssertionError("No events expected");
+        }));
+        assertEquals(FIRST + 1, slots.getFirstIndicator());
+    }
+
+    @Test
+    void addBelowFirstIndicatorFails() {
+        final AncientIndicatorSlots slots = new AncientIndicatorSlots(FIRST);
+        assertThrows(IllegalArgumentException.class, () -> slots.add(FIRST - 1, mock(ShadowEvent.class)));
+    }
+
+    @Test
+    void resizeWithUnalignedFirstIndicator() {
+        final AncientIndicatorSlots slots = new AncientIndicatorSlots(FIRST);
+        final Map<Long, List<ShadowEvent>> expected = new HashMap<>();
+
+        // Fill all initial slots, the ring wraps around because the first indicator is not aligned
+        for (long indicator = FIRST; indicator < FIRST + 256; indicator++) {
+            add(slots, expected, indicator);
+        }
+        add(slots, expected, FIRST);
+        assertSlots(slots, expected, FIRST + 255);
+
+        // Force a resize
+        add(slots, expected, FIRST + 600);
+        assertEquals(FIRST + 600, slots.getLastIndicator());
+        assertSlots(slots, expected, FIRST + 600);
+
+        // Move the first indicator, so it's unaligned for the new capacity too, then resize again
+        final List<ShadowEvent> removed = new ArrayList<>();
+        for (int i = 0; i < 77; i++) {
+            assertTrue(slots.removeFirst(removed::add));
+            removed.removeAll(expected.remove(FIRST + i));
+        }
+        assertTrue(removed.isEmpty(), "Only events of the first indicators must be removed");
+        assertEquals(FIRST + 77, slots.getFirstIndicator());
+        add(slots, expected, FIRST + 77 + 3000);
+        assertSlots(slots, expected, FIRST + 77 + 3000);
+        // Lower indicators can still be added, as long as they are not below the first indicator
+        add(slots, expected, FIRST + 77);
+        assertSlots(slots, expected, FIRST + 77 + 3000);
+        assertEquals(FIRST + 77 + 3000, slots.getLastIndicator());
+    }
+
+    @Test
+    void reusedSlotsDoNotKeepOldEvents() {
+        final AncientIndicatorSlots slots = new AncientIndicatorSlots(FIRST);
+        final Map<Long, List<ShadowEvent>> expected = new HashMap<>();
+        long last = FIRST - 1;
+
+        // Move through several times the slot capacity, the ring never grows
+        for (long indicator = FIRST; indicator < FIRST + 2000; indicator++) {
+            add(slots, expected, indicator);
+            add(slots, expected, indicator);
+            last = indicator;
+            if (indicator - slots.getFirstIndicator() >= 100) {
+                final long first = slots.getFirstIndicator();
+                final List<ShadowEvent> removed = new ArrayList<>();
+                assertTrue(slots.removeFirst(removed::add));
+                assertEquals(expected.remove(first), removed);
+            }
+        }
+        assertSlots(slots, expected, last);
+    }
+
+    @Test
+    void oldestSequence() {
+        final AncientIndicatorSlots slots = new AncientIndicatorSlots(FIRST);
+        assertEquals(Long.MAX_VALUE, slots.getOldestSequence());
+
+        // Events with older indicators may be added after events with newer indicators
+        final long[] indicators = {FIRST + 2, FIRST + 1, FIRST + 2, FIRST, FIRST + 3, FIRST + 1};
+        for (int sequence = 0; sequence < indicators.length; sequence++) {
+            final ShadowEvent event = mock(ShadowEvent.class);
+            when(event.getSequence()).thenReturn((long) sequence);
+            slots.add(indicators[sequence], event);
+            assertEquals(0, slots.getOldestSequence());
+        }
+
+        final long[] expectedAfterRemoval = {0, 0, 4, Long.MAX_VALUE};
+        for (final long expected : expectedAfterRemoval) {
+            slots.removeFirst(e -> {});
+            assertEquals(expected, slots.getOldestSequence());
+        }
+
+        final ShadowEvent event = mock(ShadowEvent.class);
+        when(event.getSequence()).thenReturn(10L);
+        slots.add(FIRST + 4, event);
+        assertEquals(10, slots.getOldestSequence());
+        slots.clear(FIRST);
+        assertEquals(Long.MAX_VALUE, slots.getOldestSequence());
+    }
+
+    @Test
+    void clear() {
+        final AncientIndicatorSlots slots = new AncientIndicatorSlots(FIRST);
+        for (long indicator = FIRST; indicator < FIRST + 1000; indicator++) {
+            slots.add(indicator, mock(ShadowEvent.class));
+        }
+        slots.clear(FIRST + 500);
+        assertEquals(FIRST + 500, slots.getFirstIndicator());
+        assertEquals(FIRST + 499, slots.getLastIndicator());
+        for (long indicator = FIRST; indicator < FIRST + 1000; indicator++) {
+            assertTrue(slots.get(indicator).isEmpty());
+        }
+        assertThrows(IllegalArgumentException.class, () -> slots.add(FIRST + 499, mock(ShadowEvent.class)));
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.test.fixtures.Randotron;
+import com.swirlds.platform.event.PlatformEvent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ShadowEventIndexTests {
+
+    private static ShadowEvent shadowEvent(final Hash hash) {
+        final PlatformEvent event = mock(PlatformEvent.class);
+        when(event.getHash()).thenReturn(hash);
+        return new ShadowEvent(event);
+    }
+
+    /**
+     * Generate a random hash, which is first probed at the given slot in the index.
+     */
+    private static Hash hashWithHomeSlot(final Randotron random, final ShadowEventIndex index, final int slot) {
+        while (true) {
+            final Hash hash = random.nextHash();
+            if (index.homeSlotOf(hash) == slot) {
+                return hash;
+            }
+        }
+    }
+
+    private static void assertAllFound(final ShadowEventIndex index, final List<ShadowEvent> events) {
+        for (final ShadowEvent event : events) {
+            assertSame(event, index.get(event.getEventBaseHash()), "Event must be found");
+        }
+        assertEquals(events.size(), index.size());
+    }
+
+    @Test
+    void addGetRemove() {
+        final Randotron random = Randotron.create();
+        final ShadowEventIndex index = new ShadowEventIndex();
+        assertNull(index.get(null));
+        assertNull(index.get(random.nextHash()));
+
+        final ShadowEvent event = shadowEvent(random.nextHash());
+        index.add(event);
+        assertEquals(1, index.size());
+        assertSame(event, index.get(event.getEventBaseHash()));
+        // Lookups are by hash value, not by hash instance
+        assertSame(event, index.get(new Hash(event.getEventBaseHash())));
+
+        index.remove(event);
+        assertEquals(0, index.size());
+        assertNull(index.get(event.getEventBaseHash()));
+        // Removing a missing event has no effect
+        index.remove(event);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void hashesWithSamePrefix() {
+        final Randotron random = Randotron.create();
+        final ShadowEventIndex index = new ShadowEventIndex();
+        final byte[] bytes = random.nextHash().copyToByteArray();
+        final Hash hash1 = new Hash(bytes.clone(), DigestType.SHA_384);
+        bytes[bytes.length - 1]++;
+        final Hash hash2 = new Hash(bytes, DigestType.SHA_384);
+        final ShadowEvent event1 = shadowEvent(hash1);
+        final ShadowEvent event2 = shadowEvent(hash2);
+
+        index.add(event1);
+        assertNull(index.get(hash2), "Hashes with the same prefix must be distinguished");
+        index.add(event2);
+        assertAllFound(index, List.of(event1, event2));
+
+        index.remove(event1);
+        assertNull(index.get(hash1));
+        assertSame(event2, index.get(hash2));
+    }
+
+    @Test
+    void removeWithProbeSequenceWrappingAround() {
+        final Randotron random = Randotron.create();
+        final ShadowEventIndex index = new ShadowEventIndex(random.nextLong());
+        final int last = index.capacity() - 1;
+
+        // Probe sequence of slot "last" wraps around to slots 0 and 1, the event with home slot 0 goes to slot 2
+        final ShadowEvent a = shadowEvent(hashWithHomeSlot(random, index, last));
+        final ShadowEvent b = shadowEvent(hashWithHomeSlot(random, index, last));
+        final ShadowEvent c = shadowEvent(hashWithHomeSlot(random, index, last));
+        final ShadowEvent d = shadowEvent(hashWithHomeSlot(random, index, 0));
+        for (final ShadowEvent event : List.of(a, b, c, d)) {
+            index.add(event);
+        }
+        assertAllFound(index, List.of(a, b, c, d));
+
+        // All following entries are shifted back across the end of the table
+        index.remove(a);
+        assertNull(index.get(a.getEventBaseHash()));
+        assertAllFound(index, List.of(b, c, d));
+
+        index.remove(c);
+        assertAllFound(index, List.of(b, d));
+        index.remove(b);
+        assertAllFound(index, List.of(d));
+        index.remove(d);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void removeDoesNotShiftEntriesBeforeTheirHomeSlot() {
+        final Randotron random = Randotron.create();
+        final ShadowEventIndex index = new ShadowEventIndex(random.nextLong());
+        final int last = index.capacity() - 1;
+
+        // x goes to slot last - 1, y to its home slot "last", z wraps to slot 0, w goes to slot 1
+        final ShadowEvent x = shadowEvent(hashWithHomeSlot(random, index, last - 1));
+        final ShadowEvent y = shadowEvent(hashWithHomeSlot(random, index, last));
+        final ShadowEvent z = shadowEvent(hashWithHomeSlot(random, index, last - 1));
+        final ShadowEvent w = shadowEvent(hashWithHomeSlot(random, index, 0));
+        for (final ShadowEvent event : List.of(x, y, z, w)) {
+            index.add(event);
+        }
+
+        // y must stay at its home slot, z and w are shifted back
+        index.remove(x);
+        assertAllFound(index, List.of(y, z, w));
+        index.remove(y);
+        assertAllFound(index, List.of(z, w));
+    }
+
+    @Test
+    void randomOperations() {
+        final Randotron random = Randotron.create();
+        final ShadowEventIndex index = new ShadowEventIndex(random.nextLong());
+        final Map<Hash, ShadowEvent> expected = new HashMap<>();
+        final List<ShadowEvent> added = new ArrayList<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            // Grow the index in the first half, shrink it in the second half
+            final boolean add = random.nextInt(100) < (i < 10_000 ? 60 : 40);
+            if (add || added.isEmpty()) {
+                final ShadowEvent event = shadowEvent(random.nextHash());
+                index.add(event);
+                expected.put(event.getEventBaseHash(), event);
+                added.add(event);
+            } else {
+                final ShadowEvent event = added.remove(random.nextInt(added.size()));
+                index.remove(event);
+                expected.remove(event.getEventBaseHash());
+                assertNull(index.get(event.getEventBaseHash()));
+            }
+            if (i % 1000 == 0) {
+                assertAllFound(index, added);
+            }
+        }
+        assertAllFound(index, added);
+
+        final Set<ShadowEvent> iterated = new HashSet<>();
+        index.forEach(iterated::add);
+        assertEquals(new HashSet<>(expected.values()), iterated);
+
+        for (final ShadowEvent event : added) {
+            index.remove(event);
+        }
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void clear() {
+        final Randotron random = Randotron.create();
+        final ShadowEventIndex index = new ShadowEventIndex();
+        final List<ShadowEvent> events = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final ShadowEvent event = shadowEvent(random.nextHash());
+            index.add(event);
+            events.add(event);
+        }
+        index.clear();
+        assertEquals(0, index.size());
+        for (final ShadowEvent event : events) {
+            assertNull(index.get(event.getEventBaseHash()));
+        }
+        index.forEach(event -> {
+            throw new AssertionError("No events expected after clear");
+        });
+
+        index.add(events.get(0));
+        assertAllFound(index, List.of(events.get(0)));
+    }
+}
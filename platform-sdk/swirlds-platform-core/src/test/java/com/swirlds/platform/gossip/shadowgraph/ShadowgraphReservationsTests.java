@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import static com.swirlds.platform.gossip.shadowgraph.Shadowgraph.NO_RESERVATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ShadowgraphReservationsTests {
+
+    @Test
+    void sameThresholdReusesReservation() {
+        final ShadowgraphReservations reservations = new ShadowgraphReservations();
+        final ShadowgraphReservation first = reservations.reserve(5);
+        assertEquals(5, first.getReservedThreshold());
+        assertEquals(1, first.getReservationCount());
+
+        final ShadowgraphReservation second = reservations.reserve(5);
+        assertSame(first, second);
+        assertEquals(2, first.getReservationCount());
+
+        final ShadowgraphReservation third = reservations.reserve(6);
+        assertNotSame(first, third);
+        assertEquals(1, third.getReservationCount());
+
+        first.close();
+        assertEquals(1, first.getReservationCount());
+        second.close();
+        assertEquals(0, first.getReservationCount());
+        assertEquals(1, third.getReservationCount());
+    }
+
+    @Test
+    void prune() {
+        final ShadowgraphReservations reservations = new ShadowgraphReservations();
+        assertEquals(NO_RESERVATION, reservations.prune(100));
+
+        final ShadowgraphReservation r1 = reservations.reserve(1);
+        final ShadowgraphReservation r2 = reservations.reserve(2);
+        final ShadowgraphReservation r3 = reservations.reserve(3);
+        assertEquals(1, reservations.prune(100), "The oldest reserved threshold must be returned");
+
+        r1.close();
+        assertEquals(2, reservations.prune(100));
+        assertEquals(0, r1.getReservationCount());
+
+        // Unreserved thresholds at or above the expired threshold are not pruned
+        r2.close();
+        r3.close();
+        assertEquals(NO_RESERVATION, reservations.prune(3));
+        assertEquals(0, r3.getReservationCount());
+        // The reservation of threshold 3 was not pruned, so reserving it again reuses the handle
+        assertSame(r3, reservations.reserve(3));
+        assertEquals(1, r3.getReservationCount());
+        r3.close();
+
+        assertEquals(NO_RESERVATION, reservations.prune(4));
+        // Once pruned, reserving the same threshold again creates a new reservation
+        final ShadowgraphReservation r4 = reservations.reserve(3);
+        assertNotSame(r3, r4);
+        assertEquals(1, r4.getReservationCount());
+        assertEquals(3, reservations.prune(100));
+    }
+
+    @Test
+    void growWithLiveReservations() {
+        final ShadowgraphReservations reservations = new ShadowgraphReservations();
+        final List<ShadowgraphReservation> handles = new ArrayList<>();
+        for (int threshold = 0; threshold < 10; threshold++) {
+            handles.add(reservations.reserve(threshold));
+        }
+        // Release and prune some of the oldest reservations, so the ring doesn't start at index 0 when it grows
+        for (int threshold = 0; threshold < 5; threshold++) {
+            handles.get(threshold).close();
+        }
+        assertEquals(5, reservations.prune(5));
+
+        // Grow the ring several times, reserving every threshold twice
+        for (int threshold = 10; threshold < 100; threshold++) {
+            handles.add(reservations.reserve(threshold));
+            assertSame(handles.get(threshold), reservations.reserve(threshold));
+        }
+        for (int threshold = 0; threshold < 100; threshold++) {
+            final int expectedCount = threshold < 5 ? 0 : (threshold < 10 ? 1 : 2);
+            final ShadowgraphReservation handle = handles.get(threshold);
+            assertEquals(threshold, handle.getReservedThreshold());
+            assertEquals(expectedCount, handle.getReservationCount(), "Unexpected count for threshold " + threshold);
+        }
+
+        // Release reservations in order, prune must return the next reserved threshold
+        for (int threshold = 5; threshold < 99; threshold++) {
+            final ShadowgraphReservation handle = handles.get(threshold);
+            while (handle.getReservationCount() > 0) {
+                handle.close();
+            }
+            assertEquals(threshold + 1, reservations.prune(Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void staleHandleAfterPrune() {
+        final ShadowgraphReservations reservations = new ShadowgraphReservations();
+        final ShadowgraphReservation stale = reservations.reserve(0);
+        stale.close();
+        assertEquals(NO_RESERVATION, reservations.prune(1));
+
+        // Reuse the ring index of the pruned reservation, without growing the ring
+        final List<ShadowgraphReservation> handles = new ArrayList<>();
+        for (int threshold = 1; threshold <= 16; threshold++) {
+            handles.add(reservations.reserve(threshold));
+        }
+
+        // Closing the stale handle must not release the new reservation at the same index
+        stale.close();
+        assertEquals(0, stale.getReservationCount());
+        for (final ShadowgraphReservation handle : handles) {
+            assertEquals(1, handle.getReservationCount());
+        }
+        assertEquals(1, reservations.prune(100));
+    }
+
+    @Test
+    void staleHandleAfterClear() {
+        final ShadowgraphReservations reservations = new ShadowgraphReservations();
+        final ShadowgraphReservation stale = reservations.reserve(7);
+        assertEquals(1, stale.getReservationCount());
+
+        reservations.clear();
+        assertEquals(0, stale.getReservationCount());
+        assertEquals(NO_RESERVATION, reservations.prune(100));
+
+        // After a clear, the same threshold gets a new reservation
+        final ShadowgraphReservation fresh = reservations.reserve(7);
+        assertNotSame(stale, fresh);
+        assertEquals(1, fresh.getReservationCount());
+
+        stale.close();
+        assertEquals(0, stale.getReservationCount());
+        assertEquals(1, fresh.getReservationCount());
+        assertEquals(7, reservations.prune(100));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.pool;
+
+import static com.hedera.hapi.platform.event.EventTransaction.TransactionOneOfType.APPLICATION_TRANSACTION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.hapi.platform.event.EventTransaction;
+import com.hedera.pbj.runtime.OneOf;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class TransactionRingBufferTests {
+
+    private static EventTransaction transaction(final int producer, final int index) {
+        final byte[] bytes = {(byte) producer, (byte) (index >>> 16), (byte) (index >>> 8), (byte) index};
+        return new EventTransaction(new OneOf<>(APPLICATION_TRANSACTION, Bytes.wrap(bytes)));
+    }
+
+    @Test
+    void invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TransactionRingBuffer(0));
+    }
+
+    @Test
+    void fifoOrderAndCapacity() {
+        final TransactionRingBuffer buffer = new TransactionRingBuffer(3);
+        assertNull(buffer.peek());
+        assertNull(buffer.poll());
+
+        // Capacity is rounded up to 4
+        final List<EventTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            transactions.add(transaction(0, i));
+            assertTrue(buffer.offer(transactions.get(i)));
+        }
+        assertFalse(buffer.offer(transaction(0, 4)), "A full buffer should reject transactions");
+        assertEquals(4, buffer.size());
+
+        for (int round = 0; round < 10; round++) {
+            final EventTransaction head = transactions.removeFirst();
+            assertSame(head, buffer.peek());
+            assertSame(head, buffer.poll());
+            final EventTransaction next = transaction(1, round);
+            transactions.add(next);
+            assertTrue(buffer.offer(next), "A slot should be free after a poll");
+        }
+        for (final EventTransaction transaction : transactions) {
+            assertSame(transaction, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void concurrentProducers() throws InterruptedException {
+        final int producerCount = 8;
+        final int transactionsPerProducer = 20_000;
+        final TransactionRingBuffer buffer = new TransactionRingBuffer(1024);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            final int producer = p;
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < transactionsPerProducer; i++) {
+                    final EventTransaction transaction = transaction(producer, i);
+                    while (!buffer.offer(transaction)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        start.countDown();
+
+        // Transactions of each producer must be taken in the order they were submitted
+        final Map<Integer, Integer> nextIndexByProducer = new HashMap<>();
+        int taken = 0;
+        while (taken < producerCount * transactionsPerProducer) {
+            final EventTransaction transaction = buffer.poll();
+            if (transaction == null) {
+                Thread.yield();
+                continue;
+            }
+            final Bytes bytes = transaction.transaction().as();
+            final int producer = bytes.getByte(0);
+            final int index =
+                    ((bytes.getByte(1) & 0xFF) << 16) | ((bytes.getByte(2) & 0xFF) << 8) | (bytes.getByte(3) & 0xFF);
+            assertEquals(nextIndexByProducer.getOrDefault(producer, 0), index, "Transactions out of order");
+            nextIndexByProducer.put(producer, index + 1);
+            taken++;
+        }
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+        assertNull(buffer.poll());
+    }
+}
@@ -27,7 +27,10 @@ import com.swirlds.state.spi.ReadableKVStateBase;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * An implementation of {@link ReadableKVState} backed by a {@link VirtualMap}, resulting in a state
@@ -97,4 +100,13 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
         final var k = new OnDiskKey<>(keyClassId, keyCodec, key);
         virtualMap.warm(k);
     }
+
+    @Override
+    public void warmAll(@NonNull final Collection<K> keys) {
+        final List<OnDiskKey<K>> onDiskKeys = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            onDiskKeys.add(new OnDiskKey<>(keyClassId, keyCodec, key));
+        }
+        virtualMap.warmAll(onDiskKeys);
+    }
 }
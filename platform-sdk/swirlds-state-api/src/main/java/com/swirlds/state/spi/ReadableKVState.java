@@ -18,6 +18,7 @@ package com.swirlds.state.spi;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -99,4 +100,16 @@ public interface ReadableKVState<K, V> {
      * @param key the key of the entity
      */
     default void warm(@NonNull final K key) {}
+
+    /**
+     * Warms the system by preloading multiple entities into memory. Implementations backed by disk
+     * may load all entities in a single bulk read, which is faster than warming them one by one.
+     *
+     * <p>The default implementation calls {@link #warm(Object)} for every key.
+     *
+     * @param keys the keys of the entities
+     */
+    default void warmAll(@NonNull final Collection<K> keys) {
+        keys.forEach(this::warm);
+    }
 }
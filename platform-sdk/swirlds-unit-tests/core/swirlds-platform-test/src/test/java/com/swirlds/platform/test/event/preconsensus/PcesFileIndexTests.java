@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.test.event.preconsensus;
+
+import static com.swirlds.platform.event.AncientMode.BIRTH_ROUND_THRESHOLD;
+import static com.swirlds.platform.event.AncientMode.GENERATION_THRESHOLD;
+import static com.swirlds.platform.test.consensus.ConsensusTestArgs.BIRTH_ROUND_PLATFORM_CONTEXT;
+import static com.swirlds.platform.test.consensus.ConsensusTestArgs.DEFAULT_PLATFORM_CONTEXT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.common.io.utility.FileUtils;
+import com.swirlds.common.test.fixtures.RandomUtils;
+import com.swirlds.platform.event.AncientMode;
+import com.swirlds.platform.event.PlatformEvent;
+import com.swirlds.platform.event.preconsensus.PcesFile;
+import com.swirlds.platform.event.preconsensus.PcesFileIndex;
+import com.swirlds.platform.event.preconsensus.PcesMutableFile;
+import com.swirlds.platform.system.BasicSoftwareVersion;
+import com.swirlds.platform.system.StaticSoftwareVersion;
+import com.swirlds.platform.test.fixtures.event.generator.StandardGraphGenerator;
+import com.swirlds.platform.test.fixtures.event.source.StandardEventSource;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@DisplayName("PCES File Index Tests")
+class PcesFileIndexTests {
+
+    /**
+     * Temporary directory provided by JUnit
+     */
+    @TempDir
+    Path testDirectory;
+
+    @BeforeAll
+    static void beforeAll() throws ConstructableRegistryException {
+        ConstructableRegistry.getInstance().registerConstructables("");
+        StaticSoftwareVersion.setSoftwareVersion(new BasicSoftwareVersion(1));
+    }
+
+    @AfterAll
+    static void afterAll() {
+        StaticSoftwareVersion.reset();
+    }
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        FileUtils.deleteDirectory(testDirectory);
+        Files.createDirectories(testDirectory);
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        FileUtils.deleteDirectory(testDirectory);
+    }
+
+    protected static Stream<Arguments> ancientAndWriterTypeArguments() {
+        return Stream.of(
+                Arguments.of(GENERATION_THRESHOLD, false),
+                Arguments.of(BIRTH_ROUND_THRESHOLD, false),
+                Arguments.of(GENERATION_THRESHOLD, true),
+                Arguments.of(BIRTH_ROUND_THRESHOLD, true));
+    }
+
+    /**
+     * Generate events and write them to a new file with an index.
+     *
+     * @param random               the source of randomness
+     * @param ancientMode          the ancient mode
+     * @param useFileChannelWriter whether to write the file using a file channel
+     * @param indexInterval        the number of events between index entries
+     * @param events               the list to add the written events to
+     * @return the written file
+     */
+    @NonNull
+    private PcesFile writeFile(
+            @NonNull final Random random,
+            @NonNull final AncientMode ancientMode,
+            final boolean useFileChannelWriter,
+            final int indexInterval,
+            @NonNull final List<PlatformEvent> events)
+            throws IOException {
+
+        final StandardGraphGenerator generator = new StandardGraphGenerator(
+                ancientMode == GENERATION_THRESHOLD ? DEFAULT_PLATFORM_CONTEXT : BIRTH_ROUND_PLATFORM_CONTEXT,
+                random.nextLong(),
+                new StandardEventSource(),
+                new StandardEventSource(),
+                new StandardEventSource(),
+                new StandardEventSource());
+
+        long upperBound = Long.MIN_VALUE;
+        for (int i = 0; i < 200; i++) {
+            final PlatformEvent event = generator.generateEvent().getBaseEvent();
+            events.add(event);
+            upperBound = Math.max(upperBound, event.getAncientIndicator(ancientMode));
+        }
+
+        final PcesFile file = PcesFile.of(
+                ancientMode,
+                RandomUtils.randomInstant(random),
+                random.nextInt(0, 100),
+                0,
+                upperBound + random.nextInt(1, 10),
+                0,
+                testDirectory);
+
+        final PcesMutableFile mutableFile = file.getMutableFile(useFileChannelWriter, false, indexInterval);
+        for (final PlatformEvent event : events) {
+            mutableFile.writeEvent(event);
+        }
+        mutableFile.close();
+
+        return file;
+    }
+
+    @ParameterizedTest
+    @MethodSource("ancientAndWriterTypeArguments")
+    @DisplayName("Seek To Lower Bound Test")
+    void seekToLowerBoundTest(@NonNull final AncientMode ancientMode, final boolean useFileChannelWriter)
+            throws IOException {
+        final Random random = RandomUtils.getRandomPrintSeed();
+
+        final List<PlatformEvent> events = new ArrayList<>();
+        final PcesFile file = writeFile(random, ancientMode, useFileChannelWriter, 7, events);
+
+        assertTrue(Files.exists(PcesFileIndex.getIndexPath(file)));
+        final PcesFileIndex index = PcesFileIndex.read(file);
+        assertNotNull(index);
+        assertEquals((events.size() + 6) / 7, index.getEntryCount());
+
+        long highestAncientIndicator = Long.MIN_VALUE;
+        for (final PlatformEvent event : events) {
+            highestAncientIndicator = Math.max(highestAncientIndicator, event.getAncientIndicator(ancientMode));
+        }
+
+        // Nothing may be skipped if all events are requested
+        assertEquals(0, index.getStartOffset(Long.MIN_VALUE));
+        // Most of the file can be skipped if only the newest events are requested
+        assertTrue(index.getStartOffset(highestAncientIndicator) > Integer.BYTES);
+
+        for (long lowerBound = 0; lowerBound <= highestAncientIndicator + 1; lowerBound++) {
+            final List<PlatformEvent> expectedEvents = new ArrayList<>();
+            for (final PlatformEvent event : events) {
+                if (event.getAncientIndicator(ancientMode) >= lowerBound) {
+                    expectedEvents.add(event);
+                }
+            }
+
+            final List<PlatformEvent> deserializedEvents = new ArrayList<>();
+            file.iterator(lowerBound).forEachRemaining(deserializedEvents::add);
+            assertEquals(expectedEvents, deserializedEvents);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("ancientAndWriterTypeArguments")
+    @DisplayName("Mismatched Index Is Ignored Test")
+    void mismatchedIndexIsIgnoredTest(@NonNull final AncientMode ancientMode, final boolean useFileChannelWriter)
+            throws IOException {
+        final Random random = RandomUtils.getRandomPrintSeed();
+
+        final List<PlatformEvent> events = new ArrayList<>();
+        final PcesFile file = writeFile(random, ancientMode, useFileChannelWriter, 10, events);
+        assertNotNull(PcesFileIndex.read(file));
+
+        // The index no longer matches the file once the file is modified
+        Files.write(file.getPath(), new byte[] {1}, StandardOpenOption.APPEND);
+        assertNull(PcesFileIndex.read(file));
+
+        final List<PlatformEvent> deserializedEvents = new ArrayList<>();
+        file.iterator(Long.MIN_VALUE).forEachRemaining(deserializedEvents::add);
+        assertEquals(events, deserializedEvents);
+    }
+
+    @ParameterizedTest
+    @MethodSource("ancientAndWriterTypeArguments")
+    @DisplayName("Index Follows File Test")
+    void indexFollowsFileTest(@NonNull final AncientMode ancientMode, final boolean useFileChannelWriter)
+            throws IOException {
+        final Random random = RandomUtils.getRandomPrintSeed();
+
+        final List<PlatformEvent> events = new ArrayList<>();
+        final PcesFile file = writeFile(random, ancientMode, useFileChannelWriter, 10, events);
+        final Path originalIndexPath = PcesFileIndex.getIndexPath(file);
+
+        final PcesFile compressedFile = file.buildFileWithCompressedSpan(file.getUpperBound() - 1);
+        Files.move(file.getPath(), compressedFile.getPath());
+        PcesFileIndex.move(file, compressedFile);
+
+        assertFalse(Files.exists(originalIndexPath));
+        assertNotNull(PcesFileIndex.read(compressedFile));
+
+        compressedFile.deleteFile(testDirectory);
+        assertFalse(Files.exists(compressedFile.getPath()));
+        assertFalse(Files.exists(PcesFileIndex.getIndexPath(compressedFile)));
+    }
+}
@@ -25,6 +25,7 @@ import static com.swirlds.platform.test.consensus.ConsensusTestArgs.DEFAULT_PLAT
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -32,12 +33,17 @@ import com.swirlds.common.constructable.ConstructableRegistry;
 import com.swirlds.common.constructable.ConstructableRegistryException;
 import com.swirlds.common.io.IOIterator;
 import com.swirlds.common.io.utility.FileUtils;
+import com.swirlds.common.metrics.noop.NoOpMetrics;
 import com.swirlds.common.test.fixtures.RandomUtils;
 import com.swirlds.platform.event.AncientMode;
 import com.swirlds.platform.event.PlatformEvent;
+import com.swirlds.platform.event.hashing.PbjStreamHasher;
 import com.swirlds.platform.event.preconsensus.PcesFile;
 import com.swirlds.platform.event.preconsensus.PcesFileIterator;
+import com.swirlds.platform.event.preconsensus.PcesMultiFileIterator;
 import com.swirlds.platform.event.preconsensus.PcesMutableFile;
+import com.swirlds.platform.event.preconsensus.PcesParallelMultiFileIterator;
+import com.swirlds.platform.event.preconsensus.PcesReplayMetrics;
 import com.swirlds.platform.system.BasicSoftwareVersion;
 import com.swirlds.platform.system.StaticSoftwareVersion;
 import com.swirlds.platform.test.fixtures.event.generator.StandardGraphGenerator;
@@ -54,6 +60,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -597,4 +604,88 @@ class PcesReadWriteTests {
         assertFalse(iterator.hasNext());
         assertThrows(NoSuchElementException.class, iterator::next);
     }
+
+    @ParameterizedTest
+    @MethodSource("ancientModeArguments")
+    @DisplayName("Parallel Read Test")
+    void parallelReadTest(@NonNull final AncientMode ancientMode) throws IOException {
+        final Random random = RandomUtils.getRandomPrintSeed();
+
+        final int numFiles = 4;
+        final int numEventsPerFile = 50;
+
+        final StandardGraphGenerator generator = new StandardGraphGenerator(
+                ancientMode == GENERATION_THRESHOLD ? DEFAULT_PLATFORM_CONTEXT : BIRTH_ROUND_PLATFORM_CONTEXT,
+                random.nextLong(),
+                new StandardEventSource(),
+                new StandardEventSource(),
+                new StandardEventSource(),
+                new StandardEventSource());
+
+        final List<PcesFile> files = new ArrayList<>();
+        long lowerBound = 0;
+        for (int fileIndex = 0; fileIndex < numFiles; fileIndex++) {
+            final List<PlatformEvent> events = new ArrayList<>();
+            long upperBound = lowerBound;
+            for (int i = 0; i < numEventsPerFile; i++) {
+                final PlatformEvent event = generator.generateEvent().getBaseEvent();
+                events.add(event);
+                upperBound = Math.max(upperBound, event.getAncientIndicator(ancientMode));
+            }
+
+            final PcesFile file = PcesFile.of(
+                    ancientMode,
+                    RandomUtils.randomInstant(random),
+                    fileIndex,
+                    lowerBound,
+                    upperBound,
+                    0,
+                    testDirectory);
+            files.add(file);
+
+            final PcesMutableFile mutableFile = file.getMutableFile();
+            for (final PlatformEvent event : events) {
+                mutableFile.writeEvent(event);
+            }
+            mutableFile.close();
+
+            lowerBound = upperBound;
+        }
+
+        // Leave a partial event at the end of the second file
+        final Path truncatedPath = files.get(1).getPath();
+        truncateFile(truncatedPath, (int) Files.size(truncatedPath) - 1);
+
+        final long minimumAncientIndicator = lowerBound / 2;
+
+        final PcesMultiFileIterator expectedIterator =
+                new PcesMultiFileIterator(minimumAncientIndicator, files.iterator(), ancientMode);
+        final List<PlatformEvent> expectedEvents = new ArrayList<>();
+        expectedIterator.forEachRemaining(expectedEvents::add);
+
+        final int parallelism = 4;
+        final PcesParallelMultiFileIterator iterator = new PcesParallelMultiFileIterator(
+                minimumAncientIndicator,
+                files.iterator(),
+                ancientMode,
+                Executors.newFixedThreadPool(parallelism),
+                parallelism,
+                7,
+                new PcesReplayMetrics(new NoOpMetrics()));
+        final List<PlatformEvent> deserializedEvents = new ArrayList<>();
+        iterator.forEachRemaining(deserializedEvents::add);
+        assertThrows(NoSuchElementException.class, iterator::next);
+        iterator.close();
+
+        assertEquals(expectedIterator.getTruncatedFileCount(), iterator.getTruncatedFileCount());
+        assertEquals(1, iterator.getTruncatedFileCount());
+        assertEquals(expectedEvents.size(), deserializedEvents.size());
+        for (int i = 0; i < expectedEvents.size(); i++) {
+            final PlatformEvent event = deserializedEvents.get(i);
+            assertEquals(expectedEvents.get(i), event);
+            // Events are hashed while they are read
+            assertNotNull(event.getHash());
+            assertEquals(new PbjStreamHasher().hashEvent(expectedEvents.get(i)).getHash(), event.getHash());
+        }
+    }
 }
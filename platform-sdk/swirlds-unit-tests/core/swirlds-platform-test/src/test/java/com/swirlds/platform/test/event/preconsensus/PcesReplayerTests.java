@@ -33,6 +33,7 @@ import com.swirlds.common.wiring.wires.output.StandardOutputWire;
 import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
 import com.swirlds.platform.event.PlatformEvent;
 import com.swirlds.platform.event.preconsensus.PcesConfig_;
+import com.swirlds.platform.event.preconsensus.PcesReplayMetrics;
 import com.swirlds.platform.event.preconsensus.PcesReplayer;
 import com.swirlds.platform.state.signed.ReservedSignedState;
 import com.swirlds.platform.state.signed.SignedState;
@@ -135,7 +136,8 @@ class PcesReplayerTests {
                 flushIntake,
                 flushTransactionHandling,
                 latestImmutableStateSupplier,
-                () -> true);
+                () -> true,
+                new PcesReplayMetrics(platformContext.getMetrics()));
 
         replayer.replayPces(ioIterator);
 
@@ -162,7 +164,8 @@ class PcesReplayerTests {
                 flushIntake,
                 flushTransactionHandling,
                 latestImmutableStateSupplier,
-                () -> true);
+                () -> true,
+                new PcesReplayMetrics(platformContext.getMetrics()));
 
         final Thread thread = new Thread(() -> {
             replayer.replayPces(ioIterator);
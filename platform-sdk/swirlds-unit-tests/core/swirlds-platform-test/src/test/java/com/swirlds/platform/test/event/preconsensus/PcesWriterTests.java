@@ -260,7 +260,15 @@ class PcesWriterTests {
 
     @NonNull
     private PlatformContext buildContext(@NonNull final AncientMode ancientMode) {
-        final Configuration configuration = new TestConfigBuilder()
+        return buildContext(ancientMode, new TestConfigBuilder(), new FakeTime(Duration.ofMillis(1)));
+    }
+
+    @NonNull
+    private PlatformContext buildContext(
+            @NonNull final AncientMode ancientMode,
+            @NonNull final TestConfigBuilder configBuilder,
+            @NonNull final FakeTime time) {
+        final Configuration configuration = configBuilder
                 .withValue(PcesConfig_.DATABASE_DIRECTORY, testDirectory)
                 .withValue(FileSystemManagerConfig_.ROOT_PATH, testDirectory)
                 .withValue(PcesConfig_.PREFERRED_FILE_SIZE_MEGABYTES, 5)
@@ -272,7 +280,7 @@ class PcesWriterTests {
 
         return TestPlatformContextBuilder.create()
                 .withConfiguration(configuration)
-                .withTime(new FakeTime(Duration.ofMillis(1)))
+                .withTime(time)
                 .build();
     }
 
@@ -802,4 +810,58 @@ class PcesWriterTests {
         assertEquals(
                 8, writer.writeEvent(events.get(8)), "Flush requests for later sequences numbers should be maintained");
     }
+
+    @ParameterizedTest
+    @MethodSource("buildArguments")
+    @DisplayName("Flush batching test")
+    void flushBatchingTest(@NonNull final AncientMode ancientMode) throws IOException {
+        final Randotron r = Randotron.create();
+        final FakeTime time = new FakeTime();
+        final PlatformContext platformContext = buildContext(
+                ancientMode,
+                new TestConfigBuilder()
+                        .withValue(PcesConfig_.USE_FILE_CHANNEL_WRITER, true)
+                        .withValue(PcesConfig_.FLUSH_BATCH_WINDOW, "10ms")
+                        .withValue(PcesConfig_.FLUSH_BATCH_SIZE, 3),
+                time);
+        final PcesFileManager fileManager =
+                new PcesFileManager(platformContext, new PcesFileTracker(ancientMode), selfId, 0);
+        final PcesWriter writer = new DefaultPcesWriter(platformContext, fileManager);
+
+        writer.beginStreamingNewEvents();
+
+        final List<PlatformEvent> events = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            final PlatformEvent event = new TestingEventBuilder(r).build();
+            event.setStreamSequenceNumber(i);
+            events.add(event);
+        }
+
+        assertNull(writer.writeEvent(events.get(0)), "No flush has been requested");
+        assertNull(writer.submitFlushRequest(0L), "Flush should be delayed until the batch window elapses");
+        assertNull(writer.writeEvent(events.get(1)), "Flush should be delayed until the batch window elapses");
+        assertNull(writer.checkDelayedFlush(time.now()), "Flush batch window hasn't elapsed yet");
+        time.tick(Duration.ofMillis(10));
+        assertEquals(
+                1,
+                writer.checkDelayedFlush(time.now()),
+                "Delayed flush should cover all events written before the batch window elapsed");
+        assertNull(writer.checkDelayedFlush(time.now()), "No flush is pending");
+
+        assertNull(writer.writeEvent(events.get(2)), "No flush has been requested");
+        assertNull(writer.submitFlushRequest(2L), "Flush should be delayed until the batch window elapses");
+        assertNull(writer.writeEvent(events.get(3)), "Flush should be delayed until the batch window elapses");
+        assertEquals(
+                4,
+                writer.writeEvent(events.get(4)),
+                "Delayed flush should be performed once enough events are written since the previous flush");
+
+        assertNull(writer.submitFlushRequest(6L), "No event has been written to flush");
+        assertNull(writer.writeEvent(events.get(5)), "No event has been written to flush");
+        time.tick(Duration.ofMillis(20));
+        assertNull(writer.checkDelayedFlush(time.now()), "Requested event hasn't been written yet");
+        assertNull(writer.writeEvent(events.get(6)), "Flush should be delayed until the batch window elapses");
+        time.tick(Duration.ofMillis(10));
+        assertEquals(7, writer.writeEvent(events.get(7)), "Delayed flush should be performed on the next write");
+    }
 }
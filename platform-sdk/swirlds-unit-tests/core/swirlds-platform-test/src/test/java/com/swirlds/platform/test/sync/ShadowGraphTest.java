@@ -30,6 +30,7 @@ import static org.mockito.Mockito.mock;
 
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.test.fixtures.RandomUtils;
 import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
 import com.swirlds.platform.consensus.EventWindow;
@@ -180,6 +181,81 @@ class ShadowgraphTest {
         }
     }
 
+    /**
+     * Tests that {@link Shadowgraph#findEventsUnknownToPeer(NodeId, long)} excludes the events marked as known and all
+     * of their ancestors.
+     *
+     * @param numEvents the number of events to put in the shadow graph
+     * @param numNodes  the number of nodes in the shadow graph
+     */
+    @ParameterizedTest
+    @MethodSource("graphSizes")
+    void testEventsUnknownToPeer(final int numEvents, final int numNodes) {
+        final Random random = RandomUtils.getRandomPrintSeed();
+        initShadowgraph(random, numEvents, numNodes);
+        final NodeId peer = NodeId.of(1);
+
+        assertEquals(
+                numEvents,
+                shadowgraph.findEventsUnknownToPeer(peer, 0).size(),
+                "All events should be unknown to an untracked peer");
+
+        final List<ShadowEvent> knownSubset = generatedEvents.stream()
+                .filter(e -> random.nextDouble() < 0.1)
+                .map(e -> shadowgraph.shadow(e.getBaseEvent().getDescriptor()))
+                .toList();
+        shadowgraph.markKnownByPeer(peer, knownSubset);
+
+        final Set<Hash> expectedKnown = new HashSet<>();
+        for (final ShadowEvent shadow : knownSubset) {
+            expectedKnown.add(shadow.getEventBaseHash());
+            expectedKnown.addAll(ancestorsMap.get(shadow.getEventBaseHash()));
+        }
+        final Set<Hash> expectedUnknown = generatedEvents.stream()
+                .map(EventImpl::getBaseHash)
+                .filter(h -> !expectedKnown.contains(h))
+                .collect(Collectors.toSet());
+        final Set<Hash> actualUnknown = shadowgraph.findEventsUnknownToPeer(peer, 0).stream()
+                .map(ShadowEvent::getEventBaseHash)
+                .collect(Collectors.toSet());
+        assertEquals(expectedUnknown, actualUnknown, "Known events and their ancestors should be excluded");
+
+        shadowgraph.forgetPeer(peer);
+        assertEquals(
+                numEvents,
+                shadowgraph.findEventsUnknownToPeer(peer, 0).size(),
+                "All events should be unknown to a forgotten peer");
+    }
+
+    @Test
+    void testEventsFromPeerAreKnownToPeer() {
+        final Random random = RandomUtils.getRandomPrintSeed();
+        initShadowgraph(random, 100, 4);
+        final NodeId peer = NodeId.of(1);
+        shadowgraph.markKnownByPeer(peer, List.of());
+
+        final EventImpl received = emitter.emitEvent();
+        received.getBaseEvent().setSenderId(peer);
+        assertDoesNotThrow(() -> shadowgraph.addEvent(received.getBaseEvent()));
+        final EventImpl sent = emitter.emitEvent();
+        assertDoesNotThrow(() -> shadowgraph.addEvent(sent.getBaseEvent()));
+
+        final Set<Hash> unknown = shadowgraph.findEventsUnknownToPeer(peer, 0).stream()
+                .map(ShadowEvent::getEventBaseHash)
+                .collect(Collectors.toSet());
+        assertFalse(unknown.contains(received.getBaseHash()), "An event received from the peer is known to it");
+        for (final EventDescriptorWrapper parent : received.getBaseEvent().getAllParents()) {
+            assertFalse(unknown.contains(parent.hash()), "Parents of a received event are known to the peer");
+        }
+        assertTrue(unknown.contains(sent.getBaseHash()), "Other events are not known to the peer");
+
+        shadowgraph.markSentToPeer(peer, List.of(sent.getBaseEvent()));
+        assertTrue(
+                shadowgraph.findEventsUnknownToPeer(peer, 0).stream()
+                        .noneMatch(s -> s.getEventBaseHash().equals(sent.getBaseHash())),
+                "An event sent to the peer is known to it");
+    }
+
     private void assertSetsContainSameHashes(final Set<Hash> expected, final Set<Hash> actual) {
         for (final Hash hash : expected) {
             if (!actual.contains(hash)) {
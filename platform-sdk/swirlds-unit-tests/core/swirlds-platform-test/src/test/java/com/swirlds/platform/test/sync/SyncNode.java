@@ -80,6 +80,7 @@ public class SyncNode {
     private boolean shouldAcceptSync = true;
     private boolean reconnected = false;
     private final AncientMode ancientMode;
+    private boolean trackKnownEvents = false;
 
     private long expirationThreshold;
 
@@ -227,6 +228,15 @@ public class SyncNode {
         receivedEvents.forEach(hasher::hashEvent);
     }
 
+    /**
+     * Sets whether the synchronizers of this node track the events known to each peer.
+     *
+     * @param trackKnownEvents the value of the {@code sync.trackKnownEvents} setting
+     */
+    public void setTrackKnownEvents(final boolean trackKnownEvents) {
+        this.trackKnownEvents = trackKnownEvents;
+    }
+
     /**
      * Creates a new instance of {@link ShadowgraphSynchronizer} with the current {@link SyncNode} settings and returns
      * it.
@@ -247,6 +257,7 @@ public class SyncNode {
         final Configuration configuration = new TestConfigBuilder()
                 .withValue(SyncConfig_.FILTER_LIKELY_DUPLICATES, false)
                 .withValue(SyncConfig_.MAX_SYNC_EVENT_COUNT, 0)
+                .withValue(SyncConfig_.TRACK_KNOWN_EVENTS, trackKnownEvents)
                 .withValue(
                         EventConfig_.USE_BIRTH_ROUND_ANCIENT_THRESHOLD,
                         ancientMode == AncientMode.BIRTH_ROUND_THRESHOLD)
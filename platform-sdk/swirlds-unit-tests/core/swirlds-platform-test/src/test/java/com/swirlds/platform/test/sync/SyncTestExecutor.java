@@ -183,6 +183,8 @@ public class SyncTestExecutor {
 
         caller = callerSupplier.apply(factory);
         listener = listenerSupplier.apply(factory);
+        caller.setTrackKnownEvents(params.isTrackKnownEvents());
+        listener.setTrackKnownEvents(params.isTrackKnownEvents());
 
         final Pair<Connection, Connection> connections =
                 connectionFactory.createConnections(caller.getNodeId(), listener.getNodeId());
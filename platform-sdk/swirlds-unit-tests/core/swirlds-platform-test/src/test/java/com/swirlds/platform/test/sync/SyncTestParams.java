@@ -32,20 +32,33 @@ public class SyncTestParams {
     private final int numListenerEvents;
     private final Long customSeed;
     private final AncientMode ancientMode;
+    private final boolean trackKnownEvents;
 
     public SyncTestParams(
-            int numNetworkNodes,
-            int numCommonEvents,
-            int numCallerEvents,
-            int numListenerEvents,
-            Long customSeed,
-            @NonNull final AncientMode ancientMode) {
+            final int numNetworkNodes,
+            final int numCommonEvents,
+            final int numCallerEvents,
+            final int numListenerEvents,
+            final Long customSeed,
+            @NonNull final AncientMode ancientMode,
+            final boolean trackKnownEvents) {
         this.numNetworkNodes = numNetworkNodes;
         this.numCommonEvents = numCommonEvents;
         this.numCallerEvents = numCallerEvents;
         this.numListenerEvents = numListenerEvents;
         this.customSeed = customSeed;
         this.ancientMode = Objects.requireNonNull(ancientMode);
+        this.trackKnownEvents = trackKnownEvents;
+    }
+
+    public SyncTestParams(
+            int numNetworkNodes,
+            int numCommonEvents,
+            int numCallerEvents,
+            int numListenerEvents,
+            Long customSeed,
+            @NonNull final AncientMode ancientMode) {
+        this(numNetworkNodes, numCommonEvents, numCallerEvents, numListenerEvents, customSeed, ancientMode, false);
     }
 
     public SyncTestParams(
@@ -101,6 +114,31 @@ public class SyncTestParams {
         return ancientMode;
     }
 
+    /**
+     * @return true if the nodes track the events known to each peer, i.e. {@code sync.trackKnownEvents} is set
+     */
+    public boolean isTrackKnownEvents() {
+        return trackKnownEvents;
+    }
+
+    /**
+     * Create a copy of these parameters with a different setting for tracking the events known to each peer.
+     *
+     * @param trackKnownEvents true if the nodes should track the events known to each peer
+     * @return the new parameters
+     */
+    @NonNull
+    public SyncTestParams withTrackKnownEvents(final boolean trackKnownEvents) {
+        return new SyncTestParams(
+                numNetworkNodes,
+                numCommonEvents,
+                numCallerEvents,
+                numListenerEvents,
+                customSeed,
+                ancientMode,
+                trackKnownEvents);
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
@@ -110,6 +148,7 @@ public class SyncTestParams {
                 .append("numListenerEvents", numListenerEvents)
                 .append("customSeed", customSeed)
                 .append("ancientMode", ancientMode)
+                .append("trackKnownEvents", trackKnownEvents)
                 .toString();
     }
 }
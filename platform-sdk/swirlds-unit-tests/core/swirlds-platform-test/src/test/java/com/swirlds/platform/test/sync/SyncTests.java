@@ -73,8 +73,30 @@ public class SyncTests {
 
     private static final boolean platformLoggingEnabled = true;
 
-    private static Stream<Arguments> bothAncientModes() {
-        return Stream.of(Arguments.of(GENERATION_THRESHOLD), Arguments.of(BIRTH_ROUND_THRESHOLD));
+    private static Stream<Arguments> ancientModesAndKnownEventTracking() {
+        return Stream.of(
+                Arguments.of(GENERATION_THRESHOLD, false),
+                Arguments.of(BIRTH_ROUND_THRESHOLD, false),
+                Arguments.of(GENERATION_THRESHOLD, true),
+                Arguments.of(BIRTH_ROUND_THRESHOLD, true));
+    }
+
+    /**
+     * Runs every set of test parameters both with and without tracking the events known to each peer.
+     *
+     * @param arguments the test arguments, the {@link SyncTestParams} have tracking disabled
+     * @return the test arguments, followed by a copy with tracking enabled for each of them
+     */
+    private static Stream<Arguments> withAndWithoutKnownEventTracking(@NonNull final Stream<Arguments> arguments) {
+        return arguments.flatMap(args -> {
+            final Object[] trackingArgs = args.get().clone();
+            for (int i = 0; i < trackingArgs.length; i++) {
+                if (trackingArgs[i] instanceof final SyncTestParams params) {
+                    trackingArgs[i] = params.withTrackKnownEvents(true);
+                }
+            }
+            return Stream.of(args, Arguments.of(trackingArgs));
+        });
     }
 
     @BeforeAll
@@ -88,40 +110,40 @@ public class SyncTests {
     }
 
     private static Stream<Arguments> fourNodeGraphParams() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(4, 100, 20, 0, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 100, 0, 20, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 100, 20, 20, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 100, 20, 0, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 100, 0, 20, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(4, 100, 20, 20, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(4, 100, 20, 20, BIRTH_ROUND_THRESHOLD))));
     }
 
     private static Stream<Arguments> tenNodeGraphParams() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(10, 100, 50, 0, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 100, 0, 50, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 100, 50, 50, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 50, 0, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 0, 50, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(10, 1000, 50, 50, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(10, 1000, 50, 50, BIRTH_ROUND_THRESHOLD))));
     }
 
     private static Stream<Arguments> tenNodeBigGraphParams() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(10, 1000, 2000, 0, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 0, 2000, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 2000, 2000, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 2000, 0, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 0, 2000, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(10, 1000, 2000, 2000, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(10, 1000, 2000, 2000, BIRTH_ROUND_THRESHOLD))));
     }
 
     /**
      * Supplies test values for {@link #simpleGraph(SyncTestParams)}
      */
     private static Stream<Arguments> simpleFourNodeGraphParams() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(4, 10, 0, 0, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 10, 1, 0, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 10, 0, 1, GENERATION_THRESHOLD)),
@@ -131,14 +153,14 @@ public class SyncTests {
                 Arguments.of(new SyncTestParams(4, 10, 1, 0, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 10, 0, 1, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 10, 1, 1, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(4, 10, 8, 1, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(4, 10, 8, 1, BIRTH_ROUND_THRESHOLD))));
     }
 
     /**
      * Supplies edge case test values for {@link #simpleGraph(SyncTestParams)}
      */
     private static Stream<Arguments> edgeCaseGraphParams() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(10, 0, 20, 0, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 0, 0, 20, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 0, 0, 0, GENERATION_THRESHOLD)),
@@ -146,14 +168,14 @@ public class SyncTests {
                 Arguments.of(new SyncTestParams(10, 0, 20, 0, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 0, 0, 20, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 0, 0, 0, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(10, 20, 0, 0, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(10, 20, 0, 0, BIRTH_ROUND_THRESHOLD))));
     }
 
     /**
      * Supplies test values for {@link #partitionedGraph(SyncTestParams)}
      */
     private static Stream<Arguments> partitionedGraphParams() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 // Partitioned graphs with common events
                 Arguments.of(new SyncTestParams(10, 30, 5, 5, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 30, 5, 5, GENERATION_THRESHOLD)),
@@ -173,7 +195,7 @@ public class SyncTests {
                 // Partitioned graphs with no common events
                 Arguments.of(new SyncTestParams(20, 0, 100, 0, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(20, 0, 0, 100, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(20, 0, 100, 100, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(20, 0, 100, 100, BIRTH_ROUND_THRESHOLD))));
     }
 
     /**
@@ -181,7 +203,7 @@ public class SyncTests {
      * {@link #testListenerExceptionDuringSyncPhase(SyncTestParams, int, int)}
      */
     private static Stream<Arguments> exceptionParams() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(10, 100, 50, 50, GENERATION_THRESHOLD), 1, 1),
                 Arguments.of(new SyncTestParams(10, 100, 50, 50, GENERATION_THRESHOLD), 1, 2),
                 Arguments.of(new SyncTestParams(10, 100, 50, 50, GENERATION_THRESHOLD), 2, 1),
@@ -193,11 +215,11 @@ public class SyncTests {
                 Arguments.of(new SyncTestParams(10, 100, 50, 50, BIRTH_ROUND_THRESHOLD), 2, 1),
                 Arguments.of(new SyncTestParams(10, 100, 50, 50, BIRTH_ROUND_THRESHOLD), 2, 2),
                 Arguments.of(new SyncTestParams(10, 100, 50, 50, BIRTH_ROUND_THRESHOLD), 3, 1),
-                Arguments.of(new SyncTestParams(10, 100, 50, 50, BIRTH_ROUND_THRESHOLD), 3, 2));
+                Arguments.of(new SyncTestParams(10, 100, 50, 50, BIRTH_ROUND_THRESHOLD), 3, 2)));
     }
 
     private static Stream<Arguments> splitForkParams() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 // This seed makes the caller send the whole graph, should not be the case once we change the tip
                 // definition
                 Arguments.of(new SyncTestParams(4, 100, 20, 1, 4956163591276672768L, GENERATION_THRESHOLD)),
@@ -215,30 +237,30 @@ public class SyncTests {
                 Arguments.of(new SyncTestParams(4, 100, 20, 20, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 100, 50, 50, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 100, 100, 50, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(10, 100, 50, 100, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(10, 100, 50, 100, BIRTH_ROUND_THRESHOLD))));
     }
 
     private static Stream<Arguments> splitForkParamsBreakingSeed() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 // This seed used to make the caller send the whole graph back when the definition of a tip was an
                 // event with no children (self or other). Now that the definition of a tip is an event with no
                 // self-child, this seed passes.
                 Arguments.of(new SyncTestParams(4, 100, 20, 1, 4956163591276672768L, GENERATION_THRESHOLD)),
-                Arguments.of(new SyncTestParams(4, 100, 20, 1, 4956163591276672768L, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(4, 100, 20, 1, 4956163591276672768L, BIRTH_ROUND_THRESHOLD))));
     }
 
     private static Stream<Arguments> largeGraphParams() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(10, 1000, 500, 200, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 200, 500, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 500, 500, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 500, 200, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 200, 500, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(10, 1000, 500, 500, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(10, 1000, 500, 500, BIRTH_ROUND_THRESHOLD))));
     }
 
     private static Stream<Arguments> noCommonEventsParams() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(4, 0, 50, 20, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 0, 20, 50, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 0, 50, 50, GENERATION_THRESHOLD)),
@@ -250,11 +272,11 @@ public class SyncTests {
                 Arguments.of(new SyncTestParams(4, 0, 50, 50, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 0, 500, 200, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 0, 200, 500, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(10, 0, 500, 500, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(10, 0, 500, 500, BIRTH_ROUND_THRESHOLD))));
     }
 
     private static Stream<Arguments> tipsChangeBreakingSeed() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(10, 0, 20, 0, 6238590233436833292L, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 10, 8, 1, 8824331216639179768L, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 0, 0, 20, -909134053413382981L, GENERATION_THRESHOLD)),
@@ -266,27 +288,27 @@ public class SyncTests {
                 Arguments.of(new SyncTestParams(10, 0, 0, 20, -909134053413382981L, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 0, 0, 20, 5236225801504915258L, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 10, 1, 1, -3204404663467002969L, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(10, 0, 0, 20, -4776092416980912346L, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(10, 0, 0, 20, -4776092416980912346L, BIRTH_ROUND_THRESHOLD))));
     }
 
     private static Stream<Arguments> simpleGraphBreakingSeed() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(4, 100, 20, 20, -5979073137457357235L, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 100, 50, 50, 1861589538493329478L, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(4, 100, 20, 20, -5979073137457357235L, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(10, 100, 50, 50, 1861589538493329478L, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(10, 100, 50, 50, 1861589538493329478L, BIRTH_ROUND_THRESHOLD))));
     }
 
     private static Stream<Arguments> tipExpiresBreakingSeed() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(new SyncTestParams(10, 100, 0, 50, 1152284535185134815L, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 100, 0, 50, -8664085824668001150L, GENERATION_THRESHOLD)),
                 Arguments.of(new SyncTestParams(10, 1000, 0, 50, 1152284535185134815L, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(new SyncTestParams(10, 1000, 0, 50, -8664085824668001150L, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(new SyncTestParams(10, 1000, 0, 50, -8664085824668001150L, BIRTH_ROUND_THRESHOLD))));
     }
 
     private static Stream<Arguments> requiredEventsExpire() {
-        return Stream.of(
+        return withAndWithoutKnownEventTracking(Stream.of(
                 Arguments.of(1, new SyncTestParams(10, 100, 0, 1000, GENERATION_THRESHOLD)),
                 Arguments.of(1, new SyncTestParams(10, 200, 100, 1000, GENERATION_THRESHOLD)),
                 Arguments.of(1, new SyncTestParams(10, 200, 200, 1000, GENERATION_THRESHOLD)),
@@ -298,7 +320,7 @@ public class SyncTests {
                 Arguments.of(1, new SyncTestParams(10, 200, 200, 1000, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(2, new SyncTestParams(10, 100, 0, 1000, BIRTH_ROUND_THRESHOLD)),
                 Arguments.of(2, new SyncTestParams(10, 200, 100, 1000, BIRTH_ROUND_THRESHOLD)),
-                Arguments.of(2, new SyncTestParams(10, 200, 200, 1000, BIRTH_ROUND_THRESHOLD)));
+                Arguments.of(2, new SyncTestParams(10, 200, 200, 1000, BIRTH_ROUND_THRESHOLD))));
     }
 
     @BeforeAll
@@ -620,9 +642,9 @@ public class SyncTests {
      * Tests fallen behind detection works
      */
     @ParameterizedTest
-    @MethodSource("bothAncientModes")
-    void fallenBehind(@NonNull final AncientMode ancientMode) throws Exception {
-        final SyncTestParams params = new SyncTestParams(4, 100, 20, 20, ancientMode);
+    @MethodSource("ancientModesAndKnownEventTracking")
+    void fallenBehind(@NonNull final AncientMode ancientMode, final boolean trackKnownEvents) throws Exception {
+        final SyncTestParams params = new SyncTestParams(4, 100, 20, 20, null, ancientMode, trackKnownEvents);
 
         final long callerExpiredThreshold = 100;
         final long callerMaximumIndicator = 200;
@@ -641,9 +663,10 @@ public class SyncTests {
      * Tests fallen behind detection works with one node at genesis
      */
     @ParameterizedTest
-    @MethodSource("bothAncientModes")
-    void fallenBehindAtGenesis(@NonNull final AncientMode ancientMode) throws Exception {
-        final SyncTestParams params = new SyncTestParams(4, 0, 1, 100, ancientMode);
+    @MethodSource("ancientModesAndKnownEventTracking")
+    void fallenBehindAtGenesis(@NonNull final AncientMode ancientMode, final boolean trackKnownEvents)
+            throws Exception {
+        final SyncTestParams params = new SyncTestParams(4, 0, 1, 100, null, ancientMode, trackKnownEvents);
 
         final long callerExpiredThreshold = ancientMode.getGenesisIndicator();
         final long callerMaximumIndicator = ancientMode.getGenesisIndicator();
@@ -718,9 +741,10 @@ public class SyncTests {
     }
 
     @ParameterizedTest
-    @MethodSource("bothAncientModes")
-    void testBarelyNotFallenBehind(@NonNull final AncientMode ancientMode) throws Exception {
-        final SyncTestParams params = new SyncTestParams(4, 2000, 2000, 0, ancientMode);
+    @MethodSource("ancientModesAndKnownEventTracking")
+    void testBarelyNotFallenBehind(@NonNull final AncientMode ancientMode, final boolean trackKnownEvents)
+            throws Exception {
+        final SyncTestParams params = new SyncTestParams(4, 2000, 2000, 0, null, ancientMode, trackKnownEvents);
         final SyncTestExecutor executor = new SyncTestExecutor(params);
 
         executor.setEventWindowDefinitions((caller, listener) -> {
@@ -768,9 +792,10 @@ public class SyncTests {
      * Verifies that even if events are expired right before sending, they are still sent.
      */
     @ParameterizedTest
-    @MethodSource("bothAncientModes")
-    void testSendExpiredEvents(@NonNull final AncientMode ancientMode) throws Exception {
-        final SyncTestParams params = new SyncTestParams(4, 20, 10, 0, ancientMode);
+    @MethodSource("ancientModesAndKnownEventTracking")
+    void testSendExpiredEvents(@NonNull final AncientMode ancientMode, final boolean trackKnownEvents)
+            throws Exception {
+        final SyncTestParams params = new SyncTestParams(4, 20, 10, 0, null, ancientMode, trackKnownEvents);
         final SyncTestExecutor executor = new SyncTestExecutor(params);
         final AtomicLong indicatorToExpire = new AtomicLong(ancientMode.getGenesisIndicator() - 1);
 
@@ -1105,9 +1130,10 @@ public class SyncTests {
      * is not 0
      */
     @ParameterizedTest
-    @MethodSource("bothAncientModes")
-    void noEventsStartIndicator(@NonNull final AncientMode ancientMode) throws Exception {
-        final SyncTestParams params = new SyncTestParams(4, 0, 100, 0, ancientMode);
+    @MethodSource("ancientModesAndKnownEventTracking")
+    void noEventsStartIndicator(@NonNull final AncientMode ancientMode, final boolean trackKnownEvents)
+            throws Exception {
+        final SyncTestParams params = new SyncTestParams(4, 0, 100, 0, null, ancientMode, trackKnownEvents);
         final SyncTestExecutor executor = new SyncTestExecutor(params);
         executor.setGraphCustomization((caller, listener) -> {
             caller.setSaveGeneratedEvents(true);
@@ -45,6 +45,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -516,4 +517,15 @@ public final class VirtualMap<K extends VirtualKey, V extends VirtualValue> exte
     public void warm(final K key) {
         root.warm(key);
     }
+
+    /**
+     * Warms multiple keys at once. This is similar to calling {@link #warm} for every
+     * key, but leaf records are loaded from disk in bulk, which lets the data source read them in
+     * the most efficient order.
+     *
+     * @param keys keys of the leaves to warm
+     */
+    public void warmAll(final Collection<K> keys) {
+        root.warmAll(keys);
+    }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.config;
+
+/**
+ * Implementations of the key to dirty leaf index in virtual node cache, see {@link
+ * VirtualMapConfig#nodeCacheKeyIndexType()}.
+ */
+public enum NodeCacheKeyIndexType {
+    /**
+     * The index is a concurrent hash map. Every entry in the map is a separate object on heap
+     */
+    CONCURRENT_HASH_MAP,
+    /**
+     * The index is a set of open-addressing hash tables. Key hashes, keys and mutations are stored
+     * in plain arrays, no index objects are allocated per entry. Reads don't take locks
+     */
+    OPEN_ADDRESSING
+}
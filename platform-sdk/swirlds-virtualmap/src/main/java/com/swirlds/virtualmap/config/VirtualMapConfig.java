@@ -87,6 +87,25 @@ import java.time.Duration;
  * 		increase the amount of time required to make a fast copy by this amount of time.
  * @param maximumFlushThrottlePeriod
  * 		The maximum amount of time that any virtual map fast copy will be delayed due to a flush backlog.
+ * @param adaptiveFlushEnabled
+ *      Indicates whether virtual pipeline may flush copies before they reach {@link #copyFlushThreshold}, when
+ *      heap usage or total size of all unflushed copies is high. Only used with size-based flushes, that is
+ *      when {@link #copyFlushThreshold} is positive.
+ * @param adaptiveFlushMinSizeRatio
+ *      The minimum size of a copy to be flushed early, relative to {@link #copyFlushThreshold}. Smaller copies
+ *      are merged into the next copies rather than flushed, to avoid small data files on disk.
+ * @param adaptiveFlushHeapThreshold
+ *      Heap usage ratio, from 0.0 to 1.0, above which copies are flushed early.
+ * @param adaptiveFlushFamilySizeRatio
+ *      Total estimated size of all unflushed copies, relative to {@link #familyThrottleThreshold}, above which
+ *      copies are flushed early, so the family size backpressure is less likely to be applied.
+ * @param hashCacheLevels
+ *      The number of top levels of a virtual tree, which node hashes are cached in memory by the virtual
+ *      hasher. The cache is shared across all copies of a virtual map family. Clean sibling hashes at these
+ *      levels are never loaded from disk during hashing. A cache of N levels holds up to 2^N - 1 hashes. If
+ *      set to zero, node hashes are not cached.
+ * @param nodeCacheKeyIndexType
+ *      Key to dirty leaf index implementation in virtual node caches, see {@link NodeCacheKeyIndexType}.
  */
 @ConfigData("virtualMap")
 public record VirtualMapConfig(
@@ -109,7 +128,13 @@ public record VirtualMapConfig(
         @ConfigProperty(defaultValue = "2000000000") long familyThrottleThreshold,
         @ConfigProperty(defaultValue = "10000") int preferredFlushQueueSize,
         @ConfigProperty(defaultValue = "200ms") Duration flushThrottleStepSize,
-        @ConfigProperty(defaultValue = "5s") Duration maximumFlushThrottlePeriod) {
+        @ConfigProperty(defaultValue = "5s") Duration maximumFlushThrottlePeriod,
+        @ConfigProperty(defaultValue = "false") boolean adaptiveFlushEnabled,
+        @ConfigProperty(defaultValue = "0.25") double adaptiveFlushMinSizeRatio,
+        @ConfigProperty(defaultValue = "0.75") double adaptiveFlushHeapThreshold,
+        @ConfigProperty(defaultValue = "0.5") double adaptiveFlushFamilySizeRatio,
+        @Min(0) @Max(24) @ConfigProperty(defaultValue = "12") int hashCacheLevels,
+        @ConfigProperty(defaultValue = "CONCURRENT_HASH_MAP") NodeCacheKeyIndexType nodeCacheKeyIndexType) {
 
     private static final double UNIT_FRACTION_PERCENT = 100.0;
 
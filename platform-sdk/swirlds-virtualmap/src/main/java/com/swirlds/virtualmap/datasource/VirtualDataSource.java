@@ -26,6 +26,8 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -138,6 +140,29 @@ public interface VirtualDataSource {
     @Nullable
     VirtualLeafBytes loadLeafRecord(final Bytes keyBytes, final int keyHashCode) throws IOException;
 
+    /**
+     * Load virtual record bytes for multiple leaf nodes by keys. Data source implementations may
+     * use this method to read records in bulk more efficiently than with individual calls to
+     * {@link #loadLeafRecord(Bytes, int)}. The default implementation loads records one by one.
+     *
+     * @param keyBytes the key bytes for leaves
+     * @param keyHashCodes the key hash codes, in the same order as the keys
+     * @return a list of leaf records, in the same order as the keys, with nulls for keys not stored
+     * @throws IOException if there was a problem reading the leaf records
+     */
+    @NonNull
+    default List<VirtualLeafBytes> loadLeafRecords(
+            @NonNull final List<Bytes> keyBytes, @NonNull final int[] keyHashCodes) throws IOException {
+        if (keyBytes.size() != keyHashCodes.length) {
+            throw new IllegalArgumentException("Number of keys and key hash codes must be equal");
+        }
+        final List<VirtualLeafBytes> result = new ArrayList<>(keyBytes.size());
+        for (int i = 0; i < keyHashCodes.length; i++) {
+            result.add(loadLeafRecord(keyBytes.get(i), keyHashCodes[i]));
+        }
+        return result;
+    }
+
     /**
      * Load virtual record bytes for a leaf node by path. If the path is outside the current
      * data source's leaf path range, this method returns {@code null}.
@@ -162,10 +162,14 @@ public record VirtualLeafBytes(long path, @NonNull Bytes keyBytes, int keyHashCo
      */
     public <K extends VirtualKey, V extends VirtualValue> VirtualLeafRecord<K, V> toRecord(
             final KeySerializer<K> keySerializer, final ValueSerializer<V> valueSerializer) {
+        // Keep the bytes in the record, so they don't need to be serialized again, if the record
+        // is flushed to the data source unchanged, e.g. when it's moved to a different path
         return new VirtualLeafRecord<>(
                 path,
                 keySerializer.deserialize(keyBytes.toReadableSequentialData()),
-                valueBytes != null ? valueSerializer.deserialize(valueBytes.toReadableSequentialData()) : null);
+                valueBytes != null ? valueSerializer.deserialize(valueBytes.toReadableSequentialData()) : null,
+                keyBytes,
+                valueBytes);
     }
 
     @Override
@@ -28,6 +28,7 @@ import com.swirlds.virtualmap.internal.Path;
 import com.swirlds.virtualmap.internal.cache.VirtualNodeCache;
 import com.swirlds.virtualmap.serialize.KeySerializer;
 import com.swirlds.virtualmap.serialize.ValueSerializer;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.util.Objects;
 
@@ -55,6 +56,18 @@ public final class VirtualLeafRecord<K extends VirtualKey, V extends VirtualValu
     private K key;
     private V value;
 
+    /**
+     * Serialized key bytes, if known. Keys are immutable, so once the bytes are known, they stay valid
+     * for the lifetime of this record. Used to avoid key serialization on flushes.
+     */
+    private volatile Bytes keyBytes;
+
+    /**
+     * Serialized value bytes, if known. Values may be changed in place, so the bytes are reset when
+     * the value is replaced or requested for modification. Used to avoid value serialization on flushes.
+     */
+    private volatile Bytes valueBytes;
+
     /**
      * Create a new leaf record. This constructor is <strong>only</strong> used by the serialization engine.
      * It creates a leaf with a totally invalid leaf path.
@@ -77,14 +90,42 @@ public final class VirtualLeafRecord<K extends VirtualKey, V extends VirtualValu
      * 		The value for this record, which can be null.
      */
     public VirtualLeafRecord(final long path, final K key, final V value) {
+        this(path, key, value, null, null);
+    }
+
+    /**
+     * Create a new leaf record with known serialized key and value bytes. The bytes must be the
+     * result of serializing the given key and value with the key and value serializers of the
+     * virtual map, for example, when the record is loaded from a data source.
+     *
+     * @param path
+     * 		The path. Must be positive (since 0 represents a root node, which is never a leaf),
+     * 		or {@link Path#INVALID_PATH}.
+     * @param key
+     * 		The key for this record
+     * @param value
+     * 		The value for this record, which can be null
+     * @param keyBytes
+     * 		The serialized key, or null if unknown
+     * @param valueBytes
+     * 		The serialized value, or null if unknown
+     */
+    public VirtualLeafRecord(
+            final long path,
+            final K key,
+            final V value,
+            @Nullable final Bytes keyBytes,
+            @Nullable final Bytes valueBytes) {
         this.path = path;
         this.key = key;
         this.value = value;
+        this.keyBytes = keyBytes;
+        this.valueBytes = valueBytes;
     }
 
     @SuppressWarnings("unchecked")
     public VirtualLeafRecord<K, V> copy() {
-        return new VirtualLeafRecord<>(path, key, (V) value.copy());
+        return new VirtualLeafRecord<>(path, key, (V) value.copy(), keyBytes, valueBytes);
     }
 
     /**
@@ -107,6 +148,50 @@ public final class VirtualLeafRecord<K extends VirtualKey, V extends VirtualValu
         return value;
     }
 
+    /**
+     * Gets the value to modify. Serialized value bytes, if known, become stale, since the value
+     * may be changed in place, so they are reset.
+     *
+     * @return
+     *        The value. May be null.
+     */
+    public V getValueForModify() {
+        valueBytes = null;
+        return value;
+    }
+
+    /**
+     * Gets the serialized key bytes.
+     *
+     * @return
+     *        The serialized key, or null if unknown
+     */
+    @Nullable
+    public Bytes getKeyBytes() {
+        return keyBytes;
+    }
+
+    /**
+     * Gets the serialized value bytes.
+     *
+     * @return
+     *        The serialized value, or null if unknown or if the value is null
+     */
+    @Nullable
+    public Bytes getValueBytes() {
+        return valueBytes;
+    }
+
+    /**
+     * Checks if both key and value of this record are known in serialized form, so the record can be
+     * converted to {@link VirtualLeafBytes} without serialization.
+     *
+     * @return whether serialized key and value bytes are known
+     */
+    public boolean hasSerializedBytes() {
+        return (keyBytes != null) && ((value == null) || (valueBytes != null));
+    }
+
     public void setPath(long path) {
         this.path = path;
     }
@@ -124,24 +209,57 @@ public final class VirtualLeafRecord<K extends VirtualKey, V extends VirtualValu
     public void setValue(final V value) {
         if (this.value != value) {
             this.value = value;
+            this.valueBytes = null;
         }
     }
 
+    /**
+     * Converts this record to virtual leaf bytes. If serialized key and value bytes are known, they are
+     * used as is, otherwise the key and the value are serialized using the provided serializers.
+     *
+     * @param keySerializer the key serializer
+     * @param valueSerializer the value serializer
+     * @return the virtual leaf bytes
+     */
     public VirtualLeafBytes toBytes(final KeySerializer<K> keySerializer, final ValueSerializer<V> valueSerializer) {
         if (key == null) {
             throw new IllegalStateException("Leaf records with null keys should not be serialized");
         }
-        final byte[] keyBytes = new byte[keySerializer.getSerializedSize(key)];
-        keySerializer.serialize(key, BufferedData.wrap(keyBytes));
-        final byte[] valueBytes;
-        if (value != null) {
-            valueBytes = new byte[valueSerializer.getSerializedSize(value)];
-            valueSerializer.serialize(value, BufferedData.wrap(valueBytes));
-        } else {
-            valueBytes = null;
+        final Bytes kb = toKeyBytes(keySerializer);
+        final V v = value;
+        Bytes vb = valueBytes;
+        if ((v != null) && (vb == null)) {
+            final byte[] bytes = new byte[valueSerializer.getSerializedSize(v)];
+            valueSerializer.serialize(v, BufferedData.wrap(bytes));
+            vb = Bytes.wrap(bytes);
+        }
+        return new VirtualLeafBytes(path, kb, key.hashCode(), v != null ? vb : null);
+    }
+
+    /**
+     * Converts this record to virtual leaf bytes with a key and a path, but no value. Such bytes are used
+     * to delete leaves from a data source, where values are not needed.
+     *
+     * @param keySerializer the key serializer
+     * @return the virtual leaf bytes with no value bytes
+     */
+    public VirtualLeafBytes toKeyOnlyBytes(final KeySerializer<K> keySerializer) {
+        if (key == null) {
+            throw new IllegalStateException("Leaf records with null keys should not be serialized");
+        }
+        return new VirtualLeafBytes(path, toKeyBytes(keySerializer), key.hashCode(), null);
+    }
+
+    private Bytes toKeyBytes(final KeySerializer<K> keySerializer) {
+        Bytes kb = keyBytes;
+        if (kb == null) {
+            final byte[] bytes = new byte[keySerializer.getSerializedSize(key)];
+            keySerializer.serialize(key, BufferedData.wrap(bytes));
+            kb = Bytes.wrap(bytes);
+            // Keys are immutable, the bytes can be reused
+            keyBytes = kb;
         }
-        return new VirtualLeafBytes(
-                path, Bytes.wrap(keyBytes), key.hashCode(), valueBytes != null ? Bytes.wrap(valueBytes) : null);
+        return kb;
     }
 
     /**
@@ -178,6 +296,8 @@ public final class VirtualLeafRecord<K extends VirtualKey, V extends VirtualValu
         this.path = in.readLong();
         this.key = in.readSerializable();
         this.value = in.readSerializable();
+        this.keyBytes = null;
+        this.valueBytes = null;
     }
 
     /**
@@ -0,0 +1,485 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+
+/**
+ * A concurrent map from keys to values, which doesn't allocate any objects per entry. It's used
+ * by {@link VirtualNodeCache} as an alternative key to dirty leaf index, where values are the
+ * heads of versioned mutation lists. With millions of dirty leaves per
+ * round, per-entry objects created by {@link java.util.concurrent.ConcurrentHashMap} put a lot
+ * of pressure on GC, when caches are merged and released.
+ *
+ * <p>The map is split into a fixed number of segments, each segment is an open-addressing hash
+ * table with linear probing. Key hash codes are stored in an int array next to key and value
+ * arrays, so probing doesn't touch key objects unless key hashes match. Removed entries are
+ * replaced with tombstones, which are cleaned up when a segment is resized. A resized segment
+ * gets new arrays, existing arrays are never resized or cleared in place.
+ *
+ * <p>Writes are serialized per segment using a {@link StampedLock}. Reads don't take locks: they
+ * probe the current segment arrays as an optimistic read, which works like a seqlock, and only
+ * fall back to a read lock, if the segment was modified while it was probed. Keys and values are
+ * written to slots with release semantics and read with acquire semantics, so readers always see
+ * fully initialized key and value objects.
+ *
+ * <p>Only the methods used by virtual node cache are optimized: {@link #get(Object)}, {@link
+ * #put(Object, Object)}, {@link #remove(Object)}, {@link #compute(Object, BiFunction)}, and
+ * {@link #size()}. {@link #entrySet()} returns a read-only view of the map. Its iterators are
+ * weakly consistent, like iterators of {@link java.util.concurrent.ConcurrentHashMap}, and don't
+ * lock or copy the map. Null keys and null values are not supported.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class OpenAddressingKeyIndex<K, V> extends AbstractMap<K, V> {
+
+    /** The number of segments, must be a power of two */
+    private static final int SEGMENT_COUNT = 64;
+
+    /** The number of bits used to select a segment */
+    private static final int SEGMENT_BITS = Integer.numberOfTrailingZeros(SEGMENT_COUNT);
+
+    /** Initial segment capacity, must be a power of two */
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+
+    /** Max ratio of used and removed slots to segment capacity, before the segment is resized */
+    private static final double MAX_LOAD_FACTOR = 0.7;
+
+    /** A marker for removed keys */
+    private static final Object TOMBSTONE = new Object();
+
+    /** Access to key and value array elements with release / acquire semantics */
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Segment<K, V>[] segments;
+
+    /**
+     * Creates a new empty index.
+     */
+    @SuppressWarnings("unchecked")
+    OpenAddressingKeyIndex() {
+        segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    /**
+     * Spreads key hash code bits, so both segment and slot indices depend on all hash code bits.
+     */
+    private static int spread(final int hashCode) {
+        final int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Segment<K, V> segment(final int hash) {
+        return segments[hash >>> (Integer.SIZE - SEGMENT_BITS)];
+    }
+
+    @Override
+    public V get(@NonNull final Object key) {
+        final int hash = spread(key.hashCode());
+        final Segment<K, V> segment = segment(hash);
+        final long stamp = segment.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            final V value = segment.table.get(key, hash);
+            if (segment.lock.validate(stamp)) {
+                return value;
+            }
+        }
+        // The segment was modified while it was probed, read it again while locked
+        final long readStamp = segment.lock.readLock();
+        try {
+            return segment.table.get(key, hash);
+        } finally {
+            segment.lock.unlockRead(readStamp);
+        }
+    }
+
+    @Override
+    public boolean containsKey(@NonNull final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(@NonNull final K key, @NonNull final V value) {
+        Objects.requireNonNull(value);
+        final int hash = spread(key.hashCode());
+        final Segment<K, V> segment = segment(hash);
+        final long stamp = segment.lock.writeLock();
+        try {
+            return segment.put(key, hash, value);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public V remove(@NonNull final Object key) {
+        final int hash = spread(key.hashCode());
+        final Segment<K, V> segment = segment(hash);
+        final long stamp = segment.lock.writeLock();
+        try {
+            final int slot = segment.table.find(key, hash);
+            return (slot >= 0) ? segment.removeAt(slot) : null;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The remapping function is called while the key segment is locked, so it must not access
+     * this map.
+     */
+    @Override
+    public V compute(
+            @NonNull final K key, @NonNull final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        final int hash = spread(key.hashCode());
+        final Segment<K, V> segment = segment(hash);
+        final long stamp = segment.lock.writeLock();
+        try {
+            final Table table = segment.table;
+            final int slot = table.find(key, hash);
+            final V oldValue = (slot >= 0) ? table.valueAt(slot) : null;
+            final V newValue = remappingFunction.apply(key, oldValue);
+            if (newValue == null) {
+                if (slot >= 0) {
+                    segment.removeAt(slot);
+                }
+            } else if (slot >= 0) {
+                SLOTS.setRelease(table.values, slot, newValue);
+            } else {
+                segment.put(key, hash, newValue);
+            }
+            return newValue;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (final Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (final Segment<K, V> segment : segments) {
+            final long stamp = segment.lock.writeLock();
+            try {
+                segment.reset(INITIAL_SEGMENT_CAPACITY);
+            } finally {
+                segment.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned set is a read-only view of this map. Its iterators are weakly consistent:
+     * they return every entry that exists when iteration starts and isn't removed before the
+     * iterator reaches it, and may or may not return entries added or removed during iteration.
+     */
+    @NonNull
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @NonNull
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return OpenAddressingKeyIndex.this.size();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return OpenAddressingKeyIndex.this.isEmpty();
+            }
+        };
+    }
+
+    /**
+     * A weakly consistent iterator over all entries, segment by segment. Every segment is iterated
+     * using the arrays current at the time the iterator reaches the segment. Slots are read
+     * optimistically, a slot is read again under a read lock only if the segment is modified at
+     * the same time.
+     */
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+        private int segmentIndex = -1;
+
+        private Segment<K, V> segment;
+
+        private Table table;
+
+        private int slot;
+
+        private Entry<K, V> next;
+
+        EntryIterator() {
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (next == null) {
+                if ((table == null) || (slot >= table.keys.length)) {
+                    if (++segmentIndex >= SEGMENT_COUNT) {
+                        return;
+                    }
+                    segment = segments[segmentIndex];
+                    table = segment.table;
+                    slot = 0;
+                    continue;
+                }
+                final int i = slot++;
+                final long stamp = segment.lock.tryOptimisticRead();
+                Object k = SLOTS.getAcquire(table.keys, i);
+                Object v = SLOTS.getAcquire(table.values, i);
+                if ((stamp == 0) || !segment.lock.validate(stamp)) {
+                    // Arrays replaced by a resize are never modified, so the slot is still valid
+                    final long readStamp = segment.lock.readLock();
+                    try {
+                        k = SLOTS.getAcquire(table.keys, i);
+                        v = SLOTS.getAcquire(table.values, i);
+                    } finally {
+                        segment.lock.unlockRead(readStamp);
+                    }
+                }
+                if ((k != null) && (k != TOMBSTONE) && (v != null)) {
+                    next = new SimpleImmutableEntry<>((K) k, (V) v);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Entry<K, V> entry = next;
+            advance();
+            return entry;
+        }
+    }
+
+    /**
+     * Segment arrays. Once a table is replaced in its segment, it's never modified again, so readers
+     * that still hold a reference to it keep seeing a consistent, but stale, state.
+     */
+    private static final class Table {
+
+        /** Key hashes, one per slot */
+        private final int[] hashes;
+
+        /** Keys, null for empty slots, {@link OpenAddressingKeyIndex#TOMBSTONE} for removed entries */
+        private final Object[] keys;
+
+        private final Object[] values;
+
+        private final int mask;
+
+        Table(final int capacity) {
+            hashes = new int[capacity];
+            keys = new Object[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <V> V valueAt(final int slot) {
+            return (V) SLOTS.getAcquire(values, slot);
+        }
+
+        /**
+         * Returns the slot for the given key, or -1 if the key is not in the table. May be called
+         * without a lock. In this case, the result is only valid if the segment isn't modified
+         * while this method is running, but the method itself always completes.
+         */
+        private int find(final Object key, final int hash) {
+            int slot = hash & mask;
+            // Every table has empty slots, but probing is bounded anyway, in case the table is
+            // modified while being probed
+            for (int i = 0; i < keys.length; i++) {
+                final Object k = SLOTS.getAcquire(keys, slot);
+                if (k == null) {
+                    return -1;
+                }
+                if ((k != TOMBSTONE) && (hashes[slot] == hash) && k.equals(key)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private <V> V get(final Object key, final int hash) {
+            final int slot = find(key, hash);
+            return (slot >= 0) ? valueAt(slot) : null;
+        }
+    }
+
+    /**
+     * A single open-addressing hash table. All methods except {@link #size()} must be called with
+     * the segment write lock held.
+     */
+    private static final class Segment<K, V> {
+
+        private final StampedLock lock = new StampedLock();
+
+        /** Current segment arrays, replaced when the segment is resized */
+        private volatile Table table;
+
+        /** The number of entries in the segment */
+        private int size;
+
+        /** The number of removed entries, which still occupy slots */
+        private int tombstones;
+
+        Segment() {
+            reset(INITIAL_SEGMENT_CAPACITY);
+        }
+
+        private void reset(final int capacity) {
+            table = new Table(capacity);
+            size = 0;
+            tombstones = 0;
+        }
+
+        private int size() {
+            final long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                final int s = size;
+                if (lock.validate(stamp)) {
+                    return s;
+                }
+            }
+            final long readStamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+
+        private V put(final K key, final int hash, final V value) {
+            final int existing = table.find(key, hash);
+            if (existing >= 0) {
+                final V oldValue = table.valueAt(existing);
+                SLOTS.setRelease(table.values, existing, value);
+                return oldValue;
+            }
+            final int capacity = table.keys.length;
+            if (size + tombstones + 1 > (capacity * MAX_LOAD_FACTOR)) {
+                // If there are many tombstones, rehash to the same capacity to clean them up
+                final boolean grow = size + 1 > (capacity * MAX_LOAD_FACTOR / 2);
+                rehash(grow ? capacity * 2 : capacity);
+            }
+            final Table t = table;
+            int slot = hash & t.mask;
+            Object k;
+            while (((k = t.keys[slot]) != null) && (k != TOMBSTONE)) {
+                slot = (slot + 1) & t.mask;
+            }
+            if (k == TOMBSTONE) {
+                tombstones--;
+            }
+            // The key is published last, readers never find a key with a missing value
+            t.hashes[slot] = hash;
+            SLOTS.setRelease(t.values, slot, value);
+            SLOTS.setRelease(t.keys, slot, key);
+            size++;
+            return null;
+        }
+
+        private V removeAt(final int slot) {
+            final Table t = table;
+            final V oldValue = t.valueAt(slot);
+            SLOTS.setRelease(t.keys, slot, TOMBSTONE);
+            SLOTS.setRelease(t.values, slot, null);
+            size--;
+            tombstones++;
+            if ((size == 0) && (t.keys.length > INITIAL_SEGMENT_CAPACITY)) {
+                // Release memory, when all entries are removed, e.g. after all caches are released
+                reset(INITIAL_SEGMENT_CAPACITY);
+            }
+            return oldValue;
+        }
+
+        /**
+         * Copies all entries to new arrays of the given capacity. The new arrays are fully populated
+         * before they are published, and the old arrays are left unchanged.
+         */
+        private void rehash(final int newCapacity) {
+            final Table oldTable = table;
+            final Table newTable = new Table(newCapacity);
+            int newSize = 0;
+            for (int i = 0; i < oldTable.keys.length; i++) {
+                final Object k = oldTable.keys[i];
+                if ((k == null) || (k == TOMBSTONE)) {
+                    continue;
+                }
+                final int hash = oldTable.hashes[i];
+                int slot = hash & newTable.mask;
+                while (newTable.keys[slot] != null) {
+                    slot = (slot + 1) & newTable.mask;
+                }
+                newTable.hashes[slot] = hash;
+                newTable.keys[slot] = k;
+                newTable.values[slot] = oldTable.values[i];
+                newSize++;
+            }
+            // Volatile write, it publishes all array elements above
+            table = newTable;
+            size = newSize;
+            tombstones = 0;
+        }
+    }
+}
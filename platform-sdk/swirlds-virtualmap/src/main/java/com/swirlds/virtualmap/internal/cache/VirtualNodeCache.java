@@ -32,9 +32,11 @@ import com.swirlds.common.threading.futures.StandardFuture;
 import com.swirlds.virtualmap.VirtualKey;
 import com.swirlds.virtualmap.VirtualMap;
 import com.swirlds.virtualmap.VirtualValue;
+import com.swirlds.virtualmap.config.NodeCacheKeyIndexType;
 import com.swirlds.virtualmap.config.VirtualMapConfig;
 import com.swirlds.virtualmap.datasource.VirtualHashRecord;
 import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.Map;
@@ -317,7 +319,22 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * fastCopyVersion of zero, and create the shared data structures.
      */
     public VirtualNodeCache() {
-        this.keyToDirtyLeafIndex = new ConcurrentHashMap<>();
+        this(ConfigurationHolder.getConfigData(VirtualMapConfig.class).nodeCacheKeyIndexType());
+    }
+
+    /**
+     * Create a new VirtualNodeCache with the specified key to dirty leaf index implementation.
+     * The cache will be the first in the chain. It will get a fastCopyVersion of zero, and create
+     * the shared data structures.
+     *
+     * @param keyIndexType
+     * 		Key to dirty leaf index implementation. Cannot be null.
+     */
+    public VirtualNodeCache(@NonNull final NodeCacheKeyIndexType keyIndexType) {
+        this.keyToDirtyLeafIndex = switch (keyIndexType) {
+            case CONCURRENT_HASH_MAP -> new ConcurrentHashMap<>();
+            case OPEN_ADDRESSING -> new OpenAddressingKeyIndex<>();
+        };
         this.pathToDirtyLeafIndex = new ConcurrentHashMap<>();
         this.pathToDirtyHashIndex = new ConcurrentHashMap<>();
         this.releaseLock = new ReentrantLock();
@@ -669,9 +686,12 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         if (forModify && mutation.version < fastCopyVersion.get()) {
             assert !leafIndexesAreImmutable.get() : "You cannot create leaf records at this time!";
             @SuppressWarnings("unchecked")
-            final VirtualLeafRecord<K, V> leaf =
-                    new VirtualLeafRecord<>(mutation.value.getPath(), mutation.value.getKey(), (V)
-                            mutation.value.getValue().copy());
+            final VirtualLeafRecord<K, V> leaf = new VirtualLeafRecord<>(
+                    mutation.value.getPath(),
+                    mutation.value.getKey(),
+                    (V) mutation.value.getValue().copy(),
+                    mutation.value.getKeyBytes(),
+                    mutation.value.getValueBytes());
             return putLeaf(leaf);
         }
 
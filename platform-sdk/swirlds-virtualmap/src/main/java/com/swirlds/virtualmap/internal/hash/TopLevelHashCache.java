@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.hash;
+
+import com.swirlds.common.crypto.Hash;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An in-memory cache of node hashes at the top levels (ranks) of a virtual tree. The cache is
+ * owned by {@link VirtualHasher} and therefore shared across all copies of a virtual map family.
+ *
+ * <p>Virtual map copies are hashed one at a time, in copy order. When a copy is hashed, every
+ * node hash at the top levels is either recalculated, or unchanged since the last copy which
+ * changed it. The cache always holds the latest known hash for every path, so a cached hash
+ * is valid for a clean node in the copy being hashed. As a result, clean sibling hashes close
+ * to the root never have to be loaded from the node cache or from disk.
+ *
+ * <p>The cache is bounded by the number of levels: a cache of N levels holds at most
+ * {@code 2^N - 1} hashes.
+ */
+public final class TopLevelHashCache {
+
+    /** Max number of levels supported */
+    public static final int MAX_LEVELS = 24;
+
+    /** The number of cached tree levels, root is level 0 */
+    private final int levels;
+
+    /** Cached hashes, indexed by path */
+    private final AtomicReferenceArray<Hash> hashes;
+
+    /**
+     * Creates a new top level hash cache.
+     *
+     * @param levels the number of tree levels to cache, must be in 1 to {@link #MAX_LEVELS} range
+     */
+    public TopLevelHashCache(final int levels) {
+        if ((levels < 1) || (levels > MAX_LEVELS)) {
+            throw new IllegalArgumentException("Wrong number of levels: " + levels);
+        }
+        this.levels = levels;
+        this.hashes = new AtomicReferenceArray<>((1 << levels) - 1);
+    }
+
+    /**
+     * Returns the number of tree levels covered by this cache.
+     *
+     * @return the number of levels
+     */
+    public int getLevels() {
+        return levels;
+    }
+
+    /**
+     * Checks if a node hash at the given path may be stored in this cache.
+     *
+     * @param path node path
+     * @return whether the path is at one of the cached levels
+     */
+    public boolean isCached(final long path) {
+        return (path >= 0) && (path < hashes.length());
+    }
+
+    /**
+     * Returns a cached hash for the given path, or null if the hash is not cached.
+     *
+     * @param path node path
+     * @return the cached hash, or null
+     */
+    @Nullable
+    public Hash get(final long path) {
+        return isCached(path) ? hashes.get((int) path) : null;
+    }
+
+    /**
+     * Stores a node hash in this cache. If the path is not at one of the cached levels,
+     * this method does nothing.
+     *
+     * @param path node path
+     * @param hash node hash
+     */
+    public void put(final long path, @NonNull final Hash hash) {
+        Objects.requireNonNull(hash);
+        if (isCached(path)) {
+            hashes.set((int) path, hash);
+        }
+    }
+
+    /**
+     * Removes all hashes from this cache.
+     */
+    public void clear() {
+        for (int i = 0; i < hashes.length(); i++) {
+            hashes.set(i, null);
+        }
+    }
+}
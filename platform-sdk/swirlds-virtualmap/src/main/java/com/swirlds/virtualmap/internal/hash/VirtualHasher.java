@@ -40,6 +40,7 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.LongFunction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -97,8 +98,44 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
      */
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
+    /**
+     * Node hashes at the top levels of the virtual tree. Since the hasher is shared across all
+     * copies in a virtual map family, so is the cache. Null, if the cache is disabled.
+     */
+    private final TopLevelHashCache topLevelHashes;
+
+    /**
+     * The number of clean sibling hashes loaded using the hash reader during the last call to
+     * {@link #hash(LongFunction, Iterator, long, long, VirtualHashListener)}.
+     */
+    private final LongAdder siblingHashLoads = new LongAdder();
+
+    /**
+     * The number of clean sibling hashes found in {@link #topLevelHashes} during the last call to
+     * {@link #hash(LongFunction, Iterator, long, long, VirtualHashListener)}.
+     */
+    private final LongAdder siblingHashCacheHits = new LongAdder();
+
     private static volatile ForkJoinPool hashingPool = null;
 
+    /**
+     * Creates a new virtual hasher with no top level hash cache.
+     */
+    public VirtualHasher() {
+        this(0);
+    }
+
+    /**
+     * Creates a new virtual hasher.
+     *
+     * @param hashCacheLevels
+     * 		The number of top tree levels, which node hashes are cached in memory. If zero, node
+     * 		hashes are not cached
+     */
+    public VirtualHasher(final int hashCacheLevels) {
+        this.topLevelHashes = (hashCacheLevels > 0) ? new TopLevelHashCache(hashCacheLevels) : null;
+    }
+
     private static ForkJoinPool getHashingPool() {
         ForkJoinPool pool = hashingPool;
         if (pool == null) {
@@ -124,6 +161,60 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         shutdown.set(true);
     }
 
+    /**
+     * Removes all hashes from the top level hash cache, if enabled. This method must be called
+     * before hashing a virtual tree, which isn't a copy of the previously hashed tree, for example,
+     * a full tree rehash on startup or during reconnects.
+     */
+    public void invalidateHashCache() {
+        if (topLevelHashes != null) {
+            topLevelHashes.clear();
+        }
+    }
+
+    /**
+     * Returns the number of clean sibling hashes loaded using the hash reader during the last
+     * hashing round.
+     *
+     * @return the number of sibling hash loads
+     */
+    public long getSiblingHashLoads() {
+        return siblingHashLoads.sum();
+    }
+
+    /**
+     * Returns the number of clean sibling hashes found in the top level hash cache during the
+     * last hashing round.
+     *
+     * @return the number of sibling hash cache hits
+     */
+    public long getSiblingHashCacheHits() {
+        return siblingHashCacheHits.sum();
+    }
+
+    private Hash loadSiblingHash(final long path) {
+        if (topLevelHashes != null) {
+            final Hash cached = topLevelHashes.get(path);
+            if (cached != null) {
+                siblingHashCacheHits.increment();
+                return cached;
+            }
+        }
+        siblingHashLoads.increment();
+        final Hash hash = hashReader.apply(path);
+        if ((topLevelHashes != null) && (hash != null)) {
+            topLevelHashes.put(path, hash);
+        }
+        return hash;
+    }
+
+    private void onNodeHashed(final long path, final Hash hash) {
+        if (topLevelHashes != null) {
+            topLevelHashes.put(path, hash);
+        }
+        listener.onNodeHashed(path, hash);
+    }
+
     /**
      * Hash the given dirty leaves and the minimal subset of the tree necessary to produce a single root hash.
      * The root hash is returned.
@@ -218,7 +309,7 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
                 if (leaf != null) {
                     hash = cryptography.digestSync(leaf);
                     listener.onLeafHashed(leaf);
-                    listener.onNodeHashed(path, hash);
+                    onNodeHashed(path, hash);
                 } else {
                     int len = 1 << height;
                     long rankPath = Path.getLeftGrandChildPath(path, height);
@@ -231,13 +322,13 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
                                 ins[i] = null;
                             } else {
                                 if (left == null) {
-                                    left = hashReader.apply(rankPath + i * 2);
+                                    left = loadSiblingHash(rankPath + i * 2);
                                 }
                                 if (right == null) {
-                                    right = hashReader.apply(rankPath + i * 2 + 1);
+                                    right = loadSiblingHash(rankPath + i * 2 + 1);
                                 }
                                 ins[i] = hash(hashedPath, left, right);
-                                listener.onNodeHashed(hashedPath, ins[i]);
+                                onNodeHashed(hashedPath, ins[i]);
                             }
                         }
                         rankPath = Path.getParentPath(rankPath);
@@ -284,6 +375,9 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
             final long lastLeafPath,
             VirtualHashListener<K, V> listener) {
 
+        siblingHashLoads.reset();
+        siblingHashCacheHits.reset();
+
         // If the first or last leaf path are invalid, then there is nothing to hash.
         if (firstLeafPath < 1 || lastLeafPath < 1) {
             return null;
@@ -210,8 +210,13 @@ public abstract class AbstractHashListener<K extends VirtualKey, V extends Virtu
                         firstLeafPath,
                         lastLeafPath,
                         hashesToFlush.stream(),
-                        leavesToFlush.stream().map(r -> r.toBytes(keySerializer, valueSerializer)),
-                        findLeavesToRemove().map(r -> r.toBytes(keySerializer, valueSerializer)),
+                        leavesToFlush.stream().map(r -> {
+                            if (!r.hasSerializedBytes()) {
+                                statistics.countFlushLeavesSerialized();
+                            }
+                            return r.toBytes(keySerializer, valueSerializer);
+                        }),
+                        findLeavesToRemove().map(r -> r.toKeyOnlyBytes(keySerializer)),
                         true);
                 final long end = System.currentTimeMillis();
                 statistics.recordFlush(end - start);
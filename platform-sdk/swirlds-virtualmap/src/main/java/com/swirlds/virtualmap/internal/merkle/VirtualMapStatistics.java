@@ -69,8 +69,18 @@ public class VirtualMapStatistics {
     private LongAccumulator flushDurationMs;
     /** The number of virtual root node copy flushes to data source */
     private Counter flushCount;
+    /** The number of copies flushed before reaching flush threshold because of high heap usage */
+    private Counter earlyFlushesHeapPressure;
+    /** The number of copies flushed before reaching flush threshold because of large family size */
+    private Counter earlyFlushesFamilySize;
+    /** The number of flushed leaves, which had to be serialized, as their bytes were not known */
+    private LongAccumulator flushLeavesSerialized;
     /** The average time to hash virtual map copy, ms */
     private LongAccumulator hashDurationMs;
+    /** The number of clean sibling hashes loaded from the node cache or disk during hashing */
+    private LongAccumulator hashSiblingLoads;
+    /** The number of clean sibling hashes found in the top level hash cache during hashing */
+    private LongAccumulator hashSiblingCacheHits;
 
     private static LongAccumulator buildLongAccumulator(
             final Metrics metrics, final String name, final String description) {
@@ -162,10 +172,28 @@ public class VirtualMapStatistics {
         flushCount = metrics.getOrCreate(
                 new Counter.Config(STAT_CATEGORY, VMAP_PREFIX + LIFECYCLE_PREFIX + "flushCount_" + label)
                         .withDescription("Virtual root copy flush count, " + label));
+        earlyFlushesHeapPressure = metrics.getOrCreate(new Counter.Config(
+                        STAT_CATEGORY, VMAP_PREFIX + LIFECYCLE_PREFIX + "earlyFlushesHeapPressure_" + label)
+                .withDescription("Virtual root copies flushed early because of heap usage, " + label));
+        earlyFlushesFamilySize = metrics.getOrCreate(new Counter.Config(
+                        STAT_CATEGORY, VMAP_PREFIX + LIFECYCLE_PREFIX + "earlyFlushesFamilySize_" + label)
+                .withDescription("Virtual root copies flushed early because of family size, " + label));
+        flushLeavesSerialized = buildLongAccumulator(
+                metrics,
+                VMAP_PREFIX + LIFECYCLE_PREFIX + "flushLeavesSerialized_" + label,
+                "Leaves serialized during virtual root copy flushes, " + label);
         hashDurationMs = buildLongAccumulator(
                 metrics,
                 VMAP_PREFIX + LIFECYCLE_PREFIX + "hashDurationMs_" + label,
                 "Virtual root copy hash duration, " + label + ", ms");
+        hashSiblingLoads = buildLongAccumulator(
+                metrics,
+                VMAP_PREFIX + LIFECYCLE_PREFIX + "hashSiblingLoads_" + label,
+                "Clean sibling hashes loaded during virtual root copy hashing, " + label);
+        hashSiblingCacheHits = buildLongAccumulator(
+                metrics,
+                VMAP_PREFIX + LIFECYCLE_PREFIX + "hashSiblingCacheHits_" + label,
+                "Clean sibling hashes found in top level hash cache during virtual root copy hashing, " + label);
     }
 
     /**
@@ -295,6 +323,33 @@ public class VirtualMapStatistics {
         }
     }
 
+    /**
+     * Increments {@link #earlyFlushesHeapPressure} stat by 1.
+     */
+    public void countEarlyFlushHeapPressure() {
+        if (earlyFlushesHeapPressure != null) {
+            earlyFlushesHeapPressure.increment();
+        }
+    }
+
+    /**
+     * Increments {@link #earlyFlushesFamilySize} stat by 1.
+     */
+    public void countEarlyFlushFamilySize() {
+        if (earlyFlushesFamilySize != null) {
+            earlyFlushesFamilySize.increment();
+        }
+    }
+
+    /**
+     * Increments {@link #flushLeavesSerialized} stat by 1.
+     */
+    public void countFlushLeavesSerialized() {
+        if (flushLeavesSerialized != null) {
+            flushLeavesSerialized.update(1);
+        }
+    }
+
     /**
      * Record a virtual root copy is hashed, and hash duration is as specified.
      *
@@ -305,4 +360,20 @@ public class VirtualMapStatistics {
             this.hashDurationMs.update(hashDurationMs);
         }
     }
+
+    /**
+     * Record the number of clean sibling hashes loaded and found in the top level hash cache,
+     * while a virtual root copy is hashed.
+     *
+     * @param siblingLoads the number of sibling hashes loaded from the node cache or disk
+     * @param siblingCacheHits the number of sibling hashes found in the top level hash cache
+     */
+    public void recordHashSiblingLoads(final long siblingLoads, final long siblingCacheHits) {
+        if (this.hashSiblingLoads != null) {
+            this.hashSiblingLoads.update(siblingLoads);
+        }
+        if (this.hashSiblingCacheHits != null) {
+            this.hashSiblingCacheHits.update(siblingCacheHits);
+        }
+    }
 }
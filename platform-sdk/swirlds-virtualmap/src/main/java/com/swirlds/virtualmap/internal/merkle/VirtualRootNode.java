@@ -38,6 +38,7 @@ import static com.swirlds.virtualmap.internal.merkle.VirtualMapState.MAX_LABEL_L
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.crypto.DigestType;
 import com.swirlds.common.crypto.Hash;
@@ -95,6 +96,10 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
@@ -352,7 +357,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
     public VirtualRootNode() {
         this.fastCopyVersion = 0;
         // Hasher is required during reconnects
-        this.hasher = new VirtualHasher<>();
+        this.hasher = new VirtualHasher<>(config.hashCacheLevels());
         this.flushThreshold.set(config.copyFlushThreshold());
         // All other fields are initialized in postInit()
     }
@@ -370,7 +375,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
             final @NonNull ValueSerializer<V> valueSerializer,
             final @NonNull VirtualDataSourceBuilder dataSourceBuilder) {
         this.fastCopyVersion = 0;
-        this.hasher = new VirtualHasher<>();
+        this.hasher = new VirtualHasher<>(config.hashCacheLevels());
         this.flushThreshold.set(config.copyFlushThreshold());
         this.keySerializer = Objects.requireNonNull(keySerializer);
         this.valueSerializer = Objects.requireNonNull(valueSerializer);
@@ -501,6 +506,8 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
                 getRoute());
         final FullLeafRehashHashListener<K, V> hashListener = new FullLeafRehashHashListener<>(
                 firstLeafPath, lastLeafPath, keySerializer, valueSerializer, dataSource, statistics);
+        // The whole tree is rehashed, previously cached hashes can't be trusted
+        hasher.invalidateHashCache();
 
         // This background thread will be responsible for hashing the tree and sending the
         // data to the hash listener to flush.
@@ -841,7 +848,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         try {
             final VirtualLeafRecord<K, V> rec = records.findLeafRecord(key, true);
             statistics.countUpdatedEntities();
-            return rec == null ? null : rec.getValue();
+            return rec == null ? null : rec.getValueForModify();
         } finally {
             assert currentModifyingThreadRef.compareAndSet(Thread.currentThread(), null);
         }
@@ -1195,15 +1202,27 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         logger.debug(VIRTUAL_MERKLE_STATS.getMarker(), "Flushed in {} ms", end - start);
     }
 
+    /**
+     * Converts a dirty leaf record to bytes to flush. Leaves loaded from the data source and not
+     * modified since then already have their key and value bytes, they are not serialized again.
+     * Other leaves are serialized, which is reported to virtual map statistics.
+     */
+    private VirtualLeafBytes leafToBytesForFlush(final VirtualLeafRecord<K, V> leaf) {
+        if (!leaf.hasSerializedBytes()) {
+            statistics.countFlushLeavesSerialized();
+        }
+        return leaf.toBytes(keySerializer, valueSerializer);
+    }
+
     private void flush(VirtualNodeCache<K, V> cacheToFlush, VirtualStateAccessor stateToUse, VirtualDataSource ds) {
         try {
             // Get the leaves that were changed and sort them by path so that lower paths come first
             final Stream<VirtualLeafBytes> dirtyLeaves = cacheToFlush
                     .dirtyLeavesForFlush(stateToUse.getFirstLeafPath(), stateToUse.getLastLeafPath())
-                    .map(r -> r.toBytes(keySerializer, valueSerializer));
-            // Get the deleted leaves
+                    .map(this::leafToBytesForFlush);
+            // Get the deleted leaves. Only keys and paths are needed to delete leaves
             final Stream<VirtualLeafBytes> deletedLeaves =
-                    cacheToFlush.deletedLeaves().map(r -> r.toBytes(keySerializer, valueSerializer));
+                    cacheToFlush.deletedLeaves().map(r -> r.toKeyOnlyBytes(keySerializer));
             // Save the dirty hashes
             final Stream<VirtualHashRecord> dirtyHashes =
                     cacheToFlush.dirtyHashesForFlush(stateToUse.getLastLeafPath());
@@ -1384,6 +1403,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
 
         final long end = System.currentTimeMillis();
         statistics.recordHash(end - start);
+        statistics.recordHashSiblingLoads(hasher.getSiblingHashLoads(), hasher.getSiblingHashCacheHits());
     }
 
     /*
@@ -1593,6 +1613,8 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
                 reconnectRecords.getDataSource(),
                 statistics,
                 nodeRemover);
+        // The learner tree is hashed from scratch, previously cached hashes can't be trusted
+        hasher.invalidateHashCache();
 
         // This background thread will be responsible for hashing the tree and sending the
         // data to the hash listener to flush.
@@ -1654,6 +1676,32 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         records.findLeafRecord(key, false);
     }
 
+    /**
+     * Loads leaf records for multiple keys. Keys that are found in the node cache are skipped, all
+     * other records are loaded from the data source in a single bulk call. This lets the data source
+     * group and order disk reads, which is much faster than warming keys one at a time.
+     *
+     * @param keys keys to the leaf nodes
+     */
+    public void warmAll(@NonNull final Collection<K> keys) {
+        final List<Bytes> keyBytes = new ArrayList<>(keys.size());
+        final int[] keyHashCodes = new int[keys.size()];
+        for (final K key : keys) {
+            if (cache.lookupLeafByKey(key, false) == null) {
+                keyHashCodes[keyBytes.size()] = key.hashCode();
+                keyBytes.add(keySerializer.toBytes(key));
+            }
+        }
+        if (keyBytes.isEmpty()) {
+            return;
+        }
+        try {
+            dataSource.loadLeafRecords(keyBytes, Arrays.copyOf(keyHashCodes, keyBytes.size()));
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read leaf records from the data source by keys", e);
+        }
+    }
+
     ////////////////////////
 
     /**
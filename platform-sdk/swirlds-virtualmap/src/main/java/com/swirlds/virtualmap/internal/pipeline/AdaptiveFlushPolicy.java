@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.pipeline;
+
+import com.swirlds.virtualmap.config.VirtualMapConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Decides whether a virtual root copy, which isn't marked to flush, should be flushed early rather
+ * than merged into the next copy.
+ *
+ * <p>Copies are normally flushed, when their estimated size (based on the estimated numbers of dirty
+ * leaves and internal nodes in the copy's node cache) reaches {@link VirtualMapConfig#copyFlushThreshold()}.
+ * Smaller copies are merged into newer copies, so a single flush covers many small copies. Under load,
+ * the caches may grow faster than they are flushed, and the heap may get exhausted before copies reach
+ * the threshold. This policy flushes a copy early, if one of the following is true:
+ *
+ * <ul>
+ *     <li>heap usage ratio is above {@link VirtualMapConfig#adaptiveFlushHeapThreshold()}</li>
+ *     <li>total estimated size of all unflushed copies is above {@link VirtualMapConfig#familyThrottleThreshold()}
+ *     multiplied by {@link VirtualMapConfig#adaptiveFlushFamilySizeRatio()}</li>
+ * </ul>
+ *
+ * <p>Copies smaller than {@link VirtualMapConfig#copyFlushThreshold()} multiplied by
+ * {@link VirtualMapConfig#adaptiveFlushMinSizeRatio()} are never flushed early, as it would result in
+ * small data files, which need to be compacted later.
+ */
+final class AdaptiveFlushPolicy {
+
+    /**
+     * Flush decisions made by this policy.
+     */
+    enum Decision {
+        /** The copy should not be flushed early */
+        NONE,
+        /** The copy should be flushed early because of high heap usage */
+        HEAP_PRESSURE,
+        /** The copy should be flushed early because of large total size of unflushed copies */
+        FAMILY_SIZE
+    }
+
+    private final boolean enabled;
+
+    private final long minFlushSize;
+
+    private final double heapThreshold;
+
+    private final long familySizeThreshold;
+
+    private final DoubleSupplier heapUsage;
+
+    /**
+     * Creates a new flush policy, which measures heap usage using {@link Runtime}.
+     *
+     * @param config virtual map config
+     */
+    AdaptiveFlushPolicy(@NonNull final VirtualMapConfig config) {
+        this(config, AdaptiveFlushPolicy::currentHeapUsage);
+    }
+
+    /**
+     * Creates a new flush policy.
+     *
+     * @param config virtual map config
+     * @param heapUsage heap usage ratio supplier, values are from 0.0 to 1.0
+     */
+    AdaptiveFlushPolicy(@NonNull final VirtualMapConfig config, @NonNull final DoubleSupplier heapUsage) {
+        Objects.requireNonNull(config);
+        this.heapUsage = Objects.requireNonNull(heapUsage);
+        final long copyFlushThreshold = config.copyFlushThreshold();
+        // Early flushes rely on copy size estimations, so they are only used with size-based flushes
+        this.enabled = config.adaptiveFlushEnabled() && (copyFlushThreshold > 0);
+        this.minFlushSize = (long) (copyFlushThreshold * config.adaptiveFlushMinSizeRatio());
+        this.heapThreshold = config.adaptiveFlushHeapThreshold();
+        this.familySizeThreshold = (config.familyThrottleThreshold() > 0)
+                ? (long) (config.familyThrottleThreshold() * config.adaptiveFlushFamilySizeRatio())
+                : 0;
+    }
+
+    /**
+     * Indicates whether early flushes are enabled.
+     *
+     * @return whether this policy may ever decide to flush a copy early
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Decides if a copy should be flushed early.
+     *
+     * @param copySize estimated size of the copy
+     * @param familySize estimated size of all unflushed copies in the pipeline
+     * @return the decision
+     */
+    @NonNull
+    Decision shouldFlushEarly(final long copySize, final long familySize) {
+        if (!enabled || (copySize <= 0) || (copySize < minFlushSize)) {
+            return Decision.NONE;
+        }
+        if ((familySizeThreshold > 0) && (familySize >= familySizeThreshold)) {
+            return Decision.FAMILY_SIZE;
+        }
+        if (heapUsage.getAsDouble() >= heapThreshold) {
+            return Decision.HEAP_PRESSURE;
+        }
+        return Decision.NONE;
+    }
+
+    /**
+     * Returns the ratio of used heap to max heap. Used heap includes objects that are not reachable,
+     * but not yet collected, so heap usage may look higher than it is right before a GC. It's still
+     * good enough, since only copies of reasonable size are flushed early.
+     *
+     * @return heap usage ratio
+     */
+    static double currentHeapUsage() {
+        final Runtime runtime = Runtime.getRuntime();
+        final long maxMemory = runtime.maxMemory();
+        if (maxMemory == Long.MAX_VALUE) {
+            // No limit
+            return 0;
+        }
+        return (double) (runtime.totalMemory() - runtime.freeMemory()) / maxMemory;
+    }
+}
@@ -171,6 +171,11 @@ public class VirtualPipeline {
 
     private final VirtualMapStatistics statistics;
 
+    /**
+     * Decides if copies should be flushed before they reach the flush threshold.
+     */
+    private final AdaptiveFlushPolicy flushPolicy;
+
     /**
      * Create a new pipeline for a family of fast copies on a virtual root.
      */
@@ -187,6 +192,7 @@ public class VirtualPipeline {
                 .buildFactory());
 
         statistics = new VirtualMapStatistics(label);
+        flushPolicy = new AdaptiveFlushPolicy(config);
     }
 
     /**
@@ -493,6 +499,26 @@ public class VirtualPipeline {
                 && (copy.isDestroyed() || copy.isDetached()); // destroyed or detached
     }
 
+    /**
+     * Check if this copy, which isn't marked to flush, should be flushed early because of memory
+     * pressure rather than merged into the next copy. Flush decisions are reported to statistics.
+     */
+    private boolean shouldBeFlushedEarly(final VirtualRoot copy) {
+        if (!flushPolicy.isEnabled() || !(copy.isDestroyed() || copy.isDetached())) {
+            return false;
+        }
+        final AdaptiveFlushPolicy.Decision decision =
+                flushPolicy.shouldFlushEarly(copy.estimatedSize(), currentTotalSize());
+        switch (decision) {
+            case HEAP_PRESSURE -> statistics.countEarlyFlushHeapPressure();
+            case FAMILY_SIZE -> statistics.countEarlyFlushFamilySize();
+            case NONE -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Total estimated size of all copies currently registered in this pipeline.
      *
@@ -586,6 +612,10 @@ public class VirtualPipeline {
                 logger.debug(VIRTUAL_MERKLE_STATS.getMarker(), "Flush {}", copy.getFastCopyVersion());
                 flush(copy);
                 copies.remove(next);
+            } else if ((next == copies.getFirst()) && shouldBeFlushedEarly(copy)) {
+                logger.debug(VIRTUAL_MERKLE_STATS.getMarker(), "Flush {} early", copy.getFastCopyVersion());
+                flush(copy);
+                copies.remove(next);
             } else if (canBeMerged(next)) {
                 assert !copy.isMerged();
                 logger.debug(VIRTUAL_MERKLE_STATS.getMarker(), "Merge {}", copy.getFastCopyVersion());
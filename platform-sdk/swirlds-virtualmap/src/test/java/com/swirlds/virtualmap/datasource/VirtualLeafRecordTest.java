@@ -21,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.swirlds.common.constructable.ClassConstructorPair;
 import com.swirlds.common.constructable.ConstructableRegistry;
@@ -28,7 +30,9 @@ import com.swirlds.common.constructable.ConstructableRegistryException;
 import com.swirlds.common.test.fixtures.io.InputOutputStream;
 import com.swirlds.common.test.fixtures.junit.tags.TestComponentTags;
 import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestKeySerializer;
 import com.swirlds.virtualmap.test.fixtures.TestValue;
+import com.swirlds.virtualmap.test.fixtures.TestValueSerializer;
 import java.io.IOException;
 import java.util.Random;
 import org.junit.jupiter.api.BeforeAll;
@@ -214,4 +218,57 @@ class VirtualLeafRecordTest {
             assertEquals(leafRecord, deserializedLeafRecord, "Deserialized leaf should match original");
         }
     }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Known key and value bytes are reused")
+    void knownBytesAreReused() {
+        final TestKey key = new TestKey(RANDOM.nextLong());
+        final TestValue value = new TestValue("This is a custom value");
+        final VirtualLeafRecord<TestKey, TestValue> original = new VirtualLeafRecord<>(1329, key, value);
+        assertFalse(original.hasSerializedBytes(), "New records have no serialized bytes");
+        final VirtualLeafBytes bytes = original.toBytes(TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE);
+
+        final VirtualLeafRecord<TestKey, TestValue> loaded =
+                bytes.toRecord(TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE);
+        assertTrue(loaded.hasSerializedBytes(), "Loaded records should have serialized bytes");
+        loaded.setPath(1330);
+        final VirtualLeafBytes loadedBytes =
+                loaded.toBytes(TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE);
+        assertEquals(1330, loadedBytes.path(), "Path should match the new path");
+        assertSame(bytes.keyBytes(), loadedBytes.keyBytes(), "Key bytes should be reused");
+        assertSame(bytes.valueBytes(), loadedBytes.valueBytes(), "Value bytes should be reused");
+        assertEquals(key.hashCode(), loadedBytes.keyHashCode(), "Key hash code should be restored");
+    }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Value bytes are reset when the value is modified")
+    void valueBytesAreResetOnModification() {
+        final TestKey key = new TestKey(RANDOM.nextLong());
+        final VirtualLeafBytes bytes = new VirtualLeafRecord<>(1329, key, new TestValue("Original value"))
+                .toBytes(TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE);
+
+        final VirtualLeafRecord<TestKey, TestValue> modified =
+                bytes.toRecord(TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE);
+        modified.getValueForModify().setValue("Modified value");
+        assertFalse(modified.hasSerializedBytes(), "Value bytes should be reset");
+        final VirtualLeafBytes modifiedBytes =
+                modified.toBytes(TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE);
+        assertSame(bytes.keyBytes(), modifiedBytes.keyBytes(), "Key bytes should be reused");
+        assertEquals(
+                new TestValue("Modified value"),
+                modifiedBytes.toRecord(TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE).getValue(),
+                "Modified value should be serialized");
+
+        final VirtualLeafRecord<TestKey, TestValue> replaced =
+                bytes.toRecord(TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE);
+        replaced.setValue(new TestValue("Replaced value"));
+        assertFalse(replaced.hasSerializedBytes(), "Value bytes should be reset");
+
+        final VirtualLeafBytes keyOnlyBytes = bytes.toRecord(TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE)
+                .toKeyOnlyBytes(TestKeySerializer.INSTANCE);
+        assertEquals(bytes.keyBytes(), keyOnlyBytes.keyBytes(), "Key bytes should match");
+        assertNull(keyOnlyBytes.valueBytes(), "Key only bytes should have no value");
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.hash;
+
+import static com.swirlds.common.test.fixtures.RandomUtils.randomHash;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.test.fixtures.junit.tags.TestComponentTags;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+class TopLevelHashCacheTest {
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Wrong number of levels is rejected")
+    void wrongLevels() {
+        assertThrows(IllegalArgumentException.class, () -> new TopLevelHashCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new TopLevelHashCache(TopLevelHashCache.MAX_LEVELS + 1));
+    }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Only paths at the top levels are cached")
+    void onlyTopLevelsAreCached() {
+        final TopLevelHashCache cache = new TopLevelHashCache(3);
+        assertEquals(3, cache.getLevels());
+        assertFalse(cache.isCached(-1));
+        for (long path = 0; path < 7; path++) {
+            assertTrue(cache.isCached(path), "Path " + path + " should be cached");
+            final Hash hash = randomHash();
+            cache.put(path, hash);
+            assertEquals(hash, cache.get(path));
+        }
+        assertFalse(cache.isCached(7));
+        cache.put(7, randomHash());
+        assertNull(cache.get(7));
+    }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Cleared cache has no hashes")
+    void clear() {
+        final TopLevelHashCache cache = new TopLevelHashCache(2);
+        cache.put(0, randomHash());
+        cache.put(2, randomHash());
+        cache.clear();
+        for (long path = 0; path < 3; path++) {
+            assertNull(cache.get(path));
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+
+class OpenAddressingKeyIndexTest {
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Basic put, get, compute, and remove operations")
+    void basicOperations() {
+        final OpenAddressingKeyIndex<String, String> index = new OpenAddressingKeyIndex<>();
+        assertTrue(index.isEmpty());
+        assertNull(index.put("A", "APPLE"));
+        assertEquals("APPLE", index.put("A", "AARDVARK"));
+        assertEquals("AARDVARK", index.get("A"));
+        assertEquals("BANANA", index.compute("B", (k, v) -> (v == null) ? "BANANA" : "BEAR"));
+        assertEquals("BEAR", index.compute("B", (k, v) -> (v == null) ? "BANANA" : "BEAR"));
+        assertEquals(2, index.size());
+        assertNull(index.compute("B", (k, v) -> null));
+        assertFalse(index.containsKey("B"));
+        assertEquals("AARDVARK", index.remove("A"));
+        assertNull(index.remove("A"));
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Null keys and values are not supported")
+    void nullsAreNotSupported() {
+        final OpenAddressingKeyIndex<String, String> index = new OpenAddressingKeyIndex<>();
+        assertThrows(NullPointerException.class, () -> index.put(null, "A"));
+        assertThrows(NullPointerException.class, () -> index.put("A", null));
+        assertThrows(NullPointerException.class, () -> index.get(null));
+    }
+
+    /**
+     * Many random puts, computes, and removes, which results in many resizes and tombstones. The
+     * index must always be consistent with a regular hash map.
+     */
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Random operations match HashMap")
+    void randomOperations() {
+        final OpenAddressingKeyIndex<Long, Long> index = new OpenAddressingKeyIndex<>();
+        final Map<Long, Long> expected = new HashMap<>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 500_000; i++) {
+            final long key = random.nextInt(20_000);
+            final Long value = (long) i;
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.remove(key), index.remove(key));
+                case 1 -> assertEquals(expected.put(key, value), index.put(key, value));
+                case 2 -> assertEquals(
+                        expected.compute(key, (k, v) -> (v == null) ? value : ((v % 2 == 0) ? null : v + 1)),
+                        index.compute(key, (k, v) -> (v == null) ? value : ((v % 2 == 0) ? null : v + 1)));
+                default -> assertEquals(expected.get(key), index.get(key));
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected, new HashMap<>(index));
+
+        for (final Long key : new ArrayList<>(expected.keySet())) {
+            index.remove(key);
+        }
+        assertTrue(index.isEmpty());
+        assertTrue(index.entrySet().isEmpty());
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Entry set is a read-only view")
+    void entrySetIsView() {
+        final OpenAddressingKeyIndex<Integer, Integer> index = new OpenAddressingKeyIndex<>();
+        for (int i = 0; i < 1000; i++) {
+            index.put(i, i);
+        }
+        final var entries = index.entrySet();
+        assertEquals(1000, entries.size());
+        entries.forEach(e -> assertEquals(e.getKey(), e.getValue()));
+        final var iterator = entries.iterator();
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(entries.isEmpty());
+        assertFalse(entries.iterator().hasNext());
+    }
+
+    /**
+     * Readers don't lock segments, they must never see a value stored for a different key, while
+     * other threads add and remove entries, and resize segments.
+     */
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Concurrent reads see consistent values")
+    void concurrentReads() throws Exception {
+        final OpenAddressingKeyIndex<Long, Long> index = new OpenAddressingKeyIndex<>();
+        final int writers = 2;
+        final int readers = 4;
+        final int keys = 100_000;
+        final AtomicInteger writersLeft = new AtomicInteger(writers);
+        final ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < writers; t++) {
+                final Random random = new Random(t);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000_000; i++) {
+                        final long key = random.nextInt(keys);
+                        if (random.nextBoolean()) {
+                            index.put(key, key * 2);
+                        } else {
+                            index.remove(key);
+                        }
+                    }
+                    writersLeft.decrementAndGet();
+                }));
+            }
+            for (int t = 0; t < readers; t++) {
+                final Random random = new Random(writers + t);
+                futures.add(executor.submit(() -> {
+                    while (writersLeft.get() > 0) {
+                        final long key = random.nextInt(keys);
+                        final Long value = index.get(key);
+                        if (value != null) {
+                            assertEquals(key * 2, value, "Wrong value for key " + key);
+                        }
+                    }
+                    index.forEach((key, value) -> assertEquals(key * 2, value, "Wrong value for key " + key));
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Concurrent computes are not lost")
+    void concurrentComputes() throws Exception {
+        final OpenAddressingKeyIndex<Long, Long> index = new OpenAddressingKeyIndex<>();
+        final int threads = 8;
+        final int keys = 10_000;
+        final int rounds = 10;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int r = 0; r < rounds; r++) {
+                        for (long key = 0; key < keys; key++) {
+                            index.compute(key, (k, v) -> (v == null) ? 1L : v + 1);
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(keys, index.size());
+        for (long key = 0; key < keys; key++) {
+            assertEquals((long) threads * rounds, index.get(key));
+        }
+    }
+}
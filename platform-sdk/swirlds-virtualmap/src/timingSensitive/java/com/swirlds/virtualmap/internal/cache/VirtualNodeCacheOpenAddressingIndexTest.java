@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import com.swirlds.virtualmap.config.NodeCacheKeyIndexType;
+import org.junit.jupiter.api.BeforeEach;
+
+/**
+ * Runs all {@link VirtualNodeCacheTest} tests with {@link NodeCacheKeyIndexType#OPEN_ADDRESSING} key to
+ * dirty leaf index.
+ */
+class VirtualNodeCacheOpenAddressingIndexTest extends VirtualNodeCacheTest {
+
+    @BeforeEach
+    @Override
+    public void setup() {
+        super.setup();
+        rounds.clear();
+        cache = new VirtualNodeCache<>(NodeCacheKeyIndexType.OPEN_ADDRESSING);
+        rounds.add(cache);
+    }
+}
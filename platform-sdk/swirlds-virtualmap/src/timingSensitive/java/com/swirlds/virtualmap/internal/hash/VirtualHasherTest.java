@@ -38,6 +38,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.LongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
@@ -345,6 +346,52 @@ class VirtualHasherTest extends VirtualHasherTestBase {
                 "Hashing should not throw an exception");
     }
 
+    /**
+     * Test that clean sibling hashes at the top levels of the tree are taken from the hasher's
+     * top level hash cache rather than loaded using the hash reader, once they are known to the
+     * hasher. The resulting root hash must still be correct.
+     */
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Verify top level sibling hashes are cached across hashing rounds")
+    void topLevelHashesAreCached() {
+        final long firstLeafPath = 52L;
+        final long lastLeafPath = 104L;
+        final int cacheLevels = 4;
+        final TestDataSource ds = new TestDataSource(firstLeafPath, lastLeafPath);
+        final VirtualHasher<TestKey, TestValue> hasher = new VirtualHasher<>(cacheLevels);
+        final Hash expected = hashTree(ds);
+
+        final Set<Long> loadedPaths = ConcurrentHashMap.newKeySet();
+        final LongFunction<Hash> hashReader = path -> {
+            loadedPaths.add(path);
+            return ds.loadHash(path);
+        };
+        final VirtualHashListener<TestKey, TestValue> listener = new VirtualHashListener<>() {
+            @Override
+            public void onNodeHashed(final long path, final Hash hash) {
+                ds.storeHash(path, hash);
+            }
+        };
+
+        // All leaves are dirty, all node hashes are recalculated
+        List<VirtualLeafRecord<TestKey, TestValue>> leaves =
+                invalidateNodes(ds, LongStream.rangeClosed(firstLeafPath, lastLeafPath).boxed());
+        assertEquals(expected, hasher.hash(hashReader, leaves.iterator(), firstLeafPath, lastLeafPath, listener));
+        assertEquals(0, hasher.getSiblingHashLoads(), "No sibling hashes should be loaded");
+
+        // Some leaves are dirty, top level sibling hashes must be found in the cache
+        loadedPaths.clear();
+        leaves = invalidateNodes(ds, Stream.of(53L, 77L, 90L));
+        assertEquals(expected, hasher.hash(hashReader, leaves.iterator(), firstLeafPath, lastLeafPath, listener));
+        assertTrue(hasher.getSiblingHashCacheHits() > 0, "Some sibling hashes should be found in the cache");
+        assertEquals(loadedPaths.size(), hasher.getSiblingHashLoads(), "Wrong number of sibling hash loads");
+        final long firstNonCachedPath = (1L << cacheLevels) - 1;
+        assertTrue(
+                loadedPaths.stream().allMatch(path -> path >= firstNonCachedPath),
+                "Top level hashes should not be loaded");
+    }
+
     @SuppressWarnings("SpellCheckingInspection")
     private static void assertCallsAreBalanced(final HashingListener listener) {
         // Check the call order was correct. Something like:
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.virtualmap.config.VirtualMapConfig;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveFlushPolicyTest {
+
+    private static final long FLUSH_THRESHOLD = 1_000_000;
+
+    private static final long FAMILY_THRESHOLD = 10_000_000;
+
+    private static VirtualMapConfig config(final boolean enabled, final long flushThreshold) {
+        return new TestConfigBuilder()
+                .withValue("virtualMap.adaptiveFlushEnabled", enabled)
+                .withValue("virtualMap.copyFlushThreshold", flushThreshold)
+                .withValue("virtualMap.familyThrottleThreshold", FAMILY_THRESHOLD)
+                .withValue("virtualMap.adaptiveFlushMinSizeRatio", 0.25)
+                .withValue("virtualMap.adaptiveFlushHeapThreshold", 0.75)
+                .withValue("virtualMap.adaptiveFlushFamilySizeRatio", 0.5)
+                .getOrCreateConfig()
+                .getConfigData(VirtualMapConfig.class);
+    }
+
+    @Test
+    void disabledByDefault() {
+        final VirtualMapConfig config =
+                new TestConfigBuilder().getOrCreateConfig().getConfigData(VirtualMapConfig.class);
+        final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(config, () -> 1.0);
+        assertFalse(policy.isEnabled());
+        assertEquals(AdaptiveFlushPolicy.Decision.NONE, policy.shouldFlushEarly(Long.MAX_VALUE / 2, Long.MAX_VALUE));
+    }
+
+    @Test
+    void disabledWithoutFlushThreshold() {
+        final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(config(true, 0), () -> 1.0);
+        assertFalse(policy.isEnabled());
+        assertEquals(AdaptiveFlushPolicy.Decision.NONE, policy.shouldFlushEarly(FLUSH_THRESHOLD, FAMILY_THRESHOLD));
+    }
+
+    @Test
+    void smallCopiesAreNotFlushedEarly() {
+        final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(config(true, FLUSH_THRESHOLD), () -> 1.0);
+        assertTrue(policy.isEnabled());
+        assertEquals(AdaptiveFlushPolicy.Decision.NONE, policy.shouldFlushEarly(-1, FAMILY_THRESHOLD));
+        assertEquals(
+                AdaptiveFlushPolicy.Decision.NONE, policy.shouldFlushEarly(FLUSH_THRESHOLD / 4 - 1, FAMILY_THRESHOLD));
+    }
+
+    @Test
+    void flushEarlyOnHeapPressure() {
+        final AtomicReference<Double> heapUsage = new AtomicReference<>(0.5);
+        final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(config(true, FLUSH_THRESHOLD), heapUsage::get);
+        final long copySize = FLUSH_THRESHOLD / 2;
+        assertEquals(AdaptiveFlushPolicy.Decision.NONE, policy.shouldFlushEarly(copySize, copySize));
+        heapUsage.set(0.8);
+        assertEquals(AdaptiveFlushPolicy.Decision.HEAP_PRESSURE, policy.shouldFlushEarly(copySize, copySize));
+    }
+
+    @Test
+    void flushEarlyOnLargeFamilySize() {
+        final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(config(true, FLUSH_THRESHOLD), () -> 0.1);
+        final long copySize = FLUSH_THRESHOLD / 2;
+        assertEquals(
+                AdaptiveFlushPolicy.Decision.NONE, policy.shouldFlushEarly(copySize, FAMILY_THRESHOLD / 2 - 1));
+        assertEquals(
+                AdaptiveFlushPolicy.Decision.FAMILY_SIZE, policy.shouldFlushEarly(copySize, FAMILY_THRESHOLD / 2));
+    }
+}